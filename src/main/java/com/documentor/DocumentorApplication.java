@@ -1,5 +1,6 @@
 package com.documentor;
 
+import com.documentor.cli.HeadlessLauncher;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
@@ -29,6 +30,10 @@ public final class DocumentorApplication {
     }
 
     public static void main(final String[] args) {
+        if (HeadlessLauncher.isOneShot(args)) {
+            System.exit(HeadlessLauncher.run(DocumentorApplication.class,
+                    args));
+        }
         SpringApplication.run(DocumentorApplication.class, args);
     }
 }
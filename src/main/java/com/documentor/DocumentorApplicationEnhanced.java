@@ -10,6 +10,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.documentor.cli.HeadlessLauncher;
 import com.documentor.config.AppConfigEnhanced;
 
 /**
@@ -58,6 +59,10 @@ public class DocumentorApplicationEnhanced {
     }
 
     public static void main(final String[] args) {
+        if (HeadlessLauncher.isOneShot(args)) {
+            System.exit(HeadlessLauncher.run(
+                    DocumentorApplicationEnhanced.class, args));
+        }
         LOGGER.info("Starting DocumentorApplicationEnhanced - Enhanced "
                 + "version with improved error handling");
         SpringApplication.run(DocumentorApplicationEnhanced.class, args);
@@ -7,22 +7,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.stereotype.Component;
 
 /**
  * Command processor that directly handles application arguments.
  * This is an alternative approach to Spring Shell for command processing.
  * It intercepts command line arguments and delegates to the appropriate
- * handlers.
+ * handlers. A failed command sets a non-zero exit code, which
+ * {@link org.springframework.boot.SpringApplication#exit} picks up.
  */
 @Component
-public class DirectCommandProcessor implements ApplicationRunner {
+public class DirectCommandProcessor
+        implements ApplicationRunner, ExitCodeGenerator {
 
     private static final Logger LOGGER =
             LoggerFactory.getLogger(DirectCommandProcessor.class);
+
+    /** Exit code of a command that failed */
+    public static final int FAILURE_EXIT_CODE = 1;
+
+    private static final String FAILURE_PREFIX = "❌";
+
     private final DocumentorCommands documentorCommands;
     private final DocumentorConfig documentorConfig;
     private final LlmServiceFix llmServiceFix;
+    private volatile int exitCode;
 
     public DirectCommandProcessor(
             final DocumentorCommands documentorCommandsParam,
@@ -70,10 +80,55 @@ public class DirectCommandProcessor implements ApplicationRunner {
             // Process "analyze" command
             if ("analyze".equals(command)) {
                 processAnalyzeCommand(sourceArgs);
+            } else if ("scan".equals(command)) {
+                processScanCommand(sourceArgs);
             }
         }
     }
 
+    /**
+     * Exit code of the processed command: 0 unless it failed.
+     *
+     * @return the exit code
+     */
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private void report(final String result) {
+        LOGGER.info("Command execution result: {}", result);
+        if (result != null && result.startsWith(FAILURE_PREFIX)) {
+            exitCode = FAILURE_EXIT_CODE;
+        }
+    }
+
+    private void processScanCommand(final String[] args) {
+        String projectPath = ".";
+        boolean includePrivateMembers = true;
+
+        for (int i = 1; i < args.length; i++) {
+            if ("--project-path".equals(args[i]) && i + 1 < args.length) {
+                projectPath = args[i + 1];
+                i++;
+            } else if ("--include-private-members".equals(args[i])
+                       && i + 1 < args.length) {
+                includePrivateMembers = Boolean.parseBoolean(args[i + 1]);
+                i++;
+            }
+        }
+
+        LOGGER.info("Executing scan command with: project={}", projectPath);
+
+        try {
+            report(documentorCommands.scanProject(projectPath,
+                    includePrivateMembers));
+        } catch (Exception e) {
+            LOGGER.error("Error executing scan command", e);
+            exitCode = FAILURE_EXIT_CODE;
+        }
+    }
+
     private void processAnalyzeCommand(final String[] args) {
         String projectPath = ".";
         String configPath = "config.json";
@@ -82,6 +137,10 @@ public class DirectCommandProcessor implements ApplicationRunner {
         String mermaidOutput = "";
         boolean generatePlantUML = false;
         String plantUMLOutput = "";
+        boolean dryRun = false;
+        boolean streaming = false;
+        boolean resume = false;
+        String since = "";
 
         // Parse arguments
         for (int i = 1; i < args.length; i++) {
@@ -111,6 +170,19 @@ public class DirectCommandProcessor implements ApplicationRunner {
                        && i + 1 < args.length) {
                 plantUMLOutput = args[i + 1];
                 i++;
+            } else if ("--dry-run".equals(args[i]) && i + 1 < args.length) {
+                dryRun = Boolean.parseBoolean(args[i + 1]);
+                i++;
+            } else if ("--streaming".equals(args[i])
+                       && i + 1 < args.length) {
+                streaming = Boolean.parseBoolean(args[i + 1]);
+                i++;
+            } else if ("--resume".equals(args[i]) && i + 1 < args.length) {
+                resume = Boolean.parseBoolean(args[i + 1]);
+                i++;
+            } else if ("--since".equals(args[i]) && i + 1 < args.length) {
+                since = args[i + 1];
+                i++;
             }
         }
 
@@ -130,11 +202,12 @@ public class DirectCommandProcessor implements ApplicationRunner {
             String result = documentorCommands.analyzeProject(
                 projectPath, configPath, includePrivateMembers,
                 generateMermaid, mermaidOutput, generatePlantUML,
-                plantUMLOutput, false);
+                plantUMLOutput, dryRun, streaming, resume, since);
 
-            LOGGER.info("Command execution result: {}", result);
+            report(result);
         } catch (Exception e) {
             LOGGER.error("Error executing analyze command", e);
+            exitCode = FAILURE_EXIT_CODE;
         }
     }
 }
@@ -180,22 +180,6 @@ public class DocumentorCommands {
         this.enhancedAnalysisHandler = enhancedAnalysisHandlerParam;
     }
 
-    /**
-     * 🔍 Overload for backward compatibility (without dryRun)
-     */
-    public String analyzeProject(
-            final String projectPath,
-            final String configPath,
-            final boolean includePrivateMembers,
-            final boolean generateMermaid,
-            final String mermaidOutput,
-            final boolean generatePlantUML,
-            final String plantUMLOutput) {
-        return analyzeProject(projectPath, configPath, includePrivateMembers,
-                generateMermaid, mermaidOutput, generatePlantUML,
-                plantUMLOutput, false);
-    }
-
     /**
      * 🔍 Main command to analyze a project and generate documentation
      */
@@ -235,15 +219,52 @@ public class DocumentorCommands {
             @ShellOption(value = "--dry-run",
                     help = "Preview changes without writing files to disk",
                     defaultValue = "false")
-            final boolean dryRun) {
+            final boolean dryRun,
+            @ShellOption(value = "--streaming",
+                    help = "Start documenting classes while the project is "
+                           + "still being parsed",
+                    defaultValue = "false")
+            final boolean streaming,
+            @ShellOption(value = "--resume",
+                    help = "Reuse LLM results journaled by an interrupted "
+                           + "run and only generate what is missing",
+                    defaultValue = "false")
+            final boolean resume,
+            @ShellOption(value = "--since",
+                    help = "Only document files changed since this git "
+                           + "revision, keeping the rest from the last run",
+                    defaultValue = "")
+            final String since) {
+
+        boolean changedOnly = since != null && !since.isBlank();
+        if (changedOnly && (streaming || resume)) {
+            return "❌ Error: --since cannot be combined with --streaming or "
+                    + "--resume";
+        }
 
         // Update current state
         this.currentProjectPath = projectPath;
         this.currentConfigPath = configPath;
 
-        String result = projectAnalysisHandler.handleAnalyzeProjectExtended(
+        ProjectAnalysisRequest request = new ProjectAnalysisRequest(
                 projectPath, configPath, generateMermaid, mermaidOutput,
-                generatePlantUML, plantUMLOutput, includePrivateMembers, dryRun);
+                generatePlantUML, plantUMLOutput, includePrivateMembers, false,
+                "", false);
+        String result;
+        if (changedOnly && !dryRun) {
+            result = projectAnalysisHandler.handleAnalyzeProjectSince(
+                    request, since);
+        } else if (!dryRun) {
+            // The enhanced pipeline keeps the manifest and journal that
+            // make re-running analyze incremental
+            result = projectAnalysisHandler.handleAnalyzeProjectEnhanced(
+                    request, streaming, resume);
+        } else {
+            result = projectAnalysisHandler.handleAnalyzeProjectExtended(
+                    projectPath, configPath, generateMermaid, mermaidOutput,
+                    generatePlantUML, plantUMLOutput, includePrivateMembers,
+                    dryRun);
+        }
 
         if (dryRun) {
             result = "🔄 DRY RUN MODE (no files written)\n\n" + result;
@@ -252,6 +273,173 @@ public class DocumentorCommands {
         return result;
     }
 
+    /**
+     * 👀 Watch a project and regenerate documentation as files change
+     */
+    @ShellMethod(value = "Watch a project and regenerate documentation of "
+            + "changed files", key = "watch")
+    public String watchProject(
+            @ShellOption(value = "--project-path",
+                    help = "Path to the project directory to watch")
+            final String projectPath,
+            @ShellOption(value = "--config",
+                    help = "Path to configuration JSON file",
+                    defaultValue = "config.json")
+            final String configPath,
+            @ShellOption(value = "--debounce-ms",
+                    help = "Quiet time in milliseconds before a batch of "
+                           + "changes is processed",
+                    defaultValue = "300")
+            final long debounceMillis,
+            @ShellOption(value = "--max-batches",
+                    help = "Stop after this many batches (0 = until "
+                           + "interrupted)",
+                    defaultValue = "0")
+            final int maxBatches) {
+
+        // Update current state
+        this.currentProjectPath = projectPath;
+        this.currentConfigPath = configPath;
+
+        return projectAnalysisHandler.handleWatchProject(projectPath,
+                configPath, debounceMillis, maxBatches);
+    }
+
+    /**
+     * 📦 Coordinate a sharded documentation run across worker processes
+     */
+    @ShellMethod(value = "Split a project into shards for worker processes "
+            + "and merge their results", key = "coordinate")
+    public String coordinateShards(
+            @ShellOption(value = "--project-path",
+                    help = "Path to the project directory to analyze")
+            final String projectPath,
+            @ShellOption(value = "--config",
+                    help = "Path to configuration JSON file",
+                    defaultValue = "config.json")
+            final String configPath,
+            @ShellOption(value = "--queue-dir",
+                    help = "Directory shared with the workers")
+            final String queueDirectory,
+            @ShellOption(value = "--shards",
+                    help = "Number of shards",
+                    defaultValue = "16")
+            final int shards,
+            @ShellOption(value = "--timeout-minutes",
+                    help = "How long to wait for the workers (0 = no limit)",
+                    defaultValue = "0")
+            final long timeoutMinutes) {
+
+        // Update current state
+        this.currentProjectPath = projectPath;
+        this.currentConfigPath = configPath;
+
+        return projectAnalysisHandler.handleCoordinateShards(projectPath,
+                configPath, queueDirectory, shards, timeoutMinutes);
+    }
+
+    /**
+     * 🛠️ Work on the shards of a coordinated run
+     */
+    @ShellMethod(value = "Process shards of a coordinated run until all are "
+            + "finished", key = "work")
+    public String workShards(
+            @ShellOption(value = "--queue-dir",
+                    help = "Directory shared with the coordinator")
+            final String queueDirectory,
+            @ShellOption(value = "--config",
+                    help = "Path to configuration JSON file",
+                    defaultValue = "config.json")
+            final String configPath,
+            @ShellOption(value = "--worker-id",
+                    help = "Unique worker name (default: from the process "
+                           + "id)",
+                    defaultValue = "")
+            final String workerId,
+            @ShellOption(value = "--lease-seconds",
+                    help = "Seconds without heartbeat before a shard is "
+                           + "reassigned",
+                    defaultValue = "60")
+            final long leaseSeconds) {
+
+        this.currentConfigPath = configPath;
+
+        return projectAnalysisHandler.handleWorkShards(queueDirectory,
+                configPath, workerId, leaseSeconds);
+    }
+
+    /**
+     * 📦 Analyze a project and write its documentation into one archive
+     */
+    @ShellMethod(value = "Analyze a project and write the documentation into "
+            + "a single zip or tar archive", key = "archive")
+    public String archiveProject(
+            @ShellOption(value = "--project-path",
+                    help = "Path to the project directory to analyze")
+            final String projectPath,
+            @ShellOption(value = "--config",
+                    help = "Path to configuration JSON file",
+                    defaultValue = "config.json")
+            final String configPath,
+            @ShellOption(value = "--archive",
+                    help = "Archive to write (.zip, or .tar for a tar "
+                           + "stream)",
+                    defaultValue = "documentation.zip")
+            final String archivePath,
+            @ShellOption(value = "--include-private-members",
+                    help = "Include private members in documentation "
+                           + "and diagrams",
+                    defaultValue = "true")
+            final boolean includePrivateMembers) {
+
+        // Update current state
+        this.currentProjectPath = projectPath;
+        this.currentConfigPath = configPath;
+
+        return projectAnalysisHandler.handleArchiveProject(projectPath,
+                configPath, archivePath, includePrivateMembers);
+    }
+
+    /**
+     * 🌐 Render generated Markdown documentation as a static HTML site
+     */
+    @ShellMethod(value = "Render generated documentation as a static HTML "
+            + "site", key = "site")
+    public String renderSite(
+            @ShellOption(value = "--docs-dir",
+                    help = "Documentation output directory to render",
+                    defaultValue = "docs")
+            final String docsDirectory,
+            @ShellOption(value = "--site-dir",
+                    help = "Site directory (default: site inside the "
+                           + "documentation directory)",
+                    defaultValue = "")
+            final String siteDirectory) {
+        return projectAnalysisHandler.handleRenderSite(docsDirectory,
+                siteDirectory);
+    }
+
+    /**
+     * 🔎 Search generated documentation by name, signature or description
+     */
+    @ShellMethod(value = "Search generated documentation", key = "search")
+    public String searchDocumentation(
+            @ShellOption(value = "--query",
+                    help = "Words to search for; end a word with * to match "
+                           + "a prefix")
+            final String query,
+            @ShellOption(value = "--docs-dir",
+                    help = "Documentation output directory to search",
+                    defaultValue = "docs")
+            final String docsDirectory,
+            @ShellOption(value = "--limit",
+                    help = "Maximum number of results",
+                    defaultValue = "10")
+            final int limit) {
+        return projectAnalysisHandler.handleSearch(docsDirectory, query,
+                limit);
+    }
+
     /**
      * 🌱 Overload for backward compatibility (without dryRun)
      */
@@ -0,0 +1,92 @@
+package com.documentor.cli;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⚡ Headless Launcher - fast start for one-shot commands
+ *
+ * Starts a lean context for a single {@code analyze} or {@code scan} run
+ * from the command line. The {@value #PROFILE} profile leaves out Spring
+ * Shell and the reactive web client auto-configuration, and every bean is
+ * created lazily, so only the components the command actually reaches are
+ * built: unused services and their thread pools never start. The context is
+ * closed as soon as the command has run, and a failed command gives a
+ * non-zero exit code (see {@link DirectCommandProcessor#getExitCode()}).
+ *
+ * Set the system property {@code documentor.headless=false} to start the
+ * full context instead.
+ */
+public final class HeadlessLauncher {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(HeadlessLauncher.class);
+
+    /** Profile of the lean context */
+    public static final String PROFILE = "headless";
+
+    /** System property that switches the launcher off */
+    public static final String ENABLED_PROPERTY = "documentor.headless";
+
+    private static final Set<String> ONE_SHOT_COMMANDS =
+            Set.of("analyze", "scan");
+
+    private HeadlessLauncher() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Whether the arguments ask for a one-shot command the launcher runs.
+     *
+     * @param args the command line arguments
+     * @return true for {@code analyze} and {@code scan} unless disabled
+     */
+    public static boolean isOneShot(final String[] args) {
+        return args != null && args.length > 0
+                && ONE_SHOT_COMMANDS.contains(args[0])
+                && Boolean.parseBoolean(
+                        System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    /**
+     * ⚡ Runs a one-shot command in a lean context and closes it
+     *
+     * @param source the application class
+     * @param args the command line arguments
+     * @return the exit code of the context, non-zero if the command failed
+     */
+    public static int run(final Class<?> source, final String[] args) {
+        long start = System.nanoTime();
+        ApplicationListener<ApplicationEvent> startupTimer = event -> {
+            if (event instanceof ApplicationStartedEvent) {
+                LOGGER.info("⚡ Headless context started in {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(
+                                System.nanoTime() - start));
+            }
+        };
+        ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(source)
+                        .profiles(PROFILE)
+                        .web(WebApplicationType.NONE)
+                        .bannerMode(Banner.Mode.OFF)
+                        .logStartupInfo(false)
+                        .lazyInitialization(true)
+                        .listeners(startupTimer)
+                        .run(args);
+        int exitCode = SpringApplication.exit(context);
+        LOGGER.info("⚡ {} finished in {} ms", args[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return exitCode;
+    }
+}
@@ -5,7 +5,16 @@ import com.documentor.config.ThreadLocalContextHolder;
 import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.CodeAnalysisService;
 import com.documentor.service.DocumentationService;
+import com.documentor.service.DocumentationServiceEnhanced;
+import com.documentor.service.DocumentationServiceEnhanced.StreamedDocumentation;
 import com.documentor.service.LlmServiceFix;
+import com.documentor.service.analysis.GitChangeDetector;
+import com.documentor.service.analysis.ProjectWatcher;
+import com.documentor.service.distributed.ShardQueue;
+import com.documentor.service.distributed.ShardWorker;
+import com.documentor.service.search.SearchIndex;
+import com.documentor.service.search.SearchIndexReader;
+import com.documentor.service.site.HtmlSiteGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -14,12 +23,17 @@ import com.documentor.service.MermaidDiagramService;
 import com.documentor.service.PlantUMLDiagramService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 🔍 Handler for project analysis and documentation generation
@@ -30,6 +44,10 @@ public class ProjectAnalysisCommandHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(
             ProjectAnalysisCommandHandler.class);
+    private static final Duration WATCH_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final int WATCH_MAX_DELAY_FACTOR = 10;
+    private static final String WATCH_PROBE_FILE = "_";
+    private static final Duration SHARD_POLL_INTERVAL = Duration.ofSeconds(2);
 
     private final CodeAnalysisService codeAnalysisService;
     private final DocumentationService documentationService;
@@ -37,6 +55,9 @@ public class ProjectAnalysisCommandHandler {
     private final PlantUMLDiagramService plantUMLDiagramService;
     private final CommonCommandHandler commonHandler;
     private final LlmServiceFix llmServiceFix;
+    private final DocumentationServiceEnhanced enhancedDocumentationService;
+    private final GitChangeDetector gitChangeDetector;
+    private final HtmlSiteGenerator siteGenerator;
 
     public ProjectAnalysisCommandHandler(
             final CodeAnalysisService codeAnalysisServiceParam,
@@ -45,6 +66,25 @@ public class ProjectAnalysisCommandHandler {
             final PlantUMLDiagramService plantUMLDiagramServiceParam,
             final CommonCommandHandler commonHandlerParam,
             final LlmServiceFix llmServiceFixParam) {
+        this(codeAnalysisServiceParam, documentationServiceParam,
+                mermaidDiagramServiceParam, plantUMLDiagramServiceParam,
+                commonHandlerParam, llmServiceFixParam,
+                new ProjectAnalysisServices(null));
+    }
+
+    @Autowired
+    public ProjectAnalysisCommandHandler(
+            final CodeAnalysisService codeAnalysisServiceParam,
+            final DocumentationService documentationServiceParam,
+            final MermaidDiagramService mermaidDiagramServiceParam,
+            final PlantUMLDiagramService plantUMLDiagramServiceParam,
+            final CommonCommandHandler commonHandlerParam,
+            final LlmServiceFix llmServiceFixParam,
+            final ProjectAnalysisServices servicesParam) {
+        this.enhancedDocumentationService =
+                servicesParam.getEnhancedDocumentationService();
+        this.gitChangeDetector = servicesParam.getGitChangeDetector();
+        this.siteGenerator = servicesParam.getSiteGenerator();
         this.codeAnalysisService = codeAnalysisServiceParam;
         this.documentationService = documentationServiceParam;
         this.mermaidDiagramService = mermaidDiagramServiceParam;
@@ -122,30 +162,7 @@ public class ProjectAnalysisCommandHandler {
                                         final Boolean includePrivateMembers,
                                         final boolean dryRun) {
         try {
-            // Load external config if provided
-            if (configPath != null && !configPath.isEmpty()
-                    && !"config.json".equals(configPath)) {
-                LOGGER.info("📝 Loading configuration from: {}", configPath);
-                Path configFile = Paths.get(configPath);
-                if (Files.exists(configFile)) {
-                    try {
-                        ObjectMapper objectMapper = new ObjectMapper();
-                        DocumentorConfig loadedConfig = objectMapper.readValue(
-                                configFile.toFile(), DocumentorConfig.class);
-                        ThreadLocalContextHolder.setConfig(loadedConfig);
-                        LOGGER.info("✅ Config set in ThreadLocalContextHolder");
-                        LOGGER.info("✅ Configuration loaded with {} LLM models",
-                                loadedConfig.llmModels().size());
-                        llmServiceFix.setLlmServiceThreadLocalConfig(loadedConfig);
-                        LOGGER.info("✅ ThreadLocal context set for worker threads");
-                    } catch (Exception e) {
-                        LOGGER.error("⚠️ Failed to load config from {}: {}",
-                                configPath, e.getMessage());
-                    }
-                } else {
-                    LOGGER.warn("⚠️ Config file not found: {}", configPath);
-                }
-            }
+            loadExternalConfig(configPath);
 
             LOGGER.info("🔍 Starting analysis of project: {}", projectPath);
 
@@ -187,6 +204,542 @@ public class ProjectAnalysisCommandHandler {
         }
     }
 
+    /**
+     * Handle project analysis in streaming mode: documentation for each
+     * class starts as soon as its file has been parsed instead of after the
+     * whole project has been analyzed. Falls back to the regular flow when
+     * the enhanced documentation service is not available.
+     */
+    public String handleAnalyzeProjectStreaming(final String projectPath,
+                                            final String configPath,
+                                            final boolean generateMermaid,
+                                            final String mermaidOutput,
+                                            final boolean generatePlantUML,
+                                        final String plantUMLOutput,
+                                        final Boolean includePrivateMembers) {
+        return handleAnalyzeProjectEnhanced(new ProjectAnalysisRequest(
+                projectPath, configPath, generateMermaid, mermaidOutput,
+                generatePlantUML, plantUMLOutput, includePrivateMembers,
+                false, "", false), true, false);
+    }
+
+    /**
+     * Handle project analysis with the enhanced documentation pipeline.
+     * With {@code streaming}, documentation for each class starts as soon as
+     * its file has been parsed; with {@code resume}, LLM results journaled
+     * by an interrupted run are reused. Falls back to the regular flow when
+     * the enhanced documentation service is not available.
+     */
+    public String handleAnalyzeProjectEnhanced(
+            final ProjectAnalysisRequest request,
+            final boolean streaming,
+            final boolean resume) {
+        if (enhancedDocumentationService == null) {
+            LOGGER.warn("⚠️ Enhanced documentation is not available - "
+                    + "using regular analysis");
+            return handleAnalyzeProjectExtended(request.projectPath(),
+                    request.configPath(), request.generateMermaid(),
+                    request.mermaidOutput(), request.generatePlantUML(),
+                    request.plantUMLOutput(),
+                    request.includePrivateMembers());
+        }
+        String projectPath = request.projectPath();
+        try {
+            loadExternalConfig(request.configPath());
+
+            LOGGER.info("🔍 Starting analysis of project: {} (streaming={}, "
+                    + "resume={})", projectPath, streaming, resume);
+
+            if (!commonHandler.directoryExists(projectPath)) {
+                return "❌ Error: Project path does not exist or is not a "
+                        + "directory: " + projectPath;
+            }
+
+            ProjectAnalysis analysis;
+            String outputPath;
+            if (streaming) {
+                // The service assembles the complete analysis for the
+                // diagrams while documentation consumes the stream
+                StreamedDocumentation documented =
+                        enhancedDocumentationService
+                        .generateStreamingDocumentation(projectPath,
+                                codeAnalysisService.analyzeProjectStreaming(
+                                        Paths.get(projectPath),
+                                        request.includePrivateMembers()),
+                                resume)
+                        .join();
+                outputPath = documented.outputPath();
+                analysis = documented.analysis();
+            } else {
+                analysis = performAnalysis(projectPath,
+                        request.includePrivateMembers());
+                outputPath = enhancedDocumentationService
+                        .generateDocumentation(analysis, resume)
+                        .join();
+            }
+
+            StringBuilder result = commonHandler.createResultBuilder();
+            result.append(String.format(
+                    "✅ Analysis complete! Documentation generated at: %s\n",
+                    outputPath));
+
+            if (request.generateMermaid()) {
+                handleMermaidGeneration(analysis, request.mermaidOutput(),
+                        result, false);
+            }
+
+            if (request.generatePlantUML()) {
+                handlePlantUMLGeneration(analysis, request.plantUMLOutput(),
+                        result, false);
+            }
+
+            return result.toString();
+        } catch (Exception e) {
+            LOGGER.error("Analysis failed", e);
+            return commonHandler.formatErrorMessage("Error during analysis", e);
+        }
+    }
+
+    /**
+     * Handle project analysis scoped to the files changed since a git
+     * revision. Only those files are parsed and documented; documentation of
+     * all other files is kept from the previous run's manifest, and
+     * documents of deleted files are removed. Falls back to the regular flow
+     * when the enhanced documentation service is not available.
+     */
+    public String handleAnalyzeProjectSince(
+            final ProjectAnalysisRequest request,
+            final String since) {
+        if (enhancedDocumentationService == null) {
+            LOGGER.warn("⚠️ Enhanced documentation is not available - "
+                    + "analyzing the whole project");
+            return handleAnalyzeProjectEnhanced(request, false, false);
+        }
+        String projectPath = request.projectPath();
+        try {
+            loadExternalConfig(request.configPath());
+
+            LOGGER.info("🔀 Starting analysis of files changed since {} in "
+                    + "project: {}", since, projectPath);
+
+            if (!commonHandler.directoryExists(projectPath)) {
+                return "❌ Error: Project path does not exist or is not a "
+                        + "directory: " + projectPath;
+            }
+
+            Path projectDir = Paths.get(projectPath);
+            GitChangeDetector.ChangeSet changes =
+                    gitChangeDetector.changedSince(projectDir, since);
+            ProjectAnalysis analysis = codeAnalysisService
+                    .analyzeFiles(projectDir, changes.changed(),
+                            request.includePrivateMembers())
+                    .join();
+            String outputPath = documentChanges(projectDir, analysis,
+                    changes.allPaths());
+
+            StringBuilder result = commonHandler.createResultBuilder();
+            result.append(String.format(
+                    "✅ Documented %d changed and %d removed files since %s "
+                    + "at: %s\n", changes.changed().size(),
+                    changes.deleted().size(), since, outputPath));
+
+            if (request.generateMermaid()) {
+                handleMermaidGeneration(analysis, request.mermaidOutput(),
+                        result, false);
+            }
+
+            if (request.generatePlantUML()) {
+                handlePlantUMLGeneration(analysis, request.plantUMLOutput(),
+                        result, false);
+            }
+
+            return result.toString();
+        } catch (Exception e) {
+            LOGGER.error("Analysis failed", e);
+            return commonHandler.formatErrorMessage("Error during analysis", e);
+        }
+    }
+
+    /**
+     * 🌐 Renders the Markdown of a documentation directory into a static
+     * HTML site, re-rendering only pages whose Markdown changed.
+     *
+     * @param docsDirectory documentation output directory
+     * @param siteDirectory site directory; blank for {@code site} inside
+     *                      the documentation directory
+     * @return result message
+     */
+    public String handleRenderSite(final String docsDirectory,
+                                   final String siteDirectory) {
+        try {
+            if (!commonHandler.directoryExists(docsDirectory)) {
+                return "❌ Error: Documentation directory does not exist: "
+                        + docsDirectory;
+            }
+            Path docs = Paths.get(docsDirectory);
+            Path site = siteDirectory == null || siteDirectory.isBlank()
+                    ? docs.resolve(HtmlSiteGenerator.SITE_DIRECTORY)
+                    : Paths.get(siteDirectory);
+            HtmlSiteGenerator.SiteResult result =
+                    siteGenerator.renderSite(docs, site);
+            return String.format("✅ Site written to %s: %d pages rendered, "
+                    + "%d unchanged, %d removed", result.index(),
+                    result.rendered(), result.unchanged(), result.removed());
+        } catch (Exception e) {
+            LOGGER.error("Site rendering failed", e);
+            return commonHandler.formatErrorMessage(
+                    "Error rendering site", e);
+        }
+    }
+
+    /**
+     * 🔎 Searches the generated documentation through the index written
+     * next to it, ranking element documents by relevance.
+     *
+     * @param docsDirectory documentation output directory
+     * @param query search words; a trailing {@code *} matches a prefix
+     * @param limit maximum number of results
+     * @return ranked results
+     */
+    public String handleSearch(final String docsDirectory, final String query,
+                               final int limit) {
+        try {
+            Path index = Paths.get(docsDirectory).resolve(SearchIndex.FILE_NAME);
+            if (!Files.exists(index)) {
+                return "❌ Error: No search index in " + docsDirectory
+                        + " - generate the documentation first";
+            }
+            long start = System.nanoTime();
+            SearchIndexReader reader = SearchIndexReader.open(index);
+            List<SearchIndexReader.Hit> hits = reader.search(query, limit);
+            long micros = TimeUnit.NANOSECONDS.toMicros(
+                    System.nanoTime() - start);
+            if (hits.isEmpty()) {
+                return String.format("🔎 No matches for '%s' in %d documents",
+                        query, reader.documentCount());
+            }
+            StringBuilder result = new StringBuilder(String.format(
+                    "🔎 %d matches for '%s' in %d documents (%d µs)%n",
+                    hits.size(), query, reader.documentCount(), micros));
+            int rank = 1;
+            for (SearchIndexReader.Hit hit : hits) {
+                result.append(String.format("%2d. %-40s %6.2f  %s%n", rank++,
+                        hit.title(), hit.score(), hit.document()));
+            }
+            return result.toString().stripTrailing();
+        } catch (Exception e) {
+            LOGGER.error("Search failed", e);
+            return commonHandler.formatErrorMessage(
+                    "Error searching documentation", e);
+        }
+    }
+
+    /**
+     * 📦 Analyzes a project and writes its documentation into a single zip
+     * or tar archive instead of a tree of files.
+     *
+     * @param projectPath project directory
+     * @param configPath configuration file
+     * @param archivePath archive to write; {@code .tar} for a tar stream,
+     *                    otherwise a zip file
+     * @param includePrivateMembers whether private members are documented
+     * @return result message
+     */
+    public String handleArchiveProject(final String projectPath,
+                                       final String configPath,
+                                       final String archivePath,
+                                       final Boolean includePrivateMembers) {
+        if (enhancedDocumentationService == null) {
+            return "❌ Error: Archive output requires the enhanced "
+                    + "documentation service";
+        }
+        try {
+            loadExternalConfig(configPath);
+            if (!commonHandler.directoryExists(projectPath)) {
+                return "❌ Error: Project path does not exist or is not a "
+                        + "directory: " + projectPath;
+            }
+
+            ProjectAnalysis analysis = performAnalysis(projectPath,
+                    includePrivateMembers);
+            String archive = enhancedDocumentationService
+                    .generateDocumentationArchive(analysis,
+                            Paths.get(archivePath))
+                    .join();
+            return "✅ Analysis complete! Documentation archived in: "
+                    + archive;
+        } catch (Exception e) {
+            LOGGER.error("Archive run failed", e);
+            return commonHandler.formatErrorMessage(
+                    "Error during archive run", e);
+        }
+    }
+
+    /**
+     * Watch a project and keep its documentation up to date. File changes
+     * are debounced into batches; each batch re-analyzes only the changed
+     * files and regenerates their class documents and diagrams, reusing the
+     * warm JVM, parser and caches. The latency of every batch, from the
+     * first change to the updated documentation, is logged. Runs until the
+     * thread is interrupted or {@code maxBatches} batches (if positive)
+     * have been processed; a batch that fails is logged and watching goes
+     * on.
+     */
+    public String handleWatchProject(final String projectPath,
+                                     final String configPath,
+                                     final long debounceMillis,
+                                     final int maxBatches) {
+        if (enhancedDocumentationService == null) {
+            return "❌ Error: Watch mode requires the enhanced documentation "
+                    + "service";
+        }
+        StringBuilder result = commonHandler.createResultBuilder();
+        try {
+            loadExternalConfig(configPath);
+
+            if (!commonHandler.directoryExists(projectPath)) {
+                return "❌ Error: Project path does not exist or is not a "
+                        + "directory: " + projectPath;
+            }
+
+            Path projectDir = Paths.get(projectPath);
+            Duration quietPeriod = Duration.ofMillis(debounceMillis);
+            try (ProjectWatcher watcher = new ProjectWatcher(projectDir,
+                    codeAnalysisService::isAnalyzable,
+                    this::isWatchedDirectory, quietPeriod,
+                    quietPeriod.multipliedBy(WATCH_MAX_DELAY_FACTOR))) {
+                LOGGER.info("👀 Watching {} for changes (debounce {} ms)",
+                        projectPath, debounceMillis);
+                int batches = 0;
+                while (maxBatches <= 0 || batches < maxBatches) {
+                    ProjectWatcher.Batch batch =
+                            watcher.nextBatch(WATCH_POLL_INTERVAL);
+                    if (batch == null) {
+                        continue;
+                    }
+                    batches++;
+                    String line;
+                    try {
+                        line = processWatchBatch(projectDir, batch, batches);
+                        LOGGER.info(line);
+                    } catch (RuntimeException e) {
+                        // One failed batch must not end the watch
+                        LOGGER.error("Watch batch {} failed", batches, e);
+                        line = commonHandler.formatErrorMessage(
+                                "Batch " + batches + " failed", e);
+                    }
+                    result.append(line).append("\n");
+                }
+            }
+            return result.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return result.append("👋 Watch stopped\n").toString();
+        } catch (Exception e) {
+            LOGGER.error("Watch failed", e);
+            return commonHandler.formatErrorMessage("Error during watch", e);
+        }
+    }
+
+    /**
+     * Documents one batch of watched changes and describes its latency
+     */
+    private String processWatchBatch(final Path projectDir,
+                                     final ProjectWatcher.Batch batch,
+                                     final int number) {
+        long started = System.nanoTime();
+        // Deleted files are skipped by the analysis but stay in the scope,
+        // so their documents are removed
+        ProjectAnalysis analysis = codeAnalysisService
+                .analyzeFiles(projectDir, batch.paths(), null)
+                .join();
+        documentChanges(projectDir, analysis, batch.paths());
+        long finished = System.nanoTime();
+        return String.format("🔄 Batch %d: %d files, %d elements - "
+                + "documented in %d ms (%d ms after the first change)",
+                number, batch.paths().size(), analysis.codeElements().size(),
+                TimeUnit.NANOSECONDS.toMillis(finished - started),
+                TimeUnit.NANOSECONDS.toMillis(
+                        finished - batch.firstEventNanos()));
+    }
+
+    /**
+     * 📦 Coordinates a sharded documentation run
+     *
+     * Analyzes the project, writes its classes as shards to the queue
+     * directory, waits until workers (see {@link #handleWorkShards}) have
+     * journaled every shard, and then renders the documentation from their
+     * results. Running the coordinator again on the same queue picks up
+     * the shards that are already finished.
+     *
+     * @param projectPath project directory
+     * @param configPath configuration file
+     * @param queueDirectory queue directory shared with the workers
+     * @param shards number of shards
+     * @param timeoutMinutes how long to wait for the workers (0 = no limit)
+     * @return result message
+     */
+    public String handleCoordinateShards(final String projectPath,
+                                         final String configPath,
+                                         final String queueDirectory,
+                                         final int shards,
+                                         final long timeoutMinutes) {
+        if (enhancedDocumentationService == null) {
+            return "❌ Error: Sharded runs require the enhanced documentation "
+                    + "service";
+        }
+        try {
+            loadExternalConfig(configPath);
+            if (!commonHandler.directoryExists(projectPath)) {
+                return "❌ Error: Project path does not exist or is not a "
+                        + "directory: " + projectPath;
+            }
+
+            ProjectAnalysis analysis = performAnalysis(projectPath);
+            ShardQueue queue = ShardQueue.create(Paths.get(queueDirectory),
+                    analysis, shards);
+            long deadline = timeoutMinutes > 0
+                    ? System.nanoTime() + TimeUnit.MINUTES.toNanos(
+                            timeoutMinutes)
+                    : Long.MAX_VALUE;
+            int reported = -1;
+            while (!queue.isComplete()) {
+                int done = queue.completedCount();
+                if (done != reported) {
+                    LOGGER.info("📦 {} of {} shards finished", done,
+                            queue.shardCount());
+                    reported = done;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    return "❌ Error: Timed out waiting for workers - "
+                            + done + " of " + queue.shardCount()
+                            + " shards finished";
+                }
+                Thread.sleep(SHARD_POLL_INTERVAL.toMillis());
+            }
+
+            String outputPath = enhancedDocumentationService
+                    .generateDocumentationFromJournals(analysis,
+                            queue.completedJournals())
+                    .join();
+            return "✅ Documentation of " + queue.shardCount()
+                    + " shards generated in: " + outputPath;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "👋 Coordinator stopped";
+        } catch (Exception e) {
+            LOGGER.error("Sharded run failed", e);
+            return commonHandler.formatErrorMessage(
+                    "Error during sharded run", e);
+        }
+    }
+
+    /**
+     * 🛠️ Works on the shards of a queue until all are finished
+     *
+     * Waits for the coordinator to write the queue, then processes shards
+     * one at a time. Workers can be started and restarted at any time; the
+     * shard of a worker that stops renewing its lease is reassigned.
+     *
+     * @param queueDirectory queue directory shared with the coordinator
+     * @param configPath configuration file
+     * @param workerId unique worker name; blank for one from the process id
+     * @param leaseSeconds seconds without heartbeat before a shard is
+     *                     reassigned
+     * @return result message
+     */
+    public String handleWorkShards(final String queueDirectory,
+                                   final String configPath,
+                                   final String workerId,
+                                   final long leaseSeconds) {
+        if (enhancedDocumentationService == null) {
+            return "❌ Error: Sharded runs require the enhanced documentation "
+                    + "service";
+        }
+        String id = workerId != null && !workerId.isBlank() ? workerId
+                : "worker-" + ProcessHandle.current().pid();
+        try {
+            loadExternalConfig(configPath);
+            Path queueDir = Paths.get(queueDirectory);
+            while (!Files.exists(queueDir.resolve("plan.json"))) {
+                LOGGER.info("🛠️ Waiting for the coordinator to fill {}",
+                        queueDir);
+                Thread.sleep(SHARD_POLL_INTERVAL.toMillis());
+            }
+            ShardWorker worker = new ShardWorker(ShardQueue.open(queueDir),
+                    id, Duration.ofSeconds(leaseSeconds),
+                    (shard, workDirectory) -> enhancedDocumentationService
+                            .generateJournal(shard, workDirectory).join());
+            int finished = worker.run(SHARD_POLL_INTERVAL);
+            return "✅ Worker " + id + " finished " + finished + " shards";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "👋 Worker " + id + " stopped";
+        } catch (Exception e) {
+            LOGGER.error("Worker {} failed", id, e);
+            return commonHandler.formatErrorMessage("Error in worker " + id,
+                    e);
+        }
+    }
+
+    /**
+     * Regenerates the documentation of changed files, keeping the rest
+     */
+    private String documentChanges(final Path projectDir,
+                                   final ProjectAnalysis analysis,
+                                   final Set<Path> changedPaths) {
+        // Same path form as a full walk, so manifest sources match
+        Set<String> scope = changedPaths.stream()
+                .map(path -> projectDir.resolve(path).toString())
+                .collect(Collectors.toSet());
+        return enhancedDocumentationService
+                .generateChangedDocumentation(analysis, scope)
+                .join();
+    }
+
+    /**
+     * Hidden directories (.git, .idea, ...) and directories matched by an
+     * exclude pattern are not watched
+     */
+    private boolean isWatchedDirectory(final Path directory) {
+        Path name = directory.getFileName();
+        if (name != null && name.toString().startsWith(".")) {
+            return false;
+        }
+        // Patterns such as **/target/** match the files below a directory
+        return !codeAnalysisService.isExcluded(
+                directory.resolve(WATCH_PROBE_FILE));
+    }
+
+    /**
+     * Load external config if provided
+     */
+    private void loadExternalConfig(final String configPath) {
+        if (configPath != null && !configPath.isEmpty()
+                && !"config.json".equals(configPath)) {
+            LOGGER.info("📝 Loading configuration from: {}", configPath);
+            Path configFile = Paths.get(configPath);
+            if (Files.exists(configFile)) {
+                try {
+                    ObjectMapper objectMapper = new ObjectMapper();
+                    DocumentorConfig loadedConfig = objectMapper.readValue(
+                            configFile.toFile(), DocumentorConfig.class);
+                    ThreadLocalContextHolder.setConfig(loadedConfig);
+                    LOGGER.info("✅ Config set in ThreadLocalContextHolder");
+                    LOGGER.info("✅ Configuration loaded with {} LLM models",
+                            loadedConfig.llmModels().size());
+                    llmServiceFix.setLlmServiceThreadLocalConfig(loadedConfig);
+                    LOGGER.info("✅ ThreadLocal context set for worker threads");
+                } catch (Exception e) {
+                    LOGGER.error("⚠️ Failed to load config from {}: {}",
+                            configPath, e.getMessage());
+                }
+            } else {
+                LOGGER.warn("⚠️ Config file not found: {}", configPath);
+            }
+        }
+    }
+
     /**
      * Handle scanning a project without generating documentation
      */
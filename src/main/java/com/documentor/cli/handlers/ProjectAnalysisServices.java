@@ -0,0 +1,69 @@
+package com.documentor.cli.handlers;
+
+import com.documentor.service.DocumentationServiceEnhanced;
+import com.documentor.service.analysis.GitChangeDetector;
+import com.documentor.service.site.HtmlSiteGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🧰 Services behind the incremental, streaming and site commands
+ *
+ * Groups the collaborators that {@link ProjectAnalysisCommandHandler} only
+ * needs for its enhanced runs, so the handler keeps one constructor. The
+ * enhanced documentation service is optional; without it those commands
+ * report that they are unavailable.
+ */
+@Component
+public class ProjectAnalysisServices {
+
+    private final DocumentationServiceEnhanced enhancedDocumentationService;
+    private final GitChangeDetector gitChangeDetector;
+    private final HtmlSiteGenerator siteGenerator;
+
+    /**
+     * Services with the default change detector and site generator.
+     *
+     * @param enhancedDocumentationServiceParam the enhanced service, or null
+     */
+    public ProjectAnalysisServices(
+            final DocumentationServiceEnhanced
+                    enhancedDocumentationServiceParam) {
+        this(enhancedDocumentationServiceParam, new GitChangeDetector(),
+                new HtmlSiteGenerator());
+    }
+
+    @Autowired
+    public ProjectAnalysisServices(
+            @Autowired(required = false)
+            final DocumentationServiceEnhanced
+                    enhancedDocumentationServiceParam,
+            final GitChangeDetector gitChangeDetectorParam,
+            final HtmlSiteGenerator siteGeneratorParam) {
+        this.enhancedDocumentationService =
+                enhancedDocumentationServiceParam;
+        this.gitChangeDetector = gitChangeDetectorParam;
+        this.siteGenerator = siteGeneratorParam;
+    }
+
+    /**
+     * @return the enhanced documentation service, or null
+     */
+    public DocumentationServiceEnhanced getEnhancedDocumentationService() {
+        return enhancedDocumentationService;
+    }
+
+    /**
+     * @return the detector of changed files
+     */
+    public GitChangeDetector getGitChangeDetector() {
+        return gitChangeDetector;
+    }
+
+    /**
+     * @return the HTML site generator
+     */
+    public HtmlSiteGenerator getSiteGenerator() {
+        return siteGenerator;
+    }
+}
@@ -73,9 +73,11 @@ public class AppConfig implements AsyncConfigurer {
             final DocumentorConfig documentorConfigParam,
             final com.documentor.service.llm.LlmRequestBuilder requestBuilder,
             final com.documentor.service.llm.LlmResponseHandler responseHandler,
-            final com.documentor.service.llm.LlmApiClient apiClient) {
+            final com.documentor.service.llm.LlmApiClient apiClient,
+            final ExecutorRegistry executorRegistry) {
         return new com.documentor.service.LlmService(documentorConfigParam,
-                requestBuilder, responseHandler, apiClient);
+                requestBuilder, responseHandler, apiClient,
+                executorRegistry.executor(ExecutorRegistry.Pool.LLM_IO));
     }
 
     /**
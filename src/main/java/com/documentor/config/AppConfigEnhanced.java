@@ -16,6 +16,7 @@ import com.documentor.service.LlmServiceEnhanced;
  *
  * Configures beans for the Documentor application including:
  * - Thread pool for parallel LLM processing with enhanced error handling
+ * - Executor registry owning the named worker pools
  * - WebClient for HTTP API calls
  * - Async execution configuration
  * - Enhanced LlmService with robust null checks and fallbacks
@@ -55,6 +56,16 @@ public class AppConfigEnhanced implements AsyncConfigurer {
                 .build();
     }
 
+    /**
+     * ⚡ Executor registry owning the cpu-parse, llm-io, file-write and
+     * diagram pools. Shut down gracefully with the application context.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorRegistry executorRegistry() {
+        return new ExecutorRegistry(documentorConfig != null
+                ? documentorConfig.executorSettings() : null);
+    }
+
     /**
      * ⚡ Thread pool executor for parallel LLM processing with enhanced error
      * handling Marked with a specific name and as @Primary to resolve bean
@@ -128,7 +139,8 @@ public class AppConfigEnhanced implements AsyncConfigurer {
             final com.documentor.service.llm.LlmApiClient apiClient) {
         LOGGER.info("Creating enhanced LlmService (no longer PRIMARY)");
         return new com.documentor.service.LlmServiceEnhanced(
-            documentorConfigParam, requestBuilder, responseHandler, apiClient);
+            documentorConfigParam, requestBuilder, responseHandler, apiClient,
+            executorRegistry().executor(ExecutorRegistry.Pool.LLM_IO));
     }
 
     /**
@@ -147,7 +159,8 @@ public class AppConfigEnhanced implements AsyncConfigurer {
         // Create a new instance directly instead of calling the other method
         // to avoid conflicts
         return new com.documentor.service.LlmServiceEnhanced(
-            documentorConfig, requestBuilder, responseHandler, apiClient);
+            documentorConfig, requestBuilder, responseHandler, apiClient,
+            executorRegistry().executor(ExecutorRegistry.Pool.LLM_IO));
     }
 
     /**
@@ -179,13 +192,15 @@ public class AppConfigEnhanced implements AsyncConfigurer {
                 + "direct LlmServiceEnhanced instance");
 
         // Create a new instance of LlmServiceEnhanced directly instead of
-        // injecting
+        // injecting, sharing the registry's llm-io pool
         LlmServiceEnhanced serviceEnhanced = new LlmServiceEnhanced(
-            documentorConfigParam, requestBuilder, responseHandler, apiClient);
+            documentorConfigParam, requestBuilder, responseHandler, apiClient,
+            executorRegistry().executor(ExecutorRegistry.Pool.LLM_IO));
 
         return new com.documentor.service.documentation
             .UnitTestDocumentationGeneratorEnhanced(
-            serviceEnhanced, documentorConfig, llmServiceFixEnhanced);
+            serviceEnhanced, documentorConfig, llmServiceFixEnhanced,
+            executorRegistry(), null, null, null);
     }
 
     /**
@@ -7,6 +7,7 @@ import com.documentor.service.diagram.DiagramGeneratorFactory;
 import com.documentor.service.diagram.DiagramPathManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -31,7 +32,9 @@ public class DiagramServiceConfiguration {
             final DiagramElementFilter elementFilter,
             final DiagramPathManager pathManager,
             final DiagramGeneratorFactory generatorFactory,
-            final DocumentorConfig documentorConfig) {
+            final DocumentorConfig documentorConfig,
+            @Autowired(required = false)
+            final ExecutorRegistry executorRegistry) {
 
         LOGGER.info("Creating MermaidDiagramService with "
                 + "ThreadLocalContextHolder support");
@@ -44,7 +47,7 @@ public class DiagramServiceConfiguration {
         }
 
         return new MermaidDiagramService(elementFilter, pathManager,
-                generatorFactory);
+                generatorFactory, executorRegistry);
     }
 
     /**
@@ -56,7 +59,9 @@ public class DiagramServiceConfiguration {
             final DiagramElementFilter elementFilter,
             final DiagramPathManager pathManager,
             final DiagramGeneratorFactory generatorFactory,
-            final DocumentorConfig documentorConfig) {
+            final DocumentorConfig documentorConfig,
+            @Autowired(required = false)
+            final ExecutorRegistry executorRegistry) {
 
         LOGGER.info("Creating PlantUMLDiagramService with "
                 + "ThreadLocalContextHolder support");
@@ -69,6 +74,6 @@ public class DiagramServiceConfiguration {
         }
 
         return new PlantUMLDiagramService(elementFilter, pathManager,
-                generatorFactory);
+                generatorFactory, executorRegistry);
     }
 }
@@ -4,15 +4,22 @@ import com.documentor.service.DocumentationServiceEnhanced;
 import com.documentor.service.LlmServiceFixEnhanced;
 import com.documentor.service.MermaidDiagramService;
 import com.documentor.service.PlantUMLDiagramService;
+import com.documentor.service.diagram.DiagramBatchRenderer;
 import com.documentor.service.documentation.ElementDocumentationGeneratorEnhanced;
+import com.documentor.service.documentation.GenerationOptions;
 import com.documentor.service.documentation.MainDocumentationGenerator;
 import com.documentor.service.documentation.UnitTestDocumentationGeneratorEnhanced;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
 
 /**
@@ -27,21 +34,84 @@ public class DocumentationServiceConfiguration {
             LoggerFactory.getLogger(DocumentationServiceConfiguration.class);
 
     /**
-     * Creates an enhanced DocumentationService with improved error handling
+     * Creates the writer shared by every generator, so all output goes
+     * through one set of path locks and one directory cache. Setting
+     * {@code documentor.output.sync-on-commit} flushes files to disk before
+     * they are published. Files whose content did not change are left
+     * untouched unless {@code documentor.output.skip-unchanged} is false.
      */
     @Bean
-    @Primary
-    public DocumentationServiceEnhanced documentationServiceEnhanced(
+    public AtomicFileWriter outputFileWriter(
+            @Value("${documentor.output.sync-on-commit:false}")
+            final boolean syncOnCommit,
+            @Value("${documentor.output.skip-unchanged:true}")
+            final boolean skipUnchanged) {
+        return new AtomicFileWriter(CollisionPolicy.OVERWRITE, syncOnCommit,
+                skipUnchanged);
+    }
+
+    /**
+     * Creates the defaults every documentation run starts from. Each LLM
+     * call is bounded by {@code documentor.documentation.call-timeout-seconds}.
+     * A run deadline is opt-in: with
+     * {@code documentor.documentation.deadline-seconds} above zero, members
+     * not generated by then get a placeholder instead of an LLM call.
+     */
+    @Bean
+    public GenerationOptions documentationRunDefaults(
+            @Value("${documentor.documentation.call-timeout-seconds:60}")
+            final long callTimeoutSeconds,
+            @Value("${documentor.documentation.deadline-seconds:0}")
+            final long deadlineSeconds) {
+        return GenerationOptions.builder()
+                .callTimeout(Duration.ofSeconds(callTimeoutSeconds))
+                .deadline(deadlineSeconds > 0
+                        ? Duration.ofSeconds(deadlineSeconds) : null)
+                .build();
+    }
+
+    /**
+     * Groups the page generators of the enhanced documentation service
+     */
+    @Bean
+    public DocumentationServiceEnhanced.Generators documentationGenerators(
             final MainDocumentationGenerator mainDocGenerator,
             final ElementDocumentationGeneratorEnhanced
                     elementDocGeneratorEnhanced,
             final UnitTestDocumentationGeneratorEnhanced
-                    testDocGeneratorEnhanced,
+                    testDocGeneratorEnhanced) {
+        return new DocumentationServiceEnhanced.Generators(mainDocGenerator,
+                elementDocGeneratorEnhanced, testDocGeneratorEnhanced);
+    }
+
+    /**
+     * Groups the diagram services of the enhanced documentation service.
+     * Without a {@link DiagramBatchRenderer} diagrams are written but not
+     * rendered.
+     */
+    @Bean
+    public DocumentationServiceEnhanced.Diagrams documentationDiagrams(
             final MermaidDiagramService mermaidDiagramService,
             final PlantUMLDiagramService plantUMLDiagramService,
+            @Autowired(required = false)
+            final DiagramBatchRenderer diagramRenderer) {
+        return new DocumentationServiceEnhanced.Diagrams(mermaidDiagramService,
+                plantUMLDiagramService, diagramRenderer);
+    }
+
+    /**
+     * Creates an enhanced DocumentationService with improved error handling
+     */
+    @Bean
+    @Primary
+    public DocumentationServiceEnhanced documentationServiceEnhanced(
+            final DocumentationServiceEnhanced.Generators documentationGenerators,
+            final DocumentationServiceEnhanced.Diagrams documentationDiagrams,
             final DocumentorConfig documentorConfig,
             final LlmServiceFixEnhanced llmServiceFixEnhanced,
-            final Executor llmExecutor) {
+            final Executor llmExecutor,
+            final AtomicFileWriter outputFileWriter,
+            final GenerationOptions documentationRunDefaults) {
 
         LOGGER.info("Creating enhanced DocumentationService with "
                 + "NON-Enhanced ElementDocumentationGenerator (fixes Ollama)");
@@ -54,13 +124,12 @@ public class DocumentationServiceConfiguration {
         }
 
         return new DocumentationServiceEnhanced(
-            mainDocGenerator,
-            elementDocGeneratorEnhanced,
-            testDocGeneratorEnhanced,
-            mermaidDiagramService,
-            plantUMLDiagramService,
+            documentationGenerators,
+            documentationDiagrams,
             documentorConfig,
             llmServiceFixEnhanced,
-            llmExecutor);
+            llmExecutor,
+            outputFileWriter,
+            documentationRunDefaults);
     }
 }
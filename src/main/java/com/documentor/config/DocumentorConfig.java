@@ -1,6 +1,7 @@
 package com.documentor.config;
 
 import com.documentor.config.model.AnalysisSettings;
+import com.documentor.config.model.ExecutorSettings;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.config.model.OutputSettings;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -9,6 +10,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
@@ -36,12 +38,27 @@ public record DocumentorConfig(
 
         @JsonProperty("analysis_settings")
         @Valid
-        AnalysisSettings analysisSettings
+        AnalysisSettings analysisSettings,
+
+        @JsonProperty("executor_settings")
+        @Valid
+        ExecutorSettings executorSettings
 ) {
     // Simplified constructor with defaults
+    @ConstructorBinding
     public DocumentorConfig {
         if (analysisSettings == null) {
             analysisSettings = new AnalysisSettings(null, null, null, null);
         }
+        if (executorSettings == null) {
+            executorSettings = ExecutorSettings.defaults();
+        }
+    }
+
+    // Backward compatibility constructor without executor settings
+    public DocumentorConfig(final List<LlmModelConfig> llmModelsParam,
+                            final OutputSettings outputSettingsParam,
+                            final AnalysisSettings analysisSettingsParam) {
+        this(llmModelsParam, outputSettingsParam, analysisSettingsParam, null);
     }
 }
@@ -0,0 +1,313 @@
+package com.documentor.config;
+
+import com.documentor.config.model.ExecutorSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ⚡ Executor Registry
+ *
+ * Single owner of every worker pool used by the application. Each
+ * {@link Pool} is a fixed-size {@link ThreadPoolExecutor} with a bounded
+ * queue, so the total number of threads is predictable and configured in
+ * one place ({@link ExecutorSettings}). When a queue is full the submitting
+ * thread runs the task itself, which throttles producers instead of
+ * spawning more threads. Tasks run with the caller's
+ * {@link ThreadLocalContextHolder} configuration propagated.
+ */
+public final class ExecutorRegistry {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ExecutorRegistry.class);
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /**
+     * Named worker pools, one per kind of work.
+     */
+    public enum Pool {
+        /** Source parsing and other CPU-bound analysis work. */
+        CPU_PARSE("cpu-parse"),
+        /** Blocking LLM HTTP calls. */
+        LLM_IO("llm-io"),
+        /** Documentation file writes. */
+        FILE_WRITE("file-write"),
+        /** Mermaid and PlantUML diagram rendering. */
+        DIAGRAM("diagram");
+
+        private final String poolName;
+
+        Pool(final String poolNameParam) {
+            this.poolName = poolNameParam;
+        }
+
+        /**
+         * Returns the pool name used for thread names and metrics.
+         *
+         * @return the pool name
+         */
+        public String getPoolName() {
+            return poolName;
+        }
+    }
+
+    /**
+     * Point-in-time metrics for a single pool.
+     *
+     * @param name pool name
+     * @param poolSize current number of threads
+     * @param maxPoolSize configured number of threads
+     * @param activeCount threads currently running tasks
+     * @param queueDepth tasks waiting in the queue
+     * @param queueCapacity maximum queue length
+     * @param completedTasks tasks completed by pool threads
+     * @param rejectedTasks tasks that overflowed and ran on the caller
+     */
+    public record PoolStats(
+            String name,
+            int poolSize,
+            int maxPoolSize,
+            int activeCount,
+            int queueDepth,
+            int queueCapacity,
+            long completedTasks,
+            long rejectedTasks) {
+    }
+
+    private final Map<Pool, ManagedPool> pools = new EnumMap<>(Pool.class);
+    private final int shutdownTimeoutSeconds;
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+
+    public ExecutorRegistry(final ExecutorSettings settingsParam) {
+        ExecutorSettings settings = settingsParam != null
+                ? settingsParam : ExecutorSettings.defaults();
+        this.shutdownTimeoutSeconds = settings.shutdownTimeoutSeconds();
+
+        pools.put(Pool.CPU_PARSE, new ManagedPool(Pool.CPU_PARSE,
+                settings.cpuParseThreads(), settings.queueCapacity()));
+        pools.put(Pool.LLM_IO, new ManagedPool(Pool.LLM_IO,
+                settings.llmIoThreads(), settings.queueCapacity()));
+        pools.put(Pool.FILE_WRITE, new ManagedPool(Pool.FILE_WRITE,
+                settings.fileWriteThreads(), settings.queueCapacity()));
+        pools.put(Pool.DIAGRAM, new ManagedPool(Pool.DIAGRAM,
+                settings.diagramThreads(), settings.queueCapacity()));
+
+        LOGGER.info("⚡ Executor registry created: cpu-parse={}, llm-io={}, "
+                + "file-write={}, diagram={}, queue={}",
+                settings.cpuParseThreads(), settings.llmIoThreads(),
+                settings.fileWriteThreads(), settings.diagramThreads(),
+                settings.queueCapacity());
+    }
+
+    /**
+     * Returns the ThreadLocal-propagating executor for the given pool.
+     *
+     * @param pool the pool to use
+     * @return the executor for the pool
+     */
+    public Executor executor(final Pool pool) {
+        return pools.get(pool).getExecutor();
+    }
+
+    /**
+     * Returns a Reactor scheduler backed by the given pool, for pipelines
+     * that hop between pools with {@code publishOn}.
+     *
+     * @param pool the pool to use
+     * @return the scheduler for the pool
+     */
+    public Scheduler scheduler(final Pool pool) {
+        return pools.get(pool).getScheduler();
+    }
+
+    /**
+     * Returns the configured number of threads of the given pool, which is
+     * also the useful upper bound for concurrent tasks submitted to it.
+     *
+     * @param pool the pool to inspect
+     * @return the number of threads
+     */
+    public int threads(final Pool pool) {
+        return pools.get(pool).getPool().getMaximumPoolSize();
+    }
+
+    /**
+     * Returns current metrics for the given pool.
+     *
+     * @param pool the pool to inspect
+     * @return the pool metrics
+     */
+    public PoolStats stats(final Pool pool) {
+        return pools.get(pool).stats();
+    }
+
+    /**
+     * Returns current metrics for every pool, in declaration order.
+     *
+     * @return the metrics of all pools
+     */
+    public List<PoolStats> allStats() {
+        List<PoolStats> result = new ArrayList<>(pools.size());
+        for (ManagedPool managedPool : pools.values()) {
+            result.add(managedPool.stats());
+        }
+        return result;
+    }
+
+    /**
+     * Whether {@link #shutdown()} has been called.
+     *
+     * @return true once the registry is shut down
+     */
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    /**
+     * Gracefully shuts down every pool: queued tasks are allowed to finish
+     * within the configured timeout, after which remaining tasks are
+     * interrupted.
+     */
+    public void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        logStats();
+        pools.values().forEach(managedPool -> managedPool.getPool().shutdown());
+
+        long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+        for (ManagedPool managedPool : pools.values()) {
+            ThreadPoolExecutor pool = managedPool.getPool();
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (!pool.awaitTermination(Math.max(0L, remaining),
+                        TimeUnit.NANOSECONDS)) {
+                    LOGGER.warn("⚠️ Pool {} did not terminate in {}s - "
+                            + "interrupting {} queued tasks",
+                            managedPool.getName(), shutdownTimeoutSeconds,
+                            pool.getQueue().size());
+                    pool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        LOGGER.info("✅ Executor registry shut down");
+    }
+
+    /**
+     * Logs the metrics of every pool at INFO level.
+     */
+    public void logStats() {
+        for (PoolStats poolStats : allStats()) {
+            LOGGER.info("⚡ Pool {}: threads={}/{}, active={}, queued={}/{}, "
+                    + "completed={}, rejected={}",
+                    poolStats.name(), poolStats.poolSize(),
+                    poolStats.maxPoolSize(), poolStats.activeCount(),
+                    poolStats.queueDepth(), poolStats.queueCapacity(),
+                    poolStats.completedTasks(), poolStats.rejectedTasks());
+        }
+    }
+
+    /**
+     * A single bounded pool with its rejection counter.
+     */
+    private static final class ManagedPool {
+
+        private final String name;
+        private final int queueCapacity;
+        private final AtomicLong rejected = new AtomicLong();
+        private final ThreadPoolExecutor pool;
+        private final Executor executor;
+        private final Scheduler scheduler;
+
+        ManagedPool(final Pool poolType, final int threads,
+                    final int queueCapacityParam) {
+            this.name = poolType.getPoolName();
+            this.queueCapacity = queueCapacityParam;
+            this.pool = new ThreadPoolExecutor(threads, threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacityParam),
+                    threadFactory(name), callerRunsCounting());
+            this.pool.allowCoreThreadTimeOut(true);
+            this.executor = new ThreadLocalPropagatingExecutorEnhanced(pool,
+                    name);
+            this.scheduler = Schedulers.fromExecutor(executor);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        ThreadPoolExecutor getPool() {
+            return pool;
+        }
+
+        Executor getExecutor() {
+            return executor;
+        }
+
+        Scheduler getScheduler() {
+            return scheduler;
+        }
+
+        PoolStats stats() {
+            return new PoolStats(name, pool.getPoolSize(),
+                    pool.getMaximumPoolSize(), pool.getActiveCount(),
+                    pool.getQueue().size(), queueCapacity,
+                    pool.getCompletedTaskCount(), rejected.get());
+        }
+
+        private RejectedExecutionHandler callerRunsCounting() {
+            return (task, executorParam) -> {
+                long count = rejected.incrementAndGet();
+                LOGGER.debug("Pool {} saturated (rejection #{}) - running "
+                        + "task in caller thread {}", name, count,
+                        Thread.currentThread().getName());
+                // The propagating wrapper clears the ThreadLocal config when
+                // it finishes, so restore the caller's own config afterwards
+                DocumentorConfig callerConfig =
+                        ThreadLocalContextHolder.getConfig();
+                try {
+                    task.run();
+                } finally {
+                    if (callerConfig != null) {
+                        ThreadLocalContextHolder.setConfig(callerConfig);
+                    }
+                }
+            };
+        }
+
+        private static ThreadFactory threadFactory(final String poolName) {
+            AtomicInteger counter = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable,
+                        "documentor-" + poolName + "-"
+                        + counter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setUncaughtExceptionHandler((t, e) ->
+                        LOGGER.error("Uncaught exception in thread {}: {}",
+                                t.getName(), e.getMessage(), e));
+                return thread;
+            };
+        }
+    }
+}
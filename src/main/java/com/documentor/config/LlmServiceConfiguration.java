@@ -4,6 +4,7 @@ import com.documentor.config.model.LlmModelConfig;
 import com.documentor.constants.ApplicationConstants;
 import com.documentor.service.LlmService;
 import com.documentor.service.documentation.ElementDocumentationGenerator;
+import com.documentor.service.io.AtomicFileWriter;
 import com.documentor.service.llm.LlmApiClient;
 import com.documentor.service.llm.LlmRequestBuilder;
 import com.documentor.service.llm.LlmResponseHandler;
@@ -70,7 +71,8 @@ public class LlmServiceConfiguration {
             final DocumentorConfig documentorConfig,
             final LlmRequestBuilder requestBuilder,
             final LlmResponseHandler responseHandler,
-            final LlmApiClient apiClient) {
+            final LlmApiClient apiClient,
+            final ExecutorRegistry executorRegistry) {
 
         LOGGER.info("Creating LlmService with DocumentorConfig: {}",
                     documentorConfig);
@@ -99,7 +101,8 @@ public class LlmServiceConfiguration {
         LOGGER.info("LlmService created with {} models",
                     validConfig.llmModels().size());
         return new LlmService(validConfig, requestBuilder, responseHandler,
-                              apiClient);
+                              apiClient, executorRegistry.executor(
+                                  ExecutorRegistry.Pool.LLM_IO));
     }
 
     /**
@@ -169,9 +172,11 @@ public class LlmServiceConfiguration {
     @Bean
     @Primary
     public ElementDocumentationGenerator elementDocumentationGenerator(
-            final LlmService llmService) {
+            final LlmService llmService,
+            final AtomicFileWriter outputFileWriter) {
         LOGGER.info("Creating ElementDocumentationGenerator with our "
                     + "configured LlmService");
-        return new ElementDocumentationGenerator(llmService);
+        return new ElementDocumentationGenerator(llmService,
+                outputFileWriter);
     }
 }
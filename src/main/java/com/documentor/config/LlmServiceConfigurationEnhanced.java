@@ -8,6 +8,7 @@ import com.documentor.service.documentation.ElementDocumentationGeneratorEnhance
 import com.documentor.service.llm.LlmApiClient;
 import com.documentor.service.llm.LlmRequestBuilder;
 import com.documentor.service.llm.LlmResponseHandler;
+import com.documentor.service.template.OutputTemplates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,7 +42,8 @@ public class LlmServiceConfigurationEnhanced {
             final DocumentorConfig documentorConfig,
             final LlmRequestBuilder requestBuilder,
             final LlmResponseHandler responseHandler,
-            final LlmApiClient apiClient) {
+            final LlmApiClient apiClient,
+            final ExecutorRegistry executorRegistry) {
 
         LOGGER.info("Creating enhanced LlmServiceEnhanced with "
                 + "DocumentorConfig: {}", documentorConfig);
@@ -69,7 +71,8 @@ public class LlmServiceConfigurationEnhanced {
         LOGGER.info("LlmServiceEnhanced created with {} models",
                 validConfig.llmModels().size());
         return new LlmServiceEnhanced(validConfig, requestBuilder,
-                responseHandler, apiClient);
+                responseHandler, apiClient,
+                executorRegistry.executor(ExecutorRegistry.Pool.LLM_IO));
     }
 
     /**
@@ -96,17 +99,21 @@ public class LlmServiceConfigurationEnhanced {
             final LlmServiceFixEnhanced llmServiceFixEnhanced,
             final LlmRequestBuilder requestBuilder,
             final LlmResponseHandler responseHandler,
-            final LlmApiClient apiClient) {
+            final LlmApiClient apiClient,
+            final ExecutorRegistry executorRegistry,
+            final OutputTemplates outputTemplates) {
         LOGGER.info("Creating ElementDocumentationGeneratorEnhanced "
                 + "with direct LlmServiceEnhanced instance (fixes Ollama)");
 
         // Create a new instance of LlmServiceEnhanced directly - same pattern as unit tests
         LlmServiceEnhanced serviceEnhanced = new LlmServiceEnhanced(
-                documentorConfig, requestBuilder, responseHandler, apiClient);
+                documentorConfig, requestBuilder, responseHandler, apiClient,
+                executorRegistry.executor(ExecutorRegistry.Pool.LLM_IO));
 
         LOGGER.info("Created LlmServiceEnhanced with requestBuilder: present");
         return new ElementDocumentationGeneratorEnhanced(
-                serviceEnhanced, llmServiceFixEnhanced);
+                serviceEnhanced, llmServiceFixEnhanced, executorRegistry,
+                null, outputTemplates);
     }
 
     /**
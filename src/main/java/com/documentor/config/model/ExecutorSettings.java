@@ -0,0 +1,63 @@
+package com.documentor.config.model;
+
+import com.documentor.constants.ApplicationConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * ⚡ Executor Settings Configuration
+ *
+ * Sizes for the named worker pools managed by the executor registry.
+ * Every value is optional; missing values fall back to defaults derived
+ * from the number of available processors.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExecutorSettings(
+    @JsonProperty("cpu_parse_threads")
+    Integer cpuParseThreads,
+
+    @JsonProperty("llm_io_threads")
+    Integer llmIoThreads,
+
+    @JsonProperty("file_write_threads")
+    Integer fileWriteThreads,
+
+    @JsonProperty("diagram_threads")
+    Integer diagramThreads,
+
+    @JsonProperty("queue_capacity")
+    Integer queueCapacity,
+
+    @JsonProperty("shutdown_timeout_seconds")
+    Integer shutdownTimeoutSeconds
+) {
+    // Simplified defaults
+    public ExecutorSettings {
+        int processors = Runtime.getRuntime().availableProcessors();
+        cpuParseThreads = positiveOrDefault(cpuParseThreads, processors);
+        llmIoThreads = positiveOrDefault(llmIoThreads,
+                ApplicationConstants.DEFAULT_WORKER_THREAD_COUNT);
+        fileWriteThreads = positiveOrDefault(fileWriteThreads,
+                ApplicationConstants.DEFAULT_FILE_WRITE_THREAD_COUNT);
+        diagramThreads = positiveOrDefault(diagramThreads,
+                Math.max(1, processors / 2));
+        queueCapacity = positiveOrDefault(queueCapacity,
+                ApplicationConstants.DEFAULT_EXECUTOR_QUEUE_CAPACITY);
+        shutdownTimeoutSeconds = positiveOrDefault(shutdownTimeoutSeconds,
+                ApplicationConstants.DEFAULT_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Creates settings with every value defaulted.
+     *
+     * @return default executor settings
+     */
+    public static ExecutorSettings defaults() {
+        return new ExecutorSettings(null, null, null, null, null, null);
+    }
+
+    private static Integer positiveOrDefault(final Integer value,
+                                             final int defaultValue) {
+        return value != null && value > 0 ? value : defaultValue;
+    }
+}
@@ -48,6 +48,8 @@ public final class ApplicationConstants {
     public static final int DEFAULT_MAX_DEPTH = 10;
     public static final String DEFAULT_OLLAMA_PORT = "11434";
     public static final int DEFAULT_WORKER_THREAD_COUNT = 4;
+    public static final int DEFAULT_FILE_WRITE_THREAD_COUNT = 2;
+    public static final int DEFAULT_EXECUTOR_QUEUE_CAPACITY = 100;
 
     // Coverage and formatting
     public static final int PERCENTAGE_MULTIPLIER = 100;
@@ -28,6 +28,14 @@ public record CodeElement(
         return String.format("%s:%s:%d", filePath, qualifiedName, lineNumber);
     }
 
+    /**
+     * 🔍 Name of the element in document file names: the qualified name,
+     * so same-named classes of different packages get their own files
+     */
+    public String getDocumentName() {
+        return qualifiedName.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+
     /**
      * 🔍 Checks if this element is a public/non-private element
      */
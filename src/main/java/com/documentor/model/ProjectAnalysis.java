@@ -1,5 +1,6 @@
 package com.documentor.model;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -16,6 +17,25 @@ public record ProjectAnalysis(
     long timestamp
 ) {
 
+    /**
+     * 🧩 Combines per-file analysis results into a single project analysis.
+     * Parts are ordered by path so the result does not depend on the order
+     * in which files finished parsing.
+     *
+     * @param projectPath the project directory
+     * @param fileAnalyses per-file analysis results
+     * @return the combined analysis
+     */
+    public static ProjectAnalysis combine(final String projectPath,
+            final List<ProjectAnalysis> fileAnalyses) {
+        List<CodeElement> elements = fileAnalyses.stream()
+                .sorted(Comparator.comparing(ProjectAnalysis::projectPath))
+                .flatMap(fileAnalysis -> fileAnalysis.codeElements().stream())
+                .toList();
+        return new ProjectAnalysis(projectPath, elements,
+                System.currentTimeMillis());
+    }
+
     /**
      * 📦 Gets all classes found in the project
      */
@@ -0,0 +1,204 @@
+package com.documentor.server;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📋 A job queued on the job server
+ *
+ * Holds the request, the lifecycle state and the progress events of one
+ * analysis or generation run. Events are replayed to late subscribers, up
+ * to {@link #MAX_REPLAYED_EVENTS}, and the event stream completes when the
+ * job finishes.
+ */
+public final class DocumentationJob {
+
+    /** Events kept for subscribers that connect after they happened. */
+    static final int MAX_REPLAYED_EVENTS = 1000;
+
+    // Documents are written by several threads at once, so concurrent
+    // emissions are retried instead of dropped
+    private static final Duration EMIT_RETRY = Duration.ofSeconds(1);
+
+    /**
+     * What a job does.
+     */
+    public enum Type {
+        /** Analyze the project and report its statistics. */
+        ANALYZE,
+        /** Analyze the project and generate its documentation. */
+        GENERATE
+    }
+
+    /**
+     * Lifecycle of a job.
+     */
+    public enum State {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    /**
+     * Point-in-time view of a job.
+     *
+     * @param id job id
+     * @param type what the job does
+     * @param state lifecycle state
+     * @param projectPath project directory
+     * @param outputPath documentation directory
+     * @param submittedAt when the job was queued
+     * @param startedAt when the job started, or null
+     * @param finishedAt when the job finished, or null
+     * @param documentsWritten element documents written so far
+     * @param result analysis summary or documentation path, or null
+     * @param error failure message, or null
+     */
+    public record Status(
+        String id,
+        Type type,
+        State state,
+        String projectPath,
+        String outputPath,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        int documentsWritten,
+        String result,
+        String error
+    ) {
+    }
+
+    private final String id;
+    private final Type type;
+    private final Path projectPath;
+    private final Path outputPath;
+    private final Boolean includePrivateMembers;
+    private final boolean resume;
+    private final Instant submittedAt;
+    private final AtomicInteger documentsWritten = new AtomicInteger();
+    private final Sinks.Many<JobEvent> events =
+            Sinks.many().replay().limit(MAX_REPLAYED_EVENTS);
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String result;
+    private volatile String error;
+
+    DocumentationJob(final String idParam, final Type typeParam,
+                     final Path projectPathParam, final Path outputPathParam,
+                     final Boolean includePrivateMembersParam,
+                     final boolean resumeParam) {
+        this.id = idParam;
+        this.type = typeParam;
+        this.projectPath = projectPathParam;
+        this.outputPath = outputPathParam;
+        this.includePrivateMembers = includePrivateMembersParam;
+        this.resume = resumeParam;
+        this.submittedAt = Instant.now();
+        emit("queued", type + " " + projectPath);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Path getProjectPath() {
+        return projectPath;
+    }
+
+    public Path getOutputPath() {
+        return outputPath;
+    }
+
+    public Boolean getIncludePrivateMembers() {
+        return includePrivateMembers;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Whether the job succeeded or failed.
+     *
+     * @return true once the job is finished
+     */
+    public boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+
+    /**
+     * Progress events, replayed from the start of the job.
+     *
+     * @return the events, completing when the job finishes
+     */
+    public Flux<JobEvent> events() {
+        return events.asFlux();
+    }
+
+    /**
+     * Current view of the job.
+     *
+     * @return the status
+     */
+    public Status status() {
+        return new Status(id, type, state, projectPath.toString(),
+                outputPath.toString(), submittedAt, startedAt, finishedAt,
+                documentsWritten.get(), result, error);
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+        emit("started", "Analyzing " + projectPath);
+    }
+
+    void progress(final String eventType, final String message) {
+        emit(eventType, message);
+    }
+
+    void documentWritten(final String document) {
+        documentsWritten.incrementAndGet();
+        emit("document", document);
+    }
+
+    void succeed(final String resultParam) {
+        result = resultParam;
+        finish(State.SUCCEEDED, "succeeded", resultParam);
+    }
+
+    void fail(final String errorParam) {
+        error = errorParam;
+        finish(State.FAILED, "failed", errorParam);
+    }
+
+    private void finish(final State finalState, final String eventType,
+                        final String message) {
+        finishedAt = Instant.now();
+        state = finalState;
+        emit(eventType, message);
+        events.emitComplete(Sinks.EmitFailureHandler.busyLooping(
+                EMIT_RETRY));
+    }
+
+    private void emit(final String eventType, final String message) {
+        events.emitNext(new JobEvent(id, eventType, message, Instant.now()),
+                Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+    }
+}
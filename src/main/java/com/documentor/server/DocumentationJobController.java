@@ -0,0 +1,104 @@
+package com.documentor.server;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * 🌐 Local HTTP API of the job server
+ *
+ * <ul>
+ *   <li>{@code POST /api/jobs} queues a {@link JobRequest}</li>
+ *   <li>{@code GET /api/jobs} lists the known jobs</li>
+ *   <li>{@code GET /api/jobs/{id}} returns the status of a job</li>
+ *   <li>{@code GET /api/jobs/{id}/events} streams its progress as
+ *       server-sent events, replayed from the start</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@Profile("server")
+public class DocumentationJobController {
+
+    private final DocumentationJobService jobService;
+
+    public DocumentationJobController(
+            final DocumentationJobService jobServiceParam) {
+        this.jobService = jobServiceParam;
+    }
+
+    /**
+     * 📨 Queues a job.
+     *
+     * @param request the job submission
+     * @return 202 with the job status, or 400 if the request is invalid
+     */
+    @PostMapping
+    public ResponseEntity<DocumentationJob.Status> submit(
+            @RequestBody final JobRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(jobService.submit(request).status());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 📋 Lists the known jobs.
+     *
+     * @return job statuses in submission order
+     */
+    @GetMapping
+    public List<DocumentationJob.Status> list() {
+        return jobService.list().stream()
+                .map(DocumentationJob::status)
+                .toList();
+    }
+
+    /**
+     * 📋 Returns the status of a job.
+     *
+     * @param id the job id
+     * @return the status, or 404 if the job is unknown
+     */
+    @GetMapping("/{id}")
+    public DocumentationJob.Status status(@PathVariable final String id) {
+        return findJob(id).status();
+    }
+
+    /**
+     * 📡 Streams the progress events of a job until it finishes.
+     *
+     * @param id the job id
+     * @return the events, or 404 if the job is unknown
+     */
+    @GetMapping(value = "/{id}/events",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<JobEvent>> events(
+            @PathVariable final String id) {
+        return findJob(id).events()
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.type())
+                        .build());
+    }
+
+    private DocumentationJob findJob(final String id) {
+        return jobService.find(id).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Unknown job: " + id));
+    }
+}
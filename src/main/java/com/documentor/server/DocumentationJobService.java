@@ -0,0 +1,281 @@
+package com.documentor.server;
+
+import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.CodeAnalysisService;
+import com.documentor.service.DocumentationServiceEnhanced;
+import com.documentor.service.documentation.FairShareLimiter;
+import com.documentor.service.documentation.GenerationOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 🖥️ Documentation Job Service
+ *
+ * Queue behind the local job server. Jobs run in submission order, up to
+ * {@link JobServerProperties#maxConcurrentJobs()} at a time, and never two
+ * at once into the same output directory (a later job for the same project
+ * waits for the earlier one). The LLM calls of all running jobs go through
+ * one {@link FairShareLimiter} sized to the llm-io pool, so concurrent
+ * projects split the model capacity evenly instead of the biggest project
+ * queueing ahead of everyone else.
+ *
+ * Requests are checked before they are queued: the project has to lie
+ * below one of {@link JobServerProperties#allowedProjectRoots()} and the
+ * output directory inside the project, so a request cannot read or write
+ * anywhere else on the machine.
+ *
+ * Jobs are chained on the futures of the analysis and documentation
+ * services and hold no thread while they wait.
+ */
+@Service
+@Profile("server")
+public class DocumentationJobService {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(DocumentationJobService.class);
+
+    private final CodeAnalysisService codeAnalysisService;
+    private final DocumentationServiceEnhanced documentationService;
+    private final DocumentorConfig config;
+    private final JobServerProperties properties;
+    private final FairShareLimiter llmLimiter;
+
+    private final Object lock = new Object();
+    private final Map<String, DocumentationJob> jobs = new LinkedHashMap<>();
+    private final Deque<DocumentationJob> pending = new ArrayDeque<>();
+    private final Set<Path> busyOutputs = new HashSet<>();
+    private int running;
+
+    public DocumentationJobService(
+            final CodeAnalysisService codeAnalysisServiceParam,
+            final DocumentationServiceEnhanced documentationServiceParam,
+            final DocumentorConfig configParam,
+            final ExecutorRegistry executorRegistryParam,
+            final JobServerProperties propertiesParam) {
+        this.codeAnalysisService = codeAnalysisServiceParam;
+        this.documentationService = documentationServiceParam;
+        this.config = configParam;
+        this.properties = propertiesParam;
+        this.llmLimiter = new FairShareLimiter(
+                executorRegistryParam.threads(ExecutorRegistry.Pool.LLM_IO));
+        LOGGER.info("🖥️ Job server ready: {} concurrent jobs sharing {} LLM "
+                + "slots", propertiesParam.maxConcurrentJobs(),
+                llmLimiter.available());
+    }
+
+    /**
+     * 📨 Validates and queues a job.
+     *
+     * @param request the job submission
+     * @return the queued job
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    public DocumentationJob submit(final JobRequest request) {
+        if (request == null || request.projectPath() == null
+                || request.projectPath().isBlank()) {
+            throw new IllegalArgumentException("projectPath is required");
+        }
+        Path project = Paths.get(request.projectPath()).toAbsolutePath()
+                .normalize();
+        if (!Files.isDirectory(project)) {
+            throw new IllegalArgumentException(
+                    "Project directory does not exist: " + project);
+        }
+        Path projectRoot = realPath(project);
+        if (properties.allowedProjectRoots().stream().map(Paths::get)
+                .map(DocumentationJobService::realPath)
+                .noneMatch(projectRoot::startsWith)) {
+            throw new IllegalArgumentException("Project directory is not "
+                    + "below an allowed project root: " + project);
+        }
+        DocumentationJob.Type type = parseType(request.type());
+        String outputDirectory = request.outputDirectory() != null
+                && !request.outputDirectory().isBlank()
+                ? request.outputDirectory()
+                : config.outputSettings().outputPath();
+        // Output directories belong to the project, so jobs for different
+        // projects never share one and never write outside their project
+        Path output = project.resolve(outputDirectory).normalize();
+        if (!output.startsWith(project)
+                || !realPath(output).startsWith(projectRoot)) {
+            throw new IllegalArgumentException("Output directory must be "
+                    + "inside the project: " + outputDirectory);
+        }
+
+        DocumentationJob job = new DocumentationJob(
+                UUID.randomUUID().toString(), type, project, output,
+                request.includePrivateMembers(),
+                Boolean.TRUE.equals(request.resume()));
+        synchronized (lock) {
+            jobs.put(job.getId(), job);
+            pending.addLast(job);
+            trimFinishedJobs();
+        }
+        LOGGER.info("📨 Queued {} job {} for {}", type, job.getId(), project);
+        dispatch();
+        return job;
+    }
+
+    /**
+     * Finds a job.
+     *
+     * @param id the job id
+     * @return the job, if it is still known
+     */
+    public Optional<DocumentationJob> find(final String id) {
+        synchronized (lock) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * Lists the known jobs in submission order.
+     *
+     * @return the jobs
+     */
+    public List<DocumentationJob> list() {
+        synchronized (lock) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * Starts queued jobs while there is capacity, skipping jobs whose
+     * output directory is in use
+     */
+    private void dispatch() {
+        List<DocumentationJob> starting = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<DocumentationJob> queued = pending.iterator();
+            while (running < properties.maxConcurrentJobs()
+                    && queued.hasNext()) {
+                DocumentationJob job = queued.next();
+                if (busyOutputs.add(job.getOutputPath())) {
+                    queued.remove();
+                    running++;
+                    starting.add(job);
+                }
+            }
+        }
+        starting.forEach(this::run);
+    }
+
+    private void run(final DocumentationJob job) {
+        job.start();
+        CompletableFuture<String> result;
+        try {
+            result = codeAnalysisService
+                    .analyzeProject(job.getProjectPath(),
+                            job.getIncludePrivateMembers())
+                    .thenCompose(analysis -> {
+                        job.progress("analyzed", analysis.getStats()
+                                .getFormattedSummary());
+                        return job.getType() == DocumentationJob.Type.ANALYZE
+                                ? CompletableFuture.completedFuture(
+                                        analysis.getStats()
+                                                .getFormattedSummary())
+                                : generate(job, analysis);
+                    });
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            if (error == null) {
+                LOGGER.info("✅ Job {} succeeded", job.getId());
+                job.succeed(value);
+            } else {
+                Throwable cause = error.getCause() != null
+                        ? error.getCause() : error;
+                LOGGER.error("❌ Job {} failed: {}", job.getId(),
+                        cause.getMessage());
+                job.fail(cause.getMessage());
+            }
+            synchronized (lock) {
+                running--;
+                busyOutputs.remove(job.getOutputPath());
+            }
+            dispatch();
+        });
+    }
+
+    private CompletableFuture<String> generate(final DocumentationJob job,
+                                               final ProjectAnalysis analysis) {
+        job.progress("generating", "Writing documentation to "
+                + job.getOutputPath());
+        GenerationOptions options = GenerationOptions.builder()
+                .llmShare(llmLimiter.newShare(job.getId()))
+                .documentListener(job::documentWritten)
+                .build();
+        return documentationService.generateDocumentation(analysis,
+                job.getOutputPath(), job.isResume(), options);
+    }
+
+    /**
+     * Forgets the oldest finished jobs beyond the retention limit
+     */
+    private void trimFinishedJobs() {
+        int excess = jobs.size() - properties.maxRetainedJobs();
+        Iterator<DocumentationJob> oldest = jobs.values().iterator();
+        while (excess > 0 && oldest.hasNext()) {
+            if (oldest.next().isFinished()) {
+                oldest.remove();
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * The path with symbolic links resolved, as far as it exists, so a link
+     * cannot lead a job out of its project.
+     */
+    private static Path realPath(final Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        Path existing = absolute;
+        while (existing != null && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        if (existing == null) {
+            return absolute;
+        }
+        try {
+            return existing.toRealPath().resolve(existing.relativize(absolute));
+        } catch (IOException e) {
+            return absolute;
+        }
+    }
+
+    private static DocumentationJob.Type parseType(final String type) {
+        if (type == null || type.isBlank()) {
+            return DocumentationJob.Type.GENERATE;
+        }
+        try {
+            return DocumentationJob.Type.valueOf(
+                    type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown job type: " + type
+                    + " (expected analyze or generate)", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.documentor.server;
+
+import java.time.Instant;
+
+/**
+ * 📡 Progress event of a job
+ *
+ * @param jobId the job
+ * @param type event type, e.g. {@code started} or {@code document}
+ * @param message human readable detail
+ * @param timestamp when the event happened
+ */
+public record JobEvent(
+    String jobId,
+    String type,
+    String message,
+    Instant timestamp
+) {
+}
@@ -0,0 +1,20 @@
+package com.documentor.server;
+
+/**
+ * 📨 Job submission sent to the job server
+ *
+ * @param projectPath project directory to analyze
+ * @param type {@code analyze} or {@code generate}; defaults to generate
+ * @param includePrivateMembers overrides the configured setting when set
+ * @param outputDirectory documentation directory, relative to the project;
+ *                        defaults to the configured output directory
+ * @param resume true to reuse results journaled by an interrupted run
+ */
+public record JobRequest(
+    String projectPath,
+    String type,
+    Boolean includePrivateMembers,
+    String outputDirectory,
+    Boolean resume
+) {
+}
@@ -0,0 +1,53 @@
+package com.documentor.server;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * 🖥️ Job Server Settings
+ *
+ * Limits of the local job server, bound from {@code documentor.server.*}
+ * (see {@code application-server.yml}). Missing or non-positive values fall
+ * back to the defaults.
+ *
+ * @param maxConcurrentJobs jobs that run at the same time
+ * @param maxRetainedJobs finished jobs kept for status queries
+ * @param allowedProjectRoots directories jobs may document projects below;
+ *                            the working directory when not set
+ */
+@ConfigurationProperties(prefix = "documentor.server")
+public record JobServerProperties(
+    Integer maxConcurrentJobs,
+    Integer maxRetainedJobs,
+    List<String> allowedProjectRoots
+) {
+    private static final int DEFAULT_MAX_CONCURRENT_JOBS = 2;
+    private static final int DEFAULT_MAX_RETAINED_JOBS = 100;
+
+    // Simplified defaults
+    public JobServerProperties {
+        maxConcurrentJobs = positiveOrDefault(maxConcurrentJobs,
+                DEFAULT_MAX_CONCURRENT_JOBS);
+        maxRetainedJobs = positiveOrDefault(maxRetainedJobs,
+                DEFAULT_MAX_RETAINED_JOBS);
+        allowedProjectRoots = allowedProjectRoots == null
+                || allowedProjectRoots.isEmpty()
+                ? List.of(System.getProperty("user.dir"))
+                : List.copyOf(allowedProjectRoots);
+    }
+
+    /**
+     * Creates settings with every value defaulted.
+     *
+     * @return default job server settings
+     */
+    public static JobServerProperties defaults() {
+        return new JobServerProperties(null, null, null);
+    }
+
+    private static Integer positiveOrDefault(final Integer value,
+                                             final int defaultValue) {
+        return value != null && value > 0 ? value : defaultValue;
+    }
+}
@@ -1,18 +1,25 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.constants.ApplicationConstants;
 import com.documentor.model.CodeElement;
 import com.documentor.model.ProjectAnalysis;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 /**
@@ -32,14 +39,25 @@ public class CodeAnalysisService {
     private final JavaCodeAnalyzer javaCodeAnalyzer;
     private final PythonCodeAnalyzer pythonCodeAnalyzer;
     private final DocumentorConfig config;
+    private final Executor analysisExecutor;
+    private final Scheduler analysisScheduler;
+    private final int analysisConcurrency;
 
+    @Autowired
     public CodeAnalysisService(
             final JavaCodeAnalyzer javaCodeAnalyzerParam,
             final PythonCodeAnalyzer pythonCodeAnalyzerParam,
-            final DocumentorConfig configParam) {
+            final DocumentorConfig configParam,
+            final ExecutorRegistry executorRegistryParam) {
         this.javaCodeAnalyzer = javaCodeAnalyzerParam;
         this.pythonCodeAnalyzer = pythonCodeAnalyzerParam;
         this.config = configParam;
+        this.analysisExecutor =
+                executorRegistryParam.executor(ExecutorRegistry.Pool.CPU_PARSE);
+        this.analysisScheduler =
+                executorRegistryParam.scheduler(ExecutorRegistry.Pool.CPU_PARSE);
+        this.analysisConcurrency =
+                executorRegistryParam.threads(ExecutorRegistry.Pool.CPU_PARSE);
     }
 
     /**
@@ -91,7 +109,80 @@ public class CodeAnalysisService {
                 throw new RuntimeException(
                         "Failed to analyze project", e);
             }
-        });
+        }, analysisExecutor);
+    }
+
+    /**
+     * 🔀 Analyzes selected files of a project, e.g. those changed since a
+     * git revision. Paths are resolved against the project directory so
+     * element file paths match those of a full analysis. Missing,
+     * unsupported and excluded files are skipped.
+     *
+     * @param projectPath Path to the project directory
+     * @param files Files to analyze, relative to the project directory
+     * @param includePrivateMembersOverride Optional override for including
+     *                                      private members
+     * @return ProjectAnalysis containing the code elements of those files
+     */
+    public CompletableFuture<ProjectAnalysis> analyzeFiles(
+            final Path projectPath,
+            final Collection<Path> files,
+            final Boolean includePrivateMembersOverride) {
+        LOGGER.info("🔀 Starting analysis of {} files in project: {}",
+                files.size(), projectPath);
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<CodeElement> elements = files.stream()
+                    .map(projectPath::resolve)
+                    .filter(Files::isRegularFile)
+                    .filter(this::isSupportedFile)
+                    .filter(this::shouldAnalyzeFile)
+                    .flatMap(file -> analyzeFileSafely(file,
+                            includePrivateMembersOverride))
+                    .toList();
+
+            LOGGER.info("✅ Analysis completed. Found {} code elements",
+                    elements.size());
+            return new ProjectAnalysis(projectPath.toString(), elements,
+                    System.currentTimeMillis());
+        }, analysisExecutor);
+    }
+
+    /**
+     * 🌊 Analyzes a project directory as a stream of per-file results.
+     *
+     * Files are parsed in parallel on the analysis pool and each result is
+     * emitted as soon as its file is parsed, so consumers can start working
+     * on finished classes while the rest of the project is still being
+     * analyzed. Files without code elements are skipped. Use
+     * {@link ProjectAnalysis#combine(String, List)} to build the complete
+     * analysis from the emitted parts.
+     *
+     * @param projectPath Path to the project directory
+     * @param includePrivateMembersOverride Optional override for including
+     *                                      private members
+     * @return one ProjectAnalysis per source file, keyed by the file path
+     */
+    public Flux<ProjectAnalysis> analyzeProjectStreaming(
+            final Path projectPath,
+            final Boolean includePrivateMembersOverride) {
+        LOGGER.info("🌊 Starting streaming analysis of project: {}",
+                projectPath);
+
+        return Flux.using(() -> Files.walk(projectPath),
+                        Flux::fromStream, Stream::close)
+                .filter(Files::isRegularFile)
+                .filter(this::isSupportedFile)
+                .filter(this::shouldAnalyzeFile)
+                .flatMap(file -> Mono.fromCallable(() -> new ProjectAnalysis(
+                                file.toString(),
+                                analyzeFileSafely(file,
+                                        includePrivateMembersOverride)
+                                        .toList(),
+                                System.currentTimeMillis()))
+                        .subscribeOn(analysisScheduler),
+                        analysisConcurrency)
+                .filter(fileAnalysis -> !fileAnalysis.codeElements().isEmpty());
     }
 
     /**
@@ -120,6 +211,27 @@ public class CodeAnalysisService {
         }
     }
 
+    /**
+     * 🔍 Checks if a file would be analyzed: a supported source file that
+     * matches no exclude pattern. The file does not have to exist.
+     *
+     * @param file the file
+     * @return true if the file is analyzed
+     */
+    public boolean isAnalyzable(final Path file) {
+        return isSupportedFile(file) && shouldAnalyzeFile(file);
+    }
+
+    /**
+     * 🔍 Checks if a path matches one of the exclude patterns
+     *
+     * @param path the file or directory
+     * @return true if the path is excluded from analysis
+     */
+    public boolean isExcluded(final Path path) {
+        return !shouldAnalyzeFile(path);
+    }
+
     /**
      * 🔍 Checks if a file is a supported source file
      */
@@ -5,6 +5,8 @@ import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.documentation.ElementDocumentationGenerator;
 import com.documentor.service.documentation.MainDocumentationGenerator;
 import com.documentor.service.documentation.UnitTestDocumentationGenerator;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -36,6 +38,9 @@ public class DocumentationService {
     private final PlantUMLDiagramService plantUMLDiagramService;
     private final DocumentorConfig config;
     private final Executor llmExecutor;
+    // Atomic UTF-8 writes that leave an unchanged README untouched
+    private final AtomicFileWriter fileWriter =
+            new AtomicFileWriter(CollisionPolicy.OVERWRITE, false, true);
 
     public DocumentationService(
             final MainDocumentationGenerator mainDocGeneratorParam,
@@ -77,7 +82,7 @@ public class DocumentationService {
                 String mainDoc = mainDocGenerator
                         .generateMainDocumentation(analysis).join();
                 Path mainDocPath = outputPath.resolve("README.md");
-                Files.write(mainDocPath, mainDoc.getBytes());
+                fileWriter.writeFile(mainDocPath, mainDoc);
 
                 // Generate detailed documentation for each element
                 generateDetailedDocumentation(analysis, outputPath)
@@ -1,23 +1,50 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.model.LlmModelConfig;
+import com.documentor.config.model.OutputSettings;
 import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.diagram.DiagramBatchRenderer;
+import com.documentor.service.diagram.DiagramBatchRenderer.Format;
+import com.documentor.service.diagram.DiagramBatchRenderer.Target;
+import com.documentor.service.documentation.DocumentationManifest;
 import com.documentor.service.documentation.ElementDocumentationGeneratorEnhanced;
+import com.documentor.service.documentation.GenerationOptions;
 import com.documentor.service.documentation.MainDocumentationGenerator;
+import com.documentor.service.documentation.RunJournal;
+import com.documentor.service.documentation.RunMetadata;
 import com.documentor.service.documentation.UnitTestDocumentationGeneratorEnhanced;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.service.io.OutputArchive;
+import com.documentor.service.search.SearchIndex;
+import com.documentor.util.ContentHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * 📄 Enhanced Documentation Generation Service
@@ -41,25 +68,66 @@ public class DocumentationServiceEnhanced {
     private final DocumentorConfig config;
     private final LlmServiceFixEnhanced llmServiceFix;
     private final Executor llmExecutor;
+    private final AtomicFileWriter fileWriter;
+    private final DiagramBatchRenderer diagramRenderer;
+    private final GenerationOptions runDefaults;
 
+    /**
+     * Result of a streaming run
+     *
+     * @param outputPath the documentation output directory
+     * @param analysis the complete analysis assembled from the stream
+     */
+    public record StreamedDocumentation(String outputPath,
+                                        ProjectAnalysis analysis) {
+    }
+
+    /**
+     * Generators that write the documentation pages
+     *
+     * @param main the main README generator
+     * @param elements the per-element documentation generator
+     * @param unitTests the unit test suggestion generator
+     */
+    public record Generators(MainDocumentationGenerator main,
+                             ElementDocumentationGeneratorEnhanced elements,
+                             UnitTestDocumentationGeneratorEnhanced unitTests) {
+    }
+
+    /**
+     * Services that write and render the diagrams of a run
+     *
+     * @param mermaid the Mermaid diagram service
+     * @param plantUml the PlantUML diagram service
+     * @param renderer the batch renderer, or null to skip rendering
+     */
+    public record Diagrams(MermaidDiagramService mermaid,
+                           PlantUMLDiagramService plantUml,
+                           DiagramBatchRenderer renderer) {
+    }
+
+    @Autowired
     public DocumentationServiceEnhanced(
-            final MainDocumentationGenerator mainDocGeneratorParam,
-            final ElementDocumentationGeneratorEnhanced
-                elementDocGeneratorParam,
-            final UnitTestDocumentationGeneratorEnhanced testDocGeneratorParam,
-            final MermaidDiagramService mermaidDiagramServiceParam,
-            final PlantUMLDiagramService plantUMLDiagramServiceParam,
+            final Generators generatorsParam,
+            final Diagrams diagramsParam,
             final DocumentorConfig configParam,
             final LlmServiceFixEnhanced llmServiceFixParam,
-            final Executor llmExecutorParam) {
-        this.mainDocGenerator = mainDocGeneratorParam;
-        this.elementDocGenerator = elementDocGeneratorParam;
-        this.testDocGenerator = testDocGeneratorParam;
-        this.mermaidDiagramService = mermaidDiagramServiceParam;
-        this.plantUMLDiagramService = plantUMLDiagramServiceParam;
+            final Executor llmExecutorParam,
+            final AtomicFileWriter fileWriterParam,
+            final GenerationOptions runDefaultsParam) {
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+        this.mainDocGenerator = generatorsParam.main();
+        this.elementDocGenerator = generatorsParam.elements();
+        this.testDocGenerator = generatorsParam.unitTests();
+        this.mermaidDiagramService = diagramsParam.mermaid();
+        this.plantUMLDiagramService = diagramsParam.plantUml();
         this.config = configParam;
         this.llmServiceFix = llmServiceFixParam;
         this.llmExecutor = llmExecutorParam;
+        this.diagramRenderer = diagramsParam.renderer();
+        this.runDefaults = runDefaultsParam != null ? runDefaultsParam
+                : GenerationOptions.defaults();
 
         LOGGER.info("DocumentationServiceEnhanced initialized with enhanced "
                 + "components");
@@ -74,8 +142,142 @@ public class DocumentationServiceEnhanced {
      */
     public CompletableFuture<String> generateDocumentation(
             final ProjectAnalysis analysis) {
+        return generateDocumentation(analysis, false);
+    }
+
+    /**
+     * 📚 Generates complete project documentation, optionally resuming an
+     * interrupted run
+     *
+     * Every LLM result is recorded in the run journal of the output
+     * directory. When resuming, results recorded by the interrupted run are
+     * reused and only the missing ones are generated.
+     *
+     * If a previous run left a manifest, only documents of changed, new or
+     * removed elements are written or deleted, and the README, unit tests
+     * and diagrams are only rebuilt when something changed. Unchanged
+     * members of a rewritten class are replayed from the journal.
+     *
+     * @param analysis The project analysis results
+     * @param resume true to reuse results journaled by a previous run
+     * @return CompletableFuture containing the path to generated documentation
+     */
+    public CompletableFuture<String> generateDocumentation(
+            final ProjectAnalysis analysis, final boolean resume) {
+        return generateDocumentation(analysis,
+                Paths.get(config.outputSettings().outputPath()), resume,
+                GenerationOptions.defaults());
+    }
+
+    /**
+     * 📚 Generates complete project documentation into a given directory
+     *
+     * Used when several projects are documented by one process: each run
+     * has its own output directory, and the LLM share and document listener
+     * of {@code runOptions} are applied to the run. Otherwise the same as
+     * {@link #generateDocumentation(ProjectAnalysis, boolean)}.
+     *
+     * @param analysis The project analysis results
+     * @param outputPath The documentation output directory
+     * @param resume true to reuse results journaled by a previous run
+     * @param runOptions LLM share and document listener of the run
+     * @return CompletableFuture containing the path to generated documentation
+     */
+    public CompletableFuture<String> generateDocumentation(
+            final ProjectAnalysis analysis, final Path outputPath,
+            final boolean resume, final GenerationOptions runOptions) {
         setupThreadLocalConfig(analysis);
 
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Create output directory
+                Files.createDirectories(outputPath);
+                LOGGER.info("Created output directory: {}", outputPath);
+
+                DocumentationManifest manifest = loadManifest(outputPath);
+                SearchIndex searchIndex = SearchIndex.load(outputPath);
+                boolean changed;
+                try (RunJournal journal = RunJournal.open(outputPath,
+                        resume || manifest.isIncremental())) {
+                    GenerationOptions options = createOptions(journal,
+                            manifest, runOptions, searchIndex);
+
+                    // Element documents are only written when their
+                    // elements changed; the project-wide outputs follow
+                    generateElementDocumentation(analysis, outputPath,
+                            options);
+                    expectDocuments(manifest, analysis);
+                    changed = manifest.hasChanges();
+                    if (changed) {
+                        generateMainDocumentation(analysis, outputPath);
+                        generateUnitTestDocumentation(analysis, outputPath,
+                                options);
+                    }
+                    logJournalSummary(journal);
+                    compactJournal(journal, manifest, analysis);
+                }
+                finishManifest(manifest);
+                saveSearchIndex(searchIndex, manifest);
+                if (changed) {
+                    generateDiagrams(analysis, outputPath);
+                }
+                saveRunMetadata(outputPath, analysis, "full", manifest,
+                        changed);
+
+                LOGGER.info("✅ Documentation generated successfully at: {}",
+                        outputPath);
+                return outputPath.toString();
+
+            } catch (Exception e) {
+                LOGGER.error("❌ Critical error generating documentation: {}",
+                        e.getMessage(), e);
+                throw new RuntimeException(
+                        "Failed to generate documentation", e);
+            } finally {
+                cleanupThreadLocalResources();
+            }
+        }, llmExecutor);
+    }
+
+    /**
+     * 🌊 Generates complete project documentation while the project is still
+     * being analyzed
+     *
+     * Element documentation for each class starts as soon as its file has
+     * been parsed. Global artefacts that need the whole project (README
+     * index, unit tests and diagrams) are finalised once the stream
+     * completes.
+     *
+     * @param projectPath The project directory
+     * @param fileAnalyses Per-file analysis results as they are parsed
+     * @return CompletableFuture containing the output path and the complete
+     *         analysis
+     */
+    public CompletableFuture<StreamedDocumentation>
+            generateStreamingDocumentation(
+            final String projectPath,
+            final Flux<ProjectAnalysis> fileAnalyses) {
+        return generateStreamingDocumentation(projectPath, fileAnalyses,
+                false);
+    }
+
+    /**
+     * 🌊 Streaming variant of
+     * {@link #generateDocumentation(ProjectAnalysis, boolean)}
+     *
+     * @param projectPath The project directory
+     * @param fileAnalyses Per-file analysis results as they are parsed
+     * @param resume true to reuse results journaled by a previous run
+     * @return CompletableFuture containing the output path and the complete
+     *         analysis
+     */
+    public CompletableFuture<StreamedDocumentation>
+            generateStreamingDocumentation(
+            final String projectPath,
+            final Flux<ProjectAnalysis> fileAnalyses,
+            final boolean resume) {
+        setupThreadLocalConfig(projectPath);
+
         return CompletableFuture.supplyAsync(() -> {
             try {
                 // Create output directory
@@ -84,15 +286,242 @@ public class DocumentationServiceEnhanced {
                 Files.createDirectories(outputPath);
                 LOGGER.info("Created output directory: {}", outputPath);
 
-                // Generate documentation components
-                generateMainDocumentation(analysis, outputPath);
-                generateElementDocumentation(analysis, outputPath);
-                generateUnitTestDocumentation(analysis, outputPath);
-                generateMermaidDiagrams(analysis);
-                generatePlantUMLDiagrams(analysis);
+                DocumentationManifest manifest = loadManifest(outputPath);
+                SearchIndex searchIndex = SearchIndex.load(outputPath);
+                ProjectAnalysis analysis;
+                boolean changed;
+                try (RunJournal journal = RunJournal.open(outputPath,
+                        resume || manifest.isIncremental())) {
+                    GenerationOptions options = createOptions(journal,
+                            manifest, GenerationOptions.defaults(),
+                            searchIndex);
+
+                    // Element documentation consumes files as they are
+                    // parsed; the parts are kept for the global artefacts
+                    // (onNext signals are serialized, and join() publishes
+                    // the list)
+                    List<ProjectAnalysis> streamedFiles = new ArrayList<>();
+                    AtomicBoolean parsed = new AtomicBoolean(false);
+                    awaitElementDocumentation(elementDocGenerator
+                            .generateStreamingDocumentation(fileAnalyses
+                                    .doOnNext(streamedFiles::add)
+                                    .doOnComplete(() -> parsed.set(true)),
+                                    outputPath, options));
+                    // Global artefacts always need the whole project: if
+                    // documentation stopped pulling files, parse again
+                    List<ProjectAnalysis> parsedFiles = streamedFiles;
+                    if (!parsed.get()) {
+                        LOGGER.warn("🌊 Documentation stopped before parsing "
+                                + "finished - parsing the whole project");
+                        parsedFiles = fileAnalyses.collectList().block();
+                    }
+
+                    analysis = ProjectAnalysis.combine(projectPath,
+                            parsedFiles);
+                    LOGGER.info("🌊 Streamed {} files with {} code elements",
+                            parsedFiles.size(),
+                            analysis.codeElements().size());
+
+                    // Finalise global artefacts with the complete analysis
+                    expectDocuments(manifest, analysis);
+                    changed = manifest.hasChanges();
+                    if (changed) {
+                        generateMainDocumentation(analysis, outputPath);
+                        generateUnitTestDocumentation(analysis, outputPath,
+                                options);
+                    }
+                    logJournalSummary(journal);
+                    compactJournal(journal, manifest, analysis);
+                }
+                finishManifest(manifest);
+                saveSearchIndex(searchIndex, manifest);
+                if (changed) {
+                    generateDiagrams(analysis, outputPath);
+                }
+                saveRunMetadata(outputPath, analysis, "streaming", manifest,
+                        changed);
 
                 LOGGER.info("✅ Documentation generated successfully at: {}",
                         outputPath);
+                return new StreamedDocumentation(outputPath.toString(),
+                        analysis);
+
+            } catch (Exception e) {
+                LOGGER.error("❌ Critical error generating documentation: {}",
+                        e.getMessage(), e);
+                throw new RuntimeException(
+                        "Failed to generate documentation", e);
+            } finally {
+                cleanupThreadLocalResources();
+            }
+        }, llmExecutor);
+    }
+
+    /**
+     * 📦 Generates complete project documentation into a single archive
+     *
+     * Every file that would be written below the configured output
+     * directory goes into the archive instead: element documents and unit
+     * tests are appended as soon as each is finished, through a writer of
+     * this run only, so other runs writing to the output directory at the
+     * same time are not affected. The README and the diagrams are
+     * generated into a private staging directory and appended once done,
+     * followed by the run metadata. Closing the archive appends an index
+     * of all entries. The run is never incremental, since the archive has
+     * to hold every document; the output directory and the previous
+     * manifest are left as they are.
+     *
+     * @param analysis The project analysis results
+     * @param archiveFile The archive to write; {@code .tar} for a tar
+     *                    stream, otherwise a zip file
+     * @return CompletableFuture containing the path to the archive
+     */
+    public CompletableFuture<String> generateDocumentationArchive(
+            final ProjectAnalysis analysis, final Path archiveFile) {
+        setupThreadLocalConfig(analysis);
+
+        return CompletableFuture.supplyAsync(() -> {
+            Path outputPath =
+                    Paths.get(config.outputSettings().outputPath());
+            OutputArchive archive = null;
+            Path staging = null;
+            try {
+                archive = OutputArchive.create(archiveFile, outputPath);
+                AtomicFileWriter runWriter =
+                        new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+                runWriter.attach(archive);
+                staging = Files.createTempDirectory(
+                        archive.getFile().getParent(),
+                        "." + archive.getFile().getFileName() + ".staging");
+
+                // Without journal and manifest every document is written
+                GenerationOptions options = createOptions(null, null,
+                        GenerationOptions.builder().fileWriter(runWriter)
+                                .build());
+                generateElementDocumentation(analysis, outputPath, options);
+                generateUnitTestDocumentation(analysis, outputPath, options);
+                generateMainDocumentation(analysis, staging);
+                generateDiagrams(analysis, staging);
+                appendStagedFiles(archive, staging);
+                runWriter.writeFile(outputPath.resolve(RunMetadata.FILE_NAME),
+                        new RunMetadata(Instant.now(), analysis.projectPath(),
+                                "archive", analysis.getStats(),
+                                archive.size(), 0, true).toJson());
+
+                archive.close();
+                LOGGER.info("✅ Documentation archived at: {}",
+                        archive.getFile());
+                return archive.getFile().toString();
+
+            } catch (Exception e) {
+                LOGGER.error("❌ Critical error generating documentation: {}",
+                        e.getMessage(), e);
+                throw new RuntimeException(
+                        "Failed to generate documentation archive", e);
+            } finally {
+                if (archive != null) {
+                    closeQuietly(archive);
+                }
+                deleteStaging(staging);
+                cleanupThreadLocalResources();
+            }
+        }, llmExecutor);
+    }
+
+    /**
+     * Appends the files of a staging directory to an archive, named by
+     * their path below it.
+     * @param archive The archive of the run
+     * @param staging Directory the files were generated into
+     * @throws IOException if a file cannot be read or appended
+     */
+    private static void appendStagedFiles(final OutputArchive archive,
+            final Path staging) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(staging)) {
+            files = paths.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            archive.append(staging.relativize(file).toString()
+                    .replace('\\', '/'), file, CollisionPolicy.OVERWRITE);
+        }
+    }
+
+    /**
+     * Removes the staging directory of an archive run.
+     * @param staging The directory, or null if it was never created
+     */
+    private static void deleteStaging(final Path staging) {
+        if (staging == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(staging)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder())
+                    .toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not remove staging directory {}: {}", staging,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * 🔀 Documents only some source files of a project, keeping everything
+     * else from the previous run
+     *
+     * The analysis covers just the given files (typically those changed
+     * since a git revision). Documents fed only by other files are carried
+     * over in the manifest, documents of deleted files are removed, and the
+     * README and unit tests are left as the last full run wrote them.
+     * Class diagrams are regenerated for the analyzed classes; package and
+     * module diagrams are left to the next full run.
+     *
+     * @param analysis Analysis of the changed files
+     * @param sourceFiles Changed and deleted files, in the path form used by
+     *                    {@link com.documentor.model.CodeElement#filePath()};
+     *                    a deleted directory stands for the files it held
+     * @return CompletableFuture containing the path to generated documentation
+     */
+    public CompletableFuture<String> generateChangedDocumentation(
+            final ProjectAnalysis analysis, final Set<String> sourceFiles) {
+        setupThreadLocalConfig(analysis);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Path outputPath =
+                        Paths.get(config.outputSettings().outputPath());
+                Files.createDirectories(outputPath);
+
+                DocumentationManifest manifest = loadManifest(outputPath);
+                if (!manifest.isIncremental()) {
+                    LOGGER.warn("No manifest from a previous run in {} - only "
+                            + "the changed files will be documented",
+                            outputPath);
+                }
+                Set<String> scope = manifest.expandDirectories(sourceFiles);
+                manifest.retainOutside(scope);
+                SearchIndex searchIndex = SearchIndex.load(outputPath);
+                try (RunJournal journal = RunJournal.open(outputPath, true)) {
+                    generateElementDocumentation(analysis, outputPath,
+                            createOptions(journal, manifest,
+                                    GenerationOptions.defaults(),
+                                    searchIndex));
+                    logJournalSummary(journal);
+                    compactJournal(journal, manifest, analysis);
+                }
+                expectDocuments(manifest, analysis);
+                boolean changed = manifest.hasChanges();
+                finishManifest(manifest);
+                saveSearchIndex(searchIndex, manifest);
+                if (changed) {
+                    generateDiagrams(analysis, outputPath, scope);
+                }
+                saveRunMetadata(outputPath, analysis, "changed", manifest,
+                        changed);
+
+                LOGGER.info("✅ Documentation of {} changed files updated at: "
+                        + "{}", sourceFiles.size(), outputPath);
                 return outputPath.toString();
 
             } catch (Exception e) {
@@ -106,13 +535,90 @@ public class DocumentationServiceEnhanced {
         }, llmExecutor);
     }
 
+    /**
+     * 📒 Runs every LLM request of part of a project and journals the
+     * results, without writing the final documentation
+     *
+     * Used by shard workers. The journal in the work directory is resumed,
+     * so a restarted worker only repeats the requests that had not
+     * finished. There is no deadline: a shard runs until every request is
+     * answered or has failed.
+     *
+     * @param analysis Elements of the shard
+     * @param workDirectory Scratch directory holding the journal
+     * @return CompletableFuture containing the journal file
+     */
+    public CompletableFuture<Path> generateJournal(
+            final ProjectAnalysis analysis, final Path workDirectory) {
+        setupThreadLocalConfig(analysis);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (RunJournal journal = RunJournal.open(workDirectory, true)) {
+                GenerationOptions options = GenerationOptions.builder()
+                        .journal(journal)
+                        .build();
+                if (llmServiceFix != null) {
+                    llmServiceFix.setLlmServiceThreadLocalConfig(config);
+                }
+                elementDocGenerator.generateGroupedDocumentation(analysis,
+                        workDirectory, options).join();
+                generateUnitTestDocumentation(analysis, workDirectory,
+                        options);
+                logJournalSummary(journal);
+                return journal.getFile();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                cleanupThreadLocalResources();
+            }
+        }, llmExecutor);
+    }
+
+    /**
+     * 📦 Generates complete project documentation from journals produced by
+     * shard workers
+     *
+     * The journals are imported into the journal of the output directory and
+     * the documentation is then generated as a resumed single-node run, so
+     * every document is rendered by the same code from the same results and
+     * matches a single-node run. Requests missing from the journals (for
+     * example because they failed on a worker) are made here.
+     *
+     * @param analysis The complete project analysis
+     * @param journals Journals of the finished shards
+     * @return CompletableFuture containing the path to generated documentation
+     */
+    public CompletableFuture<String> generateDocumentationFromJournals(
+            final ProjectAnalysis analysis, final List<Path> journals) {
+        Path outputPath = Paths.get(config.outputSettings().outputPath());
+        try (RunJournal journal = RunJournal.open(outputPath, true)) {
+            int imported = 0;
+            for (Path shardJournal : journals) {
+                imported += journal.importFrom(shardJournal);
+            }
+            LOGGER.info("📦 Imported {} results from {} shard journals",
+                    imported, journals.size());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return generateDocumentation(analysis, true);
+    }
+
     /**
      * Sets up ThreadLocal configuration for LLM service.
      * @param analysis Project analysis data
      */
     private void setupThreadLocalConfig(final ProjectAnalysis analysis) {
+        setupThreadLocalConfig(analysis.projectPath());
+    }
+
+    /**
+     * Sets up ThreadLocal configuration for LLM service.
+     * @param projectPath Project directory
+     */
+    private void setupThreadLocalConfig(final String projectPath) {
         LOGGER.info("📄 Starting enhanced documentation generation "
-                + "for project: {}", analysis.projectPath());
+                + "for project: {}", projectPath);
 
         // Ensure ThreadLocal configuration is properly set up first
         if (llmServiceFix != null) {
@@ -146,35 +652,215 @@ public class DocumentationServiceEnhanced {
      */
     private void generateMainDocumentation(final ProjectAnalysis analysis,
             final Path outputPath) throws IOException {
-        // Generate main documentation with timeout handling
-        CompletableFuture<String> mainDocFuture = mainDocGenerator
-            .generateMainDocumentation(analysis)
-            .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-            .exceptionally(ex -> {
-                if (ex instanceof TimeoutException) {
-                    LOGGER.error("Timeout while generating main documentation");
-                } else {
-                    LOGGER.error("Error generating main documentation: {}",
-                            ex.getMessage(), ex);
-                }
-                return "# Error Generating Documentation\n\n"
-                        + "There was an error generating the main "
-                        + "documentation: " + ex.getMessage();
-            });
-
-        String mainDoc = mainDocFuture.join();
+        // Stream the main documentation with timeout handling
         Path mainDocPath = outputPath.resolve("README.md");
-        Files.write(mainDocPath, mainDoc.getBytes());
+        try {
+            mainDocGenerator.writeMainDocumentation(analysis, mainDocPath)
+                    .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                LOGGER.error("Timeout while generating main documentation");
+            } else {
+                LOGGER.error("Error generating main documentation: {}",
+                        cause.getMessage(), cause);
+            }
+            fileWriter.writeFile(mainDocPath,
+                    "# Error Generating Documentation\n\n"
+                    + "There was an error generating the main "
+                    + "documentation: " + cause.getMessage());
+        }
         LOGGER.info("✅ Main documentation written to: {}", mainDocPath);
     }
 
+    /**
+     * Creates the options of a run.
+     * @param journal Journal of the run
+     * @param manifest Manifest of the previous run
+     * @param runOptions LLM share and document listener of the run
+     * @return Options with the deadline, journal and manifest
+     */
+    private GenerationOptions createOptions(final RunJournal journal,
+            final DocumentationManifest manifest,
+            final GenerationOptions runOptions) {
+        return createOptions(journal, manifest, runOptions, null);
+    }
+
+    /**
+     * Creates the options of a run that also feeds the search index.
+     * @param journal Journal of the run
+     * @param manifest Manifest of the previous run
+     * @param runOptions LLM share and document listener of the run
+     * @param searchIndex Index updated with every written document
+     * @return Options with the deadline, journal and manifest
+     */
+    private GenerationOptions createOptions(final RunJournal journal,
+            final DocumentationManifest manifest,
+            final GenerationOptions runOptions,
+            final SearchIndex searchIndex) {
+        Consumer<String> listener = runOptions.getDocumentListener();
+        if (searchIndex != null) {
+            Consumer<String> indexer = document -> indexDocument(searchIndex,
+                    document);
+            listener = listener == null ? indexer : indexer.andThen(listener);
+        }
+        return GenerationOptions.builder()
+                .deadline(runOptions.getDeadline() != null
+                        ? runOptions.getDeadline() : runDefaults.getDeadline())
+                .callTimeout(runOptions.getCallTimeout() != null
+                        ? runOptions.getCallTimeout()
+                        : runDefaults.getCallTimeout())
+                .journal(journal)
+                .manifest(manifest)
+                .llmShare(runOptions.getLlmShare())
+                .documentListener(listener)
+                .fileWriter(runOptions.getFileWriter())
+                .build();
+    }
+
+    /**
+     * Re-tokenizes a document that was just written.
+     * @param searchIndex Index of the run
+     * @param document Document path relative to the output directory
+     */
+    private void indexDocument(final SearchIndex searchIndex,
+            final String document) {
+        try {
+            searchIndex.updateFromFile(document);
+        } catch (IOException e) {
+            LOGGER.warn("Could not index {}: {}", document, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops removed documents from the search index, indexes documents it
+     * is missing and saves it.
+     * @param searchIndex Index of the run
+     * @param manifest Manifest of this run
+     */
+    private void saveSearchIndex(final SearchIndex searchIndex,
+            final DocumentationManifest manifest) {
+        try {
+            searchIndex.sync(manifest.documents());
+            searchIndex.save();
+        } catch (IOException e) {
+            LOGGER.error("Error saving search index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the manifest of the previous run, bound to the settings that
+     * shape the generated documents.
+     * @param outputPath Output directory path
+     * @return The manifest, empty when there was no previous run
+     */
+    private DocumentationManifest loadManifest(final Path outputPath) {
+        String settings = config.llmModels().stream()
+                .map(LlmModelConfig::name)
+                .toList() + "\n" + config.outputSettings();
+        return DocumentationManifest.load(outputPath,
+                ContentHash.sha256Hex(settings));
+    }
+
+    /**
+     * Tells the manifest which documents the analysis produces, so only
+     * documents of code that is gone are removed, even when the run did
+     * not write every document.
+     * @param manifest Manifest of this run
+     * @param analysis Analysis the run documented
+     */
+    private void expectDocuments(final DocumentationManifest manifest,
+            final ProjectAnalysis analysis) {
+        manifest.expect(elementDocGenerator.documentsOf(
+                analysis.codeElements()));
+    }
+
+    /**
+     * Deletes documents of removed code and saves the manifest.
+     * @param manifest Manifest of this run
+     */
+    private void finishManifest(final DocumentationManifest manifest) {
+        LOGGER.info("🗂️ Manifest: {} documents rewritten, {} unchanged, "
+                + "{} removed", manifest.rewrittenCount(),
+                manifest.reusedCount(), manifest.removedDocuments().size());
+        try {
+            manifest.finish();
+        } catch (IOException e) {
+            LOGGER.error("Error saving documentation manifest: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Records when and how the documentation was generated, so the
+     * documents themselves can stay free of timestamps.
+     * @param outputPath Output directory path
+     * @param analysis Project analysis of the run
+     * @param mode How the run was started
+     * @param manifest Manifest of this run
+     * @param rebuilt Whether the project-wide outputs were regenerated
+     */
+    private void saveRunMetadata(final Path outputPath,
+            final ProjectAnalysis analysis, final String mode,
+            final DocumentationManifest manifest, final boolean rebuilt) {
+        try {
+            new RunMetadata(Instant.now(), analysis.projectPath(), mode,
+                    analysis.getStats(), manifest.rewrittenCount(),
+                    manifest.reusedCount(), rebuilt).save(outputPath);
+        } catch (IOException e) {
+            LOGGER.error("Error saving run metadata: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes an archive after a failed run, keeping the original error.
+     * @param archive Archive of the run
+     */
+    private void closeQuietly(final OutputArchive archive) {
+        try {
+            archive.close();
+        } catch (IOException e) {
+            LOGGER.warn("Error closing archive {}: {}", archive.getFile(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Logs how much work was reused from and recorded to the journal.
+     * @param journal Journal of the run
+     */
+    private void logJournalSummary(final RunJournal journal) {
+        LOGGER.info("📒 Journal {}: {} results replayed, {} recorded",
+                journal.getFile(), journal.replayedCount(),
+                journal.recordedCount());
+    }
+
+    /**
+     * Compacts the journal of a completed run to the results of elements
+     * that still exist, so resumed runs do not grow it without bound.
+     * @param journal Journal of the run
+     * @param manifest Manifest of the run
+     * @param analysis Analysis of the run
+     * @throws IOException if the journal cannot be rewritten
+     */
+    private void compactJournal(final RunJournal journal,
+            final DocumentationManifest manifest,
+            final ProjectAnalysis analysis) throws IOException {
+        Set<String> live = new HashSet<>(manifest.elementKeys());
+        analysis.codeElements().forEach(element ->
+                live.add(DocumentationManifest.elementKey(element)));
+        journal.compact(live);
+    }
+
     /**
      * Generates detailed documentation for each code element.
      * @param analysis Project analysis data
      * @param outputPath Output directory path
+     * @param options Deadline and journal of the run
      */
     private void generateElementDocumentation(final ProjectAnalysis analysis,
-            final Path outputPath) {
+            final Path outputPath, final GenerationOptions options) {
         try {
             // First ensure ThreadLocal is properly set
             if (llmServiceFix != null) {
@@ -182,24 +868,33 @@ public class DocumentationServiceEnhanced {
             }
 
             // Use the enhanced element doc generator with better threading
-            CompletableFuture<Void> elementDocFuture = elementDocGenerator
-                .generateGroupedDocumentation(analysis, outputPath)
-                .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS * 2,
-                        TimeUnit.SECONDS)
+            awaitElementDocumentation(elementDocGenerator
+                .generateGroupedDocumentation(analysis, outputPath,
+                        options));
+        } catch (Exception e) {
+            LOGGER.error("Error in element documentation generation: {}",
+                    e.getMessage(), e);
+            // Continue with other tasks despite errors
+        }
+    }
+
+    /**
+     * Waits for element documentation, logging instead of failing.
+     * @param elementDocFuture Element documentation in progress
+     */
+    private void awaitElementDocumentation(
+            final CompletableFuture<Void> elementDocFuture) {
+        try {
+            // Every LLM call of the pipeline is bounded by the call timeout
+            // and the run's deadline, so the pipeline always completes
+            elementDocFuture
                 .exceptionally(ex -> {
-                    if (ex instanceof TimeoutException) {
-                        LOGGER.error("Timeout while generating "
-                                + "element documentation");
-                    } else {
-                        LOGGER.error("Error generating element "
-                                + "documentation: {}",
-                                ex.getMessage(), ex);
-                    }
+                    LOGGER.error("Error generating element "
+                            + "documentation: {}", ex.getMessage(), ex);
                     return null; // Continue with other tasks
-                });
-
-            // Wait for element documentation to complete
-            elementDocFuture.join();
+                })
+                // Wait for element documentation to complete
+                .join();
             LOGGER.info("✅ Element documentation completed");
         } catch (Exception e) {
             LOGGER.error("Error in element documentation generation: {}",
@@ -212,9 +907,11 @@ public class DocumentationServiceEnhanced {
      * Generates unit test documentation if enabled.
      * @param analysis Project analysis data
      * @param outputPath Output directory path
+     * @param options Deadline and journal of the run
      */
     private void generateUnitTestDocumentation(
-            final ProjectAnalysis analysis, final Path outputPath) {
+            final ProjectAnalysis analysis, final Path outputPath,
+            final GenerationOptions options) {
         // Generate unit tests if enabled
         if (config.outputSettings().generateUnitTests() != null
                 && config.outputSettings().generateUnitTests()) {
@@ -229,7 +926,8 @@ public class DocumentationServiceEnhanced {
                 LOGGER.info("Generating unit tests as specified "
                         + "in configuration");
                 CompletableFuture<Void> testFuture = testDocGenerator
-                    .generateUnitTestDocumentation(analysis, outputPath)
+                    .generateUnitTestDocumentation(analysis, outputPath,
+                            options)
                     .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS * 2,
                             TimeUnit.SECONDS)
                     .exceptionally(ex -> {
@@ -257,18 +955,73 @@ public class DocumentationServiceEnhanced {
         }
     }
 
+    /**
+     * Generates the enabled diagram formats in one pass over the classes.
+     * Without a batch renderer each format is generated on its own.
+     * @param analysis Project analysis data
+     * @param outputPath Output directory of the run, which gets the diagrams
+     */
+    private void generateDiagrams(final ProjectAnalysis analysis,
+            final Path outputPath) {
+        generateDiagrams(analysis, outputPath, null);
+    }
+
+    /**
+     * Generates the diagrams of a run that covers only some files.
+     * @param analysis Analysis of the files
+     * @param outputPath Output directory of the run, which gets the diagrams
+     * @param sourceFiles Changed and deleted files; null for the whole
+     *                    project
+     */
+    private void generateDiagrams(final ProjectAnalysis analysis,
+            final Path outputPath, final Set<String> sourceFiles) {
+        String diagramPath = outputPath.toString();
+        if (diagramRenderer == null) {
+            generateMermaidDiagrams(analysis, diagramPath);
+            generatePlantUMLDiagrams(analysis, diagramPath);
+            return;
+        }
+        OutputSettings settings = config.outputSettings();
+        List<Target> targets = new ArrayList<>();
+        if (settings.generateMermaidDiagrams()) {
+            targets.add(new Target(Format.MERMAID, diagramPath,
+                    settings.getMermaidNamingOrDefault()));
+        }
+        if (settings.generatePlantUMLDiagrams()) {
+            targets.add(new Target(Format.PLANTUML, diagramPath,
+                    settings.getPlantumlNamingOrDefault()));
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+        try {
+            diagramRenderer.renderAsync(analysis, targets, sourceFiles)
+                    .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .exceptionally(ex -> {
+                        LOGGER.error("Error generating diagrams: {}",
+                                ex.getMessage(), ex);
+                        return Map.of();
+                    })
+                    .join();
+        } catch (Exception e) {
+            LOGGER.error("Error in diagram generation: {}", e.getMessage(),
+                    e);
+        }
+    }
+
     /**
      * Generates Mermaid diagrams if enabled.
      * @param analysis Project analysis data
+     * @param diagramPath Directory of the diagrams
      */
-    private void generateMermaidDiagrams(final ProjectAnalysis analysis) {
+    private void generateMermaidDiagrams(final ProjectAnalysis analysis,
+            final String diagramPath) {
         // Generate Mermaid diagrams if enabled
         if (config.outputSettings().generateMermaidDiagrams()) {
             try {
                 CompletableFuture<List<String>> diagramFuture =
                         mermaidDiagramService
-                    .generateClassDiagrams(analysis,
-                            config.outputSettings().mermaidOutputPath(),
+                    .generateClassDiagrams(analysis, diagramPath,
                             config.outputSettings().getMermaidNamingOrDefault())
                     .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
                     .exceptionally(ex -> {
@@ -290,15 +1043,16 @@ public class DocumentationServiceEnhanced {
     /**
      * Generates PlantUML diagrams if enabled.
      * @param analysis Project analysis data
+     * @param diagramPath Directory of the diagrams
      */
-    private void generatePlantUMLDiagrams(final ProjectAnalysis analysis) {
+    private void generatePlantUMLDiagrams(final ProjectAnalysis analysis,
+            final String diagramPath) {
         // Generate PlantUML diagrams if enabled
         if (config.outputSettings().generatePlantUMLDiagrams()) {
             try {
                 CompletableFuture<List<String>> plantUMLFuture =
                         plantUMLDiagramService
-                    .generateClassDiagrams(analysis,
-                            config.outputSettings().plantUMLOutputPath(),
+                    .generateClassDiagrams(analysis, diagramPath,
                             config.outputSettings()
                                     .getPlantumlNamingOrDefault())
                     .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
@@ -1,9 +1,7 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
-import com.documentor.config.ThreadLocalPropagatingExecutor;
 import com.documentor.config.model.LlmModelConfig;
-import com.documentor.constants.ApplicationConstants;
 import com.documentor.model.CodeElement;
 import com.documentor.service.llm.LlmApiClient;
 import com.documentor.service.llm.LlmRequestBuilder;
@@ -14,6 +12,7 @@ import org.springframework.scheduling.annotation.Async;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * LLM Integration Service - Refactored for Low Complexity
@@ -28,21 +27,22 @@ public class LlmService {
     private final LlmResponseHandler responseHandler;
     private final LlmApiClient apiClient;
 
+    /**
+     * Creates the service on the llm-io pool of the
+     * {@link com.documentor.config.ExecutorRegistry}, which already
+     * propagates the ThreadLocal config and is used as it is.
+     */
     public LlmService(final DocumentorConfig configParam,
                      final LlmRequestBuilder requestBuilderParam,
                      final LlmResponseHandler responseHandlerParam,
-                     final LlmApiClient apiClientParam) {
+                     final LlmApiClient apiClientParam,
+                     final Executor llmExecutorParam) {
         this.config = configParam;
         this.requestBuilder = requestBuilderParam;
         this.responseHandler = responseHandlerParam;
         this.apiClient = apiClientParam;
 
-        // Create the thread-local propagating executor
-        this.threadLocalExecutor = ThreadLocalPropagatingExecutor
-            .createExecutor(
-                getWorkerThreadCount(), // Number of threads
-                "llm-worker"
-            );
+        this.threadLocalExecutor = llmExecutorParam;
 
         // Store config in ThreadLocal when service is created
         if (configParam != null) {
@@ -233,15 +233,6 @@ public class LlmService {
      */
     private final java.util.concurrent.Executor threadLocalExecutor;
 
-    /**
-     * Gets the worker thread count.
-     *
-     * @return the worker thread count
-     */
-    private int getWorkerThreadCount() {
-        return ApplicationConstants.DEFAULT_WORKER_THREAD_COUNT;
-    }
-
     /**
      * Generate content with the specified model
      */
@@ -2,13 +2,12 @@ package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
 import com.documentor.config.ThreadLocalContextHolder;
-import com.documentor.config.ThreadLocalPropagatingExecutorEnhanced;
 import com.documentor.config.model.LlmModelConfig;
-import com.documentor.constants.ApplicationConstants;
 import com.documentor.model.CodeElement;
 import com.documentor.service.llm.LlmApiClient;
 import com.documentor.service.llm.LlmRequestBuilder;
 import com.documentor.service.llm.LlmResponseHandler;
+import com.documentor.util.ContentHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Async;
@@ -44,10 +43,15 @@ public class LlmServiceEnhanced {
     private static final Executor FALLBACK_EXECUTOR =
         ForkJoinPool.commonPool();
 
+    /**
+     * Creates the service on the llm-io pool of the
+     * {@link com.documentor.config.ExecutorRegistry}.
+     */
     public LlmServiceEnhanced(final DocumentorConfig configParam,
                      final LlmRequestBuilder requestBuilderParam,
                      final LlmResponseHandler responseHandlerParam,
-                     final LlmApiClient apiClientParam) {
+                     final LlmApiClient apiClientParam,
+                     final Executor llmExecutorParam) {
         this.config = configParam;
         this.requestBuilder = requestBuilderParam;
         this.responseHandler = responseHandlerParam;
@@ -60,23 +64,7 @@ public class LlmServiceEnhanced {
                 + "LlmServiceEnhanced initialization");
         }
 
-        // Create the thread-local propagating executor with safe error handling
-        Executor safeExecutor = null;
-        try {
-            safeExecutor = ThreadLocalPropagatingExecutorEnhanced
-                .createExecutor(
-                    getWorkerThreadCount(),
-                    "llm-worker-enhanced"
-                );
-            LOGGER.info("ThreadLocalPropagatingExecutorEnhanced created "
-                + "successfully");
-        } catch (Exception e) {
-            LOGGER.error("Failed to create "
-                + "ThreadLocalPropagatingExecutorEnhanced: {}",
-                e.getMessage());
-            // We'll use the fallback executor later if this fails
-        }
-        this.threadLocalExecutor = safeExecutor;
+        this.threadLocalExecutor = llmExecutorParam;
     }
 
     /**
@@ -278,12 +266,24 @@ public class LlmServiceEnhanced {
     }
 
     /**
-     * Gets the worker thread count.
+     * Fingerprint of the request that would be sent for an element: a
+     * SHA-256 hash of the model name and the prompt text. Identical
+     * fingerprints mean a previous result can be reused.
      *
-     * @return the worker thread count
+     * @param codeElement the element
+     * @param type "documentation", "usage" or "tests"
+     * @return the hex fingerprint, or null when no model is configured
      */
-    private int getWorkerThreadCount() {
-        return ApplicationConstants.DEFAULT_WORKER_THREAD_COUNT;
+    public final String promptFingerprint(final CodeElement codeElement,
+            final String type) {
+        DocumentorConfig effectiveConfig = config != null ? config
+            : getThreadLocalConfig();
+        if (effectiveConfig == null || effectiveConfig.llmModels().isEmpty()) {
+            return null;
+        }
+        LlmModelConfig model = effectiveConfig.llmModels().get(0);
+        return ContentHash.sha256Hex(model.name() + "\n"
+            + createPrompt(codeElement, type));
     }
 
     /**
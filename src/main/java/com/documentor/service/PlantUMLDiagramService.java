@@ -1,21 +1,22 @@
 package com.documentor.service;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.DiagramNamingOptions;
-import com.documentor.model.CodeElement;
 import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.diagram.DiagramBatchRenderer;
+import com.documentor.service.diagram.DiagramBatchRenderer.Format;
+import com.documentor.service.diagram.DiagramBatchRenderer.Target;
 import com.documentor.service.diagram.DiagramElementFilter;
 import com.documentor.service.diagram.DiagramGeneratorFactory;
 import com.documentor.service.diagram.DiagramPathManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * 📊 PlantUML Diagram Service
@@ -29,17 +30,20 @@ public class PlantUMLDiagramService {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(PlantUMLDiagramService.class);
 
-    private final DiagramElementFilter elementFilter;
-    private final DiagramPathManager pathManager;
-    private final DiagramGeneratorFactory generatorFactory;
+    private final DiagramBatchRenderer renderer;
+    private final Executor diagramExecutor;
 
+    @Autowired
     public PlantUMLDiagramService(
             final DiagramElementFilter elementFilterParam,
             final DiagramPathManager pathManagerParam,
-            final DiagramGeneratorFactory generatorFactoryParam) {
-        this.elementFilter = elementFilterParam;
-        this.pathManager = pathManagerParam;
-        this.generatorFactory = generatorFactoryParam;
+            final DiagramGeneratorFactory generatorFactoryParam,
+            final ExecutorRegistry executorRegistryParam) {
+        this.renderer = new DiagramBatchRenderer(elementFilterParam,
+                pathManagerParam, generatorFactoryParam, executorRegistryParam,
+                null, null);
+        this.diagramExecutor =
+                executorRegistryParam.executor(ExecutorRegistry.Pool.DIAGRAM);
     }
 
     /**
@@ -69,7 +73,7 @@ public class PlantUMLDiagramService {
                 throw new RuntimeException(
                         "Failed to generate PlantUML diagrams", e);
             }
-        });
+        }, diagramExecutor);
     }
 
     /**
@@ -78,54 +82,7 @@ public class PlantUMLDiagramService {
     private List<String> generateDiagrams(final ProjectAnalysis analysis,
             final String outputPath,
             final DiagramNamingOptions namingOptions) {
-        List<String> generatedFiles = new ArrayList<>();
-
-        // Get eligible classes for diagram generation
-        List<CodeElement> eligibleClasses =
-                elementFilter.getEligibleClasses(analysis);
-
-        // Group elements by class
-        Map<CodeElement, List<CodeElement>> elementsByClass =
-                elementFilter.groupElementsByClass(analysis);
-
-        // Process each eligible class
-        eligibleClasses.forEach(classElement -> {
-            try {
-                String diagram = processSingleClassDiagram(classElement,
-                        elementsByClass, outputPath, namingOptions);
-                generatedFiles.add(diagram);
-            } catch (Exception e) {
-                LOGGER.warn("⚠️ Failed to generate PlantUML diagram for {}: {}",
-                        classElement.name(), e.getMessage());
-            }
-        });
-
-        LOGGER.info("✅ Generated {} PlantUML diagrams", generatedFiles.size());
-        return generatedFiles;
-    }
-
-    /**
-     * 📊 Process a single class diagram
-     */
-    private String processSingleClassDiagram(
-            final CodeElement classElement,
-            final Map<CodeElement, List<CodeElement>> elementsByClass,
-            final String outputPath,
-            final DiagramNamingOptions namingOptions) throws Exception {
-
-        List<CodeElement> classElements = elementsByClass.get(classElement);
-
-        // Determine output path
-        String resolvedOutputPath = pathManager.determineOutputPath(
-            classElement.filePath(), outputPath);
-        Path outputDir = pathManager.createOutputDirectory(resolvedOutputPath);
-
-        // Ensure output directory exists
-        Files.createDirectories(outputDir);
-
-        // Generate the diagram
-        return generatorFactory.getPlantUMLClassDiagramGenerator()
-            .generateClassDiagram(classElement, classElements, outputDir,
-                namingOptions);
+        return renderer.render(analysis, List.of(new Target(Format.PLANTUML,
+                outputPath, namingOptions))).get(Format.PLANTUML);
     }
 }
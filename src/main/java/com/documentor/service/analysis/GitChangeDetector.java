@@ -0,0 +1,153 @@
+package com.documentor.service.analysis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔀 Git Change Detector
+ *
+ * Asks the local {@code git} binary which files of a project changed since a
+ * revision, so a run can analyze just those files. Changes are counted from
+ * the point where the project branched off the revision, so commits that
+ * only exist on the revision's branch are not reported. Only local
+ * repository data is used; nothing is fetched. Renames are detected, so a renamed file
+ * counts as the removal of its old path and a change of its new path.
+ * Untracked files that are not ignored count as changed.
+ */
+@Component
+public class GitChangeDetector {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(GitChangeDetector.class);
+    private static final long GIT_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Files changed since a revision, relative to the project directory
+     *
+     * @param revision the revision compared against
+     * @param changed added, modified, copied and renamed-to files
+     * @param deleted deleted and renamed-from files
+     */
+    public record ChangeSet(String revision, Set<Path> changed,
+                            Set<Path> deleted) {
+
+        /**
+         * All paths touched by the change set.
+         *
+         * @return changed and deleted paths
+         */
+        public Set<Path> allPaths() {
+            Set<Path> all = new LinkedHashSet<>(changed);
+            all.addAll(deleted);
+            return Collections.unmodifiableSet(all);
+        }
+    }
+
+    /**
+     * 🔀 Lists the files of a project changed since a revision
+     *
+     * @param projectPath the project directory inside a git work tree
+     * @param revision the revision to compare against, e.g. origin/main;
+     *                 a branch is compared from its merge base with HEAD
+     * @return changed and deleted files under the project, relative to it
+     * @throws IOException if git fails or the revision is unknown
+     */
+    public ChangeSet changedSince(final Path projectPath,
+                                  final String revision) throws IOException {
+        if (revision == null || revision.isBlank()
+                || revision.startsWith("-")) {
+            throw new IllegalArgumentException("Invalid git revision: "
+                    + revision);
+        }
+        Path root = projectPath.toAbsolutePath().normalize();
+        Set<Path> changed = new LinkedHashSet<>();
+        Set<Path> deleted = new LinkedHashSet<>();
+
+        // Later commits of a branch are not changes of this work tree
+        String base = runGit(root, "merge-base", revision, "HEAD").get(0)
+                .strip();
+        // -z keeps unusual file names unquoted; --relative limits the
+        // diff to the project directory and makes paths relative to it
+        List<String> diff = runGit(root, "diff", "--name-status", "-M", "-z",
+                "--relative", base, "--");
+        for (int i = 0; i < diff.size(); i++) {
+            char status = diff.get(i).charAt(0);
+            if (status == 'R' || status == 'C') {
+                Path source = Path.of(diff.get(++i));
+                if (status == 'R') {
+                    deleted.add(source);
+                }
+                changed.add(Path.of(diff.get(++i)));
+            } else if (status == 'D') {
+                deleted.add(Path.of(diff.get(++i)));
+            } else {
+                changed.add(Path.of(diff.get(++i)));
+            }
+        }
+        for (String untracked : runGit(root, "ls-files", "--others",
+                "--exclude-standard", "-z")) {
+            changed.add(Path.of(untracked));
+        }
+
+        LOGGER.info("🔀 {} files changed and {} removed since {}",
+                changed.size(), deleted.size(), revision);
+        return new ChangeSet(revision, Collections.unmodifiableSet(changed),
+                Collections.unmodifiableSet(deleted));
+    }
+
+    /**
+     * Runs git in a directory and returns its NUL-separated output fields
+     */
+    private List<String> runGit(final Path directory, final String... args)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                // Warnings on stderr must not mix with the parsed output
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            in.transferTo(bytes);
+            output = bytes.toString(StandardCharsets.UTF_8);
+        }
+        try {
+            if (!process.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git " + args[0] + " timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            throw new IOException("Interrupted while waiting for git", e);
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("git " + args[0] + " failed with exit "
+                    + "code " + process.exitValue() + " in " + directory);
+        }
+
+        List<String> fields = new ArrayList<>();
+        for (String field : output.split("\0")) {
+            if (!field.isEmpty()) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,235 @@
+package com.documentor.service.analysis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 👀 Project Watcher
+ *
+ * Watches a project tree with a {@link WatchService} and turns file events
+ * into debounced batches: a batch is handed out once no relevant event has
+ * arrived for the quiet period, or once it has been collecting for the
+ * maximum delay, so an editor saving several files (or a branch switch)
+ * becomes one batch instead of many. Directories created while watching
+ * are registered on the fly; when the event queue overflows the whole tree
+ * is reported as changed.
+ */
+public final class ProjectWatcher implements Closeable {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ProjectWatcher.class);
+
+    private final Path root;
+    private final Predicate<Path> fileFilter;
+    private final Predicate<Path> directoryFilter;
+    private final Duration quietPeriod;
+    private final Duration maxDelay;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * A debounced set of changes
+     *
+     * @param paths changed, created and deleted files, and deleted
+     *              directories, relative to the root
+     * @param firstEventNanos {@link System#nanoTime()} of the first event
+     */
+    public record Batch(Set<Path> paths, long firstEventNanos) {
+    }
+
+    /**
+     * Starts watching a project tree.
+     *
+     * @param rootParam the project directory
+     * @param fileFilterParam files whose changes are reported
+     * @param directoryFilterParam directories that are watched
+     * @param quietPeriodParam time without events that closes a batch
+     * @param maxDelayParam longest time a batch keeps collecting events
+     * @throws IOException if the tree cannot be registered
+     */
+    public ProjectWatcher(final Path rootParam,
+                          final Predicate<Path> fileFilterParam,
+                          final Predicate<Path> directoryFilterParam,
+                          final Duration quietPeriodParam,
+                          final Duration maxDelayParam) throws IOException {
+        this.root = rootParam;
+        this.fileFilter = fileFilterParam;
+        this.directoryFilter = directoryFilterParam;
+        this.quietPeriod = quietPeriodParam;
+        this.maxDelay = maxDelayParam;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerTree(rootParam, null);
+        LOGGER.info("👀 Watching {} directories under {}", directories.size(),
+                rootParam);
+    }
+
+    /**
+     * Waits for the next batch of changes.
+     *
+     * @param timeout how long to wait for the first event
+     * @return the batch, or null if nothing changed within the timeout
+     * @throws InterruptedException if the thread is interrupted
+     */
+    public Batch nextBatch(final Duration timeout)
+            throws InterruptedException {
+        Set<Path> changed = new LinkedHashSet<>();
+        long waitDeadline = System.nanoTime() + timeout.toNanos();
+        long firstEvent = 0;
+        long quietDeadline = 0;
+        long batchDeadline = 0;
+
+        while (true) {
+            long now = System.nanoTime();
+            long remaining = changed.isEmpty() ? waitDeadline - now
+                    : Math.min(quietDeadline, batchDeadline) - now;
+            if (remaining <= 0) {
+                break;
+            }
+            WatchKey key;
+            try {
+                key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (ClosedWatchServiceException e) {
+                break;
+            }
+            if (key == null) {
+                continue;
+            }
+            boolean relevant = drain(key, changed);
+            if (relevant) {
+                now = System.nanoTime();
+                if (firstEvent == 0) {
+                    firstEvent = now;
+                    batchDeadline = now + maxDelay.toNanos();
+                }
+                quietDeadline = now + quietPeriod.toNanos();
+            }
+        }
+        return changed.isEmpty() ? null
+                : new Batch(Collections.unmodifiableSet(changed), firstEvent);
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Collects the relevant events of a key and re-arms it
+     *
+     * @return true if at least one relevant file changed
+     */
+    private boolean drain(final WatchKey key, final Set<Path> changed) {
+        Path directory = directories.get(key);
+        int before = changed.size();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                LOGGER.warn("⚠️ File events were lost - rescanning {}",
+                        root);
+                addTree(root, changed);
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(path)) {
+                // Files may appear before the directory is registered
+                registerTree(path, changed);
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE
+                    && directories.containsValue(path)) {
+                // Removing or moving a directory reports only the directory
+                forgetTree(path);
+                changed.add(root.relativize(path));
+            } else if (fileFilter.test(path)) {
+                changed.add(root.relativize(path));
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return changed.size() > before;
+    }
+
+    /**
+     * Registers a directory tree, optionally reporting the files in it
+     */
+    private void registerTree(final Path start, final Set<Path> changed) {
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir,
+                        final BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(root) && !directoryFilter.test(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    directories.put(dir.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file,
+                        final BasicFileAttributes attrs) {
+                    if (changed != null && fileFilter.test(file)) {
+                        changed.add(root.relativize(file));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.warn("⚠️ Could not watch {}: {}", start, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching a deleted directory tree
+     */
+    private void forgetTree(final Path start) {
+        directories.entrySet().removeIf(watched -> {
+            if (!watched.getValue().startsWith(start)) {
+                return false;
+            }
+            watched.getKey().cancel();
+            return true;
+        });
+    }
+
+    /**
+     * Reports every relevant file of a tree as changed
+     */
+    private void addTree(final Path start, final Set<Path> changed) {
+        try (Stream<Path> files = Files.walk(start)) {
+            files.filter(Files::isRegularFile)
+                    .filter(fileFilter)
+                    .forEach(file -> changed.add(root.relativize(file)));
+        } catch (IOException e) {
+            LOGGER.warn("⚠️ Could not rescan {}: {}", start, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.documentor.service.diagram;
+
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.config.model.DiagramNamingOptions;
+import com.documentor.model.CodeElement;
+import com.documentor.model.ProjectAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🖼️ Diagram Batch Renderer
+ *
+ * Renders the class diagrams of a project in every requested format in one
+ * pass: each class is rendered in all formats by the same task, and the
+ * classes are spread over the diagram pool. Output directories are resolved
+ * and created once up front instead of once per class, and every worker
+ * stores its results in the slot of its class, so the returned lists keep
+ * the order of the classes whatever order they finished in.
+ *
+ * The calling thread works through the classes too, so rendering completes
+ * even when every pool thread is busy, e.g. with the task that called it.
+ *
+ * Targets with an output directory also get the package and module
+ * diagrams of the {@link PackageDiagramGenerator}, built from the same type
+ * graph once the class diagrams are done. When the {@link PlantUMLSvgRenderer}
+ * is enabled, all PlantUML sources written are then rendered to SVG.
+ */
+@Component
+public class DiagramBatchRenderer {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(DiagramBatchRenderer.class);
+
+    private final DiagramElementFilter elementFilter;
+    private final DiagramPathManager pathManager;
+    private final DiagramGeneratorFactory generatorFactory;
+    private final PackageDiagramGenerator packageGenerator;
+    private final PlantUMLSvgRenderer svgRenderer;
+    private final Executor diagramExecutor;
+    private final int parallelism;
+
+    @Autowired
+    public DiagramBatchRenderer(
+            final DiagramElementFilter elementFilterParam,
+            final DiagramPathManager pathManagerParam,
+            final DiagramGeneratorFactory generatorFactoryParam,
+            final ExecutorRegistry executorRegistryParam,
+            final PackageDiagramGenerator packageGeneratorParam,
+            final PlantUMLSvgRenderer svgRendererParam) {
+        this.elementFilter = elementFilterParam;
+        this.pathManager = pathManagerParam;
+        this.generatorFactory = generatorFactoryParam;
+        this.packageGenerator = packageGeneratorParam != null
+                ? packageGeneratorParam : new PackageDiagramGenerator();
+        this.svgRenderer = svgRendererParam != null
+                ? svgRendererParam : new PlantUMLSvgRenderer();
+        this.diagramExecutor =
+                executorRegistryParam.executor(ExecutorRegistry.Pool.DIAGRAM);
+        this.parallelism =
+                executorRegistryParam.threads(ExecutorRegistry.Pool.DIAGRAM);
+    }
+
+    /**
+     * 🖼️ Renders the diagrams of a project on the diagram pool
+     *
+     * @param analysis the project analysis
+     * @param targets the formats to render
+     * @return the generated files of each format
+     */
+    public CompletableFuture<Map<Format, List<String>>> renderAsync(
+            final ProjectAnalysis analysis, final List<Target> targets) {
+        return renderAsync(analysis, targets, null);
+    }
+
+    /**
+     * 🖼️ Renders the diagrams of some files of a project on the diagram
+     * pool
+     *
+     * @param analysis analysis of the files
+     * @param targets the formats to render
+     * @param sourceFiles the changed and deleted files the analysis covers;
+     *                    null when it covers the whole project
+     * @return the generated files of each format
+     */
+    public CompletableFuture<Map<Format, List<String>>> renderAsync(
+            final ProjectAnalysis analysis, final List<Target> targets,
+            final Set<String> sourceFiles) {
+        return CompletableFuture.supplyAsync(
+                () -> render(analysis, targets, sourceFiles), diagramExecutor);
+    }
+
+    /**
+     * 🖼️ Renders the diagrams of a project, waiting for them
+     *
+     * A class that fails in one format is logged and skipped in that format
+     * only.
+     *
+     * @param analysis the project analysis
+     * @param targets the formats to render
+     * @return the generated files of each format, in class order
+     */
+    public Map<Format, List<String>> render(final ProjectAnalysis analysis,
+                                            final List<Target> targets) {
+        return render(analysis, targets, null);
+    }
+
+    /**
+     * 🖼️ Renders the diagrams of some files of a project, waiting for them
+     *
+     * When the analysis covers only some files, just their class diagrams
+     * are rendered. Package and module diagrams need every class of the
+     * project, so they are left as the last full run wrote them.
+     *
+     * @param analysis analysis of the files
+     * @param targets the formats to render
+     * @param sourceFiles the changed and deleted files the analysis covers;
+     *                    null when it covers the whole project
+     * @return the generated files of each format, in class order
+     */
+    public Map<Format, List<String>> render(final ProjectAnalysis analysis,
+                                            final List<Target> targets,
+                                            final Set<String> sourceFiles) {
+        List<CodeElement> classes = elementFilter.getEligibleClasses(analysis);
+        Map<CodeElement, List<CodeElement>> elementsByClass =
+                elementFilter.groupElementsByClass(analysis);
+        // Dependencies are read once per run and shared by every format
+        TypeDependencyGraph typeGraph = elementFilter.dependencyGraph(
+                analysis, cacheDirectory(targets), sourceFiles);
+
+        int classCount = classes.size();
+        Path[][] directories = createDirectories(classes, targets);
+        String[][] results = new String[targets.size()][classCount];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(classCount);
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < classCount;
+                    i = next.getAndIncrement()) {
+                try {
+                    renderClass(classes.get(i), elementsByClass, typeGraph,
+                            targets, directories, results, i);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(parallelism, classCount) - 1;
+        for (int h = 0; h < helpers; h++) {
+            diagramExecutor.execute(worker);
+        }
+        worker.run();
+        awaitQuietly(done);
+
+        Map<Format, List<String>> generated = new EnumMap<>(Format.class);
+        for (int t = 0; t < targets.size(); t++) {
+            List<String> files = Arrays.stream(results[t])
+                    .filter(Objects::nonNull)
+                    .toList();
+            generated.merge(targets.get(t).format(), files, (a, b) -> {
+                List<String> merged = new ArrayList<>(a);
+                merged.addAll(b);
+                return merged;
+            });
+            LOGGER.info("✅ Generated {} {} diagrams", files.size(),
+                    targets.get(t).format().getDisplayName());
+        }
+        List<String> packagePages = sourceFiles == null
+                ? renderPackages(analysis, classes, typeGraph, targets)
+                : List.of();
+        if (svgRenderer.isEnabled()) {
+            List<String> plantUmlSources = new ArrayList<>(
+                    generated.getOrDefault(Format.PLANTUML, List.of()));
+            packagePages.stream()
+                    .filter(page -> page.endsWith(".plantuml"))
+                    .forEach(plantUmlSources::add);
+            svgRenderer.render(plantUmlSources);
+        }
+        return generated;
+    }
+
+    /**
+     * 📦 Writes the package and module diagrams of every target with an
+     * output directory; the class diagram results are not affected.
+     *
+     * @return the diagram pages
+     */
+    private List<String> renderPackages(final ProjectAnalysis analysis,
+            final List<CodeElement> classes,
+            final TypeDependencyGraph typeGraph, final List<Target> targets) {
+        List<String> pages = new ArrayList<>();
+        if (classes.isEmpty()) {
+            return pages;
+        }
+        TypeDependencyGraph graph = typeGraph != null ? typeGraph
+                : TypeDependencyGraph.build(analysis.codeElements());
+        for (Target target : targets) {
+            if (target.outputPath() == null || target.outputPath().isBlank()) {
+                continue;
+            }
+            try {
+                pages.addAll(packageGenerator.generate(classes, graph,
+                        target.format(), Path.of(target.outputPath()),
+                        analysis.projectPath()));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("⚠️ Failed to generate {} package diagrams: {}",
+                        target.format().getDisplayName(), e.getMessage());
+            }
+        }
+        return pages;
+    }
+
+    private void renderClass(final CodeElement classElement,
+            final Map<CodeElement, List<CodeElement>> elementsByClass,
+            final TypeDependencyGraph typeGraph, final List<Target> targets,
+            final Path[][] directories, final String[][] results,
+            final int index) {
+        List<CodeElement> members = elementsByClass.get(classElement);
+        for (int t = 0; t < targets.size(); t++) {
+            Target target = targets.get(t);
+            try {
+                results[t][index] = generate(target, classElement, members,
+                        directories[t][index], typeGraph);
+            } catch (Exception e) {
+                LOGGER.warn("⚠️ Failed to generate {} diagram for {}: {}",
+                        target.format().getDisplayName(),
+                        classElement.name(), e.getMessage());
+            }
+        }
+    }
+
+    private String generate(final Target target,
+            final CodeElement classElement, final List<CodeElement> members,
+            final Path directory, final TypeDependencyGraph typeGraph)
+            throws IOException {
+        if (directory == null) {
+            throw new IOException("output directory could not be created");
+        }
+        return switch (target.format()) {
+            case MERMAID -> generatorFactory.getClassDiagramGenerator()
+                    .generateClassDiagram(classElement, members, directory,
+                            target.namingOptions(), typeGraph);
+            case PLANTUML -> generatorFactory
+                    .getPlantUMLClassDiagramGenerator()
+                    .generateClassDiagram(classElement, members, directory,
+                            target.namingOptions(), typeGraph);
+        };
+    }
+
+    /**
+     * Resolves the output directory of every class in every format and
+     * creates each distinct directory once.
+     */
+    private Path[][] createDirectories(final List<CodeElement> classes,
+                                       final List<Target> targets) {
+        Path[][] directories = new Path[targets.size()][classes.size()];
+        Map<String, Path> created = new HashMap<>();
+        for (int t = 0; t < targets.size(); t++) {
+            for (int i = 0; i < classes.size(); i++) {
+                String resolved = pathManager.determineOutputPath(
+                        classes.get(i).filePath(), targets.get(t).outputPath());
+                directories[t][i] = created.computeIfAbsent(resolved,
+                        this::createDirectory);
+            }
+        }
+        return directories;
+    }
+
+    private Path createDirectory(final String outputPath) {
+        try {
+            Path directory = pathManager.createOutputDirectory(outputPath);
+            Files.createDirectories(directory);
+            return directory;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Cannot create diagram directory {}: {}",
+                    outputPath, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch done) {
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while rendering diagrams", e);
+        }
+    }
+
+    /**
+     * 🕸️ Directory the type graph is kept in between runs: the first
+     * configured output directory; none when diagrams are written next to
+     * the sources
+     */
+    private static Path cacheDirectory(final List<Target> targets) {
+        return targets.stream()
+                .map(Target::outputPath)
+                .filter(path -> path != null && !path.isBlank())
+                .findFirst()
+                .map(Path::of)
+                .orElse(null);
+    }
+
+    /**
+     * Diagram formats
+     */
+    public enum Format {
+        /** Mermaid class diagrams ({@code .mmd}) */
+        MERMAID("Mermaid"),
+        /** PlantUML class diagrams ({@code .plantuml}) */
+        PLANTUML("PlantUML");
+
+        private final String displayName;
+
+        Format(final String displayNameParam) {
+            this.displayName = displayNameParam;
+        }
+
+        /**
+         * Name of the format in log messages.
+         *
+         * @return the display name
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * One format to render
+     *
+     * @param format the diagram format
+     * @param outputPath directory of the diagrams; blank to write them next
+     *                   to their sources
+     * @param namingOptions diagram file naming; may be null
+     */
+    public record Target(Format format, String outputPath,
+                         DiagramNamingOptions namingOptions) {
+    }
+}
@@ -3,8 +3,13 @@ package com.documentor.service.diagram;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,6 +24,73 @@ import java.util.stream.Collectors;
 @Component
 public class DiagramElementFilter {
 
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(DiagramElementFilter.class);
+
+    private final Object graphLock = new Object();
+    private WeakReference<ProjectAnalysis> graphAnalysis =
+            new WeakReference<>(null);
+    private TypeDependencyGraph graph;
+
+    /**
+     * 🕸️ Type dependency graph of an analysis, built once and shared by
+     * every diagram format of the run
+     *
+     * @param analysis the project analysis
+     * @param cacheDirectory directory the graph is kept in between runs;
+     *                       null to build it from scratch
+     * @return the graph
+     */
+    public TypeDependencyGraph dependencyGraph(final ProjectAnalysis analysis,
+            final Path cacheDirectory) {
+        return dependencyGraph(analysis, cacheDirectory, null);
+    }
+
+    /**
+     * 🕸️ Type dependency graph of an analysis that may cover only some
+     * files of the project
+     *
+     * A partial analysis updates the classes of its files in the graph of
+     * the last run. Without a graph to update, the classes of the files are
+     * graphed on their own and the result is not saved, so later runs never
+     * read a truncated graph.
+     *
+     * @param analysis analysis of the files
+     * @param cacheDirectory directory the graph is kept in between runs;
+     *                       null to build it from scratch
+     * @param sourceFiles the changed and deleted files the analysis covers;
+     *                    null when it covers the whole project
+     * @return the graph
+     */
+    public TypeDependencyGraph dependencyGraph(final ProjectAnalysis analysis,
+            final Path cacheDirectory, final Set<String> sourceFiles) {
+        synchronized (graphLock) {
+            if (graph != null && graphAnalysis.get() == analysis) {
+                return graph;
+            }
+            TypeDependencyGraph previous = cacheDirectory != null
+                    ? TypeDependencyGraph.load(cacheDirectory) : null;
+            boolean merged = sourceFiles != null && previous != null;
+            graph = merged
+                    ? TypeDependencyGraph.update(analysis.codeElements(),
+                            previous, sourceFiles)
+                    : TypeDependencyGraph.build(analysis.codeElements(),
+                            previous);
+            graphAnalysis = new WeakReference<>(analysis);
+            LOGGER.info("🕸️ Type graph: {} classes, {} unchanged since the "
+                    + "last run", graph.size(), graph.reusedCount());
+            if (cacheDirectory != null && (sourceFiles == null || merged)) {
+                try {
+                    graph.save(cacheDirectory);
+                } catch (IOException e) {
+                    LOGGER.warn("⚠️ Cannot save type graph to {}: {}",
+                            cacheDirectory, e.getMessage());
+                }
+            }
+            return graph;
+        }
+    }
+
     /**
      * 📦 Groups elements by class for diagram generation
      */
@@ -30,12 +102,16 @@ public class DiagramElementFilter {
             .filter(this::isNonPrivate)
             .toList();
 
-        // Group all elements by their containing class
+        // Group all elements by their containing class, scanning the
+        // elements once instead of once per class
+        Map<String, List<CodeElement>> elementsByFile =
+            groupElementsByFile(analysis);
         return eligibleClasses.stream()
             .collect(Collectors.toMap(
                 classElement -> classElement,
-                classElement -> getElementsForClass(
-                        analysis.codeElements(), classElement)
+                classElement -> elementsByFile.getOrDefault(
+                        classElement.filePath(), List.of()),
+                (first, second) -> first
             ));
     }
 
@@ -5,14 +5,15 @@ import com.documentor.constants.ApplicationConstants;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.CodeVisibility;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
@@ -29,10 +30,20 @@ public class MermaidClassDiagramGenerator {
             LoggerFactory.getLogger(MermaidClassDiagramGenerator.class);
 
     private final DiagramPathManager pathManager;
+    private final AtomicFileWriter fileWriter;
 
     public MermaidClassDiagramGenerator(
             final DiagramPathManager pathManagerParam) {
+        this(pathManagerParam, null);
+    }
+
+    @Autowired
+    public MermaidClassDiagramGenerator(
+            final DiagramPathManager pathManagerParam,
+            final AtomicFileWriter fileWriterParam) {
         this.pathManager = pathManagerParam;
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
     }
 
     /**
@@ -51,6 +62,20 @@ public class MermaidClassDiagramGenerator {
     public String generateClassDiagram(final CodeElement classElement,
             final List<CodeElement> allElements, final Path outputPath,
             final DiagramNamingOptions namingOptions) throws IOException {
+        return generateClassDiagram(classElement, allElements, outputPath,
+                namingOptions, null);
+    }
+
+    /**
+     * 📊 Generates a Mermaid class diagram, detecting relationships with a
+     * type dependency graph built once for the whole project
+     *
+     * @param typeGraph the graph; null to build one from allElements
+     */
+    public String generateClassDiagram(final CodeElement classElement,
+            final List<CodeElement> allElements, final Path outputPath,
+            final DiagramNamingOptions namingOptions,
+            final TypeDependencyGraph typeGraph) throws IOException {
         String className = classElement.name();
         String diagramFileName = pathManager.generateDiagramFileName(
             className, namingOptions, "mmd");
@@ -72,18 +97,18 @@ public class MermaidClassDiagramGenerator {
         // Add the main class
         addClassToMermaid(diagram, classElement, allElements);
 
-        // Add relationships (if we can detect them from method
-        // parameters/return types)
-        addRelationshipsToMermaid(diagram, classElement, allElements);
+        // Add relationships: supertypes, field types and the types taken
+        // or returned by methods
+        addRelationshipsToMermaid(diagram, classElement,
+                typeGraph != null ? typeGraph
+                        : TypeDependencyGraph.build(allElements));
 
-        diagram.append("```\n\n");
-        diagram.append("Generated on: ").append(java.time.LocalDateTime.now())
-                .append("\n");
+        // No timestamp: identical input must give identical output, the
+        // time of the run is recorded in the run metadata
+        diagram.append("```\n");
 
         // Write to file
-        Files.writeString(diagramPath, diagram.toString(),
-            StandardOpenOption.CREATE,
-            StandardOpenOption.TRUNCATE_EXISTING);
+        fileWriter.writeFile(diagramPath, diagram.toString());
 
         LOGGER.debug("✅ Generated diagram: {}", diagramPath);
         return diagramPath.toString();
@@ -133,38 +158,26 @@ public class MermaidClassDiagramGenerator {
      */
     private void addRelationshipsToMermaid(final StringBuilder diagram,
             final CodeElement classElement,
-            final List<CodeElement> allElements) {
-        // This is a simplified relationship detection
-        // In a full implementation, we would analyze method parameters,
-        // return types, and field types to detect associations, dependencies,
-        // and inheritance relationships
-
+            final TypeDependencyGraph typeGraph) {
         String className = sanitizeClassName(classElement.name());
 
-        // Look for potential relationships in method signatures
-        List<CodeElement> methods = allElements.stream()
-            .filter(e -> e.type() == CodeElementType.METHOD)
-            .filter(e -> e.qualifiedName().startsWith(
-                    classElement.qualifiedName()))
-            .filter(this::isNonPrivate)
-            .toList();
-
-        methods.forEach(method -> {
-            // Simple heuristic: if method signature contains another class
-            // name, add dependency
-            String signature = method.signature();
-            allElements.stream()
-                .filter(e -> e.type() == CodeElementType.CLASS)
-                .filter(e -> !e.name().equals(classElement.name()))
-                .filter(e -> signature.contains(e.name()))
-                .forEach(relatedClass -> {
-                    String relatedClassName = sanitizeClassName(
-                            relatedClass.name());
-                    diagram.append("    ").append(className)
-                          .append(" --> ").append(relatedClassName)
-                          .append(" : uses\n");
-                });
-        });
+        typeGraph.dependencies(classElement).stream()
+            .filter(d -> !d.target().name().equals(classElement.name()))
+            .forEach(dependency -> {
+                String related = sanitizeClassName(dependency.target().name());
+                diagram.append("    ");
+                switch (dependency.kind()) {
+                    case EXTENDS -> diagram.append(related).append(" <|-- ")
+                            .append(className);
+                    case IMPLEMENTS -> diagram.append(related)
+                            .append(" <|.. ").append(className);
+                    case FIELD -> diagram.append(className).append(" --> ")
+                            .append(related).append(" : has");
+                    default -> diagram.append(className).append(" --> ")
+                            .append(related).append(" : uses");
+                }
+                diagram.append('\n');
+            });
     }
 
     /**
@@ -0,0 +1,559 @@
+package com.documentor.service.diagram;
+
+import com.documentor.constants.ApplicationConstants;
+import com.documentor.model.CodeElement;
+import com.documentor.service.diagram.DiagramBatchRenderer.Format;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.util.ContentHash;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 📦 Package Diagram Generator
+ *
+ * Aggregates the {@link TypeDependencyGraph} into package and module
+ * diagrams: one node per package (or module) with its class count, one edge
+ * per dependency between them weighted by the number of class dependencies.
+ * Packages that depend on each other in a cycle are collapsed into a single
+ * node. Large graphs are split into pages that each stay within a node and
+ * an edge budget, so every file renders quickly; an edge to a node on
+ * another page ends at a stub naming that page.
+ *
+ * Generation is incremental: each page is fingerprinted from the hashes of
+ * its packages and its edges, and pages whose fingerprint did not change
+ * since the last run are not rewritten.
+ */
+@Component
+public class PackageDiagramGenerator {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PackageDiagramGenerator.class);
+
+    /** Directory of the aggregate diagrams inside a diagram directory. */
+    public static final String DIRECTORY = "packages";
+
+    static final int DEFAULT_NODE_BUDGET = 50;
+    static final int DEFAULT_EDGE_BUDGET = 150;
+
+    private static final String STATE_FILE = ".documentor-package-diagrams-";
+    private static final String DEFAULT_PACKAGE = "(default)";
+    private static final String ROOT_MODULE = "(root)";
+    private static final int CYCLE_LABEL_NAMES = 3;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, String>> STATE =
+            new TypeReference<>() { };
+
+    private final boolean enabled;
+    private final int nodeBudget;
+    private final int edgeBudget;
+    private final AtomicFileWriter fileWriter;
+
+    public PackageDiagramGenerator() {
+        this(true, DEFAULT_NODE_BUDGET, DEFAULT_EDGE_BUDGET, null);
+    }
+
+    @Autowired
+    public PackageDiagramGenerator(
+            @Value("${documentor.diagrams.aggregate:true}")
+            final boolean enabledParam,
+            @Value("${documentor.diagrams.page-node-budget:50}")
+            final int nodeBudgetParam,
+            @Value("${documentor.diagrams.page-edge-budget:150}")
+            final int edgeBudgetParam,
+            final AtomicFileWriter fileWriterParam) {
+        this.enabled = enabledParam;
+        this.nodeBudget = Math.max(2, nodeBudgetParam);
+        this.edgeBudget = Math.max(1, edgeBudgetParam);
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+    }
+
+    /**
+     * Levels of aggregation
+     */
+    enum Level {
+        /** One node per package */
+        PACKAGE,
+        /** One node per build module; skipped for single-module projects */
+        MODULE;
+
+        String fileName() {
+            return name().toLowerCase(Locale.ROOT) + "-diagram";
+        }
+    }
+
+    /**
+     * 📦 Writes the package and module diagrams of a project
+     *
+     * @param classes the classes of the project
+     * @param typeGraph the dependency graph of the classes
+     * @param format the diagram format
+     * @param outputDirectory the diagram output directory
+     * @param projectPath the project directory, used to find modules
+     * @return the diagram files, written or unchanged
+     * @throws IOException if a diagram cannot be written
+     */
+    public List<String> generate(final List<CodeElement> classes,
+            final TypeDependencyGraph typeGraph, final Format format,
+            final Path outputDirectory, final String projectPath)
+            throws IOException {
+        if (!enabled || classes.isEmpty()) {
+            return List.of();
+        }
+        Path directory = outputDirectory.resolve(DIRECTORY);
+        Path stateFile = directory.resolve(STATE_FILE
+                + format.name().toLowerCase(Locale.ROOT) + ".json");
+        Map<String, String> previous = loadState(stateFile);
+        Map<String, String> current = new TreeMap<>();
+        List<String> files = new ArrayList<>();
+        int unchanged = 0;
+
+        for (Level level : Level.values()) {
+            Map<CodeElement, String> units = new HashMap<>();
+            for (CodeElement type : classes) {
+                units.put(type, level == Level.PACKAGE ? packageOf(type)
+                        : moduleOf(type, projectPath));
+            }
+            UnitGraph graph = UnitGraph.of(classes, units, typeGraph);
+            if (level == Level.MODULE && graph.names.length < 2) {
+                continue;
+            }
+            Condensed condensed = Condensed.of(graph);
+            List<List<Integer>> pages = paginate(condensed);
+            int[] pageOf = new int[condensed.size()];
+            for (int p = 0; p < pages.size(); p++) {
+                for (int node : pages.get(p)) {
+                    pageOf[node] = p;
+                }
+            }
+            for (int p = 0; p < pages.size(); p++) {
+                String fileName = level.fileName()
+                        + (pages.size() > 1 ? "-" + (p + 1) : "")
+                        + "." + extension(format);
+                Path file = directory.resolve(fileName);
+                String hash = pageHash(format, condensed, pages, p, pageOf);
+                current.put(fileName, hash);
+                files.add(file.toString());
+                if (hash.equals(previous.get(fileName))
+                        && Files.exists(file)) {
+                    unchanged++;
+                    continue;
+                }
+                fileWriter.writeFile(file, render(format, level, condensed,
+                        pages.get(p), pageOf, p, pages.size()));
+            }
+        }
+
+        deleteStalePages(directory, previous, current);
+        saveState(stateFile, current);
+        LOGGER.info("📦 {} package diagrams: {} pages, {} unchanged",
+                format.getDisplayName(), files.size(), unchanged);
+        return files;
+    }
+
+    /**
+     * Splits the nodes, in name order so neighbouring packages share a
+     * page, into pages whose nodes, stubs and edges stay within budget. A
+     * node that exceeds the budget on its own gets a page to itself.
+     */
+    private List<List<Integer>> paginate(final Condensed graph) {
+        List<List<Integer>> pages = new ArrayList<>();
+        List<Integer> page = new ArrayList<>();
+        Set<Integer> shown = new HashSet<>();
+        int edges = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            Set<Integer> withNode = new HashSet<>(shown);
+            withNode.add(node);
+            withNode.addAll(graph.edges.get(node).keySet());
+            int withEdges = edges + graph.edges.get(node).size();
+            if (!page.isEmpty() && (withNode.size() > nodeBudget
+                    || withEdges > edgeBudget)) {
+                pages.add(page);
+                page = new ArrayList<>();
+                withNode = new HashSet<>(graph.edges.get(node).keySet());
+                withNode.add(node);
+                withEdges = graph.edges.get(node).size();
+            }
+            page.add(node);
+            shown = withNode;
+            edges = withEdges;
+        }
+        if (!page.isEmpty()) {
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private String render(final Format format, final Level level,
+            final Condensed graph, final List<Integer> page,
+            final int[] pageOf, final int pageIndex, final int pageCount) {
+        String title = (level == Level.PACKAGE ? "Package" : "Module")
+                + " Dependencies" + (pageCount > 1
+                        ? " (page " + (pageIndex + 1) + " of " + pageCount
+                                + ")" : "");
+        StringBuilder out = new StringBuilder();
+        if (format == Format.MERMAID) {
+            out.append("# ").append(title).append("\n\n```mermaid\n")
+                    .append("flowchart LR\n");
+        } else {
+            out.append("@startuml ").append(level.fileName()).append('\n')
+                    .append("!theme plain\n")
+                    .append("title ").append(title).append("\n\n");
+        }
+        Set<Integer> declared = new LinkedHashSet<>(page);
+        for (int node : page) {
+            declareNode(out, format, node, graph.label(node), false);
+        }
+        int edgesLeft = edgeBudget;
+        for (int node : page) {
+            Map<Integer, Integer> targets = graph.edges.get(node);
+            int hidden = 0;
+            for (Map.Entry<Integer, Integer> edge : targets.entrySet()) {
+                if (edgesLeft == 0) {
+                    hidden++;
+                    continue;
+                }
+                int target = edge.getKey();
+                if (declared.add(target)) {
+                    declareNode(out, format, target, graph.label(target)
+                            + " - page " + (pageOf[target] + 1), true);
+                }
+                edge(out, format, node, target, edge.getValue());
+                edgesLeft--;
+            }
+            if (hidden > 0) {
+                LOGGER.debug("📦 {} edges of {} left out of page {}", hidden,
+                        graph.label(node), pageIndex + 1);
+            }
+        }
+        out.append(format == Format.MERMAID ? "```\n" : "\n@enduml\n");
+        return out.toString();
+    }
+
+    private static void declareNode(final StringBuilder out,
+            final Format format, final int node, final String label,
+            final boolean stub) {
+        String text = label.replace('"', '\'');
+        if (format == Format.MERMAID) {
+            out.append("    n").append(node)
+                    .append(stub ? "[[\"" : "[\"").append(text)
+                    .append(stub ? "\"]]\n" : "\"]\n");
+        } else {
+            out.append("rectangle \"").append(text).append("\" as n")
+                    .append(node).append(stub ? " #line.dashed\n" : "\n");
+        }
+    }
+
+    private static void edge(final StringBuilder out, final Format format,
+            final int source, final int target, final int weight) {
+        if (format == Format.MERMAID) {
+            out.append("    n").append(source).append(" -->|")
+                    .append(weight).append("| n").append(target)
+                    .append('\n');
+        } else {
+            out.append('n').append(source).append(" --> n").append(target)
+                    .append(" : ").append(weight).append('\n');
+        }
+    }
+
+    private static String pageHash(final Format format,
+            final Condensed graph, final List<List<Integer>> pages,
+            final int pageIndex, final int[] pageOf) {
+        StringBuilder text = new StringBuilder(format.name())
+                .append('\n').append(pages.size());
+        for (int node : pages.get(pageIndex)) {
+            text.append('\n').append(graph.hashes[node]);
+            graph.edges.get(node).forEach((target, weight) -> text
+                    .append(' ').append(graph.label(target)).append('@')
+                    .append(pageOf[target]).append('x').append(weight));
+        }
+        return ContentHash.sha256Hex(text.toString());
+    }
+
+    private static String extension(final Format format) {
+        return format == Format.MERMAID ? "mmd" : "plantuml";
+    }
+
+    /**
+     * Package of a class: the qualified name without the class name, or for
+     * other languages the directory of its file.
+     */
+    static String packageOf(final CodeElement type) {
+        String qualifiedName = type.qualifiedName();
+        String suffix = "." + type.name();
+        if (type.filePath().endsWith(ApplicationConstants.JAVA_EXTENSION)) {
+            return qualifiedName.endsWith(suffix)
+                    ? qualifiedName.substring(0,
+                            qualifiedName.length() - suffix.length())
+                    : DEFAULT_PACKAGE;
+        }
+        Path parent = Paths.get(type.filePath()).getParent();
+        return parent != null ? parent.toString().replace('\\', '/')
+                : DEFAULT_PACKAGE;
+    }
+
+    /**
+     * Module of a class: the directory above its {@code src} directory,
+     * relative to the project.
+     */
+    static String moduleOf(final CodeElement type, final String projectPath) {
+        Path file = Paths.get(type.filePath()).normalize();
+        if (projectPath != null && !projectPath.isBlank()) {
+            Path project = Paths.get(projectPath).normalize();
+            if (file.startsWith(project)) {
+                file = project.relativize(file);
+            }
+        }
+        for (int i = 0; i < file.getNameCount(); i++) {
+            if ("src".equals(file.getName(i).toString())) {
+                return i == 0 ? ROOT_MODULE
+                        : file.subpath(0, i).toString().replace('\\', '/');
+            }
+        }
+        return ROOT_MODULE;
+    }
+
+    private static Map<String, String> loadState(final Path stateFile) {
+        if (!Files.exists(stateFile)) {
+            return Map.of();
+        }
+        try {
+            return MAPPER.readValue(stateFile.toFile(), STATE);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Ignoring unreadable package diagram state {}: {}",
+                    stateFile, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static void saveState(final Path stateFile,
+                                  final Map<String, String> state)
+            throws IOException {
+        Files.createDirectories(stateFile.getParent());
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        MAPPER.writeValue(temp.toFile(), state);
+        Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void deleteStalePages(final Path directory,
+                                         final Map<String, String> previous,
+                                         final Map<String, String> current)
+            throws IOException {
+        for (String fileName : previous.keySet()) {
+            if (!current.containsKey(fileName)) {
+                Files.deleteIfExists(directory.resolve(fileName));
+            }
+        }
+    }
+
+    /**
+     * Dependencies between packages or modules, as weighted edges between
+     * name-ordered unit indexes
+     */
+    private static final class UnitGraph {
+        private final String[] names;
+        private final String[] hashes;
+        private final int[] classCounts;
+        private final List<Map<Integer, Integer>> edges;
+
+        private UnitGraph(final String[] namesParam,
+                          final String[] hashesParam,
+                          final int[] classCountsParam,
+                          final List<Map<Integer, Integer>> edgesParam) {
+            this.names = namesParam;
+            this.hashes = hashesParam;
+            this.classCounts = classCountsParam;
+            this.edges = edgesParam;
+        }
+
+        static UnitGraph of(final List<CodeElement> classes,
+                            final Map<CodeElement, String> units,
+                            final TypeDependencyGraph typeGraph) {
+            TreeMap<String, List<String>> members = new TreeMap<>();
+            classes.forEach(type -> members.computeIfAbsent(units.get(type),
+                    unit -> new ArrayList<>()).add(type.qualifiedName() + ":"
+                            + typeGraph.hashOf(type)));
+            String[] names = members.keySet().toArray(String[]::new);
+            Map<String, Integer> index = new HashMap<>();
+            String[] hashes = new String[names.length];
+            int[] counts = new int[names.length];
+            List<Map<Integer, Integer>> edges = new ArrayList<>();
+            for (int i = 0; i < names.length; i++) {
+                index.put(names[i], i);
+                List<String> classKeys = members.get(names[i]);
+                classKeys.sort(null);
+                counts[i] = classKeys.size();
+                hashes[i] = ContentHash.sha256Hex(names[i] + "\n"
+                        + String.join("\n", classKeys));
+                edges.add(new TreeMap<>());
+            }
+            for (CodeElement type : classes) {
+                int source = index.get(units.get(type));
+                for (TypeDependencyGraph.Dependency dependency
+                        : typeGraph.dependencies(type)) {
+                    Integer target = index.get(units.get(dependency.target()));
+                    if (target != null && target != source) {
+                        edges.get(source).merge(target, 1, Integer::sum);
+                    }
+                }
+            }
+            return new UnitGraph(names, hashes, counts, edges);
+        }
+    }
+
+    /**
+     * Unit graph with every strongly connected component collapsed into one
+     * node, found with an iterative Tarjan search
+     */
+    private static final class Condensed {
+        private final List<List<String>> members = new ArrayList<>();
+        private final List<Integer> classCounts = new ArrayList<>();
+        private final List<Map<Integer, Integer>> edges = new ArrayList<>();
+        private String[] hashes;
+
+        static Condensed of(final UnitGraph graph) {
+            int[] component = tarjan(graph.edges);
+            int count = Arrays.stream(component).max().orElse(-1) + 1;
+            // Number the components by their first unit, in name order
+            int[] order = new int[count];
+            Arrays.fill(order, -1);
+            int next = 0;
+            for (int unit = 0; unit < component.length; unit++) {
+                if (order[component[unit]] < 0) {
+                    order[component[unit]] = next++;
+                }
+            }
+            Condensed condensed = new Condensed();
+            StringBuilder[] hashText = new StringBuilder[count];
+            for (int i = 0; i < count; i++) {
+                condensed.members.add(new ArrayList<>());
+                condensed.classCounts.add(0);
+                condensed.edges.add(new TreeMap<>());
+                hashText[i] = new StringBuilder();
+            }
+            for (int unit = 0; unit < component.length; unit++) {
+                int node = order[component[unit]];
+                condensed.members.get(node).add(graph.names[unit]);
+                condensed.classCounts.set(node,
+                        condensed.classCounts.get(node)
+                                + graph.classCounts[unit]);
+                hashText[node].append(graph.hashes[unit]).append('\n');
+                int source = node;
+                graph.edges.get(unit).forEach((target, weight) -> {
+                    int targetNode = order[component[target]];
+                    if (targetNode != source) {
+                        condensed.edges.get(source).merge(targetNode, weight,
+                                Integer::sum);
+                    }
+                });
+            }
+            condensed.hashes = Arrays.stream(hashText)
+                    .map(text -> ContentHash.sha256Hex(text.toString()))
+                    .toArray(String[]::new);
+            return condensed;
+        }
+
+        int size() {
+            return members.size();
+        }
+
+        String label(final int node) {
+            List<String> names = members.get(node);
+            String classes = " (" + classCounts.get(node) + ")";
+            if (names.size() == 1) {
+                return names.get(0) + classes;
+            }
+            String shown = String.join(", ", names.subList(0,
+                    Math.min(CYCLE_LABEL_NAMES, names.size())));
+            int more = names.size() - CYCLE_LABEL_NAMES;
+            return "cycle: " + shown + (more > 0 ? " +" + more : "")
+                    + classes;
+        }
+
+        /**
+         * Strongly connected component of every node, without recursion so
+         * deep dependency chains cannot overflow the stack.
+         */
+        private static int[] tarjan(final List<Map<Integer, Integer>> edges) {
+            int n = edges.size();
+            int[] index = new int[n];
+            int[] low = new int[n];
+            int[] component = new int[n];
+            boolean[] onStack = new boolean[n];
+            Arrays.fill(index, -1);
+            Deque<Integer> stack = new ArrayDeque<>();
+            Deque<int[]> calls = new ArrayDeque<>();
+            List<int[]> adjacency = new ArrayList<>(n);
+            edges.forEach(targets -> adjacency.add(targets.keySet().stream()
+                    .mapToInt(Integer::intValue).toArray()));
+            int counter = 0;
+            int components = 0;
+            for (int root = 0; root < n; root++) {
+                if (index[root] >= 0) {
+                    continue;
+                }
+                calls.push(new int[] {root, 0});
+                while (!calls.isEmpty()) {
+                    int[] call = calls.peek();
+                    int node = call[0];
+                    if (call[1] == 0) {
+                        index[node] = counter;
+                        low[node] = counter;
+                        counter++;
+                        stack.push(node);
+                        onStack[node] = true;
+                    }
+                    int[] targets = adjacency.get(node);
+                    if (call[1] < targets.length) {
+                        int target = targets[call[1]++];
+                        if (index[target] < 0) {
+                            calls.push(new int[] {target, 0});
+                        } else if (onStack[target]) {
+                            low[node] = Math.min(low[node], index[target]);
+                        }
+                        continue;
+                    }
+                    calls.pop();
+                    if (!calls.isEmpty()) {
+                        int parent = calls.peek()[0];
+                        low[parent] = Math.min(low[parent], low[node]);
+                    }
+                    if (low[node] == index[node]) {
+                        int member;
+                        do {
+                            member = stack.pop();
+                            onStack[member] = false;
+                            component[member] = components;
+                        } while (member != node);
+                        components++;
+                    }
+                }
+            }
+            return component;
+        }
+    }
+}
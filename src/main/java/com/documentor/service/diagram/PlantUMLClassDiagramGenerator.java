@@ -3,14 +3,15 @@ package com.documentor.service.diagram;
 import com.documentor.config.model.DiagramNamingOptions;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
@@ -28,10 +29,20 @@ public class PlantUMLClassDiagramGenerator {
                     PlantUMLClassDiagramGenerator.class);
 
     private final DiagramPathManager pathManager;
+    private final AtomicFileWriter fileWriter;
 
     public PlantUMLClassDiagramGenerator(
             final DiagramPathManager pathManagerParam) {
+        this(pathManagerParam, null);
+    }
+
+    @Autowired
+    public PlantUMLClassDiagramGenerator(
+            final DiagramPathManager pathManagerParam,
+            final AtomicFileWriter fileWriterParam) {
         this.pathManager = pathManagerParam;
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
     }
 
     /**
@@ -50,6 +61,20 @@ public class PlantUMLClassDiagramGenerator {
     public String generateClassDiagram(final CodeElement classElement,
             final List<CodeElement> allElements, final Path outputPath,
             final DiagramNamingOptions namingOptions) throws IOException {
+        return generateClassDiagram(classElement, allElements, outputPath,
+                namingOptions, null);
+    }
+
+    /**
+     * 📊 Generates a PlantUML class diagram, detecting relationships with a
+     * type dependency graph built once for the whole project
+     *
+     * @param typeGraph the graph; null to build one from allElements
+     */
+    public String generateClassDiagram(final CodeElement classElement,
+            final List<CodeElement> allElements, final Path outputPath,
+            final DiagramNamingOptions namingOptions,
+            final TypeDependencyGraph typeGraph) throws IOException {
         String className = classElement.name();
         String diagramFileName = pathManager.generateDiagramFileName(
             className, namingOptions, "plantuml");
@@ -64,16 +89,16 @@ public class PlantUMLClassDiagramGenerator {
         // Add the main class
         addClassToPlantUML(diagram, classElement, allElements);
 
-        // Add relationships (if we can detect them from method
-        // parameters/return types)
-        addRelationshipsToPlantUML(diagram, classElement, allElements);
+        // Add relationships: supertypes, field types and the types taken
+        // or returned by methods
+        addRelationshipsToPlantUML(diagram, classElement,
+                typeGraph != null ? typeGraph
+                        : TypeDependencyGraph.build(allElements));
 
         diagram.append("\n@enduml\n");
 
         // Write to file
-        Files.writeString(diagramPath, diagram.toString(),
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING);
+        fileWriter.writeFile(diagramPath, diagram.toString());
 
         LOGGER.debug("✅ Generated PlantUML diagram: {}", diagramPath);
         return diagramPath.toString();
@@ -188,32 +213,23 @@ public class PlantUMLClassDiagramGenerator {
      */
     private void addRelationshipsToPlantUML(final StringBuilder diagram,
             final CodeElement classElement,
-            final List<CodeElement> allElements) {
+            final TypeDependencyGraph typeGraph) {
         String className = sanitizeClassName(classElement.name());
 
-        // Look for relationships based on method parameters and return types
-        allElements.stream()
-                .filter(e -> e.qualifiedName()
-                        .startsWith(classElement.qualifiedName()))
-                .filter(e -> e.type() == CodeElementType.METHOD)
-            .forEach(method -> {
-                String signature = method.signature();
-                // Simple relationship detection - look for other classes
-                // in parameters/return types
-                allElements.stream()
-                    .filter(other -> other.type() == CodeElementType.CLASS)
-                    .filter(other -> !other.equals(classElement))
-                    .forEach(other -> {
-                        String otherClassName = sanitizeClassName(other.name());
-                        if (signature.contains(other.name())) {
-                            // Add a simple dependency relationship
-                            diagram.append(className)
-                                    .append(" ..> ")
-                                    .append(otherClassName)
-                                    .append(" : uses\n");
-                        }
-                    });
-            });
+        typeGraph.dependencies(classElement).forEach(dependency -> {
+            String other = sanitizeClassName(dependency.target().name());
+            switch (dependency.kind()) {
+                case EXTENDS -> diagram.append(other).append(" <|-- ")
+                        .append(className);
+                case IMPLEMENTS -> diagram.append(other).append(" <|.. ")
+                        .append(className);
+                case FIELD -> diagram.append(className).append(" --> ")
+                        .append(other).append(" : has");
+                default -> diagram.append(className).append(" ..> ")
+                        .append(other).append(" : uses");
+            }
+            diagram.append('\n');
+        });
     }
 
     /**
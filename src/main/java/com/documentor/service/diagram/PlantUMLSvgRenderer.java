@@ -0,0 +1,357 @@
+package com.documentor.service.diagram;
+
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.util.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 🎨 PlantUML SVG Renderer
+ *
+ * Optional stage that turns PlantUML diagram sources into SVG inside the
+ * Documentor JVM instead of starting a PlantUML process per diagram. It is
+ * off by default ({@code documentor.diagrams.svg}) and needs the PlantUML
+ * library, either on the classpath or as a jar named by
+ * {@code documentor.diagrams.plantuml-jar}; without it the stage logs a
+ * warning and does nothing.
+ *
+ * At most {@code documentor.diagrams.svg-renderers} diagrams render at once,
+ * each on a renderer taken from a pool and returned after use. The
+ * library, its class loader and the reflective handles are loaded once per
+ * jar and shared by all renderers, so it stays warm across diagrams and
+ * runs. PlantUML runs in its sandbox security profile, so diagrams cannot
+ * include remote resources and rendering never touches the network.
+ *
+ * Rendering is incremental: every SVG ends with a comment holding the hash
+ * of its source, and sources whose SVG already ends with their hash (only
+ * the tail of the file is read) are skipped.
+ */
+@Component
+public class PlantUMLSvgRenderer {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PlantUMLSvgRenderer.class);
+
+    static final String HASH_MARKER = "<!-- documentor-source-sha256:";
+    private static final String HASH_END = " -->\n";
+    private static final int DEFAULT_RENDERERS = 2;
+
+    private final boolean enabled;
+    private final int rendererCount;
+    private final Supplier<Renderer> rendererFactory;
+    private final BlockingQueue<Renderer> renderers;
+    private final AtomicInteger created = new AtomicInteger();
+    private final Executor executor;
+    private final AtomicFileWriter fileWriter =
+            new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+
+    public PlantUMLSvgRenderer() {
+        this(false, DEFAULT_RENDERERS, "", null);
+    }
+
+    @Autowired
+    public PlantUMLSvgRenderer(
+            @Value("${documentor.diagrams.svg:false}")
+            final boolean enabledParam,
+            @Value("${documentor.diagrams.svg-renderers:2}")
+            final int rendererCountParam,
+            @Value("${documentor.diagrams.plantuml-jar:}")
+            final String plantUmlJarParam,
+            final ExecutorRegistry executorRegistryParam) {
+        this(enabledParam, rendererCountParam,
+                PlantUmlLibrary.factory(plantUmlJarParam),
+                executorRegistryParam);
+    }
+
+    PlantUMLSvgRenderer(final boolean enabledParam,
+                        final int rendererCountParam,
+                        final Supplier<Renderer> rendererFactoryParam,
+                        final ExecutorRegistry executorRegistryParam) {
+        this.enabled = enabledParam;
+        this.rendererCount = Math.max(1, rendererCountParam);
+        this.rendererFactory = rendererFactoryParam;
+        this.renderers = new ArrayBlockingQueue<>(rendererCount);
+        this.executor = executorRegistryParam != null
+                ? executorRegistryParam.executor(ExecutorRegistry.Pool.DIAGRAM)
+                : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Whether the stage is switched on.
+     *
+     * @return true if {@link #render} renders
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 🎨 Renders PlantUML sources to SVG files next to them
+     *
+     * A source that fails to render is logged and skipped.
+     *
+     * @param sources the {@code .plantuml} files
+     * @return the SVG files, in source order, rendered or unchanged
+     */
+    public List<String> render(final List<String> sources) {
+        if (!enabled || sources.isEmpty()) {
+            return List.of();
+        }
+        int count = sources.size();
+        String[] results = new String[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger rendered = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+        Runnable worker = () -> {
+            // Taken from the pool on the first source that needs rendering
+            Renderer[] held = new Renderer[1];
+            try {
+                for (int i = next.getAndIncrement(); i < count;
+                        i = next.getAndIncrement()) {
+                    try {
+                        results[i] = renderFile(held,
+                                Path.of(sources.get(i)), rendered);
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.warn("⚠️ Failed to render SVG for {}: {}",
+                                sources.get(i), e.getMessage());
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            } finally {
+                if (held[0] != null) {
+                    renderers.offer(held[0]);
+                }
+            }
+        };
+        // The calling thread renders too, so the stage cannot wait on a
+        // pool that is busy running its caller
+        int helpers = Math.min(rendererCount, count) - 1;
+        for (int h = 0; h < helpers; h++) {
+            executor.execute(worker);
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while rendering SVG diagrams", e);
+        }
+
+        List<String> svgFiles = Arrays.stream(results)
+                .filter(Objects::nonNull)
+                .toList();
+        LOGGER.info("🎨 Rendered {} SVG diagrams, {} unchanged",
+                rendered.get(), svgFiles.size() - rendered.get());
+        return svgFiles;
+    }
+
+    private String renderFile(final Renderer[] held, final Path source,
+                              final AtomicInteger rendered)
+            throws IOException {
+        String text = Files.readString(source);
+        String marker = HASH_MARKER + ContentHash.sha256Hex(text) + HASH_END;
+        Path svg = svgPath(source);
+        if (endsWith(svg, marker)) {
+            return svg.toString();
+        }
+        if (held[0] == null) {
+            held[0] = acquire();
+        }
+        String output = held[0].toSvg(text);
+        if (!fileWriter.writeFile(svg, output + "\n" + marker)) {
+            throw new IOException("could not write " + svg);
+        }
+        rendered.incrementAndGet();
+        return svg.toString();
+    }
+
+    /**
+     * Takes a renderer from the pool, creating one while the pool is below
+     * its size and waiting for one to be returned after that.
+     */
+    private Renderer acquire() {
+        Renderer renderer = renderers.poll();
+        if (renderer != null) {
+            return renderer;
+        }
+        if (created.incrementAndGet() <= rendererCount) {
+            return rendererFactory.get();
+        }
+        created.decrementAndGet();
+        try {
+            return renderers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for an SVG renderer", e);
+        }
+    }
+
+    static Path svgPath(final Path source) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return source.resolveSibling(
+                (dot > 0 ? name.substring(0, dot) : name) + ".svg");
+    }
+
+    private static boolean endsWith(final Path file, final String marker)
+            throws IOException {
+        byte[] expected = marker.getBytes(StandardCharsets.UTF_8);
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            long size = channel.size();
+            if (size < expected.length) {
+                return false;
+            }
+            ByteBuffer tail = ByteBuffer.allocate(expected.length);
+            channel.position(size - expected.length);
+            int read = 0;
+            while (tail.hasRemaining() && read >= 0) {
+                read = channel.read(tail);
+            }
+            return Arrays.equals(tail.array(), expected);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Turns diagram source into SVG; the pool bounds how many diagrams
+     * render at once, and implementations must allow concurrent calls
+     */
+    interface Renderer {
+        /**
+         * Renders a diagram.
+         *
+         * @param source the PlantUML source
+         * @return the SVG document
+         * @throws IOException if the diagram cannot be rendered
+         */
+        String toSvg(String source) throws IOException;
+    }
+
+    /**
+     * PlantUML, reached by reflection so it stays an optional runtime
+     * library
+     */
+    private static final class PlantUmlLibrary implements Renderer {
+
+        private static final String PACKAGE = "net.sourceforge.plantuml.";
+
+        /** Loaded libraries by jar path; blank for the classpath */
+        private static final Map<String, Renderer> LOADED =
+                new ConcurrentHashMap<>();
+
+        static {
+            // Set once, before PlantUML or AWT first read them
+            System.setProperty("java.awt.headless", "true");
+            if (System.getProperty("PLANTUML_SECURITY_PROFILE") == null) {
+                System.setProperty("PLANTUML_SECURITY_PROFILE", "SANDBOX");
+            }
+        }
+
+        private final Constructor<?> readerConstructor;
+        private final Method outputImage;
+        private final Object svgOption;
+
+        private PlantUmlLibrary(final ClassLoader loader)
+                throws ReflectiveOperationException {
+            Class<?> reader = Class.forName(PACKAGE + "SourceStringReader",
+                    true, loader);
+            Class<?> optionType = Class.forName(PACKAGE + "FileFormatOption",
+                    true, loader);
+            Class<?> formatType = Class.forName(PACKAGE + "FileFormat", true,
+                    loader);
+            this.readerConstructor = reader.getConstructor(String.class);
+            this.outputImage = reader.getMethod("outputImage",
+                    OutputStream.class, optionType);
+            this.svgOption = optionType.getConstructor(formatType)
+                    .newInstance(formatType.getField("SVG").get(null));
+        }
+
+        /**
+         * Renderer factory for the library on the classpath or in a jar.
+         * The library is loaded on first use and the same stateless
+         * instance is handed to every renderer slot; it renders nothing but
+         * a warning when it cannot be loaded.
+         */
+        static Supplier<Renderer> factory(final String jarPath) {
+            String key = jarPath != null ? jarPath.trim() : "";
+            return () -> LOADED.computeIfAbsent(key, PlantUmlLibrary::load);
+        }
+
+        private static Renderer load(final String jarPath) {
+            try {
+                return new PlantUmlLibrary(classLoader(jarPath));
+            } catch (ReflectiveOperationException | IOException e) {
+                LOGGER.warn("⚠️ PlantUML is not available, add it to the "
+                        + "classpath or set documentor.diagrams."
+                        + "plantuml-jar: {}", e.toString());
+                return source -> {
+                    throw new IOException("PlantUML is not available");
+                };
+            }
+        }
+
+        private static ClassLoader classLoader(final String jarPath)
+                throws IOException {
+            ClassLoader parent = PlantUMLSvgRenderer.class.getClassLoader();
+            if (jarPath.isEmpty()) {
+                return parent;
+            }
+            Path jar = Path.of(jarPath);
+            if (!Files.isRegularFile(jar)) {
+                throw new IOException("no PlantUML jar at " + jar);
+            }
+            return new URLClassLoader(new URL[] {jar.toUri().toURL()},
+                    parent);
+        }
+
+        @Override
+        public String toSvg(final String source) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                outputImage.invoke(readerConstructor.newInstance(source), out,
+                        svgOption);
+            } catch (InvocationTargetException e) {
+                throw new IOException(e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IOException(e);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
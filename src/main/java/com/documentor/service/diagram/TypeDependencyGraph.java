@@ -0,0 +1,406 @@
+package com.documentor.service.diagram;
+
+import com.documentor.constants.ApplicationConstants;
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.util.ContentHash;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.NodeWithModifiers;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 🕸️ Type dependency graph of a project
+ *
+ * One node per class and one edge per type it extends, implements, holds in
+ * a field or takes or returns in a method. Java classes are read from the
+ * JavaParser AST of their declaration; classes without one (Python, or a
+ * declaration that does not parse) fall back to the identifiers of their
+ * method signatures through a {@link TypeNameIndex}. Edges point at type
+ * names and are resolved against the classes of the current run, so a node
+ * only changes when its own declaration does.
+ *
+ * The graph is built once per run and shared by the Mermaid and PlantUML
+ * generators. Saved as {@value #FILE_NAME}, the next run re-reads only the
+ * classes whose declaration changed, and a run over some files only
+ * updates their classes in it.
+ */
+public final class TypeDependencyGraph {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(TypeDependencyGraph.class);
+
+    /** Graph file name inside the diagram output directory. */
+    public static final String FILE_NAME = ".documentor-type-graph.json";
+
+    /** Version of the graph file; bump when the extraction changes. */
+    static final int VERSION = 2;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, TypeNode>> NODES =
+            new TypeReference<>() { };
+
+    private final Map<String, TypeNode> nodes;
+    private final TypeNameIndex typeIndex;
+    private final int reused;
+
+    private TypeDependencyGraph(final Map<String, TypeNode> nodesParam,
+                                final TypeNameIndex typeIndexParam,
+                                final int reusedParam) {
+        this.nodes = nodesParam;
+        this.typeIndex = typeIndexParam;
+        this.reused = reusedParam;
+    }
+
+    /**
+     * Builds the graph of the classes among the given elements.
+     *
+     * @param elements the elements of the project
+     * @return the graph
+     */
+    public static TypeDependencyGraph build(
+            final Collection<CodeElement> elements) {
+        return build(elements, null);
+    }
+
+    /**
+     * Builds the graph, reusing the nodes of unchanged classes.
+     *
+     * @param elements the elements of the project
+     * @param previous graph of the previous run; may be null
+     * @return the graph
+     */
+    public static TypeDependencyGraph build(
+            final Collection<CodeElement> elements,
+            final TypeDependencyGraph previous) {
+        TypeNameIndex typeIndex = TypeNameIndex.of(elements);
+        Map<String, List<CodeElement>> methodsByFile = elements.stream()
+                .filter(e -> e.type() == CodeElementType.METHOD)
+                .collect(Collectors.groupingBy(CodeElement::filePath));
+        Map<String, TypeNode> previousNodes = previous != null ? previous.nodes
+                : Map.of();
+        JavaParser parser = new JavaParser();
+        Map<String, TypeNode> nodes = new HashMap<>();
+        int reused = 0;
+        for (CodeElement type : elements) {
+            if (type.type() != CodeElementType.CLASS) {
+                continue;
+            }
+            List<CodeElement> methods = methodsByFile.getOrDefault(
+                    type.filePath(), List.of()).stream()
+                    .filter(m -> m.qualifiedName().startsWith(
+                            type.qualifiedName()))
+                    .toList();
+            String hash = hash(type, methods);
+            TypeNode node = previousNodes.get(key(type));
+            if (node != null && node.hash().equals(hash)) {
+                reused++;
+            } else {
+                node = new TypeNode(hash, type.name(),
+                        extractReferences(parser, type, methods));
+            }
+            nodes.put(key(type), node);
+        }
+        LOGGER.debug("🕸️ Built type graph of {} classes, {} reused",
+                nodes.size(), reused);
+        return new TypeDependencyGraph(nodes, typeIndex, reused);
+    }
+
+    /**
+     * Updates the graph of a previous run with the classes of some files.
+     *
+     * Classes of the given files are replaced by the classes among the
+     * elements; every other class is kept from the previous graph, so the
+     * edges of the changed classes still resolve to the unchanged ones.
+     *
+     * @param elements the elements of the changed files
+     * @param previous graph of the previous run
+     * @param sourceFiles the changed and deleted files
+     * @return the graph of the whole project
+     */
+    public static TypeDependencyGraph update(
+            final Collection<CodeElement> elements,
+            final TypeDependencyGraph previous,
+            final Set<String> sourceFiles) {
+        TypeDependencyGraph changed = build(elements, previous);
+        Map<String, TypeNode> nodes = new HashMap<>(changed.nodes);
+        List<CodeElement> classes = new ArrayList<>(elements);
+        previous.nodes.forEach((key, node) -> {
+            int separator = key.lastIndexOf('#');
+            String file = key.substring(0, separator);
+            if (!sourceFiles.contains(file)
+                    && nodes.putIfAbsent(key, node) == null) {
+                // Only the name is needed to resolve edges to the class
+                classes.add(new CodeElement(CodeElementType.CLASS,
+                        node.name(), key.substring(separator + 1), file, 0,
+                        "", "", List.of(), List.of()));
+            }
+        });
+        int kept = nodes.size() - changed.nodes.size();
+        LOGGER.debug("🕸️ Updated type graph with {} classes, {} kept",
+                changed.nodes.size(), kept);
+        return new TypeDependencyGraph(nodes, TypeNameIndex.of(classes),
+                changed.reused + kept);
+    }
+
+    /**
+     * Loads the graph saved by a previous run.
+     *
+     * @param directory the directory the graph was saved to
+     * @return the graph, or null if there is no usable graph
+     */
+    public static TypeDependencyGraph load(final Path directory) {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            JsonNode root = MAPPER.readTree(file.toFile());
+            if (root.path("version").asInt() != VERSION) {
+                return null;
+            }
+            Map<String, TypeNode> nodes = MAPPER.convertValue(
+                    root.path("types"), NODES);
+            return new TypeDependencyGraph(nodes != null ? nodes
+                    : Map.of(), TypeNameIndex.of(List.of()), 0);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Ignoring unreadable type graph {}: {}", file,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves the graph for the next run.
+     *
+     * @param directory the diagram output directory
+     * @throws IOException if the graph cannot be written
+     */
+    public void save(final Path directory) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("version", VERSION);
+        root.set("types", MAPPER.valueToTree(new TreeMap<>(nodes)));
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        MAPPER.writeValue(temp.toFile(), root);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Classes a class depends on, each once with its strongest kind, in the
+     * order they first appear in the declaration.
+     *
+     * @param type the class
+     * @return the dependencies; empty for unknown classes
+     */
+    public List<Dependency> dependencies(final CodeElement type) {
+        TypeNode node = nodes.get(key(type));
+        if (node == null) {
+            return List.of();
+        }
+        Map<CodeElement, DependencyKind> targets = new LinkedHashMap<>();
+        for (Reference reference : node.references()) {
+            for (CodeElement target
+                    : typeIndex.classesNamed(reference.name())) {
+                if (!target.equals(type)) {
+                    targets.merge(target, reference.kind(),
+                            (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                }
+            }
+        }
+        List<Dependency> dependencies = new ArrayList<>(targets.size());
+        targets.forEach((target, kind) ->
+                dependencies.add(new Dependency(target, kind)));
+        return dependencies;
+    }
+
+    /**
+     * Fingerprint of the declaration a class was read from.
+     *
+     * @param type the class
+     * @return the hash, or an empty string for unknown classes
+     */
+    String hashOf(final CodeElement type) {
+        TypeNode node = nodes.get(key(type));
+        return node != null ? node.hash() : "";
+    }
+
+    /**
+     * Number of classes in the graph.
+     *
+     * @return the node count
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Number of classes taken unchanged from the previous run.
+     *
+     * @return the reused node count
+     */
+    public int reusedCount() {
+        return reused;
+    }
+
+    private static String key(final CodeElement type) {
+        return type.filePath() + "#" + type.qualifiedName();
+    }
+
+    private static String hash(final CodeElement type,
+                               final List<CodeElement> methods) {
+        StringBuilder text = new StringBuilder(type.signature());
+        methods.forEach(m -> text.append('\n').append(m.signature()));
+        return ContentHash.sha256Hex(text.toString());
+    }
+
+    private static List<Reference> extractReferences(final JavaParser parser,
+            final CodeElement type, final List<CodeElement> methods) {
+        Optional<TypeDeclaration<?>> declaration = Optional.empty();
+        if (type.filePath().endsWith(ApplicationConstants.JAVA_EXTENSION)) {
+            declaration = parser.parseTypeDeclaration(type.signature())
+                    .getResult();
+        }
+        List<Reference> references = new ArrayList<>();
+        if (declaration.isPresent()) {
+            addDeclarationReferences(declaration.get(), references);
+        } else {
+            // No AST: the identifiers of the method signatures
+            methods.forEach(method -> TypeNameIndex.identifiers(
+                    method.signature(), name -> references.add(
+                            new Reference(name, DependencyKind.USES))));
+        }
+        return references;
+    }
+
+    private static void addDeclarationReferences(
+            final TypeDeclaration<?> declaration,
+            final List<Reference> references) {
+        if (declaration instanceof ClassOrInterfaceDeclaration type) {
+            type.getExtendedTypes().forEach(t -> addSupertype(t,
+                    DependencyKind.EXTENDS, references));
+            type.getImplementedTypes().forEach(t -> addSupertype(t,
+                    DependencyKind.IMPLEMENTS, references));
+        } else if (declaration instanceof EnumDeclaration type) {
+            type.getImplementedTypes().forEach(t -> addSupertype(t,
+                    DependencyKind.IMPLEMENTS, references));
+        }
+        // Direct members only; nested classes are nodes of their own
+        for (BodyDeclaration<?> member : declaration.getMembers()) {
+            if (member instanceof NodeWithModifiers<?> withModifiers
+                    && withModifiers.hasModifier(Modifier.Keyword.PRIVATE)) {
+                continue;
+            }
+            if (member instanceof FieldDeclaration field) {
+                field.getVariables().forEach(variable -> addTypeNames(
+                        variable.getType(), DependencyKind.FIELD,
+                        references));
+            } else if (member instanceof CallableDeclaration<?> callable) {
+                if (callable instanceof MethodDeclaration method) {
+                    addTypeNames(method.getType(), DependencyKind.USES,
+                            references);
+                }
+                callable.getParameters().forEach(parameter -> addTypeNames(
+                        parameter.getType(), DependencyKind.USES,
+                        references));
+            }
+        }
+    }
+
+    private static void addSupertype(final ClassOrInterfaceType supertype,
+                                     final DependencyKind kind,
+                                     final List<Reference> references) {
+        references.add(new Reference(supertype.getNameAsString(), kind));
+        supertype.getTypeArguments().ifPresent(arguments -> arguments
+                .forEach(argument -> addTypeNames(argument,
+                        DependencyKind.USES, references)));
+    }
+
+    private static void addTypeNames(final Node type,
+                                     final DependencyKind kind,
+                                     final List<Reference> references) {
+        type.findAll(ClassOrInterfaceType.class).stream()
+                // Skip the package and outer class parts of a qualified name
+                .filter(t -> t.getParentNode()
+                        .filter(ClassOrInterfaceType.class::isInstance)
+                        .map(ClassOrInterfaceType.class::cast)
+                        .flatMap(ClassOrInterfaceType::getScope)
+                        .filter(scope -> scope == t)
+                        .isEmpty())
+                .forEach(t -> references.add(
+                        new Reference(t.getNameAsString(), kind)));
+    }
+
+    /**
+     * How one class depends on another, strongest first
+     */
+    public enum DependencyKind {
+        /** Extends the other class or interface */
+        EXTENDS,
+        /** Implements the other interface */
+        IMPLEMENTS,
+        /** Holds the other type in a field */
+        FIELD,
+        /** Takes or returns the other type in a method */
+        USES
+    }
+
+    /**
+     * Edge from a class to a class of the project
+     *
+     * @param target the class depended on
+     * @param kind the strongest kind of dependency
+     */
+    public record Dependency(CodeElement target, DependencyKind kind) {
+    }
+
+    /**
+     * Type name a class refers to, as stored in the graph file
+     *
+     * @param name simple name of the referenced type
+     * @param kind how it is referenced
+     */
+    record Reference(String name, DependencyKind kind) {
+    }
+
+    /**
+     * Node of one class, as stored in the graph file
+     *
+     * @param hash fingerprint of the declaration the node was read from
+     * @param name simple name of the class
+     * @param references the type names the class refers to
+     */
+    record TypeNode(String hash, String name, List<Reference> references) {
+    }
+}
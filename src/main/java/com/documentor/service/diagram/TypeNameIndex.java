@@ -0,0 +1,116 @@
+package com.documentor.service.diagram;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 🔗 Type Name Index
+ *
+ * Maps the simple names of the classes of a project to their elements so a
+ * diagram can find the classes a signature refers to. The signature is split
+ * into identifiers once and each identifier is a hash lookup, so detection
+ * is linear in the length of the signature and matches whole names only:
+ * {@code HashMap} does not refer to a class named {@code Map}.
+ */
+public final class TypeNameIndex {
+
+    private static final TypeNameIndex EMPTY = new TypeNameIndex(Map.of());
+
+    private final Map<String, List<CodeElement>> classesByName;
+
+    private TypeNameIndex(
+            final Map<String, List<CodeElement>> classesByNameParam) {
+        this.classesByName = classesByNameParam;
+    }
+
+    /**
+     * Indexes the classes among the given elements.
+     *
+     * @param elements the elements of the project; other types are ignored
+     * @return the index
+     */
+    public static TypeNameIndex of(final Collection<CodeElement> elements) {
+        if (elements == null || elements.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, List<CodeElement>> classesByName = new HashMap<>();
+        for (CodeElement element : elements) {
+            if (element.type() == CodeElementType.CLASS
+                    && element.name() != null) {
+                classesByName.computeIfAbsent(element.name(),
+                        name -> new ArrayList<>(1)).add(element);
+            }
+        }
+        return new TypeNameIndex(classesByName);
+    }
+
+    /**
+     * Classes named by the identifiers of a signature, in the order they
+     * first appear. Classes sharing a simple name are all returned.
+     *
+     * @param signature the method or field signature
+     * @return the referenced classes; empty if there are none
+     */
+    public Set<CodeElement> referencedTypes(final String signature) {
+        Set<CodeElement> types = new LinkedHashSet<>();
+        if (!classesByName.isEmpty()) {
+            identifiers(signature, name -> types.addAll(classesNamed(name)));
+        }
+        return types;
+    }
+
+    /**
+     * Classes with a simple name.
+     *
+     * @param name the simple name
+     * @return the classes; empty if there are none
+     */
+    public List<CodeElement> classesNamed(final String name) {
+        return classesByName.getOrDefault(name, List.of());
+    }
+
+    /**
+     * Splits text into Java identifiers.
+     *
+     * @param text the text, e.g. a signature; may be null
+     * @param consumer receives each identifier in order
+     */
+    static void identifiers(final String text,
+                            final Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isJavaIdentifierStart(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length
+                    && Character.isJavaIdentifierPart(text.charAt(i))) {
+                i++;
+            }
+            consumer.accept(text.substring(start, i));
+        }
+    }
+
+    /**
+     * Number of distinct class names in the index.
+     *
+     * @return the name count
+     */
+    public int size() {
+        return classesByName.size();
+    }
+}
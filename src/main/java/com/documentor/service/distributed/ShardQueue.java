@@ -0,0 +1,532 @@
+package com.documentor.service.distributed;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.documentation.ElementDocumentationGeneratorEnhanced;
+import com.documentor.service.documentation.RunJournal;
+import com.documentor.util.ContentHash;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 📦 File-based queue of documentation shards
+ *
+ * A coordinator splits the analyzed classes of a project into shards and
+ * writes them to a queue directory that workers on the same machine (or a
+ * shared file system) pick up:
+ *
+ * <pre>
+ * plan.json              shard count and fingerprint of the analysis
+ * shards/shard-0007.json the elements of one shard
+ * leases/shard-0007.lease held by a worker; its modification time is the
+ *                        heartbeat
+ * work/shard-0007/w1/    scratch directory and journal of one holder
+ * done/shard-0007.jsonl  journal of a finished shard
+ * </pre>
+ *
+ * Classes are assigned to shards by a stable hash of their class key, so a
+ * class and all of its members always land in the same shard and the same
+ * analysis always gives the same shards. A lease is taken by linking a
+ * file that already names its holder into place, so it never exists empty
+ * and of several workers exactly one link succeeds. A lease whose
+ * heartbeat is older than the lease duration is taken over by renaming it
+ * away first, so exactly one worker wins.
+ * A worker that loses its lease may still finish the shard in its own
+ * scratch directory; finished journals are moved into place atomically,
+ * so a duplicate result simply replaces an identical one.
+ */
+public final class ShardQueue {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ShardQueue.class);
+
+    static final String PLAN_FILE = "plan.json";
+    private static final String SHARDS = "shards";
+    private static final String LEASES = "leases";
+    private static final String WORK = "work";
+    private static final String DONE = "done";
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String JOURNAL_SUFFIX = ".jsonl";
+    private static final String LEASE_SUFFIX = ".lease";
+    // 15 hex digits (60 bits) always fit a non-negative long
+    private static final int HASH_DIGITS = 15;
+    private static final int HEX_RADIX = 16;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                    false);
+
+    private final Path directory;
+    private final Plan plan;
+
+    /**
+     * Contents of {@value #PLAN_FILE}
+     *
+     * @param projectPath the analyzed project
+     * @param shardCount number of shards
+     * @param fingerprint hash of the analysis and shard count
+     */
+    record Plan(String projectPath, int shardCount, String fingerprint) {
+    }
+
+    /**
+     * Elements of one shard
+     *
+     * @param projectPath the analyzed project
+     * @param elements the classes of the shard and their members
+     */
+    record Shard(String projectPath, List<CodeElement> elements) {
+    }
+
+    private ShardQueue(final Path directoryParam, final Plan planParam) {
+        this.directory = directoryParam;
+        this.plan = planParam;
+    }
+
+    /**
+     * Writes the shards of an analysis to a queue directory. A queue left
+     * by an interrupted coordinator for the same analysis and shard count
+     * is reused with its finished shards; any other queue is replaced.
+     *
+     * @param directory the queue directory
+     * @param analysis the complete project analysis
+     * @param shardCount number of shards
+     * @return the queue
+     * @throws IOException if the queue cannot be written
+     */
+    public static ShardQueue create(final Path directory,
+                                    final ProjectAnalysis analysis,
+                                    final int shardCount) throws IOException {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException(
+                    "At least one shard is required: " + shardCount);
+        }
+        Plan plan = new Plan(analysis.projectPath(), shardCount,
+                fingerprint(analysis, shardCount));
+        Path planFile = directory.resolve(PLAN_FILE);
+        if (Files.exists(planFile) && plan.equals(MAPPER.readValue(
+                planFile.toFile(), Plan.class))) {
+            LOGGER.info("📦 Reusing shard queue {} with {} shards", directory,
+                    shardCount);
+            return new ShardQueue(directory, plan);
+        }
+
+        // Workers must not pick up a half-rewritten queue
+        Files.deleteIfExists(planFile);
+        for (String child : List.of(SHARDS, LEASES, WORK, DONE)) {
+            deleteTree(directory.resolve(child));
+            Files.createDirectories(directory.resolve(child));
+        }
+        List<List<CodeElement>> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (CodeElement element : analysis.codeElements()) {
+            shards.get(shardOf(element, shardCount)).add(element);
+        }
+        ShardQueue queue = new ShardQueue(directory, plan);
+        for (int i = 0; i < shardCount; i++) {
+            writeAtomically(queue.shardFile(i), MAPPER.writeValueAsBytes(
+                    new Shard(analysis.projectPath(), shards.get(i))));
+        }
+        // The plan is written last: workers only start on a complete queue
+        writeAtomically(planFile, MAPPER.writeValueAsBytes(plan));
+        LOGGER.info("📦 Wrote {} elements into {} shards in {}",
+                analysis.codeElements().size(), shardCount, directory);
+        return queue;
+    }
+
+    /**
+     * Opens a queue written by a coordinator.
+     *
+     * @param directory the queue directory
+     * @return the queue
+     * @throws IOException if there is no complete queue in the directory
+     */
+    public static ShardQueue open(final Path directory) throws IOException {
+        Path planFile = directory.resolve(PLAN_FILE);
+        if (!Files.exists(planFile)) {
+            throw new NoSuchFileException(planFile.toString(), null,
+                    "no shard queue has been written yet");
+        }
+        return new ShardQueue(directory,
+                MAPPER.readValue(planFile.toFile(), Plan.class));
+    }
+
+    /**
+     * Shard of an element: a stable hash of its class key, so all members
+     * of a class share the shard of the class.
+     *
+     * @param element the element
+     * @param shardCount number of shards
+     * @return the shard index
+     */
+    public static int shardOf(final CodeElement element,
+                              final int shardCount) {
+        String hash = ContentHash.sha256Hex(
+                ElementDocumentationGeneratorEnhanced.classKey(element));
+        return (int) (Long.parseLong(hash.substring(0, HASH_DIGITS),
+                HEX_RADIX) % shardCount);
+    }
+
+    /**
+     * Number of shards.
+     *
+     * @return the shard count
+     */
+    public int shardCount() {
+        return plan.shardCount();
+    }
+
+    /**
+     * Loads the elements of a shard.
+     *
+     * @param shard the shard index
+     * @return the shard as an analysis of its elements
+     * @throws IOException if the shard cannot be read
+     */
+    public ProjectAnalysis loadShard(final int shard) throws IOException {
+        Shard contents = MAPPER.readValue(shardFile(shard).toFile(),
+                Shard.class);
+        return new ProjectAnalysis(contents.projectPath(),
+                contents.elements(), System.currentTimeMillis());
+    }
+
+    /**
+     * Takes the lease of the next unfinished shard that is free or whose
+     * holder stopped renewing it.
+     *
+     * @param workerId the claiming worker
+     * @param leaseDuration time without heartbeat after which a lease
+     *                      expires
+     * @return the lease, or empty if every unfinished shard is leased
+     * @throws IOException if the queue cannot be accessed
+     */
+    public Optional<Lease> claim(final String workerId,
+                                 final Duration leaseDuration)
+            throws IOException {
+        int count = shardCount();
+        // Workers start at different shards to avoid racing for the same
+        int start = Math.floorMod(workerId.hashCode(), count);
+        for (int offset = 0; offset < count; offset++) {
+            int shard = (start + offset) % count;
+            if (isDone(shard)) {
+                continue;
+            }
+            Path lease = leaseFile(shard);
+            if (expired(lease, leaseDuration)) {
+                takeOver(lease, workerId);
+            }
+            if (createLease(lease, workerId)) {
+                Lease taken = new Lease(shard, workerId);
+                // The previous holder may have finished it in the meantime
+                if (!isDone(shard)) {
+                    return Optional.of(taken);
+                }
+                taken.release();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Scratch directory of a lease. Every holder of a shard has its own, so
+     * a worker that lost its lease but is still running never shares its
+     * journal or documents with the new holder. A new directory starts from
+     * the newest journal a previous holder left behind, so the new holder
+     * resumes where that one stopped; the directory survives restarts of
+     * its worker.
+     *
+     * @param lease the lease of the shard
+     * @return the work directory
+     * @throws IOException if the directory cannot be prepared
+     */
+    public Path workDirectory(final Lease lease) throws IOException {
+        Path shardWork = directory.resolve(WORK)
+                .resolve(shardName(lease.shard()));
+        Path own = shardWork.resolve(lease.workerId());
+        Path journal = own.resolve(RunJournal.FILE_NAME);
+        if (!Files.exists(journal)) {
+            Files.createDirectories(own);
+            Optional<Path> seed = newestJournal(shardWork);
+            if (seed.isPresent()) {
+                // A torn last line is cut off when the copy is resumed
+                Path temp = own.resolve(RunJournal.FILE_NAME + ".tmp");
+                Files.copy(seed.get(), temp,
+                        StandardCopyOption.REPLACE_EXISTING);
+                move(temp, journal);
+                LOGGER.info("📦 Shard {} resumes from {}", lease.shard(),
+                        seed.get());
+            }
+        }
+        return own;
+    }
+
+    /**
+     * Publishes the journal of a finished shard and frees its lease.
+     *
+     * @param lease the lease of the shard
+     * @param journal the shard's complete journal
+     * @throws IOException if the journal cannot be moved into place
+     */
+    public void complete(final Lease lease, final Path journal)
+            throws IOException {
+        Path target = doneFile(lease.shard());
+        Path temp = target.resolveSibling(target.getFileName() + "."
+                + lease.workerId() + ".tmp");
+        Files.copy(journal, temp, StandardCopyOption.REPLACE_EXISTING);
+        move(temp, target);
+        lease.release();
+        LOGGER.info("📦 Shard {} finished by {}", lease.shard(),
+                lease.workerId());
+    }
+
+    /**
+     * Number of finished shards.
+     *
+     * @return the finished shard count
+     */
+    public int completedCount() {
+        int done = 0;
+        for (int i = 0; i < shardCount(); i++) {
+            if (isDone(i)) {
+                done++;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Whether every shard is finished.
+     *
+     * @return true once all journals are in
+     */
+    public boolean isComplete() {
+        return completedCount() == shardCount();
+    }
+
+    /**
+     * Journals of the finished shards in shard order.
+     *
+     * @return the journal files
+     */
+    public List<Path> completedJournals() {
+        List<Path> journals = new ArrayList<>();
+        for (int i = 0; i < shardCount(); i++) {
+            if (isDone(i)) {
+                journals.add(doneFile(i));
+            }
+        }
+        return journals;
+    }
+
+    /**
+     * The lease of one shard held by one worker.
+     */
+    public final class Lease {
+
+        private final int shard;
+        private final String workerId;
+
+        private Lease(final int shardParam, final String workerIdParam) {
+            this.shard = shardParam;
+            this.workerId = workerIdParam;
+        }
+
+        public int shard() {
+            return shard;
+        }
+
+        public String workerId() {
+            return workerId;
+        }
+
+        /**
+         * Records a heartbeat.
+         *
+         * @return false if the lease expired and another worker took it
+         */
+        public boolean renew() {
+            Path lease = leaseFile(shard);
+            try {
+                if (!workerId.equals(Files.readString(lease))) {
+                    return false;
+                }
+                Files.setLastModifiedTime(lease,
+                        FileTime.from(Instant.now()));
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Gives the shard back, if this worker still holds it.
+         */
+        public void release() {
+            Path lease = leaseFile(shard);
+            try {
+                if (workerId.equals(Files.readString(lease))) {
+                    Files.deleteIfExists(lease);
+                }
+            } catch (IOException e) {
+                // Already taken over or removed
+            }
+        }
+    }
+
+    private boolean isDone(final int shard) {
+        return Files.exists(doneFile(shard));
+    }
+
+    private static boolean expired(final Path lease,
+                                   final Duration leaseDuration) {
+        try {
+            Instant heartbeat = Files.getLastModifiedTime(lease).toInstant();
+            return heartbeat.plus(leaseDuration).isBefore(Instant.now());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a lease naming its holder. The owner is written to a private
+     * temp file first and published with a hard link, which fails if the
+     * lease exists, so other workers never see a lease without its owner.
+     * File systems without hard links fall back to create-then-write.
+     *
+     * @return false if another worker holds the lease
+     */
+    private static boolean createLease(final Path lease,
+                                       final String workerId)
+            throws IOException {
+        Path temp = lease.resolveSibling(lease.getFileName() + "."
+                + workerId + ".tmp");
+        Files.writeString(temp, workerId);
+        try {
+            Files.createLink(lease, temp);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (UnsupportedOperationException e) {
+            try {
+                Files.writeString(Files.createFile(lease), workerId);
+                return true;
+            } catch (FileAlreadyExistsException held) {
+                return false;
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Removes an expired lease; of several workers trying at once only
+     * one rename succeeds
+     */
+    private static void takeOver(final Path lease, final String workerId) {
+        Path stale = lease.resolveSibling(lease.getFileName() + ".expired-"
+                + workerId);
+        try {
+            Files.move(lease, stale, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.warn("⏳ Lease {} expired - reassigning", lease);
+            Files.deleteIfExists(stale);
+        } catch (IOException e) {
+            // Another worker took it over first
+        }
+    }
+
+    private Path shardFile(final int shard) {
+        return directory.resolve(SHARDS).resolve(shardName(shard) + ".json");
+    }
+
+    private Path leaseFile(final int shard) {
+        return directory.resolve(LEASES).resolve(shardName(shard)
+                + LEASE_SUFFIX);
+    }
+
+    private Path doneFile(final int shard) {
+        return directory.resolve(DONE).resolve(shardName(shard)
+                + JOURNAL_SUFFIX);
+    }
+
+    private static String shardName(final int shard) {
+        return String.format("%s%04d", SHARD_PREFIX, shard);
+    }
+
+    private static String fingerprint(final ProjectAnalysis analysis,
+                                      final int shardCount) {
+        StringBuilder ids = new StringBuilder().append(shardCount);
+        analysis.codeElements().stream()
+                .map(element -> element.getId() + "|" + element.signature()
+                        + "|" + element.documentation())
+                .sorted()
+                .forEach(id -> ids.append('\n').append(id));
+        return ContentHash.sha256Hex(ids.toString());
+    }
+
+    private static void writeAtomically(final Path file, final byte[] bytes)
+            throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        move(temp, file);
+    }
+
+    private static Optional<Path> newestJournal(final Path shardWork)
+            throws IOException {
+        try (Stream<Path> holders = Files.list(shardWork)) {
+            return holders.map(holder -> holder.resolve(RunJournal.FILE_NAME))
+                    .filter(Files::isRegularFile)
+                    .max(Comparator.comparing(ShardQueue::modifiedTime));
+        }
+    }
+
+    private static FileTime modifiedTime(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void move(final Path source, final Path target)
+            throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteTree(final Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder())
+                    .toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.documentor.service.distributed;
+
+import com.documentor.model.ProjectAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🛠️ Shard Worker
+ *
+ * Takes shards from a {@link ShardQueue} until every shard is finished. While
+ * a shard is processed its lease is renewed at a third of the lease
+ * duration, so a worker that dies lets its shard be reassigned soon after.
+ * The processor journals into the work directory of the lease, which
+ * survives restarts and is seeded from the previous holder's journal:
+ * whoever takes the shard next resumes where the previous holder stopped.
+ */
+public final class ShardWorker {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ShardWorker.class);
+
+    private static final int HEARTBEATS_PER_LEASE = 3;
+
+    /**
+     * Runs the LLM requests of one shard.
+     */
+    @FunctionalInterface
+    public interface ShardProcessor {
+        /**
+         * Processes a shard, journaling every result.
+         *
+         * @param shard the elements of the shard
+         * @param workDirectory the shard's work directory
+         * @return the journal file with the shard's results
+         * @throws Exception if the shard could not be processed
+         */
+        Path process(ProjectAnalysis shard, Path workDirectory)
+                throws Exception;
+    }
+
+    private final ShardQueue queue;
+    private final String workerId;
+    private final Duration leaseDuration;
+    private final ShardProcessor processor;
+
+    /**
+     * Creates a worker.
+     *
+     * @param queueParam the queue to work on
+     * @param workerIdParam unique name of this worker
+     * @param leaseDurationParam time without heartbeat after which a shard
+     *                           is reassigned
+     * @param processorParam runs the requests of a shard
+     */
+    public ShardWorker(final ShardQueue queueParam,
+                       final String workerIdParam,
+                       final Duration leaseDurationParam,
+                       final ShardProcessor processorParam) {
+        this.queue = queueParam;
+        this.workerId = workerIdParam;
+        this.leaseDuration = leaseDurationParam;
+        this.processor = processorParam;
+    }
+
+    /**
+     * 🛠️ Processes shards until the queue is complete.
+     *
+     * @param pollInterval wait between claims while all open shards are
+     *                     leased by other workers
+     * @return the number of shards this worker finished
+     * @throws IOException if the queue cannot be accessed or a shard fails
+     * @throws InterruptedException if the worker is interrupted
+     */
+    public int run(final Duration pollInterval)
+            throws IOException, InterruptedException {
+        int finished = 0;
+        ScheduledExecutorService heartbeat =
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "shard-heartbeat-" + workerId);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            while (!queue.isComplete()) {
+                Optional<ShardQueue.Lease> lease =
+                        queue.claim(workerId, leaseDuration);
+                if (lease.isEmpty()) {
+                    Thread.sleep(pollInterval.toMillis());
+                    continue;
+                }
+                process(lease.get(), heartbeat);
+                finished++;
+            }
+        } finally {
+            heartbeat.shutdownNow();
+        }
+        LOGGER.info("🛠️ Worker {} finished {} shards", workerId, finished);
+        return finished;
+    }
+
+    private void process(final ShardQueue.Lease lease,
+                         final ScheduledExecutorService heartbeat)
+            throws IOException {
+        int shard = lease.shard();
+        long period = Math.max(1,
+                leaseDuration.toMillis() / HEARTBEATS_PER_LEASE);
+        AtomicBoolean lost = new AtomicBoolean();
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> {
+            if (!lease.renew() && lost.compareAndSet(false, true)) {
+                // The result is still valid; it just may not be needed
+                LOGGER.warn("⏳ Worker {} lost the lease of shard {}",
+                        workerId, shard);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        try {
+            LOGGER.info("🛠️ Worker {} processing shard {} of {}", workerId,
+                    shard, queue.shardCount());
+            Path journal = processor.process(queue.loadShard(shard),
+                    queue.workDirectory(lease));
+            renewal.cancel(false);
+            queue.complete(lease, journal);
+        } catch (IOException e) {
+            lease.release();
+            throw e;
+        } catch (Exception e) {
+            lease.release();
+            throw new IOException("Shard " + shard + " failed: "
+                    + e.getMessage(), e);
+        } finally {
+            renewal.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.documentor.service.documentation;
+
+import com.documentor.model.CodeElement;
+import com.documentor.util.ContentHash;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🗂️ Manifest of the documents produced by the previous run
+ *
+ * Stored as {@value #FILE_NAME} in the output directory, the manifest
+ * records for every element document (e.g.
+ * {@code elements/class-com.example.Foo.md})
+ * the source files and elements that feed it and a fingerprint of each
+ * element's signature, Javadoc, parameters, annotations and the template
+ * version. The next run only rewrites documents whose elements changed,
+ * were added or were removed, and deletes documents whose elements are all
+ * gone. Which documents are gone is decided from the documents the whole
+ * analysis produces (see {@link #expect(Set)}), not from the documents the
+ * run got round to, so a run cut short never deletes valid documents.
+ * Project-wide outputs (README, unit tests, diagrams) are rebuilt only
+ * when at least one document changed.
+ *
+ * Only documents written without missing or failed parts are recorded, so
+ * anything cut short by a deadline or an LLM error is retried next time.
+ * A manifest written with other settings or another template version marks
+ * every document as changed.
+ *
+ * A run that only analyzes some files (see {@link #retainOutside(Set)})
+ * keeps the documents of all other files as they are.
+ */
+public final class DocumentationManifest {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(DocumentationManifest.class);
+
+    /** Manifest file name inside the output directory. */
+    public static final String FILE_NAME = ".documentor-manifest.json";
+
+    /** Version of the document templates; bump when their layout changes. */
+    static final int TEMPLATE_VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, Entry>> DOCUMENTS =
+            new TypeReference<>() { };
+
+    private final Path outputDirectory;
+    private final String settingsHash;
+    private final boolean previousRun;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private final Set<String> rewritten = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> expected;
+
+    private DocumentationManifest(final Path outputDirectoryParam,
+            final String settingsHashParam, final boolean previousRunParam,
+            final Map<String, Entry> previousParam) {
+        this.outputDirectory = outputDirectoryParam;
+        this.settingsHash = settingsHashParam;
+        this.previousRun = previousRunParam;
+        this.previous = previousParam;
+    }
+
+    /**
+     * Loads the manifest of an output directory.
+     *
+     * @param outputDirectory the documentation output directory
+     * @param settingsHash fingerprint of the settings that shape the output
+     * @return the manifest; empty if there is no usable previous manifest
+     */
+    public static DocumentationManifest load(final Path outputDirectory,
+                                             final String settingsHash) {
+        Path file = outputDirectory.resolve(FILE_NAME);
+        Map<String, Entry> previous = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return new DocumentationManifest(outputDirectory, settingsHash,
+                    false, previous);
+        }
+        try {
+            JsonNode root = MAPPER.readTree(file.toFile());
+            boolean sameOutput = root.path("templateVersion").asInt()
+                    == TEMPLATE_VERSION
+                    && settingsHash.equals(root.path("settings").asText());
+            Map<String, Entry> documents = MAPPER.convertValue(
+                    root.path("documents"), DOCUMENTS);
+            if (documents != null) {
+                documents.forEach((document, entry) -> previous.put(document,
+                        sameOutput ? entry
+                                // Keep names and sources so removed
+                                // documents are still deleted, but rewrite
+                                // every document
+                                : new Entry(entry.sources(), Map.of())));
+            }
+            if (!sameOutput) {
+                LOGGER.info("🗂️ Output settings changed since the last run "
+                        + "- regenerating all documents");
+            }
+            return new DocumentationManifest(outputDirectory, settingsHash,
+                    true, previous);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Ignoring unreadable manifest {}: {}", file,
+                    e.getMessage());
+            return new DocumentationManifest(outputDirectory, settingsHash,
+                    false, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Identity of an element across runs. Unlike {@link CodeElement#getId()}
+     * it does not depend on the line number, so edits above an element do
+     * not make it look new.
+     *
+     * @param element the element
+     * @return the element key
+     */
+    public static String elementKey(final CodeElement element) {
+        return element.type() + ":" + element.filePath() + ":"
+                + element.qualifiedName() + ":" + element.signature();
+    }
+
+    /**
+     * Fingerprint of everything about an element that ends up in its
+     * documentation.
+     *
+     * @param element the element
+     * @return the fingerprint
+     */
+    static String fingerprint(final CodeElement element) {
+        return ContentHash.sha256Hex(TEMPLATE_VERSION + "\n"
+                + element.type() + "\n"
+                + element.name() + "\n"
+                + element.signature() + "\n"
+                + element.documentation() + "\n"
+                + element.parameters() + "\n"
+                + element.annotations());
+    }
+
+    /**
+     * Whether a previous run left a manifest in the output directory.
+     *
+     * @return true if this run is incremental
+     */
+    public boolean isIncremental() {
+        return previousRun;
+    }
+
+    /**
+     * Decides whether a document has to be written. Unchanged documents
+     * that still exist are carried over to the new manifest.
+     *
+     * @param document path of the document relative to the output directory
+     * @param elements the elements that feed the document
+     * @return true if the document is new or changed
+     */
+    boolean needsRewrite(final String document,
+                         final List<CodeElement> elements) {
+        Entry entry = Entry.of(elements);
+        Entry previousEntry = previous.get(document);
+        if (previousEntry != null
+                && entry.elements().equals(previousEntry.elements())
+                && Files.exists(outputDirectory.resolve(document))) {
+            current.merge(document, entry, Entry::union);
+            return false;
+        }
+        rewritten.add(document);
+        return true;
+    }
+
+    /**
+     * Records a document that was written completely.
+     *
+     * @param document path of the document relative to the output directory
+     * @param elements the elements that feed the document
+     */
+    void recordComplete(final String document,
+                        final List<CodeElement> elements) {
+        current.merge(document, Entry.of(elements), Entry::union);
+    }
+
+    /**
+     * Limits this run to some source files: documents fed only by other
+     * files are carried over unchanged and never deleted.
+     *
+     * @param sourceFiles the analyzed files, as in
+     *                    {@link CodeElement#filePath()}
+     */
+    public void retainOutside(final Set<String> sourceFiles) {
+        previous.forEach((document, entry) -> {
+            if (entry.sources().stream().noneMatch(sourceFiles::contains)) {
+                current.putIfAbsent(document, entry);
+            }
+        });
+    }
+
+    /**
+     * Adds the sources of the previous run that lie below one of the given
+     * paths, so a deleted directory covers the files that were in it.
+     *
+     * @param sourceFiles changed and deleted files and directories, as in
+     *                    {@link CodeElement#filePath()}
+     * @return the given paths and the previous sources below them
+     */
+    public Set<String> expandDirectories(final Set<String> sourceFiles) {
+        Set<String> expanded = new HashSet<>(sourceFiles);
+        previous.values().stream()
+                .flatMap(entry -> entry.sources().stream())
+                .filter(source -> isBelow(source, sourceFiles))
+                .forEach(expanded::add);
+        return expanded;
+    }
+
+    private static boolean isBelow(final String source,
+                                   final Set<String> directories) {
+        for (Path parent = Paths.get(source).getParent(); parent != null;
+                parent = parent.getParent()) {
+            if (directories.contains(parent.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Declares every element document the analysis of this run produces,
+     * whether or not it was written. Only previous documents outside this
+     * set (and not carried over by {@link #retainOutside(Set)}) are
+     * removed; until it is declared, nothing is.
+     *
+     * @param documents paths relative to the output directory
+     */
+    public void expect(final Set<String> documents) {
+        this.expected = Set.copyOf(documents);
+    }
+
+    /**
+     * Whether any document was written or removed by this run, meaning the
+     * project-wide outputs have to be rebuilt.
+     *
+     * @return true if something changed since the previous run
+     */
+    public boolean hasChanges() {
+        return !previousRun || !rewritten.isEmpty()
+                || !removedDocuments().isEmpty();
+    }
+
+    /**
+     * Documents of the previous run whose elements no longer exist.
+     *
+     * @return paths relative to the output directory; empty until the
+     *         expected documents are declared
+     */
+    public Set<String> removedDocuments() {
+        Set<String> expectedDocuments = expected;
+        if (expectedDocuments == null) {
+            return Set.of();
+        }
+        Set<String> removed = new HashSet<>(previous.keySet());
+        removed.removeAll(expectedDocuments);
+        removed.removeAll(current.keySet());
+        removed.removeAll(rewritten);
+        return removed;
+    }
+
+    /**
+     * Documents of this run: those carried over and those written.
+     *
+     * @return paths relative to the output directory
+     */
+    public Set<String> documents() {
+        Set<String> documents = new HashSet<>(current.keySet());
+        documents.addAll(rewritten);
+        return documents;
+    }
+
+    /**
+     * Keys of the elements behind the documents of this run.
+     *
+     * @return the {@link #elementKey}s of carried over and written documents
+     */
+    public Set<String> elementKeys() {
+        Set<String> keys = new HashSet<>();
+        current.values().forEach(entry -> keys.addAll(entry.elements()
+                .keySet()));
+        return keys;
+    }
+
+    /**
+     * Number of documents carried over unchanged.
+     *
+     * @return the reused document count
+     */
+    public int reusedCount() {
+        return current.size() - (int) current.keySet().stream()
+                .filter(rewritten::contains).count();
+    }
+
+    /**
+     * Number of documents written by this run.
+     *
+     * @return the rewritten document count
+     */
+    public int rewrittenCount() {
+        return rewritten.size();
+    }
+
+    /**
+     * Deletes the documents of removed elements and saves the manifest for
+     * the next run.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    public void finish() throws IOException {
+        for (String document : removedDocuments()) {
+            Path path = outputDirectory.resolve(document).normalize();
+            if (path.startsWith(outputDirectory.normalize())
+                    && Files.deleteIfExists(path)) {
+                LOGGER.info("🗑️ Removed documentation of deleted code: {}",
+                        path);
+            }
+        }
+        save();
+    }
+
+    private void save() throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("templateVersion", TEMPLATE_VERSION);
+        root.put("settings", settingsHash);
+        root.set("documents", MAPPER.valueToTree(new TreeMap<>(current)));
+
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(FILE_NAME);
+        Path temp = outputDirectory.resolve(FILE_NAME + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(),
+                root);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Manifest entry of one document
+     *
+     * @param sources the source files that feed the document
+     * @param elements element keys mapped to their fingerprints
+     */
+    record Entry(Set<String> sources, Map<String, String> elements) {
+
+        static Entry of(final List<CodeElement> elements) {
+            Set<String> sources = new TreeSet<>();
+            Map<String, String> hashes = new TreeMap<>();
+            for (CodeElement element : elements) {
+                sources.add(element.filePath());
+                hashes.put(elementKey(element), fingerprint(element));
+            }
+            return new Entry(sources, hashes);
+        }
+
+        Entry union(final Entry other) {
+            Set<String> mergedSources = new TreeSet<>(sources);
+            mergedSources.addAll(other.sources());
+            Map<String, String> mergedElements = new TreeMap<>(elements);
+            mergedElements.putAll(other.elements());
+            return new Entry(mergedSources, mergedElements);
+        }
+    }
+}
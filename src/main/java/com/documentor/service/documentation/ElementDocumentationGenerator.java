@@ -4,12 +4,13 @@ import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.LlmService;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -38,9 +39,13 @@ public class ElementDocumentationGenerator {
     private static final int MAX_ELEMENTS_TO_SHOW = 100;
 
     private final LlmService llmService;
+    private final AtomicFileWriter fileWriter;
 
-    public ElementDocumentationGenerator(final LlmService llmServiceParam) {
+    public ElementDocumentationGenerator(final LlmService llmServiceParam,
+            final AtomicFileWriter fileWriterParam) {
         this.llmService = llmServiceParam;
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
     }
 
     /**
@@ -221,10 +226,8 @@ public class ElementDocumentationGenerator {
                     // Determine the file name
                     String fileName;
                     if (classElement != null) {
-                        String sanitizedName = classElement.name()
-                            .replaceAll("[^a-zA-Z0-9]", "_");
                         fileName = String.format("class-%s.md",
-                            sanitizedName);
+                            classElement.getDocumentName());
                     } else {
                         // For standalone elements
                         String packageName = classElements.get(0)
@@ -239,8 +242,7 @@ public class ElementDocumentationGenerator {
                     // Write to file
                     Path elementPath = outputPath.resolve("elements")
                         .resolve(fileName);
-                    Files.createDirectories(elementPath.getParent());
-                    Files.write(elementPath, content.getBytes());
+                    fileWriter.writeFile(elementPath, content);
 
                     return null;
                 } catch (IOException e) {
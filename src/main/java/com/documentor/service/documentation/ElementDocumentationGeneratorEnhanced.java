@@ -1,26 +1,41 @@
 package com.documentor.service.documentation;
 
-import com.documentor.config.ThreadLocalContextHolder;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.LlmServiceEnhanced;
 import com.documentor.service.LlmServiceFixEnhanced;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.service.io.MarkdownWriter;
+import com.documentor.service.template.MarkdownTemplate;
+import com.documentor.service.template.OutputTemplate;
+import com.documentor.service.template.OutputTemplates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
 
 /**
  * Enhanced Element Documentation Generator with Improved Threading
@@ -38,16 +53,35 @@ public class ElementDocumentationGeneratorEnhanced {
     private static final int DEFAULT_FUTURE_TIMEOUT_SECONDS = 60;
     private static final int DEFAULT_INDENT_SIZE = 10;
     private static final int MAX_DESCRIPTION_LENGTH = 200;
+    private static final int HEADING_ELEMENT_PART = 4;
     private static final int MAX_ELEMENTS_TO_SHOW = 100;
+    private static final String ELEMENTS_DIRECTORY = "elements";
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
 
     private final LlmServiceEnhanced llmService;
     private final LlmServiceFixEnhanced llmServiceFix;
+    private final int llmConcurrency;
+    private final Scheduler writeScheduler;
+    private final AtomicFileWriter fileWriter;
+    private final OutputTemplates templates;
 
+    @Autowired
     public ElementDocumentationGeneratorEnhanced(
             final LlmServiceEnhanced llmServiceParam,
-            final LlmServiceFixEnhanced llmServiceFixParam) {
+            final LlmServiceFixEnhanced llmServiceFixParam,
+            final ExecutorRegistry executorRegistryParam,
+            final AtomicFileWriter fileWriterParam,
+            final OutputTemplates templatesParam) {
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+        this.templates = templatesParam != null ? templatesParam
+                : OutputTemplates.defaults();
         this.llmService = llmServiceParam;
         this.llmServiceFix = llmServiceFixParam;
+        this.llmConcurrency = LlmPipelineSupport.llmConcurrency(
+                executorRegistryParam);
+        this.writeScheduler = LlmPipelineSupport.writeScheduler(
+                executorRegistryParam);
         LOGGER.info("ElementDocumentationGeneratorEnhanced initialized with "
                 + "services: LlmServiceEnhanced={}, LlmServiceFixEnhanced={}",
                 llmServiceParam != null ? "OK" : "NULL",
@@ -100,6 +134,25 @@ public class ElementDocumentationGeneratorEnhanced {
      */
     public CompletableFuture<Void> generateGroupedDocumentation(
             final ProjectAnalysis analysis, final Path outputPath) {
+        return generateGroupedDocumentation(analysis, outputPath,
+                GenerationOptions.defaults());
+    }
+
+    /**
+     * Generates documentation for code elements grouped by class with
+     * per-run options. With a deadline, members whose LLM calls have not
+     * finished when it passes get a placeholder, and their classes are
+     * written with the parts that did finish. With a journal, results of a
+     * previous run are reused and new results are recorded.
+     *
+     * @param analysis project analysis
+     * @param outputPath output directory
+     * @param options deadline and journal of the run
+     * @return future completing once every class has been written
+     */
+    public CompletableFuture<Void> generateGroupedDocumentation(
+            final ProjectAnalysis analysis, final Path outputPath,
+            final GenerationOptions options) {
         LOGGER.info("Generating grouped documentation for {} elements with "
                 + "enhanced thread handling", analysis.codeElements().size());
 
@@ -135,17 +188,82 @@ public class ElementDocumentationGeneratorEnhanced {
             }
         }
 
+        return runPipeline(Flux.fromIterable(
+                createJobs(analysis.codeElements())), outputPath, options);
+    }
+
+    /**
+     * Generates grouped documentation for per-file analysis results as they
+     * are produced, so documentation of finished classes starts while the
+     * rest of the project is still being parsed. Parsing is throttled by the
+     * LLM stage: new files are only pulled when there is room for their
+     * requests.
+     *
+     * @param fileAnalyses analysis results, one per source file
+     * @param outputPath output directory
+     * @return future completing once every class has been written
+     */
+    public CompletableFuture<Void> generateStreamingDocumentation(
+            final Flux<ProjectAnalysis> fileAnalyses, final Path outputPath) {
+        return generateStreamingDocumentation(fileAnalyses, outputPath,
+                GenerationOptions.defaults());
+    }
+
+    /**
+     * Streaming variant of
+     * {@link #generateGroupedDocumentation(ProjectAnalysis, Path,
+     * GenerationOptions)}.
+     *
+     * @param fileAnalyses analysis results, one per source file
+     * @param outputPath output directory
+     * @param options deadline and journal of the run
+     * @return future completing once every class has been written
+     */
+    public CompletableFuture<Void> generateStreamingDocumentation(
+            final Flux<ProjectAnalysis> fileAnalyses, final Path outputPath,
+            final GenerationOptions options) {
+        if (llmService == null) {
+            LOGGER.error("LlmServiceEnhanced is null in "
+                    + "ElementDocumentationGeneratorEnhanced");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return runPipeline(fileAnalyses
+                .filter(fileAnalysis -> fileAnalysis.codeElements() != null
+                        && !fileAnalysis.codeElements().isEmpty())
+                .concatMapIterable(fileAnalysis ->
+                        createJobs(fileAnalysis.codeElements())),
+                outputPath, options);
+    }
+
+    /**
+     * Paths of the class documents a list of elements produces, relative
+     * to the output directory, whether or not they need to be written.
+     *
+     * @param elements the analyzed elements
+     * @return document paths
+     */
+    public Set<String> documentsOf(final List<CodeElement> elements) {
+        if (elements == null || elements.isEmpty()) {
+            return Set.of();
+        }
+        return createJobs(elements).stream()
+                .map(ClassDocumentJob::getDocument)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Groups elements by class and creates one document job per class
+     */
+    private List<ClassDocumentJob> createJobs(
+            final List<CodeElement> elements) {
         // Group elements by their parent class
         Map<String, List<CodeElement>> elementsByClass = groupElementsByClass(
-                analysis.codeElements());
+                elements);
         LOGGER.info("Grouped {} elements into {} classes",
-                   analysis.codeElements().size(), elementsByClass.size());
+                   elements.size(), elementsByClass.size());
 
-        // Create a list to hold all the futures for each class
-        // documentation
-        List<CompletableFuture<Void>> allFutures = new ArrayList<>();
-
-        // Process each class and its related elements
+        List<ClassDocumentJob> jobs = new ArrayList<>();
         for (Map.Entry<String, List<CodeElement>> entry
                 : elementsByClass.entrySet()) {
             String className = entry.getKey();
@@ -167,244 +285,218 @@ public class ElementDocumentationGeneratorEnhanced {
                 continue;
             }
 
-            // Generate documentation for this class group with timeout
-            // handling
-            CompletableFuture<Void> classFuture = generateClassDocumentation(
-                    classElement, classElements, outputPath)
-                .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS,
-                        TimeUnit.SECONDS)
-                .exceptionally(ex -> {
-                    if (ex instanceof TimeoutException) {
-                        LOGGER.error("Timeout while generating documentation "
-                                + "for class: {}",
-                                classElement != null ? classElement.name()
-                                        : className);
-                    } else {
-                        LOGGER.error("Error generating documentation for "
-                                + "class: {}, error: {}",
-                                classElement != null ? classElement.name()
-                                        : className,
-                                ex.getMessage(), ex);
-                    }
-                    // Continue processing other classes even if this one fails
-                    return null;
-                });
-
-            allFutures.add(classFuture);
+            jobs.add(new ClassDocumentJob(classElement, classElements,
+                    ELEMENTS_DIRECTORY + "/"
+                    + determineFileName(classElement, classElements)));
         }
+        return jobs;
+    }
 
-        // Wait for all class documentation to complete
-        return CompletableFuture.allOf(
-                allFutures.toArray(new CompletableFuture[0]))
-            .exceptionally(ex -> {
+    /**
+     * Pipeline: class groups -> LLM requests -> bounded LLM calls -> class
+     * assembly -> writes on the file-write pool. Each stage only pulls what
+     * it can handle, so requests are issued as fast as the model servers
+     * answer and finished classes are written as soon as their last member
+     * completes. Every member is an independent request, so idle slots pick
+     * up the next request of any class and a large class never holds up the
+     * others. Every LLM call is bounded by the call timeout; once the
+     * run's deadline passes, remaining calls are answered with placeholders
+     * instead of being made, so every class still flows through the
+     * pipeline and is written with the members that did complete. With a
+     * manifest, classes whose elements are unchanged since the previous
+     * run are skipped.
+     *
+     * The ThreadLocal config is left alone: it belongs to the caller, who
+     * set it and clears it in its own finally block. The pipeline runs on
+     * pool threads that propagate and restore it per task, so clearing it
+     * from a pipeline signal would only hit whichever pool thread happened
+     * to deliver that signal.
+     */
+    private CompletableFuture<Void> runPipeline(
+            final Flux<ClassDocumentJob> jobs, final Path outputPath,
+            final GenerationOptions options) {
+        DocumentationManifest manifest = options.getManifest();
+        Set<ClassDocumentJob> openJobs = ConcurrentHashMap.newKeySet();
+        long deadlineAt = options.getDeadline() != null
+                ? System.nanoTime() + options.getDeadline().toNanos()
+                : NO_DEADLINE;
+        return jobs
+            .filter(job -> manifest == null || manifest.needsRewrite(
+                    job.getDocument(), job.getClassElements()))
+            .doOnNext(openJobs::add)
+            .publish(shared -> Flux.merge(
+                // Jobs without LLM requests are complete right away
+                shared.filter(job -> !job.hasRequests()),
+                shared.concatMap(job -> Flux.fromIterable(job.getRequests()))
+                    .flatMap(request -> executeRequest(request, options,
+                            deadlineAt), llmConcurrency)
+                    .mapNotNull(result -> result.request().job()
+                            .accept(result) ? result.request().job() : null)))
+            .publishOn(writeScheduler, LlmPipelineSupport.WRITE_PREFETCH)
+            .doOnNext(job -> {
+                writeClassDocumentSafely(job, outputPath, options);
+                openJobs.remove(job);
+            })
+            .then()
+            .onErrorResume(ex -> {
                 LOGGER.error("Error in grouped documentation: {}",
                         ex.getMessage(), ex);
-                return null;
+                return Mono.empty();
             })
-            .whenComplete((result, ex) -> {
-                // Cleanup ThreadLocal to prevent memory leaks
-                if (llmServiceFix != null) {
-                    LOGGER.debug("Cleaning up ThreadLocal config after "
-                            + "documentation generation");
-                    llmServiceFix.cleanupThreadLocalConfig();
-                }
-            });
+            .then(Mono.<Void>fromRunnable(() ->
+                    writeUnfinishedJobs(openJobs, outputPath, options))
+                .subscribeOn(writeScheduler))
+            .toFuture();
     }
 
     /**
-     * Generates documentation for a class and all its related elements
+     * Writes classes that did not complete because the pipeline failed,
+     * with the parts that finished and placeholders for the rest
      */
-    private CompletableFuture<Void> generateClassDocumentation(
-            final CodeElement classElement,
-            final List<CodeElement> classElements,
-            final Path outputPath) {
-        LOGGER.info("Generating documentation for class: {}",
-                   classElement != null ? classElement.name()
-                           : "Standalone elements");
-
-        // Validate ThreadLocal config
-        validateThreadLocalConfig(classElement);
-
-        // Split elements by type
-        List<CodeElement> fields = classElements.stream()
-            .filter(e -> e.type() == CodeElementType.FIELD)
-            .toList();
-
-        List<CodeElement> methods = classElements.stream()
-            .filter(e -> e.type() == CodeElementType.METHOD)
-            .toList();
-
-        // Generate documentation futures for class and elements
-        CompletableFuture<String> classFuture = generateClassDocumentation(
-                classElement);
-        CompletableFuture<String> classExamplesFuture = generateClassExamples(
-                classElement);
-        CompletableFuture<List<ElementDocPair>> allFieldsFuture =
-                generateFieldsDocumentation(fields);
-        CompletableFuture<List<ElementDocPair>> allMethodsFuture =
-                generateMethodsDocumentation(methods);
+    private void writeUnfinishedJobs(final Set<ClassDocumentJob> openJobs,
+                                     final Path outputPath,
+                                     final GenerationOptions options) {
+        for (ClassDocumentJob job : openJobs) {
+            LOGGER.warn("⏳ Writing partial documentation for {}: {} of {} "
+                    + "parts missing", job.getDisplayName(),
+                    job.getPendingCount(), job.getRequestCount());
+            writeClassDocumentSafely(job, outputPath, options);
+        }
+        openJobs.clear();
+    }
 
-        // Combine everything into a final document
-        return CompletableFuture.allOf(classFuture, classExamplesFuture,
-                allFieldsFuture, allMethodsFuture)
-            .thenApply(v -> writeDocumentationToFile(classElement,
-                    classElements, outputPath, classFuture,
-                    classExamplesFuture, allFieldsFuture, allMethodsFuture));
+    /**
+     * Executes a single LLM request of a class document. Errors and timeouts
+     * become placeholders so one slow member never fails its class. Results
+     * found in the journal are reused without calling the model; results
+     * are flagged so documents with placeholders are not recorded as
+     * complete. The call is bounded by the call timeout and by what is left
+     * of the run's deadline; once the deadline has passed, the model is no
+     * longer called and the member is left empty.
+     */
+    private Mono<LlmResult> executeRequest(final LlmRequest request,
+                                           final GenerationOptions options,
+                                           final long deadlineAt) {
+        RunJournal journal = options.getJournal();
+        CodeElement element = request.element();
+        boolean examples = request.kind() == RequestKind.EXAMPLES;
+        String what = examples ? "examples" : "documentation";
+        String promptType = request.kind().getPromptType();
+        String journalKey = journal != null
+                ? RunJournal.key(promptType, element,
+                        llmService.promptFingerprint(element, promptType))
+                : null;
+        Duration timeout = options.getCallTimeout() != null
+                ? options.getCallTimeout()
+                : Duration.ofSeconds(DEFAULT_FUTURE_TIMEOUT_SECONDS);
+        if (deadlineAt != NO_DEADLINE) {
+            long remaining = deadlineAt - System.nanoTime();
+            if (remaining <= 0) {
+                String replayed = journal != null
+                        ? journal.lookup(journalKey) : null;
+                return Mono.just(new LlmResult(request, replayed,
+                        replayed != null));
+            }
+            if (remaining < timeout.toNanos()) {
+                timeout = Duration.ofNanos(remaining);
+            }
+        }
+        AtomicBoolean failed = new AtomicBoolean(false);
+        AtomicBoolean expired = new AtomicBoolean(false);
+        return LlmPipelineSupport.callLlm(options, journalKey, () -> {
+                    validateThreadLocalConfig(element);
+                    return examples
+                        ? llmService.generateUsageExamples(element)
+                        : llmService.generateDocumentation(element);
+                },
+                timeout,
+                ex -> {
+                    failed.set(true);
+                    if (ex instanceof TimeoutException
+                            && deadlineAt != NO_DEADLINE
+                            && deadlineAt - System.nanoTime() <= 0) {
+                        expired.set(true);
+                        return "";
+                    }
+                    if (ex instanceof TimeoutException) {
+                        LOGGER.error("Timeout while generating {} for "
+                                + "element: {}", what, element.name());
+                        return "Timeout or error generating " + what;
+                    }
+                    LOGGER.error("Error generating {} for {}: {}", what,
+                            element.name(), ex.getMessage());
+                    return "Error generating " + what + ": "
+                            + ex.getMessage();
+                })
+            .map(content -> new LlmResult(request,
+                    expired.get() ? null : content, !failed.get()
+                    && LlmPipelineSupport.isSuccessful(content)));
     }
 
     /**
      * Validates ThreadLocal config availability
      */
-    private void validateThreadLocalConfig(final CodeElement classElement) {
+    private void validateThreadLocalConfig(final CodeElement element) {
         if (llmServiceFix != null) {
             try {
                 boolean configAvailable = llmServiceFix
                         .isThreadLocalConfigAvailable();
                 if (!configAvailable) {
                     LOGGER.warn("ThreadLocal config not available for "
-                            + "class: {} - refreshing",
-                               classElement != null ? classElement.name()
-                                       : "Standalone elements");
+                            + "element: {} - refreshing", element.name());
                 }
             } catch (Exception e) {
                 LOGGER.error("Error checking ThreadLocal availability for "
-                        + "class: {}",
-                            classElement != null ? classElement.name()
-                                    : "Standalone elements", e);
+                        + "element: {}", element.name(), e);
             }
         }
     }
 
     /**
-     * Generates documentation for a class element
-     */
-    private CompletableFuture<String> generateClassDocumentation(
-            final CodeElement classElement) {
-        return classElement != null
-            ? llmService.generateDocumentation(classElement)
-                .exceptionally(ex -> {
-                    LOGGER.error("Error generating class documentation for "
-                            + "{}: {}", classElement.name(), ex.getMessage());
-                    return "Error generating documentation: " + ex.getMessage();
-                })
-            : CompletableFuture.completedFuture("");
-    }
-
-    /**
-     * Generates usage examples for a class element
-     */
-    private CompletableFuture<String> generateClassExamples(
-            final CodeElement classElement) {
-        return classElement != null
-            ? llmService.generateUsageExamples(classElement)
-                .exceptionally(ex -> {
-                    LOGGER.error("Error generating class examples for {}: {}",
-                                classElement.name(), ex.getMessage());
-                    return "Error generating examples: " + ex.getMessage();
-                })
-            : CompletableFuture.completedFuture("");
-    }
-
-    /**
-     * Generates documentation for all fields
+     * Writes a finished class document, logging instead of failing the
+     * pipeline so other classes are still written
      */
-    private CompletableFuture<List<ElementDocPair>>
-            generateFieldsDocumentation(final List<CodeElement> fields) {
-        List<CompletableFuture<ElementDocPair>> fieldFutures =
-                new ArrayList<>();
-
-        // Generate documentation for each field with proper error handling
-        for (CodeElement field : fields) {
-            fieldFutures.add(generateElementDocPair(field));
+    private void writeClassDocumentSafely(final ClassDocumentJob job,
+                                          final Path outputPath,
+                                          final GenerationOptions options) {
+        if (!job.claimWrite()) {
+            return;
         }
-
-        return CompletableFuture.allOf(
-                fieldFutures.toArray(new CompletableFuture[0]))
-            .thenApply(v -> fieldFutures.stream()
-                .map(future -> {
-                    try {
-                        return future.join();
-                    } catch (CompletionException e) {
-                        LOGGER.error("Error joining field future: {}",
-                                e.getMessage(), e);
-                        return new ElementDocPair(
-                            null,
-                            "Error generating documentation",
-                            "Error generating examples"
-                        );
-                    }
-                })
-                .filter(pair -> pair.getElement() != null)
-                .toList());
-    }
-
-    /**
-     * Generates documentation for all methods
-     */
-    private CompletableFuture<List<ElementDocPair>>
-            generateMethodsDocumentation(final List<CodeElement> methods) {
-        List<CompletableFuture<ElementDocPair>> methodFutures =
-                new ArrayList<>();
-
-        // Generate documentation for each method with proper error handling
-        for (CodeElement method : methods) {
-            methodFutures.add(generateElementDocPair(method));
+        try {
+            writeDocumentationToFile(job, outputPath, options);
+            DocumentationManifest manifest = options.getManifest();
+            if (manifest != null && job.isComplete()) {
+                manifest.recordComplete(job.getDocument(),
+                        job.getClassElements());
+            }
+            if (options.getDocumentListener() != null) {
+                options.getDocumentListener().accept(job.getDocument());
+            }
+        } catch (CompletionException e) {
+            LOGGER.error("Error generating documentation for class: {}, "
+                    + "error: {}", job.getDisplayName(), e.getMessage(), e);
         }
-
-        return CompletableFuture.allOf(
-                methodFutures.toArray(new CompletableFuture[0]))
-            .thenApply(v -> methodFutures.stream()
-                .map(future -> {
-                    try {
-                        return future.join();
-                    } catch (CompletionException e) {
-                        LOGGER.error("Error joining method future: {}",
-                                e.getMessage(), e);
-                        return new ElementDocPair(
-                            null,
-                            "Error generating documentation",
-                            "Error generating examples"
-                        );
-                    }
-                })
-                .filter(pair -> pair.getElement() != null)
-                .toList());
     }
 
     /**
      * Writes the combined documentation to a file
      */
-    private Void writeDocumentationToFile(
-            final CodeElement classElement,
-            final List<CodeElement> classElements,
-            final Path outputPath,
-            final CompletableFuture<String> classFuture,
-            final CompletableFuture<String> classExamplesFuture,
-            final CompletableFuture<List<ElementDocPair>> allFieldsFuture,
-            final CompletableFuture<List<ElementDocPair>> allMethodsFuture) {
+    private void writeDocumentationToFile(final ClassDocumentJob job,
+                                          final Path outputPath,
+                                          final GenerationOptions options) {
         try {
-            // Create the content
-            String content = buildClassDocumentContent(
-                classElement,
-                classFuture.join(),
-                classExamplesFuture.join(),
-                allFieldsFuture.join(),
-                allMethodsFuture.join()
-            );
-
-            // Determine the file name
-            String fileName = determineFileName(classElement, classElements);
-
-            // Write to file
-            Path elementPath = outputPath.resolve("elements")
-                    .resolve(fileName);
-            Files.createDirectories(elementPath.getParent());
-            Files.write(elementPath, content.getBytes());
+            // Stream the content straight to the file
+            Path elementPath = outputPath.resolve(job.getDocument());
+            options.fileWriterOr(fileWriter).writeFile(elementPath,
+                    out -> writeClassDocument(out,
+                            job.getClassElement(),
+                            job.getClassDocumentation(),
+                            job.getClassExamples(),
+                            job.getFieldPairs(),
+                            job.getMethodPairs()));
 
             LOGGER.info("✅ Successfully wrote documentation for: {}",
-                      classElement != null ? classElement.name()
-                              : "Standalone elements");
-            return null;
+                      job.getDisplayName());
         } catch (IOException e) {
             LOGGER.error("❌ Error writing class documentation: {}",
                     e.getMessage(), e);
@@ -420,7 +512,7 @@ public class ElementDocumentationGeneratorEnhanced {
                                    final List<CodeElement> classElements) {
         if (classElement != null) {
             return String.format("class-%s.md",
-                classElement.name().replaceAll("[^a-zA-Z0-9]", "_"));
+                classElement.getDocumentName());
         } else {
             // For standalone elements
             String packageName = classElements.isEmpty() ? "unknown"
@@ -433,6 +525,199 @@ public class ElementDocumentationGeneratorEnhanced {
         }
     }
 
+    /**
+     * Kind of content requested from the LLM for an element
+     */
+    private enum RequestKind {
+        DOCUMENTATION("documentation"),
+        EXAMPLES("usage");
+
+        private final String promptType;
+
+        RequestKind(final String promptTypeParam) {
+            this.promptType = promptTypeParam;
+        }
+
+        String getPromptType() {
+            return promptType;
+        }
+    }
+
+    /**
+     * One LLM call needed by a class document
+     */
+    private record LlmRequest(ClassDocumentJob job, int slot,
+                              CodeElement element, RequestKind kind) {
+    }
+
+    /**
+     * The content returned for a request
+     */
+    private record LlmResult(LlmRequest request, String content,
+                             boolean successful) {
+    }
+
+    /**
+     * A class document being assembled from its LLM results. Slots 0 and 1
+     * hold the class documentation and examples; each member then uses two
+     * consecutive slots for its documentation and examples. Slots that have
+     * not been filled when the document is written get a placeholder.
+     */
+    private static final class ClassDocumentJob {
+        private static final int CLASS_SLOTS = 2;
+        private static final String MISSING_PLACEHOLDER =
+                "_⏳ Not generated before the documentation deadline._";
+
+        private final CodeElement classElement;
+        private final List<CodeElement> classElements;
+        private final String document;
+        private final List<CodeElement> fields;
+        private final List<CodeElement> methods;
+        private final AtomicReferenceArray<String> contents;
+        private final int requestCount;
+        private final AtomicInteger pending;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicBoolean written = new AtomicBoolean(false);
+
+        ClassDocumentJob(final CodeElement classElementParam,
+                         final List<CodeElement> classElementsParam,
+                         final String documentParam) {
+            this.classElement = classElementParam;
+            this.classElements = classElementsParam;
+            this.document = documentParam;
+            // Split elements by type
+            this.fields = classElementsParam.stream()
+                .filter(e -> e.type() == CodeElementType.FIELD)
+                .toList();
+            this.methods = classElementsParam.stream()
+                .filter(e -> e.type() == CodeElementType.METHOD)
+                .toList();
+            this.contents = new AtomicReferenceArray<>(CLASS_SLOTS
+                    + 2 * (fields.size() + methods.size()));
+            if (classElementParam == null) {
+                // Standalone groups have no class-level content
+                contents.set(0, "");
+                contents.set(1, "");
+            }
+            this.requestCount = getRequests().size();
+            this.pending = new AtomicInteger(requestCount);
+        }
+
+        List<LlmRequest> getRequests() {
+            List<LlmRequest> requests = new ArrayList<>(contents.length());
+            if (classElement != null) {
+                requests.add(new LlmRequest(this, 0, classElement,
+                        RequestKind.DOCUMENTATION));
+                requests.add(new LlmRequest(this, 1, classElement,
+                        RequestKind.EXAMPLES));
+            }
+            int slot = CLASS_SLOTS;
+            for (CodeElement member : members()) {
+                requests.add(new LlmRequest(this, slot++, member,
+                        RequestKind.DOCUMENTATION));
+                requests.add(new LlmRequest(this, slot++, member,
+                        RequestKind.EXAMPLES));
+            }
+            return requests;
+        }
+
+        /**
+         * Stores a result and reports whether the document is now complete
+         */
+        boolean accept(final LlmResult result) {
+            contents.set(result.request().slot(), result.content());
+            if (!result.successful()) {
+                failures.incrementAndGet();
+            }
+            return pending.decrementAndGet() == 0;
+        }
+
+        /**
+         * Whether every part has been generated without errors
+         */
+        boolean isComplete() {
+            return pending.get() == 0 && failures.get() == 0;
+        }
+
+        /**
+         * Claims the document for writing; only the first caller wins
+         */
+        boolean claimWrite() {
+            return written.compareAndSet(false, true);
+        }
+
+        boolean hasRequests() {
+            return requestCount > 0;
+        }
+
+        int getRequestCount() {
+            return requestCount;
+        }
+
+        int getPendingCount() {
+            return pending.get();
+        }
+
+        CodeElement getClassElement() {
+            return classElement;
+        }
+
+        List<CodeElement> getClassElements() {
+            return classElements;
+        }
+
+        /**
+         * Path of the document relative to the output directory
+         */
+        String getDocument() {
+            return document;
+        }
+
+        String getDisplayName() {
+            return classElement != null ? classElement.name()
+                    : "Standalone elements";
+        }
+
+        String getClassDocumentation() {
+            return content(0);
+        }
+
+        String getClassExamples() {
+            return content(1);
+        }
+
+        List<ElementDocPair> getFieldPairs() {
+            return pairs(fields, CLASS_SLOTS);
+        }
+
+        List<ElementDocPair> getMethodPairs() {
+            return pairs(methods, CLASS_SLOTS + 2 * fields.size());
+        }
+
+        private String content(final int slot) {
+            String value = contents.get(slot);
+            return value != null ? value : MISSING_PLACEHOLDER;
+        }
+
+        private List<CodeElement> members() {
+            List<CodeElement> members = new ArrayList<>(fields);
+            members.addAll(methods);
+            return members;
+        }
+
+        private List<ElementDocPair> pairs(final List<CodeElement> elements,
+                                           final int firstSlot) {
+            List<ElementDocPair> pairs = new ArrayList<>(elements.size());
+            int slot = firstSlot;
+            for (CodeElement element : elements) {
+                pairs.add(new ElementDocPair(element, content(slot),
+                        content(slot + 1)));
+                slot += 2;
+            }
+            return pairs;
+        }
+    }
+
     /**
      * Helper class to store an element and its documentation/examples
      */
@@ -462,343 +747,205 @@ public class ElementDocumentationGeneratorEnhanced {
     }
 
     /**
-     * Generates documentation and examples for a single element with enhanced
-     * error handling
-     */
-    private CompletableFuture<ElementDocPair> generateElementDocPair(
-            final CodeElement codeElement) {
-        // Additional ThreadLocal verification
-        try {
-            // Direct check from ThreadLocalContextHolder for diagnostic
-            // purposes
-            ThreadLocalContextHolder.logConfigStatus();
-
-            if (llmServiceFix != null) {
-                boolean configAvailable = llmServiceFix
-                        .isThreadLocalConfigAvailable();
-                if (!configAvailable) {
-                    LOGGER.warn("ThreadLocal config not available for "
-                            + "element: "
-                            + "{} - refreshing", codeElement.name());
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.error("Error checking ThreadLocal availability for "
-                    + "element: {}", codeElement.name(), e);
-        }
-
-        // Generate both documentation and examples with proper error handling
-        CompletableFuture<String> docFuture = llmService
-                .generateDocumentation(codeElement)
-            .exceptionally(ex -> {
-                LOGGER.error("Error generating documentation for {}: {}",
-                            codeElement.name(), ex.getMessage());
-                return "Error generating documentation: " + ex.getMessage();
-            });
-
-        CompletableFuture<String> examplesFuture = llmService
-                .generateUsageExamples(codeElement)
-            .exceptionally(ex -> {
-                LOGGER.error("Error generating examples for {}: {}",
-                            codeElement.name(), ex.getMessage());
-                return "Error generating examples: " + ex.getMessage();
-            });
-
-        // Combine the futures with timeout handling
-        return docFuture.thenCombine(examplesFuture,
-                (docContent, exampleContent) -> new ElementDocPair(
-                        codeElement, docContent, exampleContent))
-            .orTimeout(DEFAULT_FUTURE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-            .exceptionally(ex -> {
-                if (ex instanceof TimeoutException) {
-                    LOGGER.error("Timeout while generating documentation for "
-                            + "element: {}", codeElement.name());
-                } else {
-                    LOGGER.error("Error generating doc pair for {}: {}",
-                                codeElement.name(), ex.getMessage(), ex);
-                }
-                // Return a placeholder to avoid breaking the whole process
-                return new ElementDocPair(
-                    codeElement,
-                    "Timeout or error generating documentation",
-                    "Timeout or error generating examples"
-                );
-            });
-    }
-
-    /**
-     * Builds the complete documentation content for a class and its elements
+     * Streams the complete documentation of a class and its elements
      */
-    private String buildClassDocumentContent(final CodeElement classElement,
-                                           final String classDoc,
-                                           final String classExamples,
-                                           final List<ElementDocPair> fields,
-                                           final List<ElementDocPair> methods) {
-        StringBuilder content = new StringBuilder();
-
+    private void writeClassDocument(final MarkdownWriter out,
+                                    final CodeElement classElement,
+                                    final String classDoc,
+                                    final String classExamples,
+                                    final List<ElementDocPair> fields,
+                                    final List<ElementDocPair> methods)
+            throws IOException {
         // Build header section
         if (classElement != null) {
-            buildClassHeaderSection(content, classElement, classDoc,
+            writeClassHeaderSection(out, classElement, classDoc,
                     classExamples, fields, methods);
         } else {
-            buildStandaloneElementsHeader(content);
+            writeStandaloneElementsHeader(out);
         }
 
         // Build fields section
-        buildFieldsSection(content, fields);
+        writeFieldsSection(out, fields);
 
         // Build methods section
-        buildMethodsSection(content, methods);
-
-        return content.toString();
+        writeMethodsSection(out, methods);
     }
 
     /**
-     * Builds the class header section with documentation and table of contents
+     * Writes the class header section with documentation and table of
+     * contents
      */
-    private void buildClassHeaderSection(final StringBuilder content,
-                                       final CodeElement classElement,
-                                       final String classDoc,
-                                       final String classExamples,
-                                       final List<ElementDocPair> fields,
-                                       final List<ElementDocPair> methods) {
-        // Add class name with larger header and package info
-        content.append(String.format("# %s %s\n\n",
-                classElement.type().getIcon(), classElement.name()));
-
-        // Safely extract package name and format it nicely
+    private void writeClassHeaderSection(final MarkdownWriter out,
+                                         final CodeElement classElement,
+                                         final String classDoc,
+                                         final String classExamples,
+                                         final List<ElementDocPair> fields,
+                                         final List<ElementDocPair> methods)
+            throws IOException {
         String qualifiedName = classElement.qualifiedName();
         int lastDotIndex = qualifiedName.lastIndexOf('.');
-        String packageName = lastDotIndex > 0
-                ? qualifiedName.substring(0, lastDotIndex)
-                : "(default package)";
-        content.append(String.format("> **Package:** `%s`\n\n",
-                packageName));
-
-        // Add horizontal rule for visual separation
-        content.append("---\n\n");
-
-        // Add class documentation
-        content.append("## 📄 Class Documentation\n\n");
-        String formattedDoc = formatContent(classDoc);
-        content.append(formattedDoc).append("\n\n");
-
-        // Add horizontal rule for visual separation
-        content.append("---\n\n");
-
-        // Add class usage examples
-        content.append("## 💡 Class Usage Examples\n\n");
-        String formattedExamples = formatContent(classExamples);
-        content.append(formattedExamples).append("\n\n");
-
-        // Add horizontal rule for visual separation
-        content.append("---\n\n");
-
-        // Add class signature
-        content.append("## 📋 Class Signature\n\n");
-        String language = getLanguageFromFile(classElement.filePath());
-        content.append("```").append(language).append("\n");
-        content.append(formatCodeBlock(classElement.signature())).append("\n");
-        content.append("```\n\n");
+        template(OutputTemplate.CLASS_HEADER).render(out,
+                classElement.type().getIcon(),
+                classElement.name(),
+                lastDotIndex > 0 ? qualifiedName.substring(0, lastDotIndex)
+                        : "(default package)",
+                formatContent(classDoc),
+                formatContent(classExamples),
+                getLanguageFromFile(classElement.filePath()),
+                formatCodeBlock(classElement.signature()));
 
         // Add table of contents
-        buildTableOfContents(content, fields, methods);
+        writeTableOfContents(out, fields, methods);
     }
 
     /**
-     * Builds the table of contents section
+     * Render plan of a template; element documents always carry icons
      */
-    private void buildTableOfContents(final StringBuilder content,
-                                    final List<ElementDocPair> fields,
-                                    final List<ElementDocPair> methods) {
+    private MarkdownTemplate template(final OutputTemplate template) {
+        return templates.get(template, true);
+    }
+
+    /**
+     * Writes the table of contents section
+     */
+    private void writeTableOfContents(final MarkdownWriter out,
+                                      final List<ElementDocPair> fields,
+                                      final List<ElementDocPair> methods)
+            throws IOException {
         if (!fields.isEmpty() || !methods.isEmpty()) {
-            content.append("## 📑 Table of Contents\n\n");
+            out.heading(2, "📑 Table of Contents");
 
-            buildFieldsTableOfContents(content, fields);
-            buildMethodsTableOfContents(content, methods);
+            writeContentsList(out, "🔹 Fields", fields);
+            writeContentsList(out, "🔸 Methods", methods);
 
             // Add horizontal rule for visual separation
-            content.append("---\n\n");
+            out.rule();
         }
     }
 
     /**
-     * Builds the fields table of contents
+     * Writes the collapsible list of fields or methods in the table of
+     * contents
      */
-    private void buildFieldsTableOfContents(final StringBuilder content,
-                                          final List<ElementDocPair> fields) {
-        if (!fields.isEmpty()) {
-            content.append("<details open>\n<summary><strong>🔹 Fields"
-                    + "</strong> (").append(fields.size())
-                    .append(")</summary>\n\n");
-            int fieldCount = 0;
-            for (ElementDocPair field : fields) {
-                content.append(String.format("- [%s %s](#%s)\n",
-                    field.getElement().type().getIcon(),
-                    field.getElement().name(),
-                    sanitizeAnchor(field.getElement().name())));
-                fieldCount++;
-
-                // Add line breaks for better readability in long lists
-                if (fieldCount % DEFAULT_INDENT_SIZE == 0
-                        && fieldCount < fields.size()) {
-                    content.append("\n");
-                }
-            }
-            content.append("\n</details>\n\n");
+    private void writeContentsList(final MarkdownWriter out,
+                                   final String title,
+                                   final List<ElementDocPair> elements)
+            throws IOException {
+        if (elements.isEmpty()) {
+            return;
         }
-    }
-
-    /**
-     * Builds the methods table of contents
-     */
-    private void buildMethodsTableOfContents(final StringBuilder content,
-                                           final List<ElementDocPair> methods) {
-        if (!methods.isEmpty()) {
-            content.append("<details open>\n<summary><strong>🔸 Methods"
-                    + "</strong> (").append(methods.size())
-                    .append(")</summary>\n\n");
-            int methodCount = 0;
-            for (ElementDocPair method : methods) {
-                content.append(String.format("- [%s %s](#%s)\n",
-                    method.getElement().type().getIcon(),
-                    method.getElement().name(),
-                    sanitizeAnchor(method.getElement().name())));
-                methodCount++;
-
-                // Add line breaks for better readability in long lists
-                if (methodCount % DEFAULT_INDENT_SIZE == 0
-                        && methodCount < methods.size()) {
-                    content.append("\n");
-                }
+        out.append("<details open>\n<summary><strong>").append(title)
+                .append("</strong> (").append(elements.size())
+                .append(")</summary>\n\n");
+        MarkdownTemplate entry = template(OutputTemplate.CONTENTS_ENTRY);
+        int count = 0;
+        for (ElementDocPair pair : elements) {
+            CodeElement element = pair.getElement();
+            entry.render(out, element.type().getIcon(), element.name(),
+                    sanitizeAnchor(element.name()));
+            count++;
+
+            // Add line breaks for better readability in long lists
+            if (count % DEFAULT_INDENT_SIZE == 0 && count < elements.size()) {
+                out.newLine();
             }
-            content.append("\n</details>\n\n");
         }
+        out.append("\n</details>\n\n");
     }
 
     /**
-     * Builds the standalone elements header
+     * Writes the standalone elements header
      */
-    private void buildStandaloneElementsHeader(final StringBuilder content) {
-        content.append("# 📁 Standalone Elements\n\n");
-        content.append("These elements are not associated with a "
-                + "specific class.\n\n");
-        // Add horizontal rule for visual separation
-        content.append("---\n\n");
+    private void writeStandaloneElementsHeader(final MarkdownWriter out)
+            throws IOException {
+        template(OutputTemplate.STANDALONE_HEADER).render(out);
     }
 
     /**
-     * Builds the fields section
+     * Writes the fields section
      */
-    private void buildFieldsSection(final StringBuilder content,
-                                  final List<ElementDocPair> fields) {
+    private void writeFieldsSection(final MarkdownWriter out,
+                                    final List<ElementDocPair> fields)
+            throws IOException {
         if (!fields.isEmpty()) {
-            content.append("## 🔹 Fields\n\n");
+            out.heading(2, "🔹 Fields");
 
             for (ElementDocPair field : fields) {
                 CodeElement fieldElem = field.getElement();
-                // Add a box around each field for visual separation
-                content.append("<div class=\"element-box\">\n\n");
-                content.append(String.format("### %s %s\n\n",
-                        fieldElem.type().getIcon(), fieldElem.name()));
-
-                // Documentation section with better formatting
-                content.append("#### 📄 Documentation\n\n");
-                String formattedFieldDoc = formatContent(
-                        field.getDocumentation());
-                content.append(formattedFieldDoc).append("\n\n");
-
-                // Usage examples section with better formatting
-                content.append("#### 💡 Usage Examples\n\n");
-                String formattedFieldExamples = formatContent(
-                        field.getExamples());
-                content.append(formattedFieldExamples).append("\n\n");
+                writeElementBoxStart(out, field);
 
                 // Signature with better code formatting
-                content.append("#### 📋 Signature\n\n");
-                String fieldLang = getLanguageFromFile(fieldElem.filePath());
-                content.append("```").append(fieldLang).append("\n");
-                content.append(formatCodeBlock(fieldElem.signature()))
-                        .append("\n");
-                content.append("```\n\n");
-
-                // Close the box
-                content.append("</div>\n\n");
-
-                // Add horizontal rule for visual separation between fields
-                content.append("---\n\n");
+                out.heading(HEADING_ELEMENT_PART, "📋 Signature")
+                        .codeBlock(getLanguageFromFile(fieldElem.filePath()),
+                                formatCodeBlock(fieldElem.signature()));
+
+                writeElementBoxEnd(out);
             }
         }
     }
 
     /**
-     * Builds the methods section
+     * Writes the methods section
      */
-    private void buildMethodsSection(final StringBuilder content,
-                                   final List<ElementDocPair> methods) {
+    private void writeMethodsSection(final MarkdownWriter out,
+                                     final List<ElementDocPair> methods)
+            throws IOException {
         if (!methods.isEmpty()) {
-            content.append("## 🔸 Methods\n\n");
+            out.heading(2, "🔸 Methods");
 
             for (ElementDocPair method : methods) {
-                buildSingleMethodSection(content, method);
+                writeElementBoxStart(out, method);
+
+                // Signature with better code formatting and collapsible
+                // section for long signatures
+                writeMethodSignature(out, method.getElement());
+
+                writeElementBoxEnd(out);
             }
         }
     }
 
     /**
-     * Builds a single method section
+     * Opens the box of a field or method and writes its documentation and
+     * usage examples
      */
-    private void buildSingleMethodSection(final StringBuilder content,
-                                        final ElementDocPair method) {
-        CodeElement methodElem = method.getElement();
-        // Add a box around each method for visual separation
-        content.append("<div class=\"element-box\">\n\n");
-        content.append(String.format("### %s %s\n\n",
-                methodElem.type().getIcon(), methodElem.name()));
-
-        // Documentation section with better formatting
-        content.append("#### 📄 Documentation\n\n");
-        String formattedMethodDoc = formatContent(method.getDocumentation());
-        content.append(formattedMethodDoc).append("\n\n");
-
-        // Usage examples section with better formatting
-        content.append("#### 💡 Usage Examples\n\n");
-        String formattedMethodExamples = formatContent(method.getExamples());
-        content.append(formattedMethodExamples).append("\n\n");
-
-        // Signature with better code formatting and collapsible section
-        // for long signatures
-        buildMethodSignature(content, methodElem);
-
-        // Close the box
-        content.append("</div>\n\n");
+    private void writeElementBoxStart(final MarkdownWriter out,
+                                      final ElementDocPair pair)
+            throws IOException {
+        CodeElement element = pair.getElement();
+        // Add a box around each element for visual separation
+        template(OutputTemplate.ELEMENT_START).render(out,
+                element.type().getIcon(), element.name(),
+                formatContent(pair.getDocumentation()),
+                formatContent(pair.getExamples()));
+    }
 
-        // Add horizontal rule for visual separation between methods
-        content.append("---\n\n");
+    /**
+     * Closes the box of a field or method
+     */
+    private void writeElementBoxEnd(final MarkdownWriter out)
+            throws IOException {
+        // Ends with a horizontal rule between elements
+        template(OutputTemplate.ELEMENT_END).render(out);
     }
 
     /**
-     * Builds the method signature section
+     * Writes the method signature section
      */
-    private void buildMethodSignature(final StringBuilder content,
-                                    final CodeElement methodElem) {
+    private void writeMethodSignature(final MarkdownWriter out,
+                                      final CodeElement methodElem)
+            throws IOException {
         String methodSignature = methodElem.signature();
-        if (methodSignature.length() > MAX_DESCRIPTION_LENGTH) {
-            content.append("#### 📋 Signature\n\n");
-            content.append("<details>\n<summary>View Method Signature"
+        out.heading(HEADING_ELEMENT_PART, "📋 Signature");
+        boolean collapsed = methodSignature.length() > MAX_DESCRIPTION_LENGTH;
+        if (collapsed) {
+            out.append("<details>\n<summary>View Method Signature"
                     + "</summary>\n\n");
-            content.append("```").append(
-                    getLanguageFromFile(methodElem.filePath()))
-                    .append("\n");
-            content.append(formatCodeBlock(methodSignature)).append("\n");
-            content.append("```\n\n</details>\n\n");
-        } else {
-            content.append("#### 📋 Signature\n\n");
-            content.append("```").append(
-                    getLanguageFromFile(methodElem.filePath()))
-                    .append("\n");
-            content.append(formatCodeBlock(methodSignature)).append("\n");
-            content.append("```\n\n");
+        }
+        out.codeBlock(getLanguageFromFile(methodElem.filePath()),
+                formatCodeBlock(methodSignature));
+        if (collapsed) {
+            out.append("</details>\n\n");
         }
     }
 
@@ -904,38 +1051,39 @@ public class ElementDocumentationGeneratorEnhanced {
         Map<String, List<CodeElement>> elementsByClass = new HashMap<>();
 
         for (CodeElement element : elements) {
-            String classKey;
-
-            if (element.type() == CodeElementType.CLASS) {
-                // For class elements, use their own qualified name
-                classKey = element.qualifiedName();
-            } else {
-                // For methods and fields, extract the class name from qualified
-                // name
-                String qualifiedName = element.qualifiedName();
-                int lastDotIndex = qualifiedName.lastIndexOf('.');
-
-                if (lastDotIndex > 0) {
-                    // Extract the parent class name
-                    classKey = qualifiedName.substring(0, lastDotIndex);
-                } else {
-                    // Handle standalone elements with no parent class
-                    if (element.type() == CodeElementType.FIELD) {
-                        classKey = "_FIELDS_";
-                    } else {
-                        classKey = "_METHODS_";
-                    }
-                }
-            }
-
-            // Add to the map
-            elementsByClass.computeIfAbsent(classKey, k -> new ArrayList<>())
-                    .add(element);
+            elementsByClass.computeIfAbsent(classKey(element),
+                    k -> new ArrayList<>()).add(element);
         }
 
         return elementsByClass;
     }
 
+    /**
+     * Key of the class document an element belongs to: the qualified name
+     * of the class itself or of a member's parent class. Standalone
+     * functions and fields share the {@code _METHODS_} and {@code _FIELDS_}
+     * documents.
+     *
+     * @param element the element
+     * @return the class key
+     */
+    public static String classKey(final CodeElement element) {
+        if (element.type() == CodeElementType.CLASS) {
+            // For class elements, use their own qualified name
+            return element.qualifiedName();
+        }
+        // For methods and fields, extract the class name from qualified name
+        String qualifiedName = element.qualifiedName();
+        int lastDotIndex = qualifiedName.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            // Extract the parent class name
+            return qualifiedName.substring(0, lastDotIndex);
+        }
+        // Handle standalone elements with no parent class
+        return element.type() == CodeElementType.FIELD
+                ? "_FIELDS_" : "_METHODS_";
+    }
+
     /**
      * Determines programming language from file extension
      */
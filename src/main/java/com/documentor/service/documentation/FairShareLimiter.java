@@ -0,0 +1,215 @@
+package com.documentor.service.documentation;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ⚖️ Fair Share Limiter
+ *
+ * Bounds the number of LLM calls in flight across several concurrent runs
+ * and shares the slots fairly between them. Each run takes a {@link Share};
+ * when a slot frees up it goes to the waiting share with the fewest calls
+ * in flight (ties go to the share served least recently), not to the
+ * oldest waiting call, so a run with thousands of queued calls cannot
+ * starve a small one started after it. A run alone on the limiter still
+ * gets every slot.
+ */
+public final class FairShareLimiter {
+
+    private final Object lock = new Object();
+    private final Deque<Share> waitingShares = new ArrayDeque<>();
+    private int available;
+    private long grants;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param permitsParam maximum number of calls in flight
+     */
+    public FairShareLimiter(final int permitsParam) {
+        if (permitsParam < 1) {
+            throw new IllegalArgumentException(
+                    "At least one permit is required: " + permitsParam);
+        }
+        this.available = permitsParam;
+    }
+
+    /**
+     * Opens a share for one run.
+     *
+     * @param name name of the run, for diagnostics
+     * @return the share
+     */
+    public Share newShare(final String name) {
+        return new Share(name);
+    }
+
+    /**
+     * Number of free slots.
+     *
+     * @return the free slot count
+     */
+    public int available() {
+        synchronized (lock) {
+            return available;
+        }
+    }
+
+    private void acquire(final Share share, final Waiter waiter) {
+        synchronized (lock) {
+            if (available > 0 && waitingShares.isEmpty()) {
+                grant(share, waiter);
+            } else {
+                if (share.waiters.isEmpty()) {
+                    waitingShares.addLast(share);
+                }
+                share.waiters.addLast(waiter);
+                return;
+            }
+        }
+        waiter.sink.success(waiter.permit);
+    }
+
+    private void cancel(final Share share, final Waiter waiter) {
+        boolean granted;
+        synchronized (lock) {
+            granted = waiter.permit.granted;
+            if (!granted && share.waiters.remove(waiter)
+                    && share.waiters.isEmpty()) {
+                waitingShares.remove(share);
+            }
+        }
+        if (granted) {
+            // Granted while being cancelled; the caller never used it
+            release(waiter.permit);
+        }
+    }
+
+    private void release(final Permit permit) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        List<Waiter> next = new ArrayList<>(1);
+        synchronized (lock) {
+            available++;
+            permit.share.inUse--;
+            while (available > 0 && !waitingShares.isEmpty()) {
+                Share share = nextShare();
+                Waiter waiter = share.waiters.pollFirst();
+                if (share.waiters.isEmpty()) {
+                    waitingShares.remove(share);
+                }
+                grant(share, waiter);
+                next.add(waiter);
+            }
+        }
+        // Completed outside the lock: the caller may start its call inline
+        next.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    /**
+     * Picks the waiting share with the fewest calls in flight, then the
+     * one granted least recently. Called with the lock held.
+     */
+    private Share nextShare() {
+        Share best = null;
+        for (Share share : waitingShares) {
+            if (best == null || share.inUse < best.inUse
+                    || share.inUse == best.inUse
+                    && share.lastGrant < best.lastGrant) {
+                best = share;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Hands a slot to a waiter. Called with the lock held.
+     */
+    private void grant(final Share share, final Waiter waiter) {
+        available--;
+        share.inUse++;
+        share.lastGrant = ++grants;
+        waiter.permit.granted = true;
+    }
+
+    /**
+     * The slots of one run.
+     */
+    public final class Share {
+
+        private final String name;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        // Guarded by the limiter lock
+        private int inUse;
+        private long lastGrant;
+
+        private Share(final String nameParam) {
+            this.name = nameParam;
+        }
+
+        /**
+         * Runs work once this share is granted a slot, and frees the slot
+         * when the work completes, fails or is cancelled.
+         *
+         * @param work the work, subscribed to only after a slot is granted
+         * @param <T> the result type
+         * @return the work bounded by the limiter
+         */
+        public <T> Mono<T> withPermit(final Mono<T> work) {
+            return Mono.usingWhen(
+                    Mono.<Permit>create(sink -> {
+                        Waiter waiter = new Waiter(this, sink);
+                        sink.onCancel(() -> cancel(this, waiter));
+                        acquire(this, waiter);
+                    }),
+                    permit -> work,
+                    permit -> Mono.fromRunnable(() -> release(permit)),
+                    (permit, error) -> Mono.fromRunnable(
+                            () -> release(permit)),
+                    permit -> Mono.fromRunnable(() -> release(permit)));
+        }
+
+        /**
+         * Name of the run.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "Share[" + name + "]";
+        }
+    }
+
+    private static final class Permit {
+        private final Share share;
+        private final AtomicBoolean released = new AtomicBoolean();
+        // Guarded by the limiter lock
+        private boolean granted;
+
+        private Permit(final Share shareParam) {
+            this.share = shareParam;
+        }
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final Permit permit;
+
+        private Waiter(final Share shareParam,
+                       final MonoSink<Permit> sinkParam) {
+            this.sink = sinkParam;
+            this.permit = new Permit(shareParam);
+        }
+    }
+}
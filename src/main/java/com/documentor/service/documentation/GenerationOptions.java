@@ -0,0 +1,184 @@
+package com.documentor.service.documentation;
+
+import com.documentor.service.io.AtomicFileWriter;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * ⚙️ Per-run options for the documentation generators
+ *
+ * Generators are shared singletons; anything that belongs to a single run,
+ * such as its deadline, its journal, its manifest, its share of the LLM
+ * capacity or the writer of its files, is passed in through these options.
+ *
+ * The deadline is opt-in: without one, every LLM call is only bounded by
+ * the call timeout. With one, calls that have not started when it passes
+ * are not made, and calls still running are cut short; their members get
+ * a placeholder, so every class is still written.
+ */
+public final class GenerationOptions {
+
+    private static final GenerationOptions DEFAULTS = builder().build();
+
+    private final Duration deadline;
+    private final Duration callTimeout;
+    private final RunJournal journal;
+    private final DocumentationManifest manifest;
+    private final FairShareLimiter.Share llmShare;
+    private final Consumer<String> documentListener;
+    private final AtomicFileWriter fileWriter;
+
+    private GenerationOptions(final Builder builder) {
+        this.deadline = builder.deadline;
+        this.callTimeout = builder.callTimeout;
+        this.journal = builder.journal;
+        this.manifest = builder.manifest;
+        this.llmShare = builder.llmShare;
+        this.documentListener = builder.documentListener;
+        this.fileWriter = builder.fileWriter;
+    }
+
+    /**
+     * Options without deadline, call timeout, journal or manifest.
+     *
+     * @return the default options
+     */
+    public static GenerationOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Maximum duration of the run, or null for no limit.
+     *
+     * @return the deadline
+     */
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Maximum duration of a single LLM call, or null for the generator's
+     * default.
+     *
+     * @return the call timeout
+     */
+    public Duration getCallTimeout() {
+        return callTimeout;
+    }
+
+    /**
+     * Journal that records and replays LLM results, or null.
+     *
+     * @return the journal
+     */
+    public RunJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Manifest of the previous run used to skip unchanged documents, or
+     * null to write every document.
+     *
+     * @return the manifest
+     */
+    public DocumentationManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * Share of the LLM capacity the run's calls wait for, or null to call
+     * the models directly.
+     *
+     * @return the LLM share
+     */
+    public FairShareLimiter.Share getLlmShare() {
+        return llmShare;
+    }
+
+    /**
+     * Callback told the path of every element document written, or null.
+     *
+     * @return the document listener
+     */
+    public Consumer<String> getDocumentListener() {
+        return documentListener;
+    }
+
+    /**
+     * Writer of the run's files, or null for the generator's own writer.
+     *
+     * @return the file writer
+     */
+    public AtomicFileWriter getFileWriter() {
+        return fileWriter;
+    }
+
+    /**
+     * The run's file writer, or the given one when the run has none.
+     *
+     * @param generatorWriter the generator's own writer
+     * @return the writer to use
+     */
+    public AtomicFileWriter fileWriterOr(
+            final AtomicFileWriter generatorWriter) {
+        return fileWriter != null ? fileWriter : generatorWriter;
+    }
+
+    public static final class Builder {
+        private Duration deadline;
+        private Duration callTimeout;
+        private RunJournal journal;
+        private DocumentationManifest manifest;
+        private FairShareLimiter.Share llmShare;
+        private Consumer<String> documentListener;
+        private AtomicFileWriter fileWriter;
+
+        private Builder() {
+        }
+
+        public Builder deadline(final Duration deadlineParam) {
+            this.deadline = deadlineParam;
+            return this;
+        }
+
+        public Builder callTimeout(final Duration callTimeoutParam) {
+            this.callTimeout = callTimeoutParam;
+            return this;
+        }
+
+        public Builder journal(final RunJournal journalParam) {
+            this.journal = journalParam;
+            return this;
+        }
+
+        public Builder manifest(final DocumentationManifest manifestParam) {
+            this.manifest = manifestParam;
+            return this;
+        }
+
+        public Builder llmShare(final FairShareLimiter.Share llmShareParam) {
+            this.llmShare = llmShareParam;
+            return this;
+        }
+
+        public Builder documentListener(
+                final Consumer<String> documentListenerParam) {
+            this.documentListener = documentListenerParam;
+            return this;
+        }
+
+        public Builder fileWriter(final AtomicFileWriter fileWriterParam) {
+            this.fileWriter = fileWriterParam;
+            return this;
+        }
+
+        public GenerationOptions build() {
+            return new GenerationOptions(this);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.documentor.service.documentation;
+
+import com.documentor.config.ExecutorRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ⚡ Shared building blocks for the reactive generation pipelines
+ *
+ * The documentation generators stream elements through a Reactor pipeline
+ * whose LLM stage is bounded to the number of llm-io threads and whose
+ * write stage runs on the file-write pool. Because each stage only
+ * requests as much as it can handle, LLM calls are issued at the rate
+ * the model servers answer them instead of being queued all at once.
+ */
+final class LlmPipelineSupport {
+
+    /**
+     * Number of finished documents buffered ahead of the write stage.
+     */
+    static final int WRITE_PREFETCH = 8;
+
+    private static final String ERROR_PREFIX = "Error";
+    private static final String NO_MODELS_PREFIX = "No LLM models configured";
+
+    private LlmPipelineSupport() {
+        // Utility class
+    }
+
+    /**
+     * Maximum number of LLM calls in flight for a pipeline.
+     */
+    static int llmConcurrency(final ExecutorRegistry executorRegistry) {
+        return executorRegistry.threads(ExecutorRegistry.Pool.LLM_IO);
+    }
+
+    /**
+     * Scheduler for the write stage of a pipeline.
+     */
+    static Scheduler writeScheduler(final ExecutorRegistry executorRegistry) {
+        return executorRegistry.scheduler(ExecutorRegistry.Pool.FILE_WRITE);
+    }
+
+    /**
+     * Wraps a single LLM call. The call is only started on subscription and
+     * never fails: errors and timeouts are turned into placeholder text by
+     * the fallback function. A null result becomes an empty string.
+     *
+     * A call that times out gets the placeholder, but only once it has
+     * really ended: the blocking HTTP request keeps its llm-io thread until
+     * the client's own timeout, so the pipeline slot and LLM share permit
+     * are held until then. Otherwise every timeout would let one more call
+     * start than there are llm-io threads.
+     */
+    static Mono<String> callLlm(
+            final Supplier<CompletableFuture<String>> call,
+            final Duration timeout,
+            final Function<Throwable, String> fallback) {
+        return Mono.defer(() -> {
+            CompletableFuture<String> future = call.get();
+            return Mono.fromFuture(future, true)
+                    .timeout(timeout)
+                    .onErrorResume(TimeoutException.class, timedOut ->
+                            Mono.fromFuture(future.handle(
+                                    (content, error) -> timedOut), true)
+                                    .flatMap(Mono::error));
+        })
+                .defaultIfEmpty("")
+                .onErrorResume(ex -> Mono.just(fallback.apply(unwrap(ex))));
+    }
+
+    /**
+     * Wraps a single LLM call of a run. With a journal, a result replayed
+     * from a previous run is returned without calling the model, and every
+     * new successful result is recorded; error results are never recorded,
+     * so they are retried on resume. With an LLM share, the call waits for
+     * a slot before it starts, and the timeout only covers the call itself.
+     */
+    static Mono<String> callLlm(
+            final GenerationOptions options,
+            final String key,
+            final Supplier<CompletableFuture<String>> call,
+            final Duration timeout,
+            final Function<Throwable, String> fallback) {
+        RunJournal journal = options.getJournal();
+        Supplier<CompletableFuture<String>> recordingCall = call;
+        if (journal != null) {
+            String replayed = journal.lookup(key);
+            if (replayed != null) {
+                return Mono.just(replayed);
+            }
+            recordingCall = () -> call.get().thenApply(content -> {
+                if (isSuccessful(content)) {
+                    journal.record(key, content);
+                }
+                return content;
+            });
+        }
+        Mono<String> result = callLlm(recordingCall, timeout, fallback);
+        FairShareLimiter.Share share = options.getLlmShare();
+        return share != null ? share.withPermit(result) : result;
+    }
+
+    /**
+     * Whether an LLM result is real content rather than one of the error
+     * messages the LLM services return instead of failing.
+     */
+    static boolean isSuccessful(final String content) {
+        return content != null && !content.isBlank()
+                && !content.startsWith(ERROR_PREFIX)
+                && !content.startsWith(NO_MODELS_PREFIX);
+    }
+
+    /**
+     * Strips completion wrappers to reach the original failure.
+     */
+    static Throwable unwrap(final Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException
+                || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -1,32 +1,101 @@
 package com.documentor.service.documentation;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.service.io.MarkdownWriter;
+import com.documentor.service.template.MarkdownTemplate;
+import com.documentor.service.template.OutputTemplate;
+import com.documentor.service.template.OutputTemplates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 📖 Main Documentation Generator
  *
  * Specialized component for generating the main README.md documentation.
  * Handles project overview, statistics, and API reference sections.
+ *
+ * Projects with more elements than the shard threshold get a small README
+ * whose API reference links to one index page per source directory under
+ * {@value #INDEX_DIRECTORY}; the pages are streamed to disk in parallel.
  */
 @Component
 public class MainDocumentationGenerator {
 
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(MainDocumentationGenerator.class);
+
+    /** Directory of the API index pages, next to the README. */
+    public static final String INDEX_DIRECTORY = "api-index";
+
+    /** Element count above which the API reference is sharded. */
+    public static final int DEFAULT_SHARD_THRESHOLD = 5000;
+
     private static final int MAX_QUICK_LINKS = 5;
+    private static final int API_FILE_HEADING = 3;
+    private static final int SHARD_FILE_HEADING = 2;
+    /** A reference from another signature weighs more than a member */
+    private static final int REFERENCE_WEIGHT = 2;
     private final DocumentorConfig config;
+    private final Executor formattingExecutor;
+    private final AtomicFileWriter fileWriter;
+    private final int shardThreshold;
+    private final OutputTemplates templates;
 
-    public MainDocumentationGenerator(final DocumentorConfig configParam) {
+    /**
+     * @param shardThresholdParam element count above which the API
+     *                            reference is split into index pages;
+     *                            0 never shards
+     * @param templatesParam compiled output templates; null for the
+     *                       built-in ones
+     */
+    @Autowired
+    public MainDocumentationGenerator(final DocumentorConfig configParam,
+            final ExecutorRegistry executorRegistryParam,
+            final AtomicFileWriter fileWriterParam,
+            @Value("${documentor.output.readme-shard-threshold:"
+                    + DEFAULT_SHARD_THRESHOLD + "}")
+            final int shardThresholdParam,
+            final OutputTemplates templatesParam) {
         this.config = configParam;
+        this.shardThreshold = shardThresholdParam;
+        this.templates = templatesParam != null ? templatesParam
+                : OutputTemplates.defaults();
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+        this.formattingExecutor =
+                executorRegistryParam.executor(ExecutorRegistry.Pool.CPU_PARSE);
     }
 
     /**
@@ -35,132 +104,378 @@ public class MainDocumentationGenerator {
     public CompletableFuture<String> generateMainDocumentation(
             final ProjectAnalysis analysis) {
         return CompletableFuture.supplyAsync(() -> {
-            StringBuilder doc = new StringBuilder();
+            ByteArrayOutputStream doc = new ByteArrayOutputStream();
+            try (MarkdownWriter out = new MarkdownWriter(
+                    Channels.newChannel(doc))) {
+                writeDocument(out, analysis);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return doc.toString(StandardCharsets.UTF_8);
+        }, formattingExecutor);
+    }
+
+    /**
+     * 📖 Streams the main README.md documentation into a file, without
+     * holding the element listing of a large project in memory. Above the
+     * shard threshold the API reference goes to per-directory index pages
+     * written in parallel, and index pages of directories that no longer
+     * exist are deleted.
+     *
+     * @param analysis project analysis
+     * @param file the README file to write
+     * @return future completing once the file is written
+     */
+    public CompletableFuture<Void> writeMainDocumentation(
+            final ProjectAnalysis analysis, final Path file) {
+        Path indexDirectory = file.resolveSibling(INDEX_DIRECTORY);
+        if (shardThreshold <= 0
+                || analysis.codeElements().size() <= shardThreshold) {
+            return CompletableFuture.runAsync(() -> {
+                writeFile(file, out -> writeDocument(out, analysis));
+                deleteStaleShards(indexDirectory, Set.of());
+            }, formattingExecutor);
+        }
+
+        Map<String, Shard> shards = shardByDirectory(analysis);
+        CompletableFuture<?>[] pages = shards.values().stream()
+                .map(shard -> CompletableFuture.runAsync(() -> writeFile(
+                        indexDirectory.resolve(shard.fileName()),
+                        out -> writeShard(out, shard)), formattingExecutor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(pages).thenRunAsync(() -> {
+            writeFile(file, out -> writeShardedDocument(out, analysis,
+                    shards.values()));
+            deleteStaleShards(indexDirectory, shards.values().stream()
+                    .map(Shard::fileName).collect(Collectors.toSet()));
+            LOGGER.info("📑 API reference split into {} index pages",
+                    shards.size());
+        }, formattingExecutor);
+    }
 
-            // Header
-            appendHeader(doc, analysis);
+    private void writeFile(final Path file,
+            final AtomicFileWriter.ContentWriter content) {
+        try {
+            fileWriter.writeFile(file, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            // Statistics
-            appendStatistics(doc, analysis);
+    private void writeDocument(final MarkdownWriter out,
+            final ProjectAnalysis analysis) throws IOException {
+        // Header
+        appendHeader(out, analysis);
 
-            // API Reference
-            appendApiReference(doc, analysis);
+        // Statistics
+        appendStatistics(out, analysis);
 
-            // Usage Examples
-            appendUsageExamples(doc, analysis);
+        // API Reference
+        appendApiReference(out, analysis);
 
-            return doc.toString();
-        });
+        // Usage Examples
+        appendUsageExamples(out, analysis);
     }
 
     /**
      * 📊 Appends header section to documentation
      */
-    private void appendHeader(final StringBuilder doc,
-            final ProjectAnalysis analysis) {
+    private void appendHeader(final MarkdownWriter out,
+            final ProjectAnalysis analysis) throws IOException {
         String projectName = Paths.get(analysis.projectPath()).getFileName()
                 .toString();
-        String icon = config.outputSettings().includeIcons() ? "📚 " : "";
+        template(OutputTemplate.README_HEADER).render(out, projectName);
+    }
 
-        doc.append(String.format("# %s%s - Code Documentation\n\n",
-                icon, projectName));
-        doc.append(String.format("Generated on: %s\n\n",
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern(
-                    "yyyy-MM-dd HH:mm:ss"))));
-        doc.append("This documentation was automatically generated using "
-                + "AI-powered code analysis.\n\n");
+    /**
+     * Render plan of a template for the icon setting
+     */
+    private MarkdownTemplate template(final OutputTemplate template) {
+        return templates.get(template,
+                config.outputSettings().includeIcons());
     }
 
     /**
      * 📈 Appends statistics section
      */
-    private void appendStatistics(final StringBuilder doc,
-            final ProjectAnalysis analysis) {
+    private void appendStatistics(final MarkdownWriter out,
+            final ProjectAnalysis analysis) throws IOException {
         ProjectAnalysis.AnalysisStats stats = analysis.getStats();
-        String icon = config.outputSettings().includeIcons() ? "📊 " : "";
+        boolean icons = config.outputSettings().includeIcons();
 
-        doc.append(String.format("## %sProject Statistics\n\n", icon));
+        out.append("## ").append(icons ? "📊 " : "")
+                .append("Project Statistics\n\n");
 
         // Generate summary without hardcoded emoji to respect includeIcons
         // setting
-        String summary;
-        if (config.outputSettings().includeIcons()) {
-            summary = stats.getFormattedSummary();
+        if (icons) {
+            out.append(stats.getFormattedSummary());
         } else {
-            summary = String.format(
-                "Analysis Summary: %d total elements (%d classes, %d methods, "
-                        + "%d fields) across %d files",
-                stats.totalElements(), stats.classCount(), stats.methodCount(),
-                stats.fieldCount(), stats.fileCount()
-            );
-        }
-        doc.append(summary).append("\n\n");
-
-        doc.append("| Element Type | Count |\n");
-        doc.append("|--------------|-------|\n");
-        doc.append(String.format("| %s Classes | %d |\n",
-            config.outputSettings().includeIcons() ? "📦" : "",
-            stats.classCount()));
-        doc.append(String.format("| %s Methods | %d |\n",
-            config.outputSettings().includeIcons() ? "🔧" : "",
-            stats.methodCount()));
-        doc.append(String.format("| %s Fields | %d |\n",
-            config.outputSettings().includeIcons() ? "📊" : "",
-            stats.fieldCount()));
-        doc.append("\n");
+            out.append("Analysis Summary: ").append(stats.totalElements())
+                    .append(" total elements (").append(stats.classCount())
+                    .append(" classes, ").append(stats.methodCount())
+                    .append(" methods, ").append(stats.fieldCount())
+                    .append(" fields) across ").append(stats.fileCount())
+                    .append(" files");
+        }
+        out.append("\n\n");
+
+        out.append("| Element Type | Count |\n");
+        out.append("|--------------|-------|\n");
+        appendCountRow(out, icons ? "📦" : "", "Classes", stats.classCount());
+        appendCountRow(out, icons ? "🔧" : "", "Methods", stats.methodCount());
+        appendCountRow(out, icons ? "📊" : "", "Fields", stats.fieldCount());
+        out.newLine();
+    }
+
+    private static void appendCountRow(final MarkdownWriter out,
+            final String icon, final String label, final long count)
+            throws IOException {
+        out.append("| ").append(icon).append(' ').append(label)
+                .append(" | ").append(count).append(" |\n");
     }
 
     /**
      * 📋 Appends API reference section
      */
-    private void appendApiReference(final StringBuilder doc,
-            final ProjectAnalysis analysis) {
-        String icon = config.outputSettings().includeIcons() ? "📋 " : "";
-        doc.append(String.format("## %sAPI Reference\n\n", icon));
+    private void appendApiReference(final MarkdownWriter out,
+            final ProjectAnalysis analysis) throws IOException {
+        boolean icons = config.outputSettings().includeIcons();
+        out.append("## ").append(icons ? "📋 " : "")
+                .append("API Reference\n\n");
 
         Map<String, List<CodeElement>> elementsByFile = analysis
                 .getElementsByFile();
 
-        elementsByFile.forEach((filePath, elements) -> {
-            String fileName = Paths.get(filePath).getFileName().toString();
-            doc.append(String.format("### %s\n\n", fileName));
+        for (Map.Entry<String, List<CodeElement>> file
+                : elementsByFile.entrySet()) {
+            appendFileReference(out, file.getKey(), file.getValue(),
+                    API_FILE_HEADING);
+        }
+    }
+
+    /**
+     * 📋 Lists the elements of one source file, grouped by type
+     */
+    private void appendFileReference(final MarkdownWriter out,
+            final String filePath, final List<CodeElement> elements,
+            final int level) throws IOException {
+        boolean icons = config.outputSettings().includeIcons();
+        out.heading(level, Paths.get(filePath).getFileName().toString());
 
-            elements.stream()
-                    .collect(Collectors.groupingBy(CodeElement::type))
-                    .forEach((type, typeElements) -> {
-                        String typeIcon = config.outputSettings()
-                                .includeIcons() ? type.getIcon() + " " : "";
-                        doc.append(String.format("#### %s%s\n\n", typeIcon,
-                                type.getDescription()));
-                        typeElements.forEach(element -> {
-                            doc.append(String.format("- **%s** - `%s`\n",
-                                    element.name(), element.signature()));
-                        });
-                        doc.append("\n");
-                    });
-        });
+        Map<CodeElementType, List<CodeElement>> elementsByType =
+                elements.stream()
+                        .collect(Collectors.groupingBy(CodeElement::type));
+        for (Map.Entry<CodeElementType, List<CodeElement>> type
+                : elementsByType.entrySet()) {
+            out.append("#".repeat(level + 1)).append(' ');
+            if (icons) {
+                out.append(type.getKey().getIcon()).append(' ');
+            }
+            out.append(type.getKey().getDescription()).append("\n\n");
+            MarkdownTemplate line = template(
+                    OutputTemplate.README_API_ELEMENT);
+            for (CodeElement element : type.getValue()) {
+                line.render(out, element.name(), element.signature());
+            }
+            out.newLine();
+        }
     }
 
     /**
-     * 💡 Appends usage examples section
+     * 📑 Writes the README of a sharded project: the API reference is a
+     * table of the index pages
+     */
+    private void writeShardedDocument(final MarkdownWriter out,
+            final ProjectAnalysis analysis, final Collection<Shard> shards)
+            throws IOException {
+        appendHeader(out, analysis);
+        appendStatistics(out, analysis);
+
+        boolean icons = config.outputSettings().includeIcons();
+        out.append("## ").append(icons ? "📋 " : "")
+                .append("API Reference\n\n");
+        out.append("The API reference of ").append(analysis.getStats()
+                .fileCount()).append(" files is split into ")
+                .append(shards.size()).append(" index pages by directory.\n\n");
+        out.append("| Directory | Files | Classes | Methods | Fields |\n");
+        out.append("|-----------|-------|---------|---------|--------|\n");
+        MarkdownTemplate row = template(OutputTemplate.README_INDEX_ROW);
+        for (Shard shard : shards) {
+            row.render(out, shard.directory(), shard.fileName(),
+                    String.valueOf(shard.files().size()),
+                    String.valueOf(shard.count(CodeElementType.CLASS)),
+                    String.valueOf(shard.count(CodeElementType.METHOD)),
+                    String.valueOf(shard.count(CodeElementType.FIELD)));
+        }
+        out.newLine();
+
+        appendUsageExamples(out, analysis);
+    }
+
+    /**
+     * 📑 Writes the index page of one directory
      */
-    private void appendUsageExamples(final StringBuilder doc,
+    private void writeShard(final MarkdownWriter out, final Shard shard)
+            throws IOException {
+        boolean icons = config.outputSettings().includeIcons();
+        out.append("# ").append(icons ? "📋 " : "").append("API Index: ")
+                .append(shard.directory()).append("\n\n");
+        out.append("[Back to README](../README.md)\n\n");
+        for (Map.Entry<String, List<CodeElement>> file
+                : shard.files().entrySet()) {
+            appendFileReference(out, file.getKey(), file.getValue(),
+                    SHARD_FILE_HEADING);
+        }
+    }
+
+    /**
+     * Groups the files of a project by their directory relative to the
+     * project root, in directory order.
+     */
+    private static Map<String, Shard> shardByDirectory(
             final ProjectAnalysis analysis) {
-        String icon = config.outputSettings().includeIcons() ? "💡 " : "";
-        doc.append(String.format("## %sUsage Examples\n\n", icon));
-        doc.append("Detailed usage examples can be found in the individual "
+        Path root = Paths.get(analysis.projectPath());
+        Map<String, Map<String, List<CodeElement>>> byDirectory =
+                new TreeMap<>();
+        for (Map.Entry<String, List<CodeElement>> file
+                : analysis.getElementsByFile().entrySet()) {
+            byDirectory.computeIfAbsent(directoryOf(root, file.getKey()),
+                    d -> new TreeMap<>()).put(file.getKey(), file.getValue());
+        }
+        Map<String, Shard> shards = new LinkedHashMap<>();
+        Set<String> fileNames = new HashSet<>();
+        for (Map.Entry<String, Map<String, List<CodeElement>>> directory
+                : byDirectory.entrySet()) {
+            String base = directory.getKey().isEmpty() ? "_root"
+                    : directory.getKey().replace('/', '.')
+                            .replaceAll("[^a-zA-Z0-9._-]", "_");
+            String fileName = base + ".md";
+            for (int i = 1; !fileNames.add(fileName); i++) {
+                fileName = base + "_" + i + ".md";
+            }
+            shards.put(directory.getKey(), new Shard(directory.getKey()
+                    .isEmpty() ? "." : directory.getKey(), fileName,
+                    directory.getValue()));
+        }
+        return shards;
+    }
+
+    private static String directoryOf(final Path root, final String file) {
+        Path parent = Paths.get(file).getParent();
+        if (parent == null) {
+            return "";
+        }
+        Path relative = parent.startsWith(root) ? root.relativize(parent)
+                : parent;
+        return relative.toString().replace('\\', '/');
+    }
+
+    /**
+     * Deletes index pages that were not written by this run.
+     */
+    private static void deleteStaleShards(final Path indexDirectory,
+            final Set<String> current) {
+        if (!Files.isDirectory(indexDirectory)) {
+            return;
+        }
+        try (Stream<Path> pages = Files.list(indexDirectory)) {
+            for (Path page : pages.toList()) {
+                String name = page.getFileName().toString();
+                if (name.endsWith(".md") && !current.contains(name)) {
+                    Files.deleteIfExists(page);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not remove old API index pages in {}: {}",
+                    indexDirectory, e.getMessage());
+        }
+    }
+
+    /**
+     * 💡 Appends usage examples section
+     */
+    private void appendUsageExamples(final MarkdownWriter out,
+            final ProjectAnalysis analysis) throws IOException {
+        out.append("## ")
+                .append(config.outputSettings().includeIcons() ? "💡 " : "")
+                .append("Usage Examples\n\n");
+        out.append("Detailed usage examples can be found in the individual "
                 + "element documentation files.\n\n");
 
         // Add links to detailed documentation
-        doc.append("### Quick Links\n\n");
-        analysis.getClasses().stream()
-                .limit(MAX_QUICK_LINKS) // Show first 5 classes as examples
-                .forEach(cls -> {
-                    String fileName = String.format("elements/class-%s.md",
-                        cls.name().replaceAll("[^a-zA-Z0-9]", "_"));
-                    doc.append(String.format("- [%s](%s)\n", cls.name(),
-                            fileName));
-                });
-        doc.append("\n");
+        out.heading(API_FILE_HEADING, "Quick Links");
+        MarkdownTemplate link = template(OutputTemplate.README_QUICK_LINK);
+        for (CodeElement cls : mostImportantClasses(analysis,
+                MAX_QUICK_LINKS)) {
+            link.render(out, cls.name(), cls.getDocumentName());
+        }
+        out.newLine();
+    }
+
+    /**
+     * Ranks classes by how often other signatures refer to them and by the
+     * size of their public API, in one pass over the elements.
+     *
+     * @param analysis project analysis
+     * @param limit maximum number of classes
+     * @return the most important classes, most important first
+     */
+    static List<CodeElement> mostImportantClasses(
+            final ProjectAnalysis analysis, final int limit) {
+        List<CodeElement> classes = analysis.getClasses();
+        Map<String, Integer> scores = new HashMap<>();
+        for (CodeElement cls : classes) {
+            scores.put(cls.name(), 0);
+        }
+        for (CodeElement element : analysis.codeElements()) {
+            if (element.type() == CodeElementType.CLASS) {
+                continue;
+            }
+            String owner = ownerName(element.qualifiedName());
+            if (element.isPublic() && scores.containsKey(owner)) {
+                scores.merge(owner, 1, Integer::sum);
+            }
+            Set<String> referenced = new HashSet<>();
+            for (String word : element.signature().split("[^A-Za-z0-9_]+")) {
+                if (!word.equals(owner) && scores.containsKey(word)
+                        && referenced.add(word)) {
+                    scores.merge(word, REFERENCE_WEIGHT, Integer::sum);
+                }
+            }
+        }
+        List<CodeElement> ranked = new ArrayList<>(classes);
+        ranked.sort(Comparator.comparingInt(
+                (CodeElement cls) -> scores.get(cls.name())).reversed()
+                .thenComparing(CodeElement::name));
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    /**
+     * Simple name of the class declaring a member, from its qualified name.
+     */
+    private static String ownerName(final String qualifiedName) {
+        int member = qualifiedName.lastIndexOf('.');
+        if (member <= 0) {
+            return "";
+        }
+        String owner = qualifiedName.substring(0, member);
+        return owner.substring(owner.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Source files of one directory and their index page
+     *
+     * @param directory directory relative to the project root
+     * @param fileName index page name inside {@value #INDEX_DIRECTORY}
+     * @param files elements of each file
+     */
+    private record Shard(String directory, String fileName,
+            Map<String, List<CodeElement>> files) {
+
+        long count(final CodeElementType type) {
+            return files.values().stream().flatMap(List::stream)
+                    .filter(e -> e.type() == type).count();
+        }
     }
 }
@@ -0,0 +1,388 @@
+package com.documentor.service.documentation;
+
+import com.documentor.model.CodeElement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📒 Write-ahead journal of completed LLM results
+ *
+ * Every successful LLM result of a documentation run is appended to
+ * {@value #FILE_NAME} in the output directory as one JSON line keyed by the
+ * kind of content, the element key and a hash of the prompt. When a run is
+ * resumed the journal is replayed and matching requests are answered from
+ * it instead of calling the model again. A changed element or prompt gets a
+ * new hash, so stale results are never reused.
+ *
+ * Appends are buffered and fsync'ed in batches ({@value #SYNC_BATCH_SIZE}
+ * entries or {@value #SYNC_INTERVAL_MILLIS} ms, whichever comes first), so a
+ * crash loses at most one batch. A torn last line is ignored on replay and
+ * cut off before a resumed run appends to the journal.
+ *
+ * A journal that is resumed run after run would keep every result ever
+ * recorded, so a completed run {@linkplain #compact(Set) compacts} it to the
+ * newest result of each element that still exists.
+ */
+public final class RunJournal implements Closeable {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(RunJournal.class);
+
+    /** Journal file name inside the output directory. */
+    public static final String FILE_NAME = ".documentor-journal.jsonl";
+
+    static final int SYNC_BATCH_SIZE = 32;
+    static final long SYNC_INTERVAL_MILLIS = 1000L;
+    private static final long SYNC_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(SYNC_INTERVAL_MILLIS);
+
+    private static final int TAIL_CHUNK_BYTES = 4096;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, String> replayed;
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingEntries;
+    private long lastSyncNanos = System.nanoTime();
+    private int recordedEntries;
+    private boolean closed;
+
+    private RunJournal(final Path fileParam, final FileChannel channelParam,
+                       final Map<String, String> replayedParam) {
+        this.file = fileParam;
+        this.channel = channelParam;
+        this.replayed = replayedParam;
+    }
+
+    /**
+     * Opens the journal of an output directory.
+     *
+     * @param outputDirectory the documentation output directory
+     * @param resume true to replay and extend an existing journal, false to
+     *               start a new one
+     * @return the open journal
+     * @throws IOException if the journal cannot be read or created
+     */
+    public static RunJournal open(final Path outputDirectory,
+                                  final boolean resume) throws IOException {
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(FILE_NAME);
+        Map<String, String> replayed = new ConcurrentHashMap<>();
+        if (resume && Files.exists(file)) {
+            replay(file, replayed);
+            LOGGER.info("📒 Resuming from journal {} with {} completed "
+                    + "results", file, replayed.size());
+        }
+        if (!resume) {
+            return new RunJournal(file, FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING), replayed);
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            // New entries must not be appended to a torn last line
+            long complete = completeLength(channel);
+            if (complete < channel.size()) {
+                LOGGER.warn("📒 Dropping the torn last line of {}", file);
+                channel.truncate(complete);
+            }
+            channel.position(complete);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new RunJournal(file, channel, replayed);
+    }
+
+    /**
+     * Length of a journal up to the end of its last complete line.
+     */
+    private static long completeLength(final FileChannel channel)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TAIL_CHUNK_BYTES);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - TAIL_CHUNK_BYTES);
+            buffer.clear().limit((int) (end - start));
+            int read = 0;
+            while (buffer.hasRemaining() && read >= 0) {
+                read = channel.read(buffer, start + buffer.position());
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Builds the journal key of an LLM request.
+     *
+     * @param kind the kind of content, e.g. "documentation"
+     * @param element the element the content is generated for
+     * @param promptHash hash of the prompt, may be null
+     * @return the journal key
+     */
+    public static String key(final String kind, final CodeElement element,
+                             final String promptHash) {
+        return kind + "|" + DocumentationManifest.elementKey(element) + "|"
+                + (promptHash != null ? promptHash : "");
+    }
+
+    /**
+     * Returns the replayed result for a key.
+     *
+     * @param key the journal key
+     * @return the result of a previous run, or null if there is none
+     */
+    public String lookup(final String key) {
+        return replayed.get(key);
+    }
+
+    /**
+     * Appends a completed result. The entry is durable once the current
+     * batch has been synced.
+     *
+     * @param key the journal key
+     * @param content the LLM result
+     */
+    public synchronized void record(final String key, final String content) {
+        if (closed) {
+            return;
+        }
+        ObjectNode entry = MAPPER.createObjectNode();
+        entry.put("key", key);
+        entry.put("content", content);
+        pending.append(entry).append('\n');
+        pendingEntries++;
+        recordedEntries++;
+        if (pendingEntries >= SYNC_BATCH_SIZE
+                || System.nanoTime() - lastSyncNanos
+                        >= SYNC_INTERVAL_NANOS) {
+            sync();
+        }
+    }
+
+    /**
+     * Writes and fsyncs all buffered entries.
+     */
+    public synchronized void sync() {
+        if (closed || pending.isEmpty()) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(
+                    pending.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            pending.setLength(0);
+            pendingEntries = 0;
+            lastSyncNanos = System.nanoTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the entries of another journal, e.g. one written by a worker
+     * for part of the project, so the next resumed run replays them.
+     * Unreadable lines are skipped.
+     *
+     * @param other the journal file to import
+     * @return the number of imported entries
+     * @throws IOException if the file cannot be read
+     */
+    public int importFrom(final Path other) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        replay(other, entries);
+        entries.forEach(this::record);
+        sync();
+        return entries.size();
+    }
+
+    /**
+     * Closes the journal and rewrites it with only the results of live
+     * elements. Of several results for the same kind of content and element
+     * (e.g. for an older version of the element) only the newest is kept.
+     * The file is read twice as a stream and replaced atomically, so a
+     * failed compaction leaves the complete journal behind.
+     *
+     * @param liveElementKeys {@link DocumentationManifest#elementKey}s of
+     *                        the elements that still exist
+     * @return the number of entries kept
+     * @throws IOException if the journal cannot be rewritten
+     */
+    public int compact(final Set<String> liveElementKeys) throws IOException {
+        close();
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        // First pass: the line of the newest entry per kind and element
+        Map<String, Integer> newest = new HashMap<>();
+        forEachEntry(file, (index, key, line) -> {
+            String slot = liveSlot(key, liveElementKeys);
+            if (slot != null) {
+                newest.put(slot, index);
+            }
+        });
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp,
+                StandardCharsets.UTF_8)) {
+            forEachEntry(file, (index, key, line) -> {
+                Integer kept = newest.get(liveSlot(key, liveElementKeys));
+                if (kept != null && kept == index) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            });
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("📒 Compacted journal {} to {} results", file,
+                newest.size());
+        return newest.size();
+    }
+
+    /**
+     * Number of results replayed from a previous run.
+     *
+     * @return the replayed entry count
+     */
+    public int replayedCount() {
+        return replayed.size();
+    }
+
+    /**
+     * Number of results recorded by this run.
+     *
+     * @return the recorded entry count
+     */
+    public synchronized int recordedCount() {
+        return recordedEntries;
+    }
+
+    /**
+     * The journal file.
+     *
+     * @return the path of the journal
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private static void replay(final Path file,
+                               final Map<String, String> replayed)
+            throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file,
+                StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode entry = parse(file, line);
+                if (entry != null) {
+                    replayed.put(entry.get("key").asText(),
+                            entry.get("content").asText());
+                }
+            }
+        }
+    }
+
+    private static void forEachEntry(final Path file,
+                                     final EntryVisitor visitor)
+            throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file,
+                StandardCharsets.UTF_8)) {
+            String line;
+            int index = 0;
+            while ((line = reader.readLine()) != null) {
+                JsonNode entry = parse(file, line);
+                if (entry != null) {
+                    visitor.visit(index, entry.get("key").asText(), line);
+                }
+                index++;
+            }
+        }
+    }
+
+    private static JsonNode parse(final Path file, final String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode entry = MAPPER.readTree(line);
+            if (entry.hasNonNull("key") && entry.hasNonNull("content")) {
+                return entry;
+            }
+        } catch (IOException | RuntimeException e) {
+            // A crash can leave the last line incomplete
+        }
+        LOGGER.warn("⚠️ Skipping unreadable journal entry in {}", file);
+        return null;
+    }
+
+    /**
+     * The kind and element part of a key (the prompt hash dropped), or null
+     * if the element is not live. Keys are {@code kind|element|hash}; the
+     * element key itself may contain '|'.
+     */
+    private static String liveSlot(final String key,
+                                   final Set<String> liveElementKeys) {
+        int kindEnd = key.indexOf('|');
+        int hashStart = key.lastIndexOf('|');
+        if (kindEnd < 0 || hashStart <= kindEnd) {
+            return null;
+        }
+        String elementKey = key.substring(kindEnd + 1, hashStart);
+        return liveElementKeys.contains(elementKey)
+                ? key.substring(0, hashStart) : null;
+    }
+
+    @FunctionalInterface
+    private interface EntryVisitor {
+        void visit(int index, String key, String line) throws IOException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.documentor.service.documentation;
+
+import com.documentor.model.ProjectAnalysis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+
+/**
+ * 🕒 Metadata of the last documentation run
+ *
+ * Stored as {@value #FILE_NAME} in the output directory. Generated
+ * documents carry no timestamps, so running twice on the same code gives
+ * byte-identical output and unchanged files keep their modification times;
+ * when and how the documentation was last generated is recorded here
+ * instead, and this file is the only one rewritten by every run.
+ *
+ * @param generatedAt when the run finished
+ * @param projectPath the documented project
+ * @param mode how the run was started: {@code full}, {@code streaming},
+ *             {@code changed} or {@code archive}
+ * @param stats element counts of the analysis
+ * @param documentsRewritten element documents written by the run
+ * @param documentsUnchanged element documents kept from the previous run
+ * @param projectOutputsRebuilt whether README, unit tests and diagrams
+ *                              were regenerated
+ */
+public record RunMetadata(
+        Instant generatedAt,
+        String projectPath,
+        String mode,
+        ProjectAnalysis.AnalysisStats stats,
+        int documentsRewritten,
+        int documentsUnchanged,
+        boolean projectOutputsRebuilt) {
+
+    /** Metadata file name inside the output directory. */
+    public static final String FILE_NAME = ".documentor-run.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Writes the metadata to an output directory, replacing that of the
+     * previous run.
+     *
+     * @param outputDirectory the documentation output directory
+     * @return the metadata file
+     * @throws IOException if the file cannot be written
+     */
+    public Path save(final Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(FILE_NAME);
+        Path temp = outputDirectory.resolve(FILE_NAME + ".tmp");
+        Files.write(temp, toJson());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * Serializes the metadata as it is saved.
+     *
+     * @return the JSON document
+     * @throws IOException if the metadata cannot be serialized
+     */
+    public byte[] toJson() throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("generatedAt", generatedAt.toString());
+        root.put("projectPath", projectPath);
+        root.put("mode", mode);
+        root.set("stats", MAPPER.valueToTree(stats));
+        root.put("documentsRewritten", documentsRewritten);
+        root.put("documentsUnchanged", documentsUnchanged);
+        root.put("projectOutputsRebuilt", projectOutputsRebuilt);
+        return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(root);
+    }
+}
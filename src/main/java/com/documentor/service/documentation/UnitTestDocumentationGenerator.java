@@ -6,6 +6,8 @@ import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.LlmService;
 import com.documentor.service.LlmServiceFix;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -32,14 +34,18 @@ public class UnitTestDocumentationGenerator {
     private final LlmService llmService;
     private final DocumentorConfig config;
     private final LlmServiceFix llmServiceFix;
+    private final AtomicFileWriter fileWriter;
 
     public UnitTestDocumentationGenerator(
             final LlmService llmServiceParam,
             final DocumentorConfig configParam,
-            final LlmServiceFix llmServiceFixParam) {
+            final LlmServiceFix llmServiceFixParam,
+            final AtomicFileWriter fileWriterParam) {
         this.llmService = llmServiceParam;
         this.config = configParam;
         this.llmServiceFix = llmServiceFixParam;
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
     }
 
     /**
@@ -113,8 +119,9 @@ public class UnitTestDocumentationGenerator {
                             });
 
                             try {
-                                Files.write(testsDir.resolve("unit-tests.md"),
-                                        testDoc.toString().getBytes());
+                                fileWriter.writeFile(
+                                        testsDir.resolve("unit-tests.md"),
+                                        testDoc.toString());
                             } catch (IOException e) {
                                 LOGGER.error("❌ Error writing test "
                                         + "documentation: {}", e.getMessage());
@@ -2,19 +2,43 @@ package com.documentor.service.documentation;
 
 import com.documentor.constants.ApplicationConstants;
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.LlmServiceEnhanced;
 import com.documentor.service.LlmServiceFixEnhanced;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.service.io.MarkdownWriter;
+import com.documentor.service.template.MarkdownTemplate;
+import com.documentor.service.template.OutputTemplate;
+import com.documentor.service.template.OutputTemplates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * 🧪 Enhanced Unit Test Documentation Generator
@@ -28,161 +52,377 @@ public class UnitTestDocumentationGeneratorEnhanced {
     private static final Logger LOGGER = LoggerFactory.getLogger(
             UnitTestDocumentationGeneratorEnhanced.class);
 
+    private static final String TESTS_DIRECTORY = "tests";
+    private static final String TESTS_FILE_NAME = "unit-tests.md";
+    private static final int DEFAULT_FUTURE_TIMEOUT_SECONDS = 60;
+    private static final String TESTS_PROMPT_TYPE = "tests";
+    private static final int COPY_BUFFER_SIZE = 8192;
+
     private final LlmServiceEnhanced llmService;
     private final DocumentorConfig config;
     private final LlmServiceFixEnhanced llmServiceFix;
+    private final int llmConcurrency;
+    private final Scheduler writeScheduler;
+    private final AtomicFileWriter fileWriter;
+    private final OutputTemplates templates;
+    private final UnitTestLayout layout;
 
+    /**
+     * @param layoutParam how tests are split into files; null for a single
+     *                    {@code unit-tests.md}
+     */
+    @Autowired
     public UnitTestDocumentationGeneratorEnhanced(
             final LlmServiceEnhanced llmServiceParam,
             final DocumentorConfig configParam,
-            final LlmServiceFixEnhanced llmServiceFixParam) {
+            final LlmServiceFixEnhanced llmServiceFixParam,
+            final ExecutorRegistry executorRegistryParam,
+            final AtomicFileWriter fileWriterParam,
+            final OutputTemplates templatesParam,
+            @Value("${documentor.output.unit-test-layout:SINGLE_FILE}")
+            final UnitTestLayout layoutParam) {
+        this.layout = layoutParam != null ? layoutParam
+                : UnitTestLayout.SINGLE_FILE;
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+        this.templates = templatesParam != null ? templatesParam
+                : OutputTemplates.defaults();
         this.llmService = llmServiceParam;
         this.config = configParam;
         this.llmServiceFix = llmServiceFixParam;
+        this.llmConcurrency = LlmPipelineSupport.llmConcurrency(
+                executorRegistryParam);
+        this.writeScheduler = LlmPipelineSupport.writeScheduler(
+                executorRegistryParam);
     }
 
     /**
      * 🧪 Generates unit test documentation with enhanced error handling
+     *
+     * Elements flow through a bounded pipeline: at most one LLM call per
+     * llm-io thread is in flight, results are kept in element order and
+     * streamed to {@code tests/unit-tests.md} on the file-write pool as they
+     * arrive, so memory stays flat regardless of project size. With a
+     * per-class {@link UnitTestLayout} each class gets its own file,
+     * committed as soon as its elements are done.
      */
     public CompletableFuture<Void> generateUnitTestDocumentation(
             final ProjectAnalysis analysis, final Path outputPath) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Ensure the ThreadLocal configuration is set before
-                // generating unit tests
-                if (config != null) {
-                    LOGGER.info("Setting ThreadLocal configuration "
-                            + "for unit test generation");
-                    llmServiceFix.setLlmServiceThreadLocalConfig(
-                            config);
-
-                    // Verify the configuration was set properly
-                    boolean configAvailable = llmServiceFix
-                            .isThreadLocalConfigAvailable();
-                    if (!configAvailable) {
-                        LOGGER.warn("ThreadLocal configuration is still not "
-                                + "available - unit test generation may fail");
-                    }
-                } else {
-                    LOGGER.warn("Configuration is null - cannot set "
-                            + "ThreadLocal config for unit test generation");
-                }
+        return generateUnitTestDocumentation(analysis, outputPath,
+                GenerationOptions.defaults());
+    }
 
-                // Create the tests directory
-                Path testsDir = outputPath.resolve("tests");
-                try {
-                    Files.createDirectories(testsDir);
-                } catch (IOException e) {
-                    LOGGER.error("Failed to create tests directory: {}",
-                            e.getMessage());
-                    return null;
-                }
+    /**
+     * 🧪 Generates unit test documentation with per-run options; with a
+     * journal, tests generated by a previous run are reused and new ones are
+     * recorded
+     *
+     * The ThreadLocal configuration is set on the calling thread for as long
+     * as it starts the pipeline and cleared there again in a finally block;
+     * the pool threads the pipeline continues on propagate it per task.
+     */
+    public CompletableFuture<Void> generateUnitTestDocumentation(
+            final ProjectAnalysis analysis, final Path outputPath,
+            final GenerationOptions options) {
+        setupThreadLocalConfig();
+        try {
+            return startUnitTestDocumentation(analysis, outputPath, options);
+        } finally {
+            // Clean up ThreadLocal to prevent memory leaks
+            llmServiceFix.cleanupThreadLocalConfig();
+        }
+    }
+
+    private CompletableFuture<Void> startUnitTestDocumentation(
+            final ProjectAnalysis analysis, final Path outputPath,
+            final GenerationOptions options) {
+        return Mono.fromCallable(() -> prepareTestsDirectory(outputPath))
+                .flatMap(testsDir -> (layout == UnitTestLayout.SINGLE_FILE
+                        ? writeUnitTests(analysis, testsDir, options)
+                                .thenReturn(Set.of(TESTS_FILE_NAME))
+                        : writeClassUnitTests(analysis, testsDir, options))
+                        .doOnNext(written -> deleteStaleTests(testsDir,
+                                written)))
+                .then()
+                .onErrorResume(e -> {
+                    LOGGER.error("❌ Error generating test documentation: {}",
+                            e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .toFuture();
+    }
+
+    /**
+     * 🧪 Sets up the ThreadLocal configuration of the calling thread
+     */
+    private void setupThreadLocalConfig() {
+        // Ensure the ThreadLocal configuration is set before generating
+        // unit tests
+        if (config != null) {
+            LOGGER.info("Setting ThreadLocal configuration "
+                    + "for unit test generation");
+            llmServiceFix.setLlmServiceThreadLocalConfig(config);
+
+            // Verify the configuration was set properly
+            if (!llmServiceFix.isThreadLocalConfigAvailable()) {
+                LOGGER.warn("ThreadLocal configuration is still not "
+                        + "available - unit test generation may fail");
+            }
+        } else {
+            LOGGER.warn("Configuration is null - cannot set "
+                    + "ThreadLocal config for unit test generation");
+        }
+    }
 
-                StringBuilder testDoc = new StringBuilder();
-                appendTestDocumentationHeader(testDoc);
+    /**
+     * 🧪 Creates the tests directory
+     */
+    private Path prepareTestsDirectory(final Path outputPath)
+            throws IOException {
+        Path testsDir = outputPath.resolve(TESTS_DIRECTORY);
+        Files.createDirectories(testsDir);
+        return testsDir;
+    }
 
-                // Filter out elements that are not appropriate for
-                // unit testing
-                List<CompletableFuture<String>> testFutures = analysis
-                        .codeElements().stream()
+    /**
+     * 🧪 Streams generated tests into a pending file that replaces
+     * {@code unit-tests.md} once every element has been written
+     */
+    private Mono<Void> writeUnitTests(final ProjectAnalysis analysis,
+                                      final Path testsDir,
+                                      final GenerationOptions options) {
+        Path target = testsDir.resolve(TESTS_FILE_NAME);
+
+        // Filter out elements that are not appropriate for unit testing
+        // (before entering Reactor, which rejects null elements)
+        Flux<String> sections = Flux.fromStream(() -> analysis.codeElements()
+                        .stream()
                         .filter(element -> element != null
                                 && element.type() != null
-                                && element.type() != CodeElementType.FIELD)
-                        .map(element -> {
-                            try {
-                                // Ensure configuration is set for each element
-                                llmServiceFix.setLlmServiceThreadLocalConfig(
-                                        config);
-                                LOGGER.info("Generating unit tests for: {}",
-                                        element.name());
-
-                                // Safely generate unit tests, catching and
-                                // handling potential exceptions
-                                return llmService.generateUnitTests(element);
-                            } catch (Exception e) {
-                                LOGGER.error(
-                                        "Error generating unit tests for "
-                                        + "element {}: {}",
-                                        element.name(), e.getMessage(), e);
-
-                                // Return a CompletableFuture with an error
-                                // message instead of failing
-                                return CompletableFuture.completedFuture(
-                                    "```java\n// Error generating unit "
-                                    + "tests for " + element.name() + ": "
-                                    + e.getMessage() + "\n```");
-                            }
-                        })
-                        .toList();
-
-                // Wait for all futures to complete
-                try {
-                    CompletableFuture.allOf(
-                            testFutures.toArray(new CompletableFuture[0]))
-                            .thenRun(() -> {
-                                try {
-                                    // Process results
-                                    testFutures.forEach(future -> {
-                                        try {
-                                            String testContent = future.join();
-                                            if (testContent != null) {
-                                                testDoc.append(testContent)
-                                                        .append("\n\n");
-                                            }
-                                        } catch (Exception e) {
-                                            LOGGER.error(
-                                                    "Error processing test "
-                                                    + "future result: {}",
-                                                    e.getMessage());
-                                            testDoc.append(
-                                                    "// Error processing ")
-                                                    .append("test: ")
-                                                    .append(e.getMessage())
-                                                    .append("\n\n");
-                                        }
-                                    });
-
-                                    // Write the output file
-                                    try {
-                                        Files.write(
-                                                testsDir.resolve(
-                                                        "unit-tests.md"),
-                                                testDoc.toString().getBytes());
-                                        LOGGER.info(
-                                                "✅ Successfully wrote "
-                                                        + "unit tests to {}",
-                                                testsDir.resolve(
-                                                        "unit-tests.md"));
-                                    } catch (IOException e) {
-                                        LOGGER.error(
-                                                "❌ Error writing test "
-                                                        + "documentation: {}",
-                                                e.getMessage());
-                                    }
-                                } catch (Exception e) {
-                                    LOGGER.error(
-                                            "Error in test future completion "
-                                            + "handler: {}",
-                                            e.getMessage(), e);
-                                } finally {
-                                    // Clean up ThreadLocal to prevent
-                                    // memory leaks
-                                    llmServiceFix.cleanupThreadLocalConfig();
-                                }
-                            })
-                            .join();
-                } catch (Exception e) {
-                    LOGGER.error("Error waiting for test futures: {}",
-                            e.getMessage(), e);
-                }
+                                && element.type() != CodeElementType.FIELD))
+                .flatMapSequential(element -> generateTestsFor(element,
+                        options), llmConcurrency)
+                .publishOn(writeScheduler, LlmPipelineSupport.WRITE_PREFETCH);
+
+        return Mono.using(
+                () -> options.fileWriterOr(fileWriter).open(target),
+                file -> Flux.concat(Mono.fromCallable(this::buildHeader),
+                                sections)
+                        .doOnNext(section -> appendSection(file.writer(),
+                                section))
+                        .then(Mono.fromCallable(file::commit)),
+                AtomicFileWriter.PendingFile::close)
+                .doOnSuccess(written -> LOGGER.info(
+                        "✅ Successfully wrote unit tests to {}", target))
+                .then();
+    }
 
-                return null;
-            } catch (Exception e) {
-                LOGGER.error("❌ Error generating test documentation: {}",
-                        e.getMessage(), e);
-                return null;
+    /**
+     * 🧪 Writes one file per class in completion order: classes are
+     * generated side by side, one element at a time each, and every section
+     * is appended to its class file as it arrives, so only the sections in
+     * flight are held in memory. A hung element only holds back its own
+     * class. The merged layout then concatenates the class files in element
+     * order.
+     *
+     * @return names of the files written to the tests directory
+     */
+    private Mono<Set<String>> writeClassUnitTests(
+            final ProjectAnalysis analysis, final Path testsDir,
+            final GenerationOptions options) {
+        List<TestGroup> groups = groupByClass(analysis);
+        return Flux.fromIterable(groups)
+                .flatMap(group -> writeClassTests(group, testsDir, options),
+                        llmConcurrency)
+                .collect(HashSet<String>::new, Set::add)
+                .flatMap(written -> {
+                    if (layout != UnitTestLayout.PER_CLASS_MERGED) {
+                        return Mono.just(written);
+                    }
+                    return Mono.fromCallable(() -> {
+                        mergeClassTests(groups, testsDir, written,
+                                options.fileWriterOr(fileWriter));
+                        written.add(TESTS_FILE_NAME);
+                        return written;
+                    }).subscribeOn(writeScheduler);
+                });
+    }
+
+    /**
+     * 🧪 Streams the tests of one class into its own file
+     */
+    private Mono<String> writeClassTests(final TestGroup group,
+                                         final Path testsDir,
+                                         final GenerationOptions options) {
+        Path target = testsDir.resolve(group.fileName());
+        return Mono.using(
+                () -> {
+                    AtomicFileWriter.PendingFile file =
+                            options.fileWriterOr(fileWriter).open(target);
+                    template(OutputTemplate.UNIT_TESTS_CLASS_HEADER)
+                            .render(file.writer(), group.name());
+                    return file;
+                },
+                file -> Flux.fromIterable(group.elements())
+                        .concatMap(element -> generateTestsFor(element,
+                                options))
+                        .publishOn(writeScheduler,
+                                LlmPipelineSupport.WRITE_PREFETCH)
+                        .doOnNext(section -> appendSection(file.writer(),
+                                section))
+                        .then(Mono.fromCallable(file::commit)),
+                AtomicFileWriter.PendingFile::close)
+                .thenReturn(group.fileName())
+                .onErrorResume(e -> {
+                    LOGGER.error("❌ Error writing unit tests of {}: {}",
+                            group.name(), e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 🧪 Concatenates the class files into {@code unit-tests.md}, copying
+     * each file without its title so no class is held in memory whole
+     */
+    private void mergeClassTests(final List<TestGroup> groups,
+                                 final Path testsDir,
+                                 final Set<String> written,
+                                 final AtomicFileWriter writer)
+            throws IOException {
+        writer.writeFile(testsDir.resolve(TESTS_FILE_NAME), out -> {
+            out.append(buildHeader());
+            char[] buffer = new char[COPY_BUFFER_SIZE];
+            for (TestGroup group : groups) {
+                Path file = testsDir.resolve(group.fileName());
+                if (!written.contains(group.fileName())
+                        || !Files.exists(file)) {
+                    continue;
+                }
+                template(OutputTemplate.UNIT_TESTS_MERGED_CLASS)
+                        .render(out, group.name());
+                try (BufferedReader reader = Files.newBufferedReader(file,
+                        StandardCharsets.UTF_8)) {
+                    // Skip the title and the blank line after it
+                    reader.readLine();
+                    reader.readLine();
+                    int read;
+                    while ((read = reader.read(buffer)) > 0) {
+                        out.append(CharBuffer.wrap(buffer, 0, read));
+                    }
+                }
             }
         });
+        LOGGER.info("✅ Merged unit tests of {} classes into {}",
+                written.size(), TESTS_FILE_NAME);
+    }
+
+    /**
+     * 🧪 Groups the testable elements by the class that declares them, in
+     * the order the classes first appear
+     */
+    private static List<TestGroup> groupByClass(
+            final ProjectAnalysis analysis) {
+        Map<String, List<CodeElement>> byClass = new LinkedHashMap<>();
+        for (CodeElement element : analysis.codeElements()) {
+            if (element == null || element.type() == null
+                    || element.type() == CodeElementType.FIELD) {
+                continue;
+            }
+            String owner = element.type() == CodeElementType.CLASS
+                    ? element.qualifiedName()
+                    : ownerOf(element.qualifiedName());
+            byClass.computeIfAbsent(owner, o -> new ArrayList<>())
+                    .add(element);
+        }
+        Set<String> fileNames = new HashSet<>();
+        List<TestGroup> groups = new ArrayList<>();
+        for (Map.Entry<String, List<CodeElement>> entry
+                : byClass.entrySet()) {
+            String base = "class-" + entry.getKey()
+                    .replaceAll("[^a-zA-Z0-9._-]", "_");
+            String fileName = base + ".md";
+            for (int i = 1; !fileNames.add(fileName); i++) {
+                fileName = base + "_" + i + ".md";
+            }
+            groups.add(new TestGroup(entry.getKey(), fileName,
+                    entry.getValue()));
+        }
+        return groups;
+    }
+
+    private static String ownerOf(final String qualifiedName) {
+        int member = qualifiedName.lastIndexOf('.');
+        return member > 0 ? qualifiedName.substring(0, member)
+                : "standalone";
+    }
+
+    /**
+     * 🧪 Deletes test files that were not written by this run, such as the
+     * files of removed classes or those of another layout
+     */
+    private static void deleteStaleTests(final Path testsDir,
+                                         final Set<String> written) {
+        try (Stream<Path> files = Files.list(testsDir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".md") && !written.contains(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not remove old unit test files in {}: {}",
+                    testsDir, e.getMessage());
+        }
+    }
+
+    /**
+     * 🧪 Generates the unit tests of one element, never failing
+     */
+    private Mono<String> generateTestsFor(final CodeElement element,
+                                          final GenerationOptions options) {
+        RunJournal journal = options.getJournal();
+        String journalKey = journal != null
+                ? RunJournal.key(TESTS_PROMPT_TYPE, element,
+                        llmService.promptFingerprint(element,
+                                TESTS_PROMPT_TYPE))
+                : null;
+        return LlmPipelineSupport.callLlm(options, journalKey, () -> {
+                    // Ensure configuration is set for each element
+                    llmServiceFix.setLlmServiceThreadLocalConfig(config);
+                    LOGGER.info("Generating unit tests for: {}",
+                            element.name());
+                    return llmService.generateUnitTests(element);
+                },
+                Duration.ofSeconds(DEFAULT_FUTURE_TIMEOUT_SECONDS),
+                ex -> {
+                    LOGGER.error("Error generating unit tests for "
+                            + "element {}: {}", element.name(),
+                            ex.getMessage());
+                    return "```java\n// Error generating unit tests for "
+                            + element.name() + ": " + ex.getMessage()
+                            + "\n```";
+                });
+    }
+
+    private void appendSection(final MarkdownWriter writer,
+                               final String section) {
+        if (section.isEmpty()) {
+            return;
+        }
+        try {
+            writer.paragraph(section);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 🧪 Builds the test documentation header
+     */
+    private String buildHeader() {
+        StringBuilder header = new StringBuilder();
+        appendTestDocumentationHeader(header);
+        return header.toString();
     }
 
     /**
@@ -190,17 +430,17 @@ public class UnitTestDocumentationGeneratorEnhanced {
      */
     private void appendTestDocumentationHeader(final StringBuilder doc) {
         try {
-            String icon = config != null && config.outputSettings() != null
-                        && config.outputSettings().includeIcons() ? "🧪 " : "";
+            boolean settings = config != null && config.outputSettings() != null;
+            boolean icons = settings && config.outputSettings().includeIcons();
 
-            doc.append(String.format("# %sGenerated Unit Tests\n\n", icon));
-            doc.append("This file contains AI-generated unit test suggestions "
-                    + "for the analyzed code.\n\n");
+            templates.get(OutputTemplate.UNIT_TESTS_HEADER, icons).render(doc);
 
-            if (config != null && config.outputSettings() != null) {
-                doc.append(String.format("Target Coverage: %.0f%%\n\n",
-                    config.outputSettings().targetCoverage()
-                    * ApplicationConstants.PERCENTAGE_MULTIPLIER));
+            if (settings) {
+                long coverage = Math.round(config.outputSettings()
+                        .targetCoverage()
+                        * ApplicationConstants.PERCENTAGE_MULTIPLIER);
+                templates.get(OutputTemplate.UNIT_TESTS_COVERAGE, icons)
+                        .render(doc, Long.toString(coverage));
             }
         } catch (Exception e) {
             LOGGER.error("Error creating test documentation header: {}",
@@ -210,4 +450,24 @@ public class UnitTestDocumentationGeneratorEnhanced {
                     + "for the analyzed code.\n\n");
         }
     }
+
+    /**
+     * Render plan of a template for the icon setting
+     */
+    private MarkdownTemplate template(final OutputTemplate template) {
+        boolean icons = config != null && config.outputSettings() != null
+                && config.outputSettings().includeIcons();
+        return templates.get(template, icons);
+    }
+
+    /**
+     * Testable elements of one class and the file of their tests
+     *
+     * @param name qualified name of the class
+     * @param fileName file name inside the tests directory
+     * @param elements the class and its methods, in source order
+     */
+    private record TestGroup(String name, String fileName,
+                             List<CodeElement> elements) {
+    }
 }
@@ -0,0 +1,25 @@
+package com.documentor.service.documentation;
+
+/**
+ * 🧪 How generated unit tests are laid out in the {@code tests} directory
+ */
+public enum UnitTestLayout {
+
+    /**
+     * One {@code unit-tests.md} in element order; a slow element holds back
+     * everything after it.
+     */
+    SINGLE_FILE,
+
+    /**
+     * One file per class, each committed as soon as its elements are done,
+     * in completion order.
+     */
+    PER_CLASS,
+
+    /**
+     * One file per class, then {@code unit-tests.md} merged from them in
+     * element order.
+     */
+    PER_CLASS_MERGED
+}
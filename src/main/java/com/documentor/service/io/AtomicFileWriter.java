@@ -1,19 +1,54 @@
 package com.documentor.service.io;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import com.documentor.util.ContentHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * 🔒 AtomicFileWriter - Thread-safe file writing with collision handling
  *
- * Provides atomic file write operations with configurable collision policies.
- * Ensures data integrity through write-to-temp-then-move pattern and thread
- * synchronization via ReentrantReadWriteLock for concurrent access.
+ * The single output path of the generators. Content is written to a
+ * temporary file next to its target and renamed into place, so readers
+ * never see a half-written document. Only the rename is locked, and only
+ * against writes to the same path: locks are striped by target path, so
+ * parallel generators writing different files never wait for each other.
+ *
+ * With {@code skipUnchanged}, a file whose new content hashes the same as
+ * the existing file is left untouched, keeping its timestamp, so
+ * regenerating documentation only changes files whose content changed.
+ *
+ * Directories are created once and remembered. Several files can be
+ * published together through a {@link Batch}, which with
+ * {@code syncOnCommit} flushes all of them and each of their directories
+ * once, instead of once per file.
+ *
+ * While an {@link OutputArchive} is attached, files below its root are
+ * appended to the archive instead of being renamed into place; their
+ * temporary files are staged in the archive's spool directory.
  *
  * Usage:
  * <pre>{@code
@@ -27,10 +62,32 @@ public class AtomicFileWriter {
             AtomicFileWriter.class);
     private static final String TEMP_FILE_SUFFIX = ".tmp";
     private static final int MAX_SUFFIX_ATTEMPTS = 1000;
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Streams the content.
+         *
+         * @param out the writer of the temporary file
+         * @throws IOException if the content cannot be written
+         */
+        void write(MarkdownWriter out) throws IOException;
+    }
 
     private final CollisionPolicy policy;
-    private final ReentrantReadWriteLock lock;
-    private Path lastWrittenPath;
+    private final boolean syncOnCommit;
+    private final boolean skipUnchanged;
+    private final ReentrantLock[] stripes;
+    private final Set<Path> knownDirectories = ConcurrentHashMap.newKeySet();
+    private final Map<Path, Integer> nextSuffixes = new ConcurrentHashMap<>();
+    private final AtomicLong tempFiles = new AtomicLong();
+    private final AtomicLong unchangedWrites = new AtomicLong();
+    private final List<OutputArchive> archives = new CopyOnWriteArrayList<>();
+    private volatile Path lastWrittenPath;
 
     /**
      * Creates an AtomicFileWriter with the specified collision policy.
@@ -38,9 +95,42 @@ public class AtomicFileWriter {
      * @param policy the collision policy to use (e.g., OVERWRITE, SKIP, SUFFIX)
      */
     public AtomicFileWriter(final CollisionPolicy policy) {
+        this(policy, false);
+    }
+
+    /**
+     * Creates an AtomicFileWriter that can flush files to disk before
+     * publishing them.
+     *
+     * @param policy the collision policy to use
+     * @param syncOnCommitParam whether files and their directories are
+     *                          flushed to disk when published
+     */
+    public AtomicFileWriter(final CollisionPolicy policy,
+                            final boolean syncOnCommitParam) {
+        this(policy, syncOnCommitParam, false);
+    }
+
+    /**
+     * Creates an AtomicFileWriter that can leave files with unchanged
+     * content untouched.
+     *
+     * @param policy the collision policy to use
+     * @param syncOnCommitParam whether files and their directories are
+     *                          flushed to disk when published
+     * @param skipUnchangedParam whether writes whose content equals the
+     *                           existing file are skipped
+     */
+    public AtomicFileWriter(final CollisionPolicy policy,
+                            final boolean syncOnCommitParam,
+                            final boolean skipUnchangedParam) {
         this.policy = policy;
-        this.lock = new ReentrantReadWriteLock();
-        this.lastWrittenPath = null;
+        this.syncOnCommit = syncOnCommitParam;
+        this.skipUnchanged = skipUnchangedParam;
+        this.stripes = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -55,24 +145,10 @@ public class AtomicFileWriter {
      */
     public boolean writeFile(final Path targetPath, final String content)
             throws IOException {
-        if (targetPath == null) {
-            throw new IllegalArgumentException("Target path cannot be null");
-        }
         if (content == null) {
             throw new IllegalArgumentException("Content cannot be null");
         }
-
-        lock.writeLock().lock();
-        try {
-            Path resolvedPath = handleCollision(targetPath);
-            if (resolvedPath == null) {
-                LOGGER.debug("Write skipped for file: {}", targetPath);
-                return false;
-            }
-            return writeAtomically(resolvedPath, content);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        return writeFile(targetPath, out -> out.append(content));
     }
 
     /**
@@ -86,24 +162,100 @@ public class AtomicFileWriter {
      */
     public boolean writeFile(final Path targetPath, final byte[] content)
             throws IOException {
-        if (targetPath == null) {
-            throw new IllegalArgumentException("Target path cannot be null");
-        }
+        validateTarget(targetPath);
         if (content == null) {
             throw new IllegalArgumentException("Content cannot be null");
         }
-
-        lock.writeLock().lock();
+        if (skipsExisting(targetPath)) {
+            return false;
+        }
+        byte[] hash = skipUnchanged
+                ? ContentHash.newSha256().digest(content) : null;
+        Path tempPath = createTempFile(targetPath);
         try {
-            Path resolvedPath = handleCollision(targetPath);
-            if (resolvedPath == null) {
-                LOGGER.debug("Write skipped for file: {}", targetPath);
-                return false;
+            Files.write(tempPath, content, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            if (syncOnCommit) {
+                force(tempPath);
             }
-            return writeAtomically(resolvedPath, content);
-        } finally {
-            lock.writeLock().unlock();
+        } catch (final IOException e) {
+            discard(tempPath);
+            throw e;
         }
+        return publishAndSync(targetPath, tempPath, hash, content.length);
+    }
+
+    /**
+     * Atomically writes streamed content to a file using the configured
+     * collision policy.
+     *
+     * @param targetPath the target file path
+     * @param content writes the content
+     * @return true if write succeeded, false if skipped due to collision
+     * @throws IOException if an I/O error occurs during write
+     */
+    public boolean writeFile(final Path targetPath,
+                             final ContentWriter content) throws IOException {
+        validateTarget(targetPath);
+        if (skipsExisting(targetPath)) {
+            return false;
+        }
+        try (PendingFile file = open(targetPath)) {
+            content.write(file.writer());
+            return file.commit();
+        }
+    }
+
+    /**
+     * Opens a file whose content is written over time, for example as
+     * results arrive from a reactive pipeline. Nothing is visible at the
+     * target until {@link PendingFile#commit()}; closing an uncommitted
+     * file discards it.
+     *
+     * @param targetPath the target file path
+     * @return the pending file
+     * @throws IOException if the temporary file cannot be created
+     */
+    public PendingFile open(final Path targetPath) throws IOException {
+        validateTarget(targetPath);
+        return new PendingFile(targetPath, createTempFile(targetPath));
+    }
+
+    /**
+     * Starts a batch of files that are published together.
+     *
+     * @return the batch
+     */
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Routes files below the archive's root into the archive until it is
+     * detached.
+     *
+     * @param archive the archive to write to
+     */
+    public void attach(final OutputArchive archive) {
+        archives.add(archive);
+    }
+
+    /**
+     * Stops routing files into an archive.
+     *
+     * @param archive the archive attached before
+     */
+    public void detach(final OutputArchive archive) {
+        archives.remove(archive);
+    }
+
+    /**
+     * Number of writes skipped because the file already had the content.
+     *
+     * @return the unchanged write count
+     */
+    public long getUnchangedCount() {
+        return unchangedWrites.get();
     }
 
     /**
@@ -112,151 +264,546 @@ public class AtomicFileWriter {
      * @return the last written path, or null if no writes have succeeded
      */
     public Path getLastWrittenPath() {
-        lock.readLock().lock();
-        try {
-            return lastWrittenPath;
-        } finally {
-            lock.readLock().unlock();
+        return lastWrittenPath;
+    }
+
+    private static void validateTarget(final Path targetPath) {
+        if (targetPath == null) {
+            throw new IllegalArgumentException("Target path cannot be null");
+        }
+    }
+
+    /**
+     * Whether a write can be skipped before producing its content
+     */
+    private boolean skipsExisting(final Path targetPath) {
+        OutputArchive archive = archiveOf(targetPath);
+        if (archive != null) {
+            return policy == CollisionPolicy.SKIP
+                    && archive.contains(archive.entryName(targetPath));
+        }
+        if (policy == CollisionPolicy.SKIP && Files.exists(targetPath)) {
+            LOGGER.debug("Skipping write - file exists: {}", targetPath);
+            return true;
         }
+        return false;
     }
 
     /**
-     * Handles file collision based on configured policy.
+     * Creates an empty temporary file next to the target, creating the
+     * directory the first time it is seen.
      *
      * @param targetPath the target file path
-     * @return the path to write to, or null if write should be skipped
+     * @return the temporary file
+     * @throws IOException if the file cannot be created
      */
-    private Path handleCollision(final Path targetPath) {
-        if (!Files.exists(targetPath)) {
-            return targetPath;
+    private Path createTempFile(final Path targetPath) throws IOException {
+        OutputArchive archive = archiveOf(targetPath);
+        if (archive != null) {
+            return Files.createFile(archive.getSpoolDirectory().resolve(
+                    tempFiles.incrementAndGet() + TEMP_FILE_SUFFIX));
+        }
+        Path directory = directoryOf(targetPath);
+        Path tempPath = directory.resolve("." + targetPath.getFileName()
+                + "." + tempFiles.incrementAndGet() + TEMP_FILE_SUFFIX);
+        if (knownDirectories.add(directory)) {
+            try {
+                Files.createDirectories(directory);
+            } catch (final IOException e) {
+                knownDirectories.remove(directory);
+                throw e;
+            }
+        }
+        try {
+            return Files.createFile(tempPath);
+        } catch (final NoSuchFileException e) {
+            // Removed since it was cached
+            Files.createDirectories(directory);
+            return Files.createFile(tempPath);
+        }
+    }
+
+    /**
+     * The attached archive a file is written to, or null to write it to
+     * disk.
+     */
+    private OutputArchive archiveOf(final Path targetPath) {
+        for (OutputArchive archive : archives) {
+            if (archive.entryName(targetPath) != null) {
+                return archive;
+            }
+        }
+        return null;
+    }
+
+    private static Path directoryOf(final Path targetPath) {
+        Path parent = targetPath.toAbsolutePath().getParent();
+        return parent != null ? parent : targetPath.toAbsolutePath();
+    }
+
+    private boolean publishAndSync(final Path targetPath, final Path tempPath,
+                                   final byte[] hash, final long size)
+            throws IOException {
+        boolean written = publish(targetPath, tempPath, hash, size) != null;
+        if (written && syncOnCommit) {
+            syncDirectory(directoryOf(targetPath));
         }
+        return written;
+    }
 
-        // Java 17: Traditional switch statement (Java 21 used switch expressions)
-        switch (policy) {
-            case OVERWRITE:
-                LOGGER.debug("Overwriting existing file: {}", targetPath);
+    /**
+     * Renames a finished temporary file into place according to the
+     * collision policy.
+     *
+     * @param targetPath the target file path
+     * @param tempPath the finished temporary file
+     * @param hash SHA-256 of the content when unchanged files are skipped,
+     *             otherwise null
+     * @param size size of the content in bytes
+     * @return the path written, or null if the file was skipped
+     * @throws IOException if the file cannot be moved
+     */
+    private Path publish(final Path targetPath, final Path tempPath,
+                         final byte[] hash, final long size)
+            throws IOException {
+        OutputArchive archive = archiveOf(targetPath);
+        if (archive != null) {
+            return appendToArchive(archive, targetPath, tempPath);
+        }
+        ReentrantLock lock = stripeOf(targetPath);
+        lock.lock();
+        try {
+            if (hash != null && policy != CollisionPolicy.SKIP
+                    && hasContent(targetPath, hash, size)) {
+                LOGGER.debug("Content unchanged, keeping: {}", targetPath);
+                discard(tempPath);
+                unchangedWrites.incrementAndGet();
+                this.lastWrittenPath = targetPath;
                 return targetPath;
-            case SKIP:
-                LOGGER.debug("Skipping write - file exists: {}",
-                        targetPath);
+            }
+            Path written;
+            // Java 17: Traditional switch statement (Java 21 used switch expressions)
+            switch (policy) {
+                case OVERWRITE:
+                    moveReplacing(tempPath, targetPath);
+                    written = targetPath;
+                    break;
+                case SKIP:
+                    written = moveIfAbsent(tempPath, targetPath)
+                            ? targetPath : null;
+                    break;
+                case SUFFIX:
+                    written = moveWithSuffix(tempPath, targetPath);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                        "Unknown collision policy: " + policy);
+            }
+            if (written == null) {
+                LOGGER.debug("Write skipped for file: {}", targetPath);
+                discard(tempPath);
                 return null;
-            case SUFFIX:
-                return generateSuffixedPath(targetPath);
-            default:
-                throw new IllegalArgumentException(
-                    "Unknown collision policy: " + policy);
+            }
+            this.lastWrittenPath = written;
+            LOGGER.debug("Successfully wrote file: {}", written);
+            return written;
+        } catch (final IOException e) {
+            LOGGER.error("Failed to write file: {}", targetPath, e);
+            discard(tempPath);
+            throw e;
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * Generates a new path with a numeric suffix when collision detected.
+     * Appends a finished temporary file to an archive; the archive
+     * serializes its entries, so no path lock is needed.
      *
-     * @param originalPath the original file path
-     * @return a non-existing path with numeric suffix
+     * @return the path of the entry as if it were extracted into the
+     *         output directory, or null if the entry was skipped
      */
-    private Path generateSuffixedPath(final Path originalPath) {
-        String filename = originalPath.getFileName().toString();
-        int lastDot = filename.lastIndexOf('.');
-        String baseName;
-        String extension;
+    private Path appendToArchive(final OutputArchive archive,
+                                 final Path targetPath, final Path tempPath)
+            throws IOException {
+        try {
+            String name = archive.entryName(targetPath);
+            String written = archive.append(name, tempPath, policy);
+            if (written == null) {
+                return null;
+            }
+            Path path = targetPath.resolveSibling(
+                    written.substring(written.lastIndexOf('/') + 1));
+            this.lastWrittenPath = path;
+            LOGGER.debug("Archived {} in {}", written, archive.getFile());
+            return path;
+        } finally {
+            discard(tempPath);
+        }
+    }
 
-        if (lastDot > 0) {
-            baseName = filename.substring(0, lastDot);
-            extension = filename.substring(lastDot);
-        } else {
-            baseName = filename;
-            extension = "";
+    private ReentrantLock stripeOf(final Path targetPath) {
+        return stripes[Math.floorMod(
+                targetPath.toAbsolutePath().normalize().hashCode(),
+                LOCK_STRIPES)];
+    }
+
+    /**
+     * Whether a file has the given content. Files of a different size are
+     * told apart without reading them.
+     */
+    private static boolean hasContent(final Path file, final byte[] hash,
+                                      final long size) throws IOException {
+        try {
+            if (Files.size(file) != size) {
+                return false;
+            }
+            MessageDigest digest = ContentHash.newSha256();
+            try (InputStream in = new DigestInputStream(
+                    Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return MessageDigest.isEqual(hash, digest.digest());
+        } catch (final NoSuchFileException e) {
+            return false;
         }
+    }
 
-        Path parent = originalPath.getParent();
-        for (int i = 1; i < MAX_SUFFIX_ATTEMPTS; i++) {
-            String newFilename = baseName + "_" + i + extension;
-            Path newPath = parent != null
-                    ? parent.resolve(newFilename)
-                    : Path.of(newFilename);
-
-            if (!Files.exists(newPath)) {
-                LOGGER.debug("Generated suffixed path: {}", newPath);
-                return newPath;
+    private static void moveReplacing(final Path tempPath,
+                                      final Path targetPath)
+            throws IOException {
+        try {
+            Files.move(tempPath, targetPath,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, targetPath,
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean moveIfAbsent(final Path tempPath,
+                                        final Path targetPath)
+            throws IOException {
+        try {
+            Files.move(tempPath, targetPath);
+            return true;
+        } catch (final FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Publishes under the first free numeric suffix. The directory is
+     * listed once per target to find the highest suffix in use; after
+     * that the next suffix is remembered, so repeated collisions do not
+     * probe the file system.
+     */
+    private Path moveWithSuffix(final Path tempPath, final Path targetPath)
+            throws IOException {
+        if (moveIfAbsent(tempPath, targetPath)) {
+            return targetPath;
+        }
+        Integer cached = nextSuffixes.get(targetPath);
+        int suffix = cached != null ? cached : highestSuffix(targetPath) + 1;
+        for (int attempt = 0; attempt < MAX_SUFFIX_ATTEMPTS; attempt++) {
+            Path candidate = suffixedPath(targetPath, suffix);
+            if (moveIfAbsent(tempPath, candidate)) {
+                nextSuffixes.put(targetPath, suffix + 1);
+                LOGGER.debug("Generated suffixed path: {}", candidate);
+                return candidate;
             }
+            suffix++;
         }
 
         LOGGER.warn(
                 "Could not find available filename after {} attempts",
                 MAX_SUFFIX_ATTEMPTS);
-        return originalPath;
+        moveReplacing(tempPath, targetPath);
+        return targetPath;
+    }
+
+    private static int highestSuffix(final Path targetPath)
+            throws IOException {
+        String[] parts = splitExtension(targetPath);
+        String prefix = parts[0] + "_";
+        int highest = 0;
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(
+                directoryOf(targetPath))) {
+            for (Path sibling : siblings) {
+                String name = sibling.getFileName().toString();
+                if (name.length() > prefix.length() + parts[1].length()
+                        && name.startsWith(prefix)
+                        && name.endsWith(parts[1])) {
+                    highest = Math.max(highest, parseSuffix(name.substring(
+                            prefix.length(),
+                            name.length() - parts[1].length())));
+                }
+            }
+        }
+        return highest;
+    }
+
+    private static int parseSuffix(final String digits) {
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return 0;
+            }
+        }
+        try {
+            return Integer.parseInt(digits);
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
-     * Performs atomic write using temp-file-then-move pattern.
+     * Generates a path with a numeric suffix before the extension.
      *
-     * @param targetPath the target file path
-     * @param content the string content to write
-     * @return true if write succeeded
-     * @throws IOException if an I/O error occurs
+     * @param originalPath the original file path
+     * @param suffix the suffix number
+     * @return the suffixed path
      */
-    private boolean writeAtomically(final Path targetPath,
-            final String content) throws IOException {
-        Path tempPath = generateTempPath(targetPath);
+    private static Path suffixedPath(final Path originalPath,
+                                     final int suffix) {
+        String[] parts = splitExtension(originalPath);
+        String newFilename = parts[0] + "_" + suffix + parts[1];
+        Path parent = originalPath.getParent();
+        return parent != null
+                ? parent.resolve(newFilename)
+                : Path.of(newFilename);
+    }
 
-        try {
-            Files.createDirectories(targetPath.getParent());
-            Files.writeString(tempPath, content,
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING,
-                    StandardOpenOption.WRITE);
+    private static String[] splitExtension(final Path path) {
+        String filename = path.getFileName().toString();
+        int lastDot = filename.lastIndexOf('.');
+        if (lastDot > 0) {
+            return new String[] {filename.substring(0, lastDot),
+                filename.substring(lastDot)};
+        }
+        return new String[] {filename, ""};
+    }
 
-            Files.move(tempPath, targetPath,
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+    private static void force(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
 
-            this.lastWrittenPath = targetPath;
-            LOGGER.debug("Successfully wrote file: {}", targetPath);
-            return true;
+    private static void syncDirectory(final Path directory) {
+        try (FileChannel channel = FileChannel.open(directory,
+                StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (final IOException e) {
-            LOGGER.error("Failed to write file: {}", targetPath, e);
+            // Not supported on every platform; the files themselves are
+            // already on disk
+            LOGGER.debug("Could not sync directory {}: {}", directory,
+                    e.getMessage());
+        }
+    }
+
+    private static void discard(final Path tempPath) {
+        try {
             Files.deleteIfExists(tempPath);
-            throw e;
+        } catch (final IOException e) {
+            LOGGER.warn("Could not delete temporary file {}: {}", tempPath,
+                    e.getMessage());
         }
     }
 
     /**
-     * Performs atomic write of bytes using temp-file-then-move pattern.
-     *
-     * @param targetPath the target file path
-     * @param content the byte content to write
-     * @return true if write succeeded
-     * @throws IOException if an I/O error occurs
+     * A file being written. Its content goes to a temporary file until it
+     * is committed.
      */
-    private boolean writeAtomically(final Path targetPath,
-            final byte[] content) throws IOException {
-        Path tempPath = generateTempPath(targetPath);
+    public final class PendingFile implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final MessageDigest digest;
+        private final MarkdownWriter writer;
+        private boolean finished;
 
-        try {
-            Files.createDirectories(targetPath.getParent());
-            Files.write(tempPath, content, StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING,
-                    StandardOpenOption.WRITE);
+        private PendingFile(final Path targetParam, final Path tempParam)
+                throws IOException {
+            this.target = targetParam;
+            this.temp = tempParam;
+            this.digest = skipUnchanged ? ContentHash.newSha256() : null;
+            try {
+                this.writer = MarkdownWriter.open(tempParam, digest);
+            } catch (final IOException e) {
+                discard(tempParam);
+                throw e;
+            }
+        }
 
-            Files.move(tempPath, targetPath,
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        /**
+         * The writer of the file's content.
+         *
+         * @return the writer
+         */
+        public MarkdownWriter writer() {
+            return writer;
+        }
 
-            this.lastWrittenPath = targetPath;
-            LOGGER.debug("Successfully wrote file: {}", targetPath);
-            return true;
-        } catch (final IOException e) {
-            LOGGER.error("Failed to write file: {}", targetPath, e);
-            Files.deleteIfExists(tempPath);
-            throw e;
+        /**
+         * Publishes the file at its target.
+         *
+         * @return true if the file was published, false if it was skipped
+         * @throws IOException if the file cannot be published
+         */
+        public boolean commit() throws IOException {
+            finish();
+            return publishAndSync(target, temp,
+                    digest != null ? digest.digest() : null,
+                    writer.bytesWritten());
+        }
+
+        private void finish() throws IOException {
+            if (finished) {
+                throw new IllegalStateException("Already finished: "
+                        + target);
+            }
+            finished = true;
+            try {
+                writer.close();
+                if (syncOnCommit) {
+                    force(temp);
+                }
+            } catch (final IOException e) {
+                discard(temp);
+                throw e;
+            }
+        }
+
+        /**
+         * Discards the file unless it was committed.
+         */
+        @Override
+        public void close() {
+            if (!finished) {
+                finished = true;
+                try {
+                    writer.close();
+                } catch (final IOException e) {
+                    LOGGER.debug("Error closing discarded file {}: {}",
+                            temp, e.getMessage());
+                }
+                discard(temp);
+            }
         }
     }
 
     /**
-     * Generates a temporary file path in the same directory as target.
-     *
-     * @param targetPath the target file path
-     * @return a temp file path
+     * Files published together. Each file is written to its temporary file
+     * when added; {@link #commit()} renames them all, flushing files and
+     * directories once for the whole batch when {@code syncOnCommit} is
+     * set. A batch is used by one thread.
      */
-    private Path generateTempPath(final Path targetPath) {
-        return targetPath.resolveSibling(targetPath.getFileName() + TEMP_FILE_SUFFIX);
+    public final class Batch {
+        private final List<StagedFile> staged = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Adds a file with text content.
+         *
+         * @param targetPath the target file path
+         * @param content the content
+         * @return this batch
+         * @throws IOException if the temporary file cannot be written
+         */
+        public Batch add(final Path targetPath, final String content)
+                throws IOException {
+            if (content == null) {
+                throw new IllegalArgumentException("Content cannot be null");
+            }
+            return add(targetPath, out -> out.append(content));
+        }
+
+        /**
+         * Adds a file with streamed content.
+         *
+         * @param targetPath the target file path
+         * @param content writes the content
+         * @return this batch
+         * @throws IOException if the temporary file cannot be written
+         */
+        public Batch add(final Path targetPath, final ContentWriter content)
+                throws IOException {
+            validateTarget(targetPath);
+            Path tempPath = createTempFile(targetPath);
+            MessageDigest digest = skipUnchanged
+                    ? ContentHash.newSha256() : null;
+            long size;
+            try (MarkdownWriter out = MarkdownWriter.open(tempPath, digest)) {
+                content.write(out);
+                out.flush();
+                size = out.bytesWritten();
+            } catch (final IOException e) {
+                discard(tempPath);
+                throw e;
+            }
+            staged.add(new StagedFile(targetPath, tempPath,
+                    digest != null ? digest.digest() : null, size));
+            return this;
+        }
+
+        /**
+         * Number of staged files.
+         *
+         * @return the staged file count
+         */
+        public int size() {
+            return staged.size();
+        }
+
+        /**
+         * Publishes every staged file.
+         *
+         * @return the paths written, in order; skipped files are left out
+         * @throws IOException if a file cannot be published; files staged
+         *                     after it are discarded
+         */
+        public List<Path> commit() throws IOException {
+            List<Path> written = new ArrayList<>(staged.size());
+            Set<Path> directories = new LinkedHashSet<>();
+            try {
+                if (syncOnCommit) {
+                    for (StagedFile file : staged) {
+                        force(file.temp());
+                    }
+                }
+                for (StagedFile file : staged) {
+                    Path path = publish(file.target(), file.temp(),
+                            file.hash(), file.size());
+                    if (path != null) {
+                        written.add(path);
+                        directories.add(directoryOf(path));
+                    }
+                }
+            } finally {
+                abort();
+            }
+            if (syncOnCommit) {
+                directories.forEach(AtomicFileWriter::syncDirectory);
+            }
+            LOGGER.debug("Committed batch of {} files", written.size());
+            return written;
+        }
+
+        /**
+         * Discards every staged file that was not published.
+         */
+        public void abort() {
+            for (StagedFile file : staged) {
+                discard(file.temp());
+            }
+            staged.clear();
+        }
+    }
+
+    private record StagedFile(Path target, Path temp, byte[] hash,
+                              long size) {
     }
 }
@@ -0,0 +1,355 @@
+package com.documentor.service.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * 📝 MarkdownWriter - Streaming UTF-8 writer for generated Markdown
+ *
+ * Encodes sections straight into a channel as they are appended, so a
+ * document is never held in memory as a whole, neither as a
+ * {@code StringBuilder} nor as a second copy in bytes. Output is always
+ * UTF-8, whatever the platform charset; malformed text from an LLM answer
+ * (such as a lone surrogate) is replaced rather than failing the document.
+ *
+ * The encoder and its buffers are reused by every writer opened on the
+ * same thread, so writing thousands of documents from the bounded write
+ * pool allocates them once per thread.
+ *
+ * Usage:
+ * <pre>{@code
+ * try (MarkdownWriter out = MarkdownWriter.open(path)) {
+ *     out.heading(1, "Title").paragraph(text).rule();
+ * }
+ * }</pre>
+ */
+public final class MarkdownWriter implements Appendable, Closeable {
+
+    /** Characters encoded per batch */
+    static final int CHAR_BUFFER_SIZE = 4096;
+
+    /** Bytes handed to the channel per write */
+    static final int BYTE_BUFFER_SIZE = 16384;
+
+    private static final ThreadLocal<Buffers> BUFFERS =
+            ThreadLocal.withInitial(Buffers::new);
+
+    private final WritableByteChannel channel;
+    private final MessageDigest digest;
+    private final Buffers buffers;
+    private final boolean pooled;
+    private long bytesWritten;
+    private boolean closed;
+
+    /**
+     * Creates a writer on an open channel. The channel is closed with the
+     * writer.
+     *
+     * @param channelParam the channel to write to
+     */
+    public MarkdownWriter(final WritableByteChannel channelParam) {
+        this(channelParam, null);
+    }
+
+    /**
+     * Creates a writer on an open channel that also feeds every written
+     * byte to a digest, so the content can be compared without reading it
+     * back.
+     *
+     * @param channelParam the channel to write to
+     * @param digestParam the digest to update, or null
+     */
+    public MarkdownWriter(final WritableByteChannel channelParam,
+                          final MessageDigest digestParam) {
+        this.channel = channelParam;
+        this.digest = digestParam;
+        Buffers threadBuffers = BUFFERS.get();
+        // A writer opened while another is in use on this thread gets its
+        // own buffers
+        this.pooled = !threadBuffers.inUse;
+        this.buffers = pooled ? threadBuffers : new Buffers();
+        buffers.inUse = true;
+        buffers.reset();
+    }
+
+    /**
+     * Opens a writer that replaces the contents of a file, creating its
+     * parent directories.
+     *
+     * @param file the file to write
+     * @return the writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static MarkdownWriter open(final Path file) throws IOException {
+        return open(file, null);
+    }
+
+    /**
+     * Opens a writer that replaces the contents of a file and feeds the
+     * written bytes to a digest.
+     *
+     * @param file the file to write
+     * @param digest the digest to update, or null
+     * @return the writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static MarkdownWriter open(final Path file,
+                                      final MessageDigest digest)
+            throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new MarkdownWriter(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), digest);
+    }
+
+    /**
+     * Appends text.
+     *
+     * @param text the text; null is written as nothing
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    @Override
+    public MarkdownWriter append(final CharSequence text) throws IOException {
+        if (text == null) {
+            return this;
+        }
+        CharBuffer chars = buffers.chars;
+        int length = text.length();
+        int offset = 0;
+        while (offset < length) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int count = Math.min(chars.remaining(), length - offset);
+            if (text instanceof String string) {
+                chars.put(string, offset, offset + count);
+            } else {
+                for (int i = offset; i < offset + count; i++) {
+                    chars.put(text.charAt(i));
+                }
+            }
+            offset += count;
+        }
+        return this;
+    }
+
+    /**
+     * Appends part of a text.
+     *
+     * @param text the text; null is written as nothing
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    @Override
+    public MarkdownWriter append(final CharSequence text, final int start,
+                                 final int end) throws IOException {
+        return append(text == null ? null : text.subSequence(start, end));
+    }
+
+    /**
+     * Appends a single character.
+     *
+     * @param c the character
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    @Override
+    public MarkdownWriter append(final char c) throws IOException {
+        if (!buffers.chars.hasRemaining()) {
+            encode(false);
+        }
+        buffers.chars.put(c);
+        return this;
+    }
+
+    /**
+     * Appends a number in decimal.
+     *
+     * @param value the number
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    public MarkdownWriter append(final long value) throws IOException {
+        return append(Long.toString(value));
+    }
+
+    /**
+     * Appends a line break.
+     *
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    public MarkdownWriter newLine() throws IOException {
+        return append('\n');
+    }
+
+    /**
+     * Appends a heading followed by a blank line.
+     *
+     * @param level heading level, 1 to 6
+     * @param text the heading text
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    public MarkdownWriter heading(final int level, final CharSequence text)
+            throws IOException {
+        for (int i = 0; i < level; i++) {
+            append('#');
+        }
+        return append(' ').append(text).append("\n\n");
+    }
+
+    /**
+     * Appends a block of text followed by a blank line.
+     *
+     * @param text the text
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    public MarkdownWriter paragraph(final CharSequence text)
+            throws IOException {
+        return append(text).append("\n\n");
+    }
+
+    /**
+     * Appends a fenced code block followed by a blank line.
+     *
+     * @param language the language tag of the fence
+     * @param code the code
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    public MarkdownWriter codeBlock(final CharSequence language,
+                                   final CharSequence code)
+            throws IOException {
+        return append("```").append(language).append('\n')
+                .append(code).append("\n```\n\n");
+    }
+
+    /**
+     * Appends a horizontal rule followed by a blank line.
+     *
+     * @return this writer
+     * @throws IOException if the channel cannot be written
+     */
+    public MarkdownWriter rule() throws IOException {
+        return append("---\n\n");
+    }
+
+    /**
+     * Number of bytes handed to the channel so far. Text still buffered is
+     * not counted until it is flushed.
+     *
+     * @return the byte count
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Writes the buffered text to the channel.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    public void flush() throws IOException {
+        encode(false);
+        drain();
+    }
+
+    /**
+     * Writes the remaining text and closes the channel.
+     *
+     * @throws IOException if the channel cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            encode(true);
+            CharsetEncoder encoder = buffers.encoder;
+            while (encoder.flush(buffers.bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        } finally {
+            if (pooled) {
+                buffers.inUse = false;
+            }
+        }
+    }
+
+    /**
+     * Encodes the buffered characters. Without end of input a trailing high
+     * surrogate stays buffered until its pair arrives.
+     */
+    private void encode(final boolean endOfInput) throws IOException {
+        CharBuffer chars = buffers.chars;
+        ByteBuffer bytes = buffers.bytes;
+        chars.flip();
+        try {
+            CoderResult result;
+            do {
+                result = buffers.encoder.encode(chars, bytes, endOfInput);
+                if (result.isOverflow()) {
+                    drain();
+                }
+            } while (result.isOverflow());
+        } finally {
+            chars.compact();
+        }
+    }
+
+    private void drain() throws IOException {
+        ByteBuffer bytes = buffers.bytes;
+        bytes.flip();
+        if (digest != null) {
+            digest.update(bytes.duplicate());
+        }
+        while (bytes.hasRemaining()) {
+            bytesWritten += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Encoder and buffers of one thread
+     */
+    private static final class Buffers {
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8
+                .newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer chars = CharBuffer.allocate(
+                CHAR_BUFFER_SIZE);
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(
+                BYTE_BUFFER_SIZE);
+        private boolean inUse;
+
+        private void reset() {
+            encoder.reset();
+            chars.clear();
+            bytes.clear();
+        }
+    }
+}
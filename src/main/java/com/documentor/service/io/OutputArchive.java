@@ -0,0 +1,423 @@
+package com.documentor.service.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import com.documentor.util.ContentHash;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 📦 OutputArchive - Streams generated files into one zip or tar archive
+ *
+ * Attached to an {@link AtomicFileWriter}, it receives every file written
+ * below its root directory as an archive entry instead of a file on disk.
+ * Entries are appended in the order they are finished; their content is
+ * staged in a single spool directory, never in the output tree, and
+ * removed as soon as it has been copied. Closing the archive appends an
+ * index entry ({@value #INDEX_ENTRY}) listing every entry with its size
+ * and SHA-256.
+ *
+ * The format follows the file extension: {@code .tar} writes a POSIX tar
+ * stream, anything else a zip file.
+ *
+ * Usage:
+ * <pre>{@code
+ * try (OutputArchive archive = OutputArchive.create(zip, outputDir)) {
+ *     writer.attach(archive);
+ *     ... generate into outputDir ...
+ * } finally {
+ *     writer.detach(archive);
+ * }
+ * }</pre>
+ */
+public final class OutputArchive implements Closeable {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(OutputArchive.class);
+
+    /** Name of the index entry written last. */
+    public static final String INDEX_ENTRY = ".documentor-index.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int TAR_BLOCK = 512;
+    private static final int TAR_NAME_LENGTH = 100;
+    private static final int TAR_PREFIX_LENGTH = 155;
+    private static final int TAR_MODE_OFFSET = 100;
+    private static final int TAR_UID_OFFSET = 108;
+    private static final int TAR_GID_OFFSET = 116;
+    private static final int TAR_SIZE_OFFSET = 124;
+    private static final int TAR_MTIME_OFFSET = 136;
+    private static final int TAR_CHECKSUM_OFFSET = 148;
+    private static final int TAR_TYPE_OFFSET = 156;
+    private static final int TAR_MAGIC_OFFSET = 257;
+    private static final int TAR_PREFIX_OFFSET = 345;
+    private static final int TAR_ID_LENGTH = 8;
+    private static final int TAR_SIZE_LENGTH = 12;
+    private static final int TAR_CHECKSUM_LENGTH = 7;
+    private static final String TAR_FILE_MODE = "0000644";
+    private static final byte[] TAR_MAGIC =
+            "ustar\u000000".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_SUFFIX_ATTEMPTS = 1000;
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    /**
+     * Archive file formats
+     */
+    public enum Format {
+        /** Deflated zip file */
+        ZIP,
+        /** Uncompressed POSIX tar stream */
+        TAR;
+
+        /**
+         * Picks the format from a file name.
+         *
+         * @param file the archive file
+         * @return TAR for {@code .tar} files, otherwise ZIP
+         */
+        public static Format of(final Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT)
+                    .endsWith(".tar") ? TAR : ZIP;
+        }
+    }
+
+    private final Path file;
+    private final Path root;
+    private final Path spool;
+    private final Format format;
+    private final long modifiedMillis;
+    private final OutputStream out;
+    private final ZipOutputStream zip;
+    private final Set<String> names = new HashSet<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private boolean closed;
+
+    private OutputArchive(final Path fileParam, final Path rootParam,
+                          final Path spoolParam, final OutputStream outParam) {
+        this.file = fileParam;
+        this.root = rootParam;
+        this.spool = spoolParam;
+        this.format = Format.of(fileParam);
+        this.modifiedMillis = System.currentTimeMillis();
+        this.out = outParam;
+        this.zip = format == Format.ZIP ? new ZipOutputStream(outParam) : null;
+    }
+
+    /**
+     * Creates an archive file, replacing an existing one.
+     *
+     * @param archiveFile the archive to write
+     * @param rootDirectory the output directory whose files become entries
+     * @return the open archive
+     * @throws IOException if the archive cannot be created
+     */
+    public static OutputArchive create(final Path archiveFile,
+                                       final Path rootDirectory)
+            throws IOException {
+        Path archive = archiveFile.toAbsolutePath().normalize();
+        Files.createDirectories(archive.getParent());
+        Path spool = Files.createTempDirectory(archive.getParent(),
+                "." + archive.getFileName() + ".spool");
+        OutputStream stream = new BufferedOutputStream(
+                Files.newOutputStream(archive));
+        return new OutputArchive(archive, rootDirectory.toAbsolutePath()
+                .normalize(), spool, stream);
+    }
+
+    /**
+     * The archive file.
+     *
+     * @return the archive path
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Directory where the content of pending entries is staged.
+     *
+     * @return the spool directory
+     */
+    public Path getSpoolDirectory() {
+        return spool;
+    }
+
+    /**
+     * Entry name of a file below the root directory.
+     *
+     * @param target the file path
+     * @return the name with {@code /} separators, or null if the file is
+     *         not below the root
+     */
+    public String entryName(final Path target) {
+        Path absolute = target.toAbsolutePath().normalize();
+        if (!absolute.startsWith(root) || absolute.equals(root)) {
+            return null;
+        }
+        return root.relativize(absolute).toString().replace('\\', '/');
+    }
+
+    /**
+     * Whether an entry was already written.
+     *
+     * @param name the entry name
+     * @return true if the archive contains the entry
+     */
+    public synchronized boolean contains(final String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * Number of entries written so far, not counting the index.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Appends the content of a file as an entry. Entry names are unique:
+     * an existing name is skipped, or with {@link CollisionPolicy#SUFFIX}
+     * written under the next free numbered name.
+     *
+     * @param name the entry name
+     * @param content the file holding the content
+     * @param policy how to handle a name that was already written
+     * @return the name written, or null if the entry was skipped
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized String append(final String name, final Path content,
+                                      final CollisionPolicy policy)
+            throws IOException {
+        if (closed) {
+            throw new IOException("Archive already closed: " + file);
+        }
+        String entry = name;
+        if (names.contains(name)) {
+            if (policy != CollisionPolicy.SUFFIX) {
+                LOGGER.warn("Archive entry already written, keeping the "
+                        + "first: {}", name);
+                return null;
+            }
+            entry = nextFreeName(name);
+        }
+        long size = Files.size(content);
+        MessageDigest digest = ContentHash.newSha256();
+        startEntry(entry, size);
+        try (InputStream in = new DigestInputStream(
+                Files.newInputStream(content), digest)) {
+            in.transferTo(zip != null ? zip : out);
+        }
+        endEntry(size);
+        names.add(entry);
+        entries.add(new Entry(entry, size,
+                HexFormat.of().formatHex(digest.digest())));
+        return entry;
+    }
+
+    /**
+     * Appends the index entry, finishes the archive and removes the spool
+     * directory.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            byte[] index = index();
+            startEntry(INDEX_ENTRY, index.length);
+            (zip != null ? zip : out).write(index);
+            endEntry(index.length);
+            if (zip != null) {
+                zip.finish();
+            } else {
+                // End of archive: two empty blocks
+                out.write(new byte[TAR_BLOCK * 2]);
+            }
+        } finally {
+            deleteSpool();
+        }
+        LOGGER.info("📦 Archived {} files to {}", entries.size(), file);
+    }
+
+    private byte[] index() throws IOException {
+        ObjectNode index = MAPPER.createObjectNode();
+        index.put("format", format.name().toLowerCase(Locale.ROOT));
+        ArrayNode list = index.putArray("entries");
+        for (Entry entry : entries) {
+            list.addObject()
+                    .put("name", entry.name())
+                    .put("size", entry.size())
+                    .put("sha256", entry.sha256());
+        }
+        return MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValueAsBytes(index);
+    }
+
+    private String nextFreeName(final String name) {
+        int slash = name.lastIndexOf('/');
+        int dot = name.lastIndexOf('.');
+        boolean hasExtension = dot > slash + 1;
+        String base = hasExtension ? name.substring(0, dot) : name;
+        String extension = hasExtension ? name.substring(dot) : "";
+        for (int i = 1; i <= MAX_SUFFIX_ATTEMPTS; i++) {
+            String candidate = base + "_" + i + extension;
+            if (!names.contains(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No free archive entry name for "
+                + name);
+    }
+
+    private void startEntry(final String name, final long size)
+            throws IOException {
+        if (zip != null) {
+            ZipEntry entry = new ZipEntry(name);
+            entry.setTime(modifiedMillis);
+            zip.putNextEntry(entry);
+            return;
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        String prefix = "";
+        String shortName = name;
+        if (nameBytes.length > TAR_NAME_LENGTH) {
+            int split = name.lastIndexOf('/');
+            boolean fits = split > 0
+                    && name.substring(0, split).getBytes(
+                            StandardCharsets.UTF_8).length
+                            <= TAR_PREFIX_LENGTH
+                    && name.substring(split + 1).getBytes(
+                            StandardCharsets.UTF_8).length
+                            <= TAR_NAME_LENGTH;
+            if (fits) {
+                prefix = name.substring(0, split);
+                shortName = name.substring(split + 1);
+            } else {
+                writePaxName(name);
+                shortName = truncate(name);
+            }
+        }
+        out.write(tarHeader(shortName, prefix, size, (byte) '0'));
+    }
+
+    private void endEntry(final long size) throws IOException {
+        if (zip != null) {
+            zip.closeEntry();
+            return;
+        }
+        int padding = (int) ((TAR_BLOCK - size % TAR_BLOCK) % TAR_BLOCK);
+        out.write(new byte[padding]);
+    }
+
+    /**
+     * Writes a pax extended header carrying a name too long for ustar.
+     */
+    private void writePaxName(final String name) throws IOException {
+        String body = " path=" + name + "\n";
+        int length = body.getBytes(StandardCharsets.UTF_8).length;
+        // The length field counts its own digits
+        int total = length + Integer.toString(length).length();
+        if (Integer.toString(total).length()
+                != Integer.toString(length).length()) {
+            total++;
+        }
+        byte[] record = (total + body).getBytes(StandardCharsets.UTF_8);
+        out.write(tarHeader("PaxHeader", "", record.length, (byte) 'x'));
+        out.write(record);
+        endEntry(record.length);
+    }
+
+    private static String truncate(final String name) {
+        String shortName = name;
+        while (shortName.getBytes(StandardCharsets.UTF_8).length
+                > TAR_NAME_LENGTH) {
+            shortName = shortName.substring(1);
+        }
+        return shortName;
+    }
+
+    private byte[] tarHeader(final String name, final String prefix,
+                             final long size, final byte type) {
+        byte[] header = new byte[TAR_BLOCK];
+        put(header, 0, name.getBytes(StandardCharsets.UTF_8));
+        put(header, TAR_MODE_OFFSET, octal(TAR_FILE_MODE));
+        put(header, TAR_UID_OFFSET, octal(octalString(0, TAR_ID_LENGTH)));
+        put(header, TAR_GID_OFFSET, octal(octalString(0, TAR_ID_LENGTH)));
+        put(header, TAR_SIZE_OFFSET, octal(octalString(size,
+                TAR_SIZE_LENGTH)));
+        put(header, TAR_MTIME_OFFSET, octal(octalString(
+                modifiedMillis / MILLIS_PER_SECOND, TAR_SIZE_LENGTH)));
+        header[TAR_TYPE_OFFSET] = type;
+        put(header, TAR_MAGIC_OFFSET, TAR_MAGIC);
+        put(header, TAR_PREFIX_OFFSET, prefix.getBytes(
+                StandardCharsets.UTF_8));
+        // The checksum is computed with its own field set to spaces
+        Arrays.fill(header, TAR_CHECKSUM_OFFSET,
+                TAR_CHECKSUM_OFFSET + TAR_ID_LENGTH, (byte) ' ');
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += Byte.toUnsignedInt(b);
+        }
+        String digits = Long.toOctalString(checksum);
+        put(header, TAR_CHECKSUM_OFFSET, octal("0".repeat(
+                TAR_CHECKSUM_LENGTH - 1 - digits.length()) + digits));
+        header[TAR_CHECKSUM_OFFSET + TAR_CHECKSUM_LENGTH - 1] = 0;
+        return header;
+    }
+
+    private static String octalString(final long value, final int width) {
+        String digits = Long.toOctalString(value);
+        return "0".repeat(Math.max(0, width - 1 - digits.length())) + digits;
+    }
+
+    private static byte[] octal(final String digits) {
+        return digits.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void put(final byte[] header, final int offset,
+                            final byte[] value) {
+        System.arraycopy(value, 0, header, offset, value.length);
+    }
+
+    private void deleteSpool() {
+        try (Stream<Path> files = Files.list(spool)) {
+            for (Path leftover : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(leftover);
+            }
+            Files.deleteIfExists(spool);
+        } catch (final IOException e) {
+            LOGGER.debug("Could not remove spool directory {}: {}", spool,
+                    e.getMessage());
+        }
+    }
+
+    private record Entry(String name, long size, String sha256) {
+    }
+}
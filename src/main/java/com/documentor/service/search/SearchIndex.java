@@ -0,0 +1,310 @@
+package com.documentor.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 🔎 Search Index
+ *
+ * Inverted index of the generated element documents: element names,
+ * signatures, Javadoc and LLM-generated text. Documents are added as they
+ * are written and removed with the manifest, so a run only tokenizes the
+ * documents it rewrote. The index is saved as {@value #FILE_NAME} in the
+ * output directory in a compact binary layout that
+ * {@link SearchIndexReader} memory-maps for lookups.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version
+ * int documentCount
+ *   per document: int length, utf path, utf title
+ *   per term, sorted by term: utf term, int postingCount,
+ *             postingCount x (int document, int frequency)
+ * int[termCount] offsets of the term entries
+ * int termCount, int offset of the offset table
+ * </pre>
+ */
+public final class SearchIndex {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SearchIndex.class);
+
+    /** Index file name inside the output directory. */
+    public static final String FILE_NAME = ".documentor-search.idx";
+
+    static final int MAGIC = 0x44494458;
+    static final int VERSION = 1;
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    /** Term frequencies of every indexed document */
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Path outputDirectory;
+
+    private SearchIndex(final Path outputDirectoryParam) {
+        this.outputDirectory = outputDirectoryParam;
+    }
+
+    /**
+     * Loads the index of an output directory so it can be updated.
+     *
+     * @param outputDirectory the documentation output directory
+     * @return the index; empty if there is no usable index file
+     */
+    public static SearchIndex load(final Path outputDirectory) {
+        SearchIndex index = new SearchIndex(outputDirectory);
+        Path file = outputDirectory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return index;
+        }
+        try {
+            SearchIndexReader reader = SearchIndexReader.open(file);
+            reader.forEachDocument((id, path, title) -> index.documents.put(
+                    path, new Document(title, new HashMap<>())));
+            reader.forEachPosting((term, path, frequency) -> index.documents
+                    .get(path).terms().put(term, frequency));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Ignoring unreadable search index {}: {}", file,
+                    e.getMessage());
+            index.documents.clear();
+        }
+        return index;
+    }
+
+    /**
+     * Indexes a document, replacing what was indexed for it before.
+     *
+     * @param document path relative to the output directory
+     * @param text the Markdown of the document
+     */
+    public void update(final String document, final CharSequence text) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokens(text)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        Document entry = new Document(title(text), terms);
+        synchronized (documents) {
+            documents.put(document, entry);
+        }
+    }
+
+    /**
+     * Indexes a document from its file in the output directory.
+     *
+     * @param document path relative to the output directory
+     * @throws IOException if the document cannot be read
+     */
+    public void updateFromFile(final String document) throws IOException {
+        update(document, Files.readString(outputDirectory.resolve(document),
+                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Keeps only the given documents, indexing those that are missing from
+     * their files, e.g. documents written before the index existed.
+     *
+     * @param current every document of the output directory
+     * @return the number of documents indexed from their files
+     */
+    public int sync(final Collection<String> current) {
+        Set<String> missing = new HashSet<>(current);
+        synchronized (documents) {
+            documents.keySet().retainAll(missing);
+            missing.removeAll(documents.keySet());
+        }
+        int indexed = 0;
+        for (String document : missing) {
+            try {
+                updateFromFile(document);
+                indexed++;
+            } catch (IOException e) {
+                LOGGER.debug("Not indexing unreadable document {}: {}",
+                        document, e.getMessage());
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * Whether a document is indexed.
+     *
+     * @param document path relative to the output directory
+     * @return true if the document is in the index
+     */
+    public boolean contains(final String document) {
+        synchronized (documents) {
+            return documents.containsKey(document);
+        }
+    }
+
+    /**
+     * Number of indexed documents.
+     *
+     * @return the document count
+     */
+    public int size() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    /**
+     * Writes the index file, replacing the previous one.
+     *
+     * @return the index file
+     * @throws IOException if the file cannot be written
+     */
+    public Path save() throws IOException {
+        Map<String, Document> snapshot;
+        synchronized (documents) {
+            snapshot = new TreeMap<>(documents);
+        }
+        List<String> paths = new ArrayList<>(snapshot.keySet());
+        Map<String, List<int[]>> postings = new TreeMap<>();
+        for (int id = 0; id < paths.size(); id++) {
+            final int documentId = id;
+            snapshot.get(paths.get(id)).terms().forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new ArrayList<>())
+                            .add(new int[] {documentId, frequency}));
+        }
+
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(FILE_NAME);
+        Path temp = outputDirectory.resolve(FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(paths.size());
+            for (String path : paths) {
+                Document document = snapshot.get(path);
+                out.writeInt(document.length());
+                out.writeUTF(path);
+                out.writeUTF(document.title());
+            }
+            int[] offsets = new int[postings.size()];
+            int term = 0;
+            for (Map.Entry<String, List<int[]>> entry : postings.entrySet()) {
+                offsets[term++] = out.size();
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (int[] posting : entry.getValue()) {
+                    out.writeInt(posting[0]);
+                    out.writeInt(posting[1]);
+                }
+            }
+            int table = out.size();
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            out.writeInt(offsets.length);
+            out.writeInt(table);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        LOGGER.info("🔎 Search index: {} documents, {} terms", paths.size(),
+                postings.size());
+        return file;
+    }
+
+    /**
+     * Splits text into lowercase search terms. Identifiers are indexed whole
+     * and by their camel-case and snake-case parts, so
+     * {@code generateDocumentation} is found by {@code documentation} too.
+     *
+     * @param text the text
+     * @return the terms in order, with repetitions
+     */
+    static List<String> tokens(final CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length
+                    && (Character.isLetterOrDigit(text.charAt(i))
+                        || text.charAt(i) == '_');
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(text.subSequence(start, i).toString(), tokens);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWord(final String word, final List<String> tokens) {
+        if (word.length() < MIN_TOKEN_LENGTH) {
+            return;
+        }
+        String whole = word.toLowerCase(Locale.ROOT);
+        tokens.add(whole);
+        int partStart = 0;
+        for (int i = 1; i <= word.length(); i++) {
+            if (i == word.length() || word.charAt(i) == '_') {
+                addPart(word.substring(partStart, i), whole, tokens);
+                partStart = i + 1;
+            } else if (isCamelBoundary(word, i) && i > partStart) {
+                addPart(word.substring(partStart, i), whole, tokens);
+                partStart = i;
+            }
+        }
+    }
+
+    private static boolean isCamelBoundary(final String word, final int i) {
+        return Character.isUpperCase(word.charAt(i))
+                && (Character.isLowerCase(word.charAt(i - 1))
+                    || i + 1 < word.length()
+                        && Character.isLowerCase(word.charAt(i + 1)));
+    }
+
+    private static void addPart(final String part, final String whole,
+                                final List<String> tokens) {
+        String lower = part.toLowerCase(Locale.ROOT);
+        if (lower.length() >= MIN_TOKEN_LENGTH && !lower.equals(whole)) {
+            tokens.add(lower);
+        }
+    }
+
+    /**
+     * First level-one heading of a Markdown document, without emoji.
+     */
+    private static String title(final CharSequence text) {
+        for (String line : text.toString().split("\n", -1)) {
+            if (line.startsWith("# ")) {
+                return line.substring(2).replaceAll("[^\\p{L}\\p{N}\\p{P} ]",
+                        "").trim();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Indexed form of one document
+     *
+     * @param title the document title
+     * @param terms terms mapped to their number of occurrences
+     */
+    private record Document(String title, Map<String, Integer> terms) {
+
+        int length() {
+            return terms.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.documentor.service.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 🔎 Search Index Reader
+ *
+ * Memory-maps a {@link SearchIndex} file and answers ranked queries from
+ * it. Only the document table is decoded when the file is opened; terms
+ * are found by binary search over the offset table and their postings are
+ * read straight from the mapping, so a lookup touches a few pages of the
+ * file regardless of its size.
+ */
+public final class SearchIndexReader {
+
+    /** BM25 term frequency saturation */
+    private static final double K1 = 1.2;
+    /** BM25 document length normalization */
+    private static final double B = 0.75;
+    private static final double HALF = 0.5;
+
+    private final ByteBuffer buffer;
+    private final String[] paths;
+    private final String[] titles;
+    private final int[] lengths;
+    private final double averageLength;
+    private final int termCount;
+    private final int offsetTable;
+
+    private SearchIndexReader(final ByteBuffer bufferParam) {
+        this.buffer = bufferParam;
+        if (buffer.getInt(0) != SearchIndex.MAGIC
+                || buffer.getInt(Integer.BYTES) != SearchIndex.VERSION) {
+            throw new IllegalStateException("Not a search index file");
+        }
+        int position = 2 * Integer.BYTES;
+        int count = buffer.getInt(position);
+        position += Integer.BYTES;
+        paths = new String[count];
+        titles = new String[count];
+        lengths = new int[count];
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            lengths[i] = buffer.getInt(position);
+            total += lengths[i];
+            position += Integer.BYTES;
+            paths[i] = readUtf(position);
+            position += utfSize(position);
+            titles[i] = readUtf(position);
+            position += utfSize(position);
+        }
+        averageLength = count == 0 ? 0 : (double) total / count;
+        int end = buffer.limit();
+        termCount = buffer.getInt(end - 2 * Integer.BYTES);
+        offsetTable = buffer.getInt(end - Integer.BYTES);
+    }
+
+    /**
+     * Maps an index file.
+     *
+     * @param file the index file
+     * @return the reader
+     * @throws IOException if the file cannot be mapped
+     */
+    public static SearchIndexReader open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SearchIndexReader(mapped);
+        }
+    }
+
+    /**
+     * Number of indexed documents.
+     *
+     * @return the document count
+     */
+    public int documentCount() {
+        return paths.length;
+    }
+
+    /**
+     * Number of distinct terms.
+     *
+     * @return the term count
+     */
+    public int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Ranks documents against a query with BM25. Words are split like the
+     * indexed text; a word ending in {@code *} matches every term starting
+     * with it.
+     *
+     * @param query the query
+     * @param limit the maximum number of hits
+     * @return the best hits, highest score first
+     */
+    public List<Hit> search(final String query, final int limit) {
+        double[] scores = new double[paths.length];
+        for (int term : matchingTerms(query)) {
+            int entry = buffer.getInt(offsetTable + term * Integer.BYTES);
+            int position = entry + utfSize(entry);
+            int frequencyCount = buffer.getInt(position);
+            position += Integer.BYTES;
+            double idf = Math.log(1 + (paths.length - frequencyCount + HALF)
+                    / (frequencyCount + HALF));
+            for (int i = 0; i < frequencyCount; i++) {
+                int document = buffer.getInt(position);
+                int frequency = buffer.getInt(position + Integer.BYTES);
+                position += 2 * Integer.BYTES;
+                double norm = K1 * (1 - B + B * lengths[document]
+                        / Math.max(averageLength, 1));
+                scores[document] += idf * frequency * (K1 + 1)
+                        / (frequency + norm);
+            }
+        }
+        List<Hit> hits = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > 0) {
+                hits.add(new Hit(paths[i], titles[i], scores[i]));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::document));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    /**
+     * Visits the document table.
+     *
+     * @param visitor receives every document
+     */
+    void forEachDocument(final DocumentVisitor visitor) {
+        for (int i = 0; i < paths.length; i++) {
+            visitor.visit(i, paths[i], titles[i]);
+        }
+    }
+
+    /**
+     * Visits every posting of every term.
+     *
+     * @param visitor receives every posting
+     */
+    void forEachPosting(final PostingVisitor visitor) {
+        for (int term = 0; term < termCount; term++) {
+            int entry = buffer.getInt(offsetTable + term * Integer.BYTES);
+            String text = readUtf(entry);
+            int position = entry + utfSize(entry);
+            int frequencyCount = buffer.getInt(position);
+            position += Integer.BYTES;
+            for (int i = 0; i < frequencyCount; i++) {
+                visitor.visit(text, paths[buffer.getInt(position)],
+                        buffer.getInt(position + Integer.BYTES));
+                position += 2 * Integer.BYTES;
+            }
+        }
+    }
+
+    private Set<Integer> matchingTerms(final String query) {
+        Set<Integer> terms = new LinkedHashSet<>();
+        for (String word : query.trim().split("\\s+")) {
+            if (word.endsWith("*")) {
+                String prefix = word.substring(0, word.length() - 1)
+                        .toLowerCase(Locale.ROOT);
+                if (prefix.isEmpty()) {
+                    continue;
+                }
+                for (int term = lowerBound(prefix); term < termCount
+                        && termAt(term).startsWith(prefix); term++) {
+                    terms.add(term);
+                }
+            } else {
+                for (String token : SearchIndex.tokens(word)) {
+                    int term = lowerBound(token);
+                    if (term < termCount && termAt(term).equals(token)) {
+                        terms.add(term);
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Index of the first term not less than {@code text}.
+     */
+    private int lowerBound(final String text) {
+        int low = 0;
+        int high = termCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (termAt(middle).compareTo(text) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String termAt(final int term) {
+        return readUtf(buffer.getInt(offsetTable + term * Integer.BYTES));
+    }
+
+    private int utfSize(final int position) {
+        return Short.BYTES + Short.toUnsignedInt(buffer.getShort(position));
+    }
+
+    /**
+     * Decodes a string written by {@link java.io.DataOutput#writeUTF}.
+     */
+    private String readUtf(final int position) {
+        byte[] bytes = new byte[utfSize(position)];
+        buffer.get(position, bytes);
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes))
+                    .readUTF();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A ranked search result
+     *
+     * @param document path relative to the output directory
+     * @param title the document title
+     * @param score the BM25 score
+     */
+    public record Hit(String document, String title, double score) {
+    }
+
+    /** Receives the documents of an index */
+    @FunctionalInterface
+    interface DocumentVisitor {
+        void visit(int id, String path, String title);
+    }
+
+    /** Receives the postings of an index */
+    @FunctionalInterface
+    interface PostingVisitor {
+        void visit(String term, String path, int frequency);
+    }
+}
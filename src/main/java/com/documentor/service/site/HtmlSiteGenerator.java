@@ -0,0 +1,420 @@
+package com.documentor.service.site;
+
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.util.ContentHash;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.IndependentLinkResolverFactory;
+import com.vladsch.flexmark.html.LinkResolver;
+import com.vladsch.flexmark.html.renderer.LinkResolverBasicContext;
+import com.vladsch.flexmark.html.renderer.LinkStatus;
+import com.vladsch.flexmark.html.renderer.LinkType;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 🌐 HTML Site Generator
+ *
+ * Renders the generated Markdown of an output directory into a static HTML
+ * site with the bundled flexmark parser, without a separate site tool.
+ * Pages are parsed and rendered in parallel on the CPU pool. Links between
+ * Markdown documents are rewritten to the matching HTML pages, and every
+ * page carries a navigation tree of the whole site.
+ *
+ * Rendering is incremental: {@value #MANIFEST_FILE} in the site directory
+ * records the hash of every page's Markdown, and only pages whose Markdown
+ * changed are rendered again. Adding or removing a page changes the
+ * navigation tree and re-renders every page; pages of removed documents
+ * are deleted.
+ */
+@Component
+public class HtmlSiteGenerator {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(HtmlSiteGenerator.class);
+
+    /** Default site directory inside the documentation output directory. */
+    public static final String SITE_DIRECTORY = "site";
+
+    /** Manifest file name inside the site directory. */
+    public static final String MANIFEST_FILE = ".documentor-site.json";
+
+    /** Version of the page template; bump when the page layout changes. */
+    static final int TEMPLATE_VERSION = 1;
+
+    private static final String MARKDOWN_EXTENSION = ".md";
+    private static final String HTML_EXTENSION = ".html";
+    private static final String STYLESHEET = "style.css";
+    private static final String INDEX_PAGE = "index.html";
+    private static final String README = "README.md";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, String>> PAGES =
+            new TypeReference<>() { };
+    private static final String STYLE = """
+            body { margin: 0; display: flex; font-family: sans-serif; \
+            line-height: 1.5; }
+            nav { width: 18rem; flex-shrink: 0; padding: 1rem; \
+            border-right: 1px solid #ddd; overflow-y: auto; height: 100vh; \
+            position: sticky; top: 0; box-sizing: border-box; }
+            nav ul { list-style: none; padding-left: 1rem; margin: 0; }
+            nav > ul { padding-left: 0; }
+            main { padding: 1rem 2rem; max-width: 60rem; min-width: 0; }
+            pre { background: #f6f8fa; padding: 0.75rem; overflow-x: auto; }
+            table { border-collapse: collapse; }
+            th, td { border: 1px solid #ddd; padding: 0.25rem 0.5rem; }
+            """;
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+    private final Executor renderExecutor;
+    private final AtomicFileWriter fileWriter;
+
+    /**
+     * Result of a site rendering
+     *
+     * @param rendered pages rendered by this run
+     * @param unchanged pages kept from the previous run
+     * @param removed pages deleted because their document is gone
+     * @param index the site's entry page
+     */
+    public record SiteResult(int rendered, int unchanged, int removed,
+                             Path index) {
+    }
+
+    public HtmlSiteGenerator() {
+        this(null, null);
+    }
+
+    @Autowired
+    public HtmlSiteGenerator(final ExecutorRegistry executorRegistryParam,
+                             final AtomicFileWriter fileWriterParam) {
+        this.renderExecutor = executorRegistryParam != null
+                ? executorRegistryParam.executor(ExecutorRegistry.Pool.CPU_PARSE)
+                : ForkJoinPool.commonPool();
+        this.fileWriter = fileWriterParam != null ? fileWriterParam
+                : new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+        // Parser and renderer are immutable and shared by every page
+        MutableDataSet options = new MutableDataSet()
+                .set(Parser.EXTENSIONS, List.of(TablesExtension.create()))
+                .set(HtmlRenderer.GENERATE_HEADER_ID, true)
+                .set(HtmlRenderer.RENDER_HEADER_ID, true);
+        this.parser = Parser.builder(options).build();
+        this.renderer = HtmlRenderer.builder(options)
+                .linkResolverFactory(new MarkdownLinkResolverFactory())
+                .build();
+    }
+
+    /**
+     * 🌐 Renders the Markdown of an output directory into its
+     * {@value #SITE_DIRECTORY} directory
+     *
+     * @param markdownRoot the documentation output directory
+     * @return counts of rendered, unchanged and removed pages
+     * @throws IOException if the documents cannot be read or the site
+     *                     written
+     */
+    public SiteResult renderSite(final Path markdownRoot) throws IOException {
+        return renderSite(markdownRoot, markdownRoot.resolve(SITE_DIRECTORY));
+    }
+
+    /**
+     * 🌐 Renders the Markdown below a directory into a static HTML site
+     *
+     * @param markdownRoot directory holding the Markdown documents
+     * @param siteRoot directory of the site; skipped when it lies inside
+     *                 the Markdown directory
+     * @return counts of rendered, unchanged and removed pages
+     * @throws IOException if the documents cannot be read or the site
+     *                     written
+     */
+    public SiteResult renderSite(final Path markdownRoot, final Path siteRoot)
+            throws IOException {
+        List<String> pages = findPages(markdownRoot, siteRoot);
+        String navigationHash = ContentHash.sha256Hex(TEMPLATE_VERSION + "\n"
+                + String.join("\n", pages));
+        SiteManifest previous = loadManifest(siteRoot);
+        // Pages were added or removed: every navigation tree changed
+        boolean sameNavigation = navigationHash.equals(previous.navigation());
+        Map<String, String> current = new ConcurrentHashMap<>();
+        Map<Integer, String> navigation = new ConcurrentHashMap<>();
+        AtomicInteger rendered = new AtomicInteger();
+
+        List<CompletableFuture<Void>> renders = new ArrayList<>();
+        for (String page : pages) {
+            renders.add(CompletableFuture.runAsync(() -> {
+                try {
+                    byte[] markdown = Files.readAllBytes(
+                            markdownRoot.resolve(page));
+                    String hash = ContentHash.sha256Hex(markdown);
+                    Path html = siteRoot.resolve(htmlName(page));
+                    if (!sameNavigation
+                            || !hash.equals(previous.pages().get(page))
+                            || !Files.exists(html)) {
+                        int depth = depth(page);
+                        String nav = navigation.computeIfAbsent(depth,
+                                d -> navigationTree(pages, prefix(d)));
+                        fileWriter.writeFile(html, renderPage(page,
+                                new String(markdown, StandardCharsets.UTF_8),
+                                nav, prefix(depth)));
+                        rendered.incrementAndGet();
+                    }
+                    current.put(page, hash);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, renderExecutor));
+        }
+        try {
+            CompletableFuture.allOf(renders.toArray(CompletableFuture[]::new))
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+
+        int removed = 0;
+        for (String page : previous.pages().keySet()) {
+            if (!current.containsKey(page) && Files.deleteIfExists(
+                    siteRoot.resolve(htmlName(page)))) {
+                removed++;
+            }
+        }
+        fileWriter.writeFile(siteRoot.resolve(STYLESHEET), STYLE);
+        Path index = siteRoot.resolve(INDEX_PAGE);
+        fileWriter.writeFile(index, indexPage(pages));
+        saveManifest(siteRoot, navigationHash, current);
+
+        LOGGER.info("🌐 Site {}: {} pages rendered, {} unchanged, {} removed",
+                siteRoot, rendered.get(), pages.size() - rendered.get(),
+                removed);
+        return new SiteResult(rendered.get(), pages.size() - rendered.get(),
+                removed, index);
+    }
+
+    /**
+     * Markdown documents below the root in path order, as relative paths
+     * with {@code /} separators. Hidden files and the site itself are left
+     * out.
+     */
+    private static List<String> findPages(final Path markdownRoot,
+                                          final Path siteRoot)
+            throws IOException {
+        Path root = markdownRoot.toAbsolutePath().normalize();
+        Path site = siteRoot.toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.startsWith(site))
+                    .filter(file -> file.getFileName().toString()
+                            .endsWith(MARKDOWN_EXTENSION))
+                    .map(file -> root.relativize(file).toString()
+                            .replace('\\', '/'))
+                    .filter(page -> !page.startsWith(".")
+                            && !page.contains("/."))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private String renderPage(final String page, final String markdown,
+                              final String navigation, final String prefix) {
+        Node document = parser.parse(markdown);
+        StringBuilder html = new StringBuilder(markdown.length() * 2);
+        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n")
+                .append("<meta charset=\"utf-8\">\n<title>")
+                .append(escape(title(page))).append("</title>\n")
+                .append("<link rel=\"stylesheet\" href=\"").append(prefix)
+                .append(STYLESHEET).append("\">\n</head>\n<body>\n")
+                .append(navigation)
+                .append("<main>\n");
+        renderer.render(document, html);
+        html.append("</main>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    /**
+     * Navigation tree of all pages, with links relative to a page at the
+     * given prefix.
+     */
+    private static String navigationTree(final List<String> pages,
+                                         final String prefix) {
+        StringBuilder nav = new StringBuilder("<nav>\n<ul>\n");
+        List<String> openDirectories = new ArrayList<>();
+        for (String page : pages) {
+            List<String> directories = new ArrayList<>(List.of(
+                    page.split("/")));
+            String file = directories.remove(directories.size() - 1);
+            int common = 0;
+            while (common < openDirectories.size()
+                    && common < directories.size()
+                    && openDirectories.get(common).equals(
+                            directories.get(common))) {
+                common++;
+            }
+            while (openDirectories.size() > common) {
+                openDirectories.remove(openDirectories.size() - 1);
+                nav.append("</ul>\n</li>\n");
+            }
+            for (int i = common; i < directories.size(); i++) {
+                nav.append("<li><span>").append(escape(directories.get(i)))
+                        .append("</span>\n<ul>\n");
+                openDirectories.add(directories.get(i));
+            }
+            nav.append("<li><a href=\"").append(prefix)
+                    .append(escape(htmlName(page))).append("\">")
+                    .append(escape(title(file))).append("</a></li>\n");
+        }
+        for (int i = 0; i < openDirectories.size(); i++) {
+            nav.append("</ul>\n</li>\n");
+        }
+        return nav.append("</ul>\n</nav>\n").toString();
+    }
+
+    private static String indexPage(final List<String> pages) {
+        String start = pages.contains(README) ? htmlName(README)
+                : pages.isEmpty() ? STYLESHEET : htmlName(pages.get(0));
+        return "<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n"
+                + "<meta charset=\"utf-8\">\n"
+                + "<meta http-equiv=\"refresh\" content=\"0; url="
+                + escape(start) + "\">\n<title>Documentation</title>\n"
+                + "</head>\n<body>\n<a href=\"" + escape(start)
+                + "\">Documentation</a>\n</body>\n</html>\n";
+    }
+
+    private static SiteManifest loadManifest(final Path siteRoot) {
+        Path file = siteRoot.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return new SiteManifest("", Map.of());
+        }
+        try {
+            JsonNode root = MAPPER.readTree(file.toFile());
+            Map<String, String> pages = MAPPER.convertValue(
+                    root.path("pages"), PAGES);
+            return new SiteManifest(root.path("navigation").asText(),
+                    pages != null ? pages : Map.of());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Ignoring unreadable site manifest {}: {}", file,
+                    e.getMessage());
+            return new SiteManifest("", Map.of());
+        }
+    }
+
+    private static void saveManifest(final Path siteRoot,
+                                     final String navigationHash,
+                                     final Map<String, String> pages)
+            throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("navigation", navigationHash);
+        root.set("pages", MAPPER.valueToTree(new TreeMap<>(pages)));
+
+        Files.createDirectories(siteRoot);
+        Path file = siteRoot.resolve(MANIFEST_FILE);
+        Path temp = siteRoot.resolve(MANIFEST_FILE + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(),
+                root);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static String htmlName(final String page) {
+        return page.substring(0, page.length() - MARKDOWN_EXTENSION.length())
+                + HTML_EXTENSION;
+    }
+
+    private static int depth(final String page) {
+        return (int) page.chars().filter(c -> c == '/').count();
+    }
+
+    private static String prefix(final int depth) {
+        return "../".repeat(depth);
+    }
+
+    private static String title(final String page) {
+        String name = page.substring(page.lastIndexOf('/') + 1);
+        if (README.equals(name)) {
+            return "Overview";
+        }
+        return name.endsWith(MARKDOWN_EXTENSION)
+                ? name.substring(0, name.length()
+                        - MARKDOWN_EXTENSION.length())
+                : name;
+    }
+
+    private static String escape(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;")
+                .replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Rewrites relative links to Markdown documents to the rendered pages,
+     * keeping anchors.
+     */
+    static String rewriteLink(final String url) {
+        if (url.isEmpty() || url.startsWith("#") || url.startsWith("/")
+                || url.contains("://") || url.startsWith("mailto:")) {
+            return url;
+        }
+        int anchor = url.indexOf('#');
+        String path = anchor >= 0 ? url.substring(0, anchor) : url;
+        if (!path.endsWith(MARKDOWN_EXTENSION)) {
+            return url;
+        }
+        return htmlName(path) + (anchor >= 0 ? url.substring(anchor) : "");
+    }
+
+    /**
+     * Site manifest of the previous run
+     *
+     * @param navigation hash of the page list the pages were rendered with
+     * @param pages page paths mapped to the hash of their Markdown
+     */
+    private record SiteManifest(String navigation, Map<String, String> pages) {
+    }
+
+    /**
+     * Creates the link resolver used for every rendered page
+     */
+    private static final class MarkdownLinkResolverFactory
+            extends IndependentLinkResolverFactory {
+        @Override
+        public LinkResolver apply(final LinkResolverBasicContext context) {
+            return (node, linkContext, link) -> {
+                if (!LinkType.LINK.equals(link.getLinkType())) {
+                    return link;
+                }
+                String url = rewriteLink(link.getUrl());
+                return url.equals(link.getUrl()) ? link
+                        : link.withUrl(url).withStatus(LinkStatus.VALID);
+            };
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.documentor.service.template;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 🧩 Compiled Markdown template
+ *
+ * A template is Markdown text with {@code {{slot}}} placeholders and
+ * {@code {{#flag}}...{{/flag}}} sections. Compiling resolves the sections
+ * against the enabled flags and the slots against their declared order,
+ * leaving a render plan of literal chunks and slot indexes. Rendering
+ * appends the chunks and values straight to the output, without parsing
+ * or intermediate strings.
+ */
+public final class MarkdownTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    /** Literal text before each slot, then the text after the last slot */
+    private final String[] literals;
+    private final int[] slots;
+    private final int slotCount;
+
+    private MarkdownTemplate(final String nameParam,
+                             final List<String> literalsParam,
+                             final List<Integer> slotsParam,
+                             final int slotCountParam) {
+        this.name = nameParam;
+        this.literals = literalsParam.toArray(String[]::new);
+        this.slots = slotsParam.stream().mapToInt(Integer::intValue).toArray();
+        this.slotCount = slotCountParam;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param name template name used in error messages
+     * @param source the template text
+     * @param slotNames the placeholders in the order their values are passed
+     *                  to {@link #render}
+     * @param flags the sections that are kept; all others are dropped
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template uses an unknown
+     *         placeholder or its sections are not balanced
+     */
+    public static MarkdownTemplate compile(final String name,
+                                           final String source,
+                                           final List<String> slotNames,
+                                           final Set<String> flags) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Deque<String> sections = new ArrayDeque<>();
+        int skipping = 0;
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                if (skipping == 0) {
+                    literal.append(source, position, source.length());
+                }
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw error(name, "unclosed placeholder at " + open);
+            }
+            if (skipping == 0) {
+                literal.append(source, position, open);
+            }
+            String tag = source.substring(open + OPEN.length(), close).trim();
+            if (tag.startsWith("#")) {
+                String flag = tag.substring(1);
+                sections.push(flag);
+                if (skipping > 0 || !flags.contains(flag)) {
+                    skipping++;
+                }
+            } else if (tag.startsWith("/")) {
+                String flag = tag.substring(1);
+                if (sections.isEmpty() || !sections.pop().equals(flag)) {
+                    throw error(name, "unexpected {{/" + flag + "}}");
+                }
+                if (skipping > 0) {
+                    skipping--;
+                }
+            } else {
+                int slot = slotNames.indexOf(tag);
+                if (slot < 0) {
+                    throw error(name, "unknown placeholder {{" + tag
+                            + "}}, expected one of " + slotNames);
+                }
+                if (skipping == 0) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(slot);
+                }
+            }
+            position = close + CLOSE.length();
+        }
+        if (!sections.isEmpty()) {
+            throw error(name, "unclosed section {{#" + sections.peek() + "}}");
+        }
+        literals.add(literal.toString());
+        return new MarkdownTemplate(name, literals, slots, slotNames.size());
+    }
+
+    /**
+     * Appends the template with its slots filled in.
+     *
+     * @param out the output
+     * @param values one value per slot, in declaration order; null values
+     *               render as nothing
+     * @param <A> type of the output
+     * @return the output
+     * @throws IOException if the output cannot be written
+     */
+    public <A extends Appendable> A render(final A out,
+                                           final CharSequence... values)
+            throws IOException {
+        if (values.length != slotCount) {
+            throw new IllegalArgumentException("Template " + name
+                    + " takes " + slotCount + " values, got "
+                    + values.length);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            CharSequence value = values[slots[i]];
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        out.append(literals[slots.length]);
+        return out;
+    }
+
+    /**
+     * Renders the template into a string.
+     *
+     * @param values one value per slot, in declaration order
+     * @return the rendered text
+     */
+    public String renderToString(final CharSequence... values) {
+        try {
+            return render(new StringBuilder(), values).toString();
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static IllegalArgumentException error(final String name,
+                                                  final String message) {
+        return new IllegalArgumentException("Template " + name + ": "
+                + message);
+    }
+}
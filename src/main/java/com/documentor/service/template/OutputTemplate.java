@@ -0,0 +1,115 @@
+package com.documentor.service.template;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 🧩 The Markdown templates of the generated documentation
+ *
+ * Each template has a built-in default and the placeholders it is rendered
+ * with. A file named {@link #fileName()} in the template directory replaces
+ * the default. The {@code icons} section is kept only when icons are
+ * enabled in the output settings.
+ */
+public enum OutputTemplate {
+
+    /** Title and introduction of the README */
+    README_HEADER("# {{#icons}}📚 {{/icons}}{{project}} - Code Documentation\n\n"
+            + "This documentation was automatically generated using "
+            + "AI-powered code analysis.\n\n", "project"),
+
+    /** One element of the README API reference */
+    README_API_ELEMENT("- **{{name}}** - `{{signature}}`\n",
+            "name", "signature"),
+
+    /** One class in the README Quick Links */
+    README_QUICK_LINK("- [{{name}}](elements/class-{{file}}.md)\n",
+            "name", "file"),
+
+    /** One directory in the table of API index pages */
+    README_INDEX_ROW("| [{{directory}}](api-index/{{page}}) | {{files}} | "
+            + "{{classes}} | {{methods}} | {{fields}} |\n",
+            "directory", "page", "files", "classes", "methods", "fields"),
+
+    /** Title, documentation, examples and signature of a class document */
+    CLASS_HEADER("# {{icon}} {{name}}\n\n"
+            + "> **Package:** `{{package}}`\n\n"
+            + "---\n\n"
+            + "## 📄 Class Documentation\n\n{{documentation}}\n\n---\n\n"
+            + "## 💡 Class Usage Examples\n\n{{examples}}\n\n---\n\n"
+            + "## 📋 Class Signature\n\n"
+            + "```{{language}}\n{{signature}}\n```\n\n",
+            "icon", "name", "package", "documentation", "examples",
+            "language", "signature"),
+
+    /** Title of a document of elements without a class */
+    STANDALONE_HEADER("# 📁 Standalone Elements\n\n"
+            + "These elements are not associated with a specific class.\n\n"
+            + "---\n\n"),
+
+    /** One field or method in the table of contents of a class */
+    CONTENTS_ENTRY("- [{{icon}} {{name}}](#{{anchor}})\n",
+            "icon", "name", "anchor"),
+
+    /** Opening of a field or method, with its documentation and examples */
+    ELEMENT_START("<div class=\"element-box\">\n\n"
+            + "### {{icon}} {{name}}\n\n"
+            + "#### 📄 Documentation\n\n{{documentation}}\n\n"
+            + "#### 💡 Usage Examples\n\n{{examples}}\n\n",
+            "icon", "name", "documentation", "examples"),
+
+    /** Closing of a field or method */
+    ELEMENT_END("</div>\n\n---\n\n"),
+
+    /** Title and introduction of the unit test suggestions */
+    UNIT_TESTS_HEADER("# {{#icons}}🧪 {{/icons}}Generated Unit Tests\n\n"
+            + "This file contains AI-generated unit test suggestions for the "
+            + "analyzed code.\n\n"),
+
+    /** Coverage goal of the unit test suggestions, in percent */
+    UNIT_TESTS_COVERAGE("Target Coverage: {{coverage}}%\n\n", "coverage"),
+
+    /** Title of the unit test suggestions of one class */
+    UNIT_TESTS_CLASS_HEADER("# {{#icons}}🧪 {{/icons}}Unit Tests: {{class}}\n\n",
+            "class"),
+
+    /** Section of one class in the merged unit test suggestions */
+    UNIT_TESTS_MERGED_CLASS("## {{class}}\n\n", "class");
+
+    private final String defaultSource;
+    private final List<String> slots;
+
+    OutputTemplate(final String defaultSourceParam,
+                   final String... slotsParam) {
+        this.defaultSource = defaultSourceParam;
+        this.slots = List.of(slotsParam);
+    }
+
+    /**
+     * Built-in template text.
+     *
+     * @return the default source
+     */
+    public String getDefaultSource() {
+        return defaultSource;
+    }
+
+    /**
+     * Placeholders, in the order their values are passed when rendering.
+     *
+     * @return the slot names
+     */
+    public List<String> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Name of the file that overrides the template, e.g.
+     * {@code class-header.md}.
+     *
+     * @return the override file name
+     */
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-') + ".md";
+    }
+}
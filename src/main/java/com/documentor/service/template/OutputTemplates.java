@@ -0,0 +1,131 @@
+package com.documentor.service.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 🧩 Output Templates
+ *
+ * Compiles every {@link OutputTemplate} once, with and without icons, so
+ * the generators only pick a render plan. Templates found in
+ * {@code documentor.output.template-directory} replace the built-in ones;
+ * an override that does not compile is reported and the default is used.
+ */
+@Component
+public class OutputTemplates {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(OutputTemplates.class);
+
+    private static final String ICONS = "icons";
+    private static final OutputTemplates DEFAULTS = new OutputTemplates();
+
+    private final Map<OutputTemplate, MarkdownTemplate> withIcons =
+            new EnumMap<>(OutputTemplate.class);
+    private final Map<OutputTemplate, MarkdownTemplate> withoutIcons =
+            new EnumMap<>(OutputTemplate.class);
+
+    /**
+     * Creates the built-in templates.
+     */
+    public OutputTemplates() {
+        this("");
+    }
+
+    /**
+     * Creates the templates, overriding them from a directory.
+     *
+     * @param templateDirectoryParam directory of template overrides; blank
+     *                               for the built-in templates only
+     */
+    @Autowired
+    public OutputTemplates(
+            @Value("${documentor.output.template-directory:}")
+            final String templateDirectoryParam) {
+        Path directory = templateDirectoryParam == null
+                || templateDirectoryParam.isBlank() ? null
+                : Paths.get(templateDirectoryParam);
+        int overrides = 0;
+        for (OutputTemplate template : OutputTemplate.values()) {
+            String source = readOverride(directory, template);
+            if (source != null && compileAll(template, source)) {
+                overrides++;
+            } else {
+                compileAll(template, template.getDefaultSource());
+            }
+        }
+        if (directory != null) {
+            LOGGER.info("🧩 Loaded {} template overrides from {}", overrides,
+                    directory);
+        }
+    }
+
+    /**
+     * Built-in templates shared by generators created without Spring.
+     *
+     * @return the default templates
+     */
+    public static OutputTemplates defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Compiled template for the icon setting of a run.
+     *
+     * @param template the template
+     * @param icons whether icons are enabled
+     * @return the render plan
+     */
+    public MarkdownTemplate get(final OutputTemplate template,
+                                final boolean icons) {
+        return (icons ? withIcons : withoutIcons).get(template);
+    }
+
+    private boolean compileAll(final OutputTemplate template,
+                               final String source) {
+        try {
+            MarkdownTemplate icons = MarkdownTemplate.compile(
+                    template.fileName(), source, template.getSlots(),
+                    Set.of(ICONS));
+            MarkdownTemplate plain = MarkdownTemplate.compile(
+                    template.fileName(), source, template.getSlots(),
+                    Set.of());
+            withIcons.put(template, icons);
+            withoutIcons.put(template, plain);
+            return true;
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("❌ Ignoring template override: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String readOverride(final Path directory,
+                                       final OutputTemplate template) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(template.fileName());
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.error("❌ Cannot read template {}: {}", file,
+                    e.getMessage());
+            return null;
+        }
+    }
+}
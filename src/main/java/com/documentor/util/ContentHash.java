@@ -0,0 +1,54 @@
+package com.documentor.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hashing helpers used to fingerprint prompts and generated files.
+ */
+public final class ContentHash {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    // Private constructor to prevent instantiation
+    private ContentHash() {
+        throw new UnsupportedOperationException(
+                "Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 digest of the given text.
+     *
+     * @param text the text to hash, encoded as UTF-8
+     * @return the hex digest
+     */
+    public static String sha256Hex(final String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 digest of the given bytes.
+     *
+     * @param bytes the bytes to hash
+     * @return the hex digest
+     */
+    public static String sha256Hex(final byte[] bytes) {
+        return HexFormat.of().formatHex(newSha256().digest(bytes));
+    }
+
+    /**
+     * Creates a SHA-256 digest for hashing content incrementally.
+     *
+     * @return a new digest
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
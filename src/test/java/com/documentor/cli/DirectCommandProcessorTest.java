@@ -108,6 +108,20 @@ class DirectCommandProcessorTest {
         verifyNoInteractions(documentorCommands);
     }
 
+    @Test
+    void testScanCommandWithProjectPath() throws Exception {
+        when(applicationArguments.getSourceArgs()).thenReturn(new String[]{
+            "scan", "--project-path", "/test/project",
+            "--include-private-members", "false"
+        });
+        when(documentorCommands.scanProject(anyString(), anyBoolean()))
+            .thenReturn("Scan complete");
+
+        processor.run(applicationArguments);
+
+        verify(documentorCommands).scanProject("/test/project", false);
+    }
+
     @Test
     void testAnalyzeCommandWithDefaultParameters() throws Exception {
         when(applicationArguments.getSourceArgs()).thenReturn(new String[]
@@ -120,6 +134,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -135,7 +153,10 @@ class DirectCommandProcessorTest {
             "",
             false,
             "",
-            false
+            false,
+            false,
+            false,
+            ""
         );
     }
 
@@ -152,6 +173,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -159,7 +184,7 @@ class DirectCommandProcessorTest {
         processor.run(applicationArguments);
 
         verify(documentorCommands).analyzeProject("/custom/path",
-            "config.json", true, false, "", false, "", false);
+            "config.json", true, false, "", false, "", false, false, false, "");
     }
 
     @Test
@@ -175,6 +200,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -182,7 +211,7 @@ class DirectCommandProcessorTest {
         processor.run(applicationArguments);
 
         verify(documentorCommands).analyzeProject(".",
-            "custom-config.json", true, false, "", false, "", false);
+            "custom-config.json", true, false, "", false, "", false, false, false, "");
     }
 
     @Test
@@ -198,6 +227,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -205,7 +238,7 @@ class DirectCommandProcessorTest {
         processor.run(applicationArguments);
 
         verify(documentorCommands).analyzeProject(".",
-            "config.json", false, false, "", false, "", false);
+            "config.json", false, false, "", false, "", false, false, false, "");
     }
 
     @Test
@@ -217,13 +250,13 @@ class DirectCommandProcessorTest {
         when(
             documentorCommands.analyzeProject(anyString(), anyString(),
                 anyBoolean(), anyBoolean(), anyString(), anyBoolean(),
-                anyString(), anyBoolean())
+                anyString(), anyBoolean(), anyBoolean(), anyBoolean(), anyString())
         ).thenReturn("Analysis complete");
 
         processor.run(applicationArguments);
 
         verify(documentorCommands).analyzeProject(".",
-            "config.json", true, true, "diagram.mmd", false, "", false);
+            "config.json", true, true, "diagram.mmd", false, "", false, false, false, "");
     }
 
     @Test
@@ -235,13 +268,13 @@ class DirectCommandProcessorTest {
         when(
             documentorCommands.analyzeProject(anyString(), anyString(),
             anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString(),
-            anyBoolean())
+            anyBoolean(), anyBoolean(), anyBoolean(), anyString())
         ).thenReturn("Analysis complete");
 
         processor.run(applicationArguments);
 
         verify(documentorCommands).analyzeProject(".",
-            "config.json", true, false, "", true, "diagram.puml", false);
+            "config.json", true, false, "", true, "diagram.puml", false, false, false, "");
     }
 
     @Test
@@ -264,6 +297,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -280,7 +317,10 @@ class DirectCommandProcessorTest {
             "mermaid.mmd",
             true,
             "plantuml.puml",
-            false
+            false,
+            false,
+            false,
+            ""
         );
     }
 
@@ -298,6 +338,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -306,7 +350,7 @@ class DirectCommandProcessorTest {
 
         // Should use default values when parameter values are missing
         verify(documentorCommands).analyzeProject(".",
-            "config.json", true, false, "", false, "", false);
+            "config.json", true, false, "", false, "", false, false, false, "");
     }
 
     @Test
@@ -315,14 +359,14 @@ class DirectCommandProcessorTest {
             {"analyze"});
         when(documentorCommands.analyzeProject(anyString(), anyString(),
             anyBoolean(), anyBoolean(), anyString(), anyBoolean(),
-            anyString()))
+            anyString(), anyBoolean(), anyBoolean(), anyBoolean(), anyString()))
             .thenThrow(new RuntimeException("Test exception"));
 
         // Should not throw exception, just log it
         assertDoesNotThrow(() -> processor.run(applicationArguments));
 
         verify(documentorCommands).analyzeProject(".",
-            "config.json", true, false, "", false, "", false);
+            "config.json", true, false, "", false, "", false, false, false, "");
     }
 
     @Test
@@ -337,6 +381,10 @@ class DirectCommandProcessorTest {
                 anyBoolean(),
                 anyString(),
                 anyBoolean(),
+                anyString(),
+                anyBoolean(),
+                anyBoolean(),
+                anyBoolean(),
                 anyString()
             )
         ).thenReturn("Analysis complete");
@@ -356,7 +404,8 @@ class DirectCommandProcessorTest {
         when(applicationArguments.getSourceArgs()).thenReturn(new String[]
             {"analyze"});
         when(documentorCommands.analyzeProject(anyString(), anyString(),
-            anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString()))
+            anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString(), anyBoolean(),
+            anyBoolean(), anyBoolean(), anyString()))
             .thenReturn("Analysis complete");
 
         processor.run(applicationArguments);
@@ -364,7 +413,7 @@ class DirectCommandProcessorTest {
         // Should not call llmServiceFix when config is null
         verifyNoInteractions(llmServiceFix);
         verify(documentorCommands).analyzeProject(".",
-            "config.json", true, false, "", false, "", false);
+            "config.json", true, false, "", false, "", false, false, false, "");
     }
 
     @Test
@@ -377,13 +426,14 @@ class DirectCommandProcessorTest {
             "--generate-plantuml", "true"
         });
         when(documentorCommands.analyzeProject(anyString(), anyString(),
-            anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString()))
+            anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString(), anyBoolean(),
+            anyBoolean(), anyBoolean(), anyString()))
             .thenReturn("Analysis complete");
 
         processor.run(applicationArguments);
 
         verify(documentorCommands).analyzeProject(".",
-            "config.json", true, false, "", true, "", false);
+            "config.json", true, false, "", true, "", false, false, false, "");
     }
 
     @Test
@@ -394,13 +444,28 @@ class DirectCommandProcessorTest {
             "--generate-mermaid", "not-a-boolean"
         });
         when(documentorCommands.analyzeProject(anyString(), anyString(),
-            anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString()))
+            anyBoolean(), anyBoolean(), anyString(), anyBoolean(), anyString(), anyBoolean(),
+            anyBoolean(), anyBoolean(), anyString()))
             .thenReturn("Analysis complete");
 
         processor.run(applicationArguments);
 
         // Invalid boolean strings should parse as false
         verify(documentorCommands).analyzeProject(".",
-            "config.json", false, false, "", false, "", false);
+            "config.json", false, false, "", false, "", false, false, false, "");
+    }
+
+    @Test
+    void testAnalyzeCommandPassesRunModeOptions() throws Exception {
+        when(applicationArguments.getSourceArgs()).thenReturn(new String[]{
+            "analyze", "--dry-run", "true", "--streaming", "true",
+            "--resume", "true", "--since", "main"
+        });
+
+        processor.run(applicationArguments);
+
+        verify(documentorCommands).analyzeProject(".",
+            "config.json", true, false, "", false, "", true, true, true,
+            "main");
     }
 }
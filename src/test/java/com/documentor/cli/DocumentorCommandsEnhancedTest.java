@@ -14,8 +14,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -48,17 +50,49 @@ class DocumentorCommandsEnhancedTest {
         boolean generateMermaid = true;
         String mermaidOutput = "/test/diagrams";
 
-        when(projectAnalysisHandler.handleAnalyzeProjectExtended(projectPath,
-            configPath, generateMermaid, mermaidOutput, false, "", true, false))
-            .thenReturn("Analysis complete");        // When
+        ProjectAnalysisRequest request = new ProjectAnalysisRequest(
+            projectPath, configPath, generateMermaid, mermaidOutput, false,
+            "", true, false, "", false);
+
+        when(projectAnalysisHandler.handleAnalyzeProjectEnhanced(request,
+            false, false)).thenReturn("Analysis complete");
+        // When
         String result = commands.analyzeProject(projectPath, configPath, true,
-                generateMermaid, mermaidOutput, false, "");
+                generateMermaid, mermaidOutput, false, "", false, false, false, "");
 
-        // Then
+        // Then: the default route is the incremental enhanced pipeline
         assertEquals("Analysis complete", result);
-        verify(projectAnalysisHandler).handleAnalyzeProjectExtended(
-            projectPath, configPath, generateMermaid, mermaidOutput,
-            false, "", true, false);
+        verify(projectAnalysisHandler).handleAnalyzeProjectEnhanced(request,
+            false, false);
+    }
+
+    @Test
+    @DisplayName("Should preview analyze through the regular flow")
+    void shouldDryRunThroughRegularFlow() {
+        when(projectAnalysisHandler.handleAnalyzeProjectExtended(
+            "/test/project", "config.json", false, "", false, "", true, true))
+            .thenReturn("Preview");
+
+        String result = commands.analyzeProject("/test/project",
+            "config.json", true, false, "", false, "", true, false, false, "");
+
+        assertEquals("🔄 DRY RUN MODE (no files written)\n\nPreview", result);
+    }
+
+    @Test
+    @DisplayName("Should reject --since together with --streaming or "
+            + "--resume")
+    void shouldRejectSinceWithStreamingOrResume() {
+        String streaming = commands.analyzeProject("/test/project",
+            "config.json", true, false, "", false, "", false, true, false,
+            "HEAD~1");
+        String resume = commands.analyzeProject("/test/project",
+            "config.json", true, false, "", false, "", false, false, true,
+            "HEAD~1");
+
+        assertTrue(streaming.startsWith("❌"), streaming);
+        assertTrue(resume.startsWith("❌"), resume);
+        verifyNoInteractions(projectAnalysisHandler);
     }
 
     @Test
@@ -131,7 +165,7 @@ class DocumentorCommandsEnhancedTest {
         // Given
         // First set the current project and config path
         commands.analyzeProject("/test/project", "custom-config.json",
-            true, false, "", false, "");
+            true, false, "", false, "", false, false, false, "");
 
         when(statusHandler.handleShowStatus(
             "/test/project", "custom-config.json"))
@@ -0,0 +1,104 @@
+package com.documentor.cli;
+
+import com.documentor.service.LlmServiceFix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the one-shot command detection and exit codes of
+ * HeadlessLauncher.
+ */
+class HeadlessLauncherTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(HeadlessLauncher.ENABLED_PROPERTY);
+    }
+
+    @Test
+    void testAnalyzeAndScanAreOneShot() {
+        assertTrue(HeadlessLauncher.isOneShot(
+            new String[]{"analyze", "--project-path", "."}));
+        assertTrue(HeadlessLauncher.isOneShot(new String[]{"scan"}));
+    }
+
+    @Test
+    void testOtherArgumentsStartTheFullApplication() {
+        assertFalse(HeadlessLauncher.isOneShot(null));
+        assertFalse(HeadlessLauncher.isOneShot(new String[]{}));
+        assertFalse(HeadlessLauncher.isOneShot(new String[]{"watch"}));
+        assertFalse(HeadlessLauncher.isOneShot(new String[]{"--help"}));
+    }
+
+    @Test
+    void testLauncherCanBeSwitchedOff() {
+        System.setProperty(HeadlessLauncher.ENABLED_PROPERTY, "false");
+
+        assertFalse(HeadlessLauncher.isOneShot(new String[]{"scan"}));
+    }
+
+    @Test
+    void testFailedCommandGivesNonZeroExitCode() {
+        assertEquals(DirectCommandProcessor.FAILURE_EXIT_CODE,
+                HeadlessLauncher.run(ThrowingScan.class,
+                        new String[]{"scan", "--project-path", "missing"}));
+        assertEquals(DirectCommandProcessor.FAILURE_EXIT_CODE,
+                HeadlessLauncher.run(FailedScan.class,
+                        new String[]{"scan", "--project-path", "missing"}));
+    }
+
+    @Test
+    void testSuccessfulCommandExitsWithZero() {
+        assertEquals(0, HeadlessLauncher.run(SuccessfulScan.class,
+                new String[]{"scan", "--project-path", "."}));
+    }
+
+    private static DirectCommandProcessor processor(
+            final DocumentorCommands commands) {
+        return new DirectCommandProcessor(commands, null,
+                mock(LlmServiceFix.class));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ThrowingScan {
+        @Bean
+        DirectCommandProcessor directCommandProcessor() {
+            DocumentorCommands commands = mock(DocumentorCommands.class);
+            when(commands.scanProject(anyString(), anyBoolean()))
+                    .thenThrow(new IllegalStateException("scan failed"));
+            return processor(commands);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class FailedScan {
+        @Bean
+        DirectCommandProcessor directCommandProcessor() {
+            DocumentorCommands commands = mock(DocumentorCommands.class);
+            when(commands.scanProject(anyString(), anyBoolean()))
+                    .thenReturn("❌ Error: Project path does not exist");
+            return processor(commands);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class SuccessfulScan {
+        @Bean
+        DirectCommandProcessor directCommandProcessor() {
+            DocumentorCommands commands = mock(DocumentorCommands.class);
+            when(commands.scanProject(anyString(), anyBoolean()))
+                    .thenReturn("✅ Scan complete");
+            return processor(commands);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.documentor.cli;
+
+import com.documentor.DocumentorApplicationEnhanced;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Startup Benchmark
+ *
+ * Measures the wall time of one-shot {@code scan} runs, each in a fresh JVM,
+ * with the full context and with the {@link HeadlessLauncher}, and prints
+ * the median of each. Run it with {@code gradle startupBenchmark}.
+ *
+ * Arguments: project path (default {@code src/main/java}), config file
+ * (default {@code config.json}) and runs per mode (default 5).
+ */
+public final class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 5;
+    private static final long RUN_TIMEOUT_MINUTES = 5;
+
+    private StartupBenchmark() {
+        // Utility class should not be instantiated
+    }
+
+    public static void main(final String[] args) throws Exception {
+        String projectPath = args.length > 0 ? args[0] : "src/main/java";
+        String configPath = args.length > 1 ? args[1] : "config.json";
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+
+        for (boolean headless : new boolean[] {false, true}) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = runOnce(headless, projectPath, configPath);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-8s median %6d ms  min %6d ms  max %6d ms%n",
+                    headless ? "headless" : "full", millis[runs / 2],
+                    millis[0], millis[runs - 1]);
+        }
+    }
+
+    private static long runOnce(final boolean headless,
+                                final String projectPath,
+                                final String configPath)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse("java"));
+        command.add("-D" + HeadlessLauncher.ENABLED_PROPERTY + "=" + headless);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DocumentorApplicationEnhanced.class.getName());
+        command.addAll(List.of("scan", "--project-path", projectPath,
+                "--config", configPath));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(
+                        new File(System.getProperty("java.io.tmpdir"),
+                                "documentor-startup-benchmark.log")))
+                .start();
+        if (!process.waitFor(RUN_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("scan did not finish");
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("scan failed with exit code "
+                    + process.exitValue());
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -5,21 +5,35 @@ import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import com.documentor.service.CodeAnalysisService;
 import com.documentor.service.DocumentationService;
+import com.documentor.service.DocumentationServiceEnhanced;
+import com.documentor.service.DocumentationServiceEnhanced.StreamedDocumentation;
 import com.documentor.service.LlmServiceFix;
 import com.documentor.service.MermaidDiagramService;
 import com.documentor.service.PlantUMLDiagramService;
+import com.documentor.service.analysis.GitChangeDetector;
+import com.documentor.service.distributed.ShardQueue;
+import com.documentor.service.search.SearchIndex;
+import com.documentor.service.site.HtmlSiteGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -31,6 +45,12 @@ import static org.mockito.Mockito.never;
  */
 class ProjectAnalysisCommandHandlerTest {
 
+    private static final long WATCH_DEBOUNCE_MILLIS = 50L;
+    private static final long WATCH_ATTEMPT_MILLIS = 500L;
+    private static final int WATCH_ATTEMPTS = 40;
+    private static final int SEARCH_LIMIT = 5;
+    private static final long LEASE_SECONDS = 30L;
+
     private CodeAnalysisService analysisService;
     private DocumentationService documentationService;
     private MermaidDiagramService mermaidService;
@@ -109,6 +129,183 @@ class ProjectAnalysisCommandHandlerTest {
         assertTrue(res.contains("Mermaid diagrams"));
     }
 
+    @Test
+    void handleAnalyzeProjectSinceDocumentsOnlyChangedFiles(
+            @TempDir final Path tmp) throws Exception {
+        // Arrange
+        DocumentationServiceEnhanced enhancedService = mock(
+            DocumentationServiceEnhanced.class);
+        GitChangeDetector detector = mock(GitChangeDetector.class);
+        ProjectAnalysisCommandHandler sinceHandler =
+            new ProjectAnalysisCommandHandler(analysisService,
+                documentationService, mermaidService,
+                mock(PlantUMLDiagramService.class), commonHandler,
+                mock(LlmServiceFix.class),
+                new ProjectAnalysisServices(enhancedService, detector,
+                    new HtmlSiteGenerator()));
+        Path changed = Path.of("src", "A.java");
+        Path deleted = Path.of("src", "B.java");
+        when(detector.changedSince(tmp, "main")).thenReturn(
+            new GitChangeDetector.ChangeSet("main", Set.of(changed),
+                Set.of(deleted)));
+        ProjectAnalysis analysis = new ProjectAnalysis(tmp.toString(),
+            List.of(), System.currentTimeMillis());
+        when(analysisService.analyzeFiles(tmp, Set.of(changed), null))
+            .thenReturn(CompletableFuture.completedFuture(analysis));
+        when(enhancedService.generateChangedDocumentation(eq(analysis),
+                any())).thenReturn(
+            CompletableFuture.completedFuture("docs"));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+
+        // Act
+        String res = sinceHandler.handleAnalyzeProjectSince(
+            new ProjectAnalysisRequest(tmp.toString(), "", false, "", false,
+                "", null, false, "", false), "main");
+
+        // Assert
+        verify(documentationService, never()).generateDocumentation(any());
+        verify(enhancedService).generateChangedDocumentation(analysis,
+            Set.of(tmp.resolve(changed).toString(),
+                tmp.resolve(deleted).toString()));
+        assertTrue(res.contains("1 changed and 1 removed files since main"));
+    }
+
+    @Test
+    void handleWatchProjectDocumentsChangedFiles(@TempDir final Path tmp)
+            throws Exception {
+        // Arrange
+        DocumentationServiceEnhanced enhancedService = mock(
+            DocumentationServiceEnhanced.class);
+        ProjectAnalysisCommandHandler watchHandler =
+            new ProjectAnalysisCommandHandler(analysisService,
+                documentationService, mermaidService,
+                mock(PlantUMLDiagramService.class), commonHandler,
+                mock(LlmServiceFix.class),
+                new ProjectAnalysisServices(enhancedService));
+        ProjectAnalysis analysis = new ProjectAnalysis(tmp.toString(),
+            List.of(), System.currentTimeMillis());
+        when(analysisService.isAnalyzable(any())).thenAnswer(invocation ->
+            invocation.getArgument(0).toString().endsWith(".java"));
+        when(analysisService.analyzeFiles(eq(tmp), any(), eq(null)))
+            .thenReturn(CompletableFuture.completedFuture(analysis));
+        when(enhancedService.generateChangedDocumentation(eq(analysis),
+                any())).thenReturn(
+            CompletableFuture.completedFuture("docs"));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+
+        // Act: keep saving until the watcher has picked the file up
+        CompletableFuture<String> watch = CompletableFuture.supplyAsync(() ->
+            watchHandler.handleWatchProject(tmp.toString(), "",
+                WATCH_DEBOUNCE_MILLIS, 1));
+        for (int i = 0; i < WATCH_ATTEMPTS && !watch.isDone(); i++) {
+            Files.writeString(tmp.resolve("A.java"), "class A {} // " + i);
+            Thread.sleep(WATCH_ATTEMPT_MILLIS);
+        }
+        String res = watch.get(WATCH_ATTEMPT_MILLIS, TimeUnit.MILLISECONDS);
+
+        // Assert
+        verify(enhancedService).generateChangedDocumentation(analysis,
+            Set.of(tmp.resolve("A.java").toString()));
+        assertTrue(res.contains("Batch 1: 1 files"), res);
+    }
+
+    @Test
+    void handleWatchProjectKeepsWatchingAfterFailedBatch(
+            @TempDir final Path tmp) throws Exception {
+        // Arrange
+        DocumentationServiceEnhanced enhancedService = mock(
+            DocumentationServiceEnhanced.class);
+        ProjectAnalysisCommandHandler watchHandler =
+            new ProjectAnalysisCommandHandler(analysisService,
+                documentationService, mermaidService,
+                mock(PlantUMLDiagramService.class), commonHandler,
+                mock(LlmServiceFix.class),
+                new ProjectAnalysisServices(enhancedService));
+        ProjectAnalysis analysis = new ProjectAnalysis(tmp.toString(),
+            List.of(), System.currentTimeMillis());
+        when(analysisService.isAnalyzable(any())).thenAnswer(invocation ->
+            invocation.getArgument(0).toString().endsWith(".java"));
+        when(analysisService.analyzeFiles(eq(tmp), any(), eq(null)))
+            .thenReturn(CompletableFuture.completedFuture(analysis));
+        when(enhancedService.generateChangedDocumentation(eq(analysis),
+                any()))
+            .thenReturn(CompletableFuture.failedFuture(
+                new IllegalStateException("disk full")))
+            .thenReturn(CompletableFuture.completedFuture("docs"));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+        when(commonHandler.formatErrorMessage(any(), any()))
+            .thenReturn("❌ Batch 1 failed");
+        // Hidden directories are not watched, others are
+        Files.createDirectories(tmp.resolve(".git"));
+        Files.createDirectories(tmp.resolve("src"));
+
+        // Act: keep saving until the watcher has seen two batches
+        CompletableFuture<String> watch = CompletableFuture.supplyAsync(() ->
+            watchHandler.handleWatchProject(tmp.toString(), "",
+                WATCH_DEBOUNCE_MILLIS, 2));
+        for (int i = 0; i < WATCH_ATTEMPTS && !watch.isDone(); i++) {
+            Files.writeString(tmp.resolve("A.java"), "class A {} // " + i);
+            Thread.sleep(WATCH_ATTEMPT_MILLIS);
+        }
+        String res = watch.get(WATCH_ATTEMPT_MILLIS, TimeUnit.MILLISECONDS);
+
+        // Assert
+        verify(commonHandler).formatErrorMessage(eq("Batch 1 failed"),
+            any());
+        assertTrue(res.contains("❌ Batch 1 failed"), res);
+        assertTrue(res.contains("Batch 2: 1 files"), res);
+    }
+
+    @Test
+    void handleAnalyzeProjectStreamingUsesEnhancedService(
+            @TempDir final Path tmp) {
+        // Arrange
+        DocumentationServiceEnhanced streamingService = mock(
+            DocumentationServiceEnhanced.class);
+        ProjectAnalysisCommandHandler streamingHandler =
+            new ProjectAnalysisCommandHandler(analysisService,
+                documentationService, mermaidService,
+                mock(PlantUMLDiagramService.class), commonHandler,
+                mock(LlmServiceFix.class),
+                new ProjectAnalysisServices(streamingService));
+        CodeElement element = new CodeElement(CodeElementType.CLASS, "A",
+            "A", "A.java", 1, "sig", "", List.of(), List.of());
+        ProjectAnalysis file = new ProjectAnalysis("A.java", List.of(element),
+            System.currentTimeMillis());
+        AtomicInteger parses = new AtomicInteger();
+        when(analysisService.analyzeProjectStreaming(tmp, null))
+            .thenReturn(Flux.defer(() -> {
+                parses.incrementAndGet();
+                return Flux.just(file);
+            }));
+        when(streamingService.generateStreamingDocumentation(
+                eq(tmp.toString()), any(), eq(false)))
+            .thenAnswer(invocation -> {
+                Flux<ProjectAnalysis> files = invocation.getArgument(1);
+                return CompletableFuture.completedFuture(
+                    new StreamedDocumentation(tmp.toString(),
+                        ProjectAnalysis.combine(tmp.toString(),
+                            files.collectList().block())));
+            });
+        when(mermaidService.generateClassDiagrams(any(), eq("out")))
+            .thenReturn(CompletableFuture.completedFuture(List.of("d1")));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+
+        // Act
+        String res = streamingHandler.handleAnalyzeProjectStreaming(
+            tmp.toString(), "", true, "out", false, "", null);
+
+        // Assert
+        verify(documentationService, never()).generateDocumentation(any());
+        verify(mermaidService).generateClassDiagrams(
+            argThat(analysis -> analysis.codeElements()
+                .equals(List.of(element))), eq("out"));
+        assertTrue(res.contains("Documentation generated at"));
+        assertTrue(res.contains("Mermaid diagrams: 1"));
+        // The project is parsed once and never replayed from a cache
+        assertEquals(1, parses.get());
+    }
+
     @Test
     void handleScanProjectHandlesNonExistentDirectory(@TempDir final Path tmp) {
         // Arrange
@@ -144,4 +341,209 @@ class ProjectAnalysisCommandHandlerTest {
         assertTrue(result.contains("❌ Error during analysis"),
         "Should format exception message");
     }
+
+    @Test
+    void handleRenderSiteRendersDocumentation(@TempDir final Path tmp)
+            throws Exception {
+        // Arrange
+        Files.writeString(tmp.resolve("README.md"), "# Project\n\nHello");
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+
+        // Act
+        String res = handler.handleRenderSite(tmp.toString(), "");
+        String missing = handler.handleRenderSite(
+            tmp.resolve("missing").toString(), "");
+
+        // Assert
+        assertTrue(res.contains("Site written to"), res);
+        assertTrue(res.contains("1 pages rendered"), res);
+        assertTrue(Files.exists(tmp.resolve(HtmlSiteGenerator.SITE_DIRECTORY)
+            .resolve("index.html")));
+        assertTrue(missing.contains("Documentation directory does not exist"));
+    }
+
+    @Test
+    void handleRenderSiteReportsFailures(@TempDir final Path tmp)
+            throws Exception {
+        // Arrange
+        HtmlSiteGenerator siteGenerator = mock(HtmlSiteGenerator.class);
+        ProjectAnalysisCommandHandler siteHandler = enhancedHandler(
+            new ProjectAnalysisServices(null, new GitChangeDetector(),
+                siteGenerator));
+        IOException failure = new IOException("disk full");
+        when(siteGenerator.renderSite(any(), any())).thenThrow(failure);
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+        when(commonHandler.formatErrorMessage("Error rendering site",
+            failure)).thenReturn("❌ Error rendering site: disk full");
+
+        // Act
+        String res = siteHandler.handleRenderSite(tmp.toString(),
+            tmp.resolve("site").toString());
+
+        // Assert
+        verify(siteGenerator).renderSite(tmp, tmp.resolve("site"));
+        assertEquals("❌ Error rendering site: disk full", res);
+    }
+
+    @Test
+    void handleSearchRanksIndexedDocuments(@TempDir final Path tmp)
+            throws Exception {
+        // Arrange
+        SearchIndex index = SearchIndex.load(tmp);
+        index.update("elements/class-com.example.Parser.md",
+            "# Parser\n\nParses tokens into a syntax tree");
+        index.update("elements/class-com.example.Writer.md",
+            "# Writer\n\nWrites documents");
+        index.save();
+
+        // Act
+        String hits = handler.handleSearch(tmp.toString(), "tokens",
+            SEARCH_LIMIT);
+        String none = handler.handleSearch(tmp.toString(), "nothing",
+            SEARCH_LIMIT);
+        String noIndex = handler.handleSearch(
+            tmp.resolve("missing").toString(), "tokens", SEARCH_LIMIT);
+
+        // Assert
+        assertTrue(hits.contains("1 matches for 'tokens' in 2 documents"),
+            hits);
+        assertTrue(hits.contains("elements/class-com.example.Parser.md"),
+            hits);
+        assertTrue(none.contains("No matches for 'nothing' in 2 documents"),
+            none);
+        assertTrue(noIndex.contains("No search index"), noIndex);
+    }
+
+    @Test
+    void handleArchiveProjectUsesEnhancedService(@TempDir final Path tmp) {
+        // Arrange
+        DocumentationServiceEnhanced enhancedService = mock(
+            DocumentationServiceEnhanced.class);
+        ProjectAnalysisCommandHandler archiveHandler = enhancedHandler(
+            new ProjectAnalysisServices(enhancedService));
+        ProjectAnalysis analysis = new ProjectAnalysis(tmp.toString(),
+            List.of(), System.currentTimeMillis());
+        Path zip = tmp.resolve("docs.zip");
+        when(analysisService.analyzeProject(tmp, true)).thenReturn(
+            CompletableFuture.completedFuture(analysis));
+        when(enhancedService.generateDocumentationArchive(analysis, zip))
+            .thenReturn(CompletableFuture.completedFuture(zip.toString()));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+
+        // Act
+        String res = archiveHandler.handleArchiveProject(tmp.toString(), "",
+            zip.toString(), true);
+        String missing = archiveHandler.handleArchiveProject(
+            tmp.resolve("missing").toString(), "", zip.toString(), true);
+        String unavailable = handler.handleArchiveProject(tmp.toString(), "",
+            zip.toString(), true);
+
+        // Assert
+        assertTrue(res.contains("Documentation archived in: " + zip), res);
+        assertTrue(missing.contains("Project path does not exist"));
+        assertTrue(unavailable.contains("requires the enhanced"));
+    }
+
+    @Test
+    void handleAnalyzeProjectEnhancedResumesRegularRun(
+            @TempDir final Path tmp) {
+        // Arrange
+        DocumentationServiceEnhanced enhancedService = mock(
+            DocumentationServiceEnhanced.class);
+        ProjectAnalysisCommandHandler enhanced = enhancedHandler(
+            new ProjectAnalysisServices(enhancedService));
+        ProjectAnalysis analysis = new ProjectAnalysis(tmp.toString(),
+            List.of(), System.currentTimeMillis());
+        when(analysisService.analyzeProject(tmp)).thenReturn(
+            CompletableFuture.completedFuture(analysis));
+        when(enhancedService.generateDocumentation(analysis, true))
+            .thenReturn(CompletableFuture.completedFuture("docs"));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+        String missingPath = tmp.resolve("missing").toString();
+
+        // Act
+        String res = enhanced.handleAnalyzeProjectEnhanced(
+            new ProjectAnalysisRequest(tmp.toString(), "", false, "", false,
+                "", null, false, "", false), false, true);
+        String missing = enhanced.handleAnalyzeProjectEnhanced(
+            new ProjectAnalysisRequest(missingPath, "", false, "", false,
+                "", null, false, "", false), false, true);
+
+        // Assert
+        verify(enhancedService).generateDocumentation(analysis, true);
+        assertTrue(res.contains("Documentation generated at: docs"), res);
+        assertTrue(missing.contains("Project path does not exist"), missing);
+    }
+
+    @Test
+    void handleShardedRunsWorkAndCoordinate(@TempDir final Path tmp)
+            throws Exception {
+        // Arrange
+        DocumentationServiceEnhanced enhancedService = mock(
+            DocumentationServiceEnhanced.class);
+        ProjectAnalysisCommandHandler shardHandler = enhancedHandler(
+            new ProjectAnalysisServices(enhancedService));
+        ProjectAnalysis analysis = new ProjectAnalysis(tmp.toString(),
+            List.of(classElement("A"), classElement("B")),
+            System.currentTimeMillis());
+        Path queueDir = tmp.resolve("queue");
+        ShardQueue.create(queueDir, analysis, 2);
+        when(enhancedService.generateJournal(any(), any()))
+            .thenAnswer(invocation -> {
+                Path work = invocation.getArgument(1);
+                Files.createDirectories(work);
+                return CompletableFuture.completedFuture(Files.writeString(
+                    work.resolve("journal.jsonl"), "{}"));
+            });
+        when(analysisService.analyzeProject(tmp)).thenReturn(
+            CompletableFuture.completedFuture(analysis));
+        when(enhancedService.generateDocumentationFromJournals(eq(analysis),
+            any())).thenReturn(CompletableFuture.completedFuture("docs"));
+        when(commonHandler.directoryExists(tmp.toString())).thenReturn(true);
+
+        // Act
+        String worked = shardHandler.handleWorkShards(queueDir.toString(), "",
+            "w1", LEASE_SECONDS);
+        String coordinated = shardHandler.handleCoordinateShards(
+            tmp.toString(), "", queueDir.toString(), 2, 1);
+
+        // Assert
+        assertEquals("✅ Worker w1 finished 2 shards", worked);
+        verify(enhancedService).generateDocumentationFromJournals(eq(analysis),
+            argThat(journals -> journals.size() == 2));
+        assertEquals("✅ Documentation of 2 shards generated in: docs",
+            coordinated);
+    }
+
+    @Test
+    void handleShardedRunsRequireEnhancedService(@TempDir final Path tmp) {
+        // Act
+        String coordinated = handler.handleCoordinateShards(tmp.toString(),
+            "", tmp.resolve("queue").toString(), 2, 1);
+        String worked = handler.handleWorkShards(
+            tmp.resolve("queue").toString(), "", "", LEASE_SECONDS);
+        String missing = enhancedHandler(new ProjectAnalysisServices(
+            mock(DocumentationServiceEnhanced.class)))
+            .handleCoordinateShards(tmp.resolve("missing").toString(), "",
+                tmp.resolve("queue").toString(), 2, 1);
+
+        // Assert
+        assertTrue(coordinated.contains("require the enhanced"));
+        assertTrue(worked.contains("require the enhanced"));
+        assertTrue(missing.contains("Project path does not exist"));
+    }
+
+    private ProjectAnalysisCommandHandler enhancedHandler(
+            final ProjectAnalysisServices services) {
+        return new ProjectAnalysisCommandHandler(analysisService,
+            documentationService, mermaidService,
+            mock(PlantUMLDiagramService.class), commonHandler,
+            mock(LlmServiceFix.class), services);
+    }
+
+    private static CodeElement classElement(final String name) {
+        return new CodeElement(CodeElementType.CLASS, name,
+            "com.example." + name, "/src/" + name + ".java", 1,
+            "class " + name, "", List.of(), List.of());
+    }
 }
@@ -39,6 +39,9 @@ class DiagramServiceConfigurationCoverageTest {
     @Mock
     private DocumentorConfig documentorConfig;
 
+    private static final ExecutorRegistry EXECUTORS =
+        new ExecutorRegistry(null);
+
     private DiagramServiceConfiguration configuration;
 
     @BeforeEach
@@ -55,7 +58,7 @@ class DiagramServiceConfigurationCoverageTest {
         void testCreateMermaidDiagramService() {
             // When
             MermaidDiagramService service = configuration.mermaidDiagramService(
-                    elementFilter, pathManager, generatorFactory, documentorConfig);
+                    elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
             // Then
             assertNotNull(service, "MermaidDiagramService should be created");
@@ -68,7 +71,7 @@ class DiagramServiceConfigurationCoverageTest {
                     mockStatic(ThreadLocalContextHolder.class)) {
                 // When
                 MermaidDiagramService service = configuration.mermaidDiagramService(
-                        elementFilter, pathManager, generatorFactory, documentorConfig);
+                        elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
                 // Then
                 assertNotNull(service, "Service should be created");
@@ -85,7 +88,7 @@ class DiagramServiceConfigurationCoverageTest {
                     mockStatic(ThreadLocalContextHolder.class)) {
                 // When
                 MermaidDiagramService service = configuration.mermaidDiagramService(
-                        elementFilter, pathManager, generatorFactory, null);
+                        elementFilter, pathManager, generatorFactory, null, EXECUTORS);
 
                 // Then
                 assertNotNull(service, "Service should be created even with null config");
@@ -101,7 +104,7 @@ class DiagramServiceConfigurationCoverageTest {
         void testMermaidDiagramServiceDependencies() {
             // When
             MermaidDiagramService service = configuration.mermaidDiagramService(
-                    elementFilter, pathManager, generatorFactory, documentorConfig);
+                    elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
             // Then - verify service is created (dependencies are correctly passed)
             assertNotNull(service, "Service should be created with provided dependencies");
@@ -117,7 +120,7 @@ class DiagramServiceConfigurationCoverageTest {
         void testCreatePlantUMLDiagramService() {
             // When
             PlantUMLDiagramService service = configuration.plantUMLDiagramService(
-                    elementFilter, pathManager, generatorFactory, documentorConfig);
+                    elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
             // Then
             assertNotNull(service, "PlantUMLDiagramService should be created");
@@ -130,7 +133,7 @@ class DiagramServiceConfigurationCoverageTest {
                     mockStatic(ThreadLocalContextHolder.class)) {
                 // When
                 PlantUMLDiagramService service = configuration.plantUMLDiagramService(
-                        elementFilter, pathManager, generatorFactory, documentorConfig);
+                        elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
                 // Then
                 assertNotNull(service, "Service should be created");
@@ -147,7 +150,7 @@ class DiagramServiceConfigurationCoverageTest {
                     mockStatic(ThreadLocalContextHolder.class)) {
                 // When
                 PlantUMLDiagramService service = configuration.plantUMLDiagramService(
-                        elementFilter, pathManager, generatorFactory, null);
+                        elementFilter, pathManager, generatorFactory, null, EXECUTORS);
 
                 // Then
                 assertNotNull(service, "Service should be created even with null config");
@@ -163,7 +166,7 @@ class DiagramServiceConfigurationCoverageTest {
         void testPlantUMLDiagramServiceDependencies() {
             // When
             PlantUMLDiagramService service = configuration.plantUMLDiagramService(
-                    elementFilter, pathManager, generatorFactory, documentorConfig);
+                    elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
             // Then - verify service is created (dependencies are correctly passed)
             assertNotNull(service, "Service should be created with provided dependencies");
@@ -179,9 +182,9 @@ class DiagramServiceConfigurationCoverageTest {
         void testCreateBothServices() {
             // When
             MermaidDiagramService mermaidService = configuration.mermaidDiagramService(
-                    elementFilter, pathManager, generatorFactory, documentorConfig);
+                    elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
             PlantUMLDiagramService plantUMLService = configuration.plantUMLDiagramService(
-                    elementFilter, pathManager, generatorFactory, documentorConfig);
+                    elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
             // Then
             assertNotNull(mermaidService, "MermaidDiagramService should be created");
@@ -195,9 +198,9 @@ class DiagramServiceConfigurationCoverageTest {
                     mockStatic(ThreadLocalContextHolder.class)) {
                 // When
                 MermaidDiagramService mermaidService = configuration.mermaidDiagramService(
-                        elementFilter, pathManager, generatorFactory, null);
+                        elementFilter, pathManager, generatorFactory, null, EXECUTORS);
                 PlantUMLDiagramService plantUMLService = configuration.plantUMLDiagramService(
-                        elementFilter, pathManager, generatorFactory, documentorConfig);
+                        elementFilter, pathManager, generatorFactory, documentorConfig, EXECUTORS);
 
                 // Then
                 assertNotNull(mermaidService, "Mermaid service should be created with null config");
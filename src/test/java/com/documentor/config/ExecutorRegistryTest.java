@@ -0,0 +1,150 @@
+package com.documentor.config;
+
+import com.documentor.config.model.ExecutorSettings;
+import com.documentor.config.model.LlmModelConfig;
+import com.documentor.config.model.OutputSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Executor Registry Tests")
+class ExecutorRegistryTest {
+
+    private static final int CPU_THREADS = 3;
+    private static final int LLM_THREADS = 2;
+    private static final int FILE_THREADS = 1;
+    private static final int DIAGRAM_THREADS = 1;
+    private static final int QUEUE_CAPACITY = 1;
+    private static final int SHUTDOWN_SECONDS = 2;
+    private static final int AWAIT_SECONDS = 5;
+    private static final int POOL_COUNT = 4;
+
+    private ExecutorRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+        ThreadLocalContextHolder.clearConfig();
+    }
+
+    private ExecutorSettings settings() {
+        return new ExecutorSettings(CPU_THREADS, LLM_THREADS, FILE_THREADS,
+                DIAGRAM_THREADS, QUEUE_CAPACITY, SHUTDOWN_SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should size each named pool from the settings")
+    void shouldSizePoolsFromSettings() {
+        registry = new ExecutorRegistry(settings());
+
+        assertEquals(CPU_THREADS,
+                registry.stats(ExecutorRegistry.Pool.CPU_PARSE).maxPoolSize());
+        assertEquals(LLM_THREADS,
+                registry.stats(ExecutorRegistry.Pool.LLM_IO).maxPoolSize());
+        assertEquals(FILE_THREADS,
+                registry.stats(ExecutorRegistry.Pool.FILE_WRITE).maxPoolSize());
+        assertEquals(QUEUE_CAPACITY,
+                registry.stats(ExecutorRegistry.Pool.DIAGRAM).queueCapacity());
+        assertEquals(POOL_COUNT, registry.allStats().size());
+        assertEquals("llm-io", registry.allStats().get(1).name());
+    }
+
+    @Test
+    @DisplayName("Should fall back to defaults when settings are null")
+    void shouldUseDefaultsForNullSettings() {
+        registry = new ExecutorRegistry(null);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(),
+                registry.stats(ExecutorRegistry.Pool.CPU_PARSE).maxPoolSize());
+        assertNotNull(registry.executor(ExecutorRegistry.Pool.LLM_IO));
+    }
+
+    @Test
+    @DisplayName("Should run tasks on named threads with config propagated")
+    void shouldPropagateConfigToPoolThreads() throws InterruptedException {
+        registry = new ExecutorRegistry(settings());
+        DocumentorConfig config = new DocumentorConfig(
+                List.of(new LlmModelConfig("m", "ollama", "http://localhost",
+                        null, null, null)),
+                new OutputSettings("docs", null, null, null, null,
+                        null, null, null, null),
+                null);
+        ThreadLocalContextHolder.setConfig(config);
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        AtomicReference<DocumentorConfig> seenConfig = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        registry.executor(ExecutorRegistry.Pool.CPU_PARSE).execute(() -> {
+            threadName.set(Thread.currentThread().getName());
+            seenConfig.set(ThreadLocalContextHolder.getConfig());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("documentor-cpu-parse-"));
+        assertSame(config, seenConfig.get());
+    }
+
+    @Test
+    @DisplayName("Should run overflow on the caller and count the rejection")
+    void shouldCountRejectionsWhenSaturated() throws InterruptedException {
+        registry = new ExecutorRegistry(settings());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            started.countDown();
+            try {
+                release.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // One thread busy, one task queued, the third overflows
+        registry.executor(ExecutorRegistry.Pool.FILE_WRITE).execute(blocker);
+        assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        registry.executor(ExecutorRegistry.Pool.FILE_WRITE).execute(() -> { });
+        AtomicReference<String> overflowThread = new AtomicReference<>();
+        registry.executor(ExecutorRegistry.Pool.FILE_WRITE).execute(() ->
+                overflowThread.set(Thread.currentThread().getName()));
+
+        ExecutorRegistry.PoolStats stats =
+                registry.stats(ExecutorRegistry.Pool.FILE_WRITE);
+        assertEquals(1, stats.rejectedTasks());
+        assertEquals(1, stats.activeCount());
+        assertEquals(1, stats.queueDepth());
+        assertEquals(Thread.currentThread().getName(), overflowThread.get());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should shut down once and report it")
+    void shouldShutdownGracefully() throws InterruptedException {
+        registry = new ExecutorRegistry(settings());
+        CountDownLatch done = new CountDownLatch(1);
+        registry.executor(ExecutorRegistry.Pool.DIAGRAM).execute(
+                done::countDown);
+        assertTrue(done.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+
+        assertFalse(registry.isShutdown());
+        registry.shutdown();
+        registry.shutdown();
+
+        assertTrue(registry.isShutdown());
+        assertEquals(1,
+                registry.stats(ExecutorRegistry.Pool.DIAGRAM).completedTasks());
+    }
+}
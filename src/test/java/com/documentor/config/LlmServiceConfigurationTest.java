@@ -33,6 +33,9 @@ class LlmServiceConfigurationTest {
     @Mock
     private LlmApiClient apiClient;
 
+    private static final ExecutorRegistry EXECUTORS =
+        new ExecutorRegistry(null);
+
     private LlmServiceConfiguration configuration;
 
     // Magic number constants for LlmModelConfig
@@ -124,7 +127,7 @@ class LlmServiceConfigurationTest {
 
         // Should create LlmService with the provided config
         LlmService result = configuration.llmService(
-            validConfig, requestBuilder, responseHandler, apiClient);
+            validConfig, requestBuilder, responseHandler, apiClient, EXECUTORS);
         assertNotNull(result);
     }
 
@@ -132,7 +135,7 @@ class LlmServiceConfigurationTest {
     void testLlmServiceWithNullConfig() {
         // Should create LlmService with a default config
         LlmService result = configuration.llmService(
-            null, requestBuilder, responseHandler, apiClient);
+            null, requestBuilder, responseHandler, apiClient, EXECUTORS);
         assertNotNull(result);
     }
 
@@ -147,7 +150,7 @@ class LlmServiceConfigurationTest {
 
         // Should create LlmService with a default model added
         LlmService result = configuration.llmService(
-            emptyConfig, requestBuilder, responseHandler, apiClient);
+            emptyConfig, requestBuilder, responseHandler, apiClient, EXECUTORS);
         assertNotNull(result);
     }
 
@@ -162,7 +165,7 @@ class LlmServiceConfigurationTest {
 
         // Should create LlmService with a default model added
         LlmService result = configuration.llmService(
-            nullModelsConfig, requestBuilder, responseHandler, apiClient);
+            nullModelsConfig, requestBuilder, responseHandler, apiClient, EXECUTORS);
         assertNotNull(result);
     }
 
@@ -171,7 +174,8 @@ class LlmServiceConfigurationTest {
         LlmService mockLlmService = mock(LlmService.class);
 
         ElementDocumentationGenerator result =
-            configuration.elementDocumentationGenerator(mockLlmService);
+            configuration.elementDocumentationGenerator(mockLlmService,
+                null);
         assertNotNull(result);
     }
 }
@@ -0,0 +1,69 @@
+package com.documentor.config.model;
+
+import com.documentor.config.DocumentorConfig;
+import com.documentor.constants.ApplicationConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Executor Settings Tests")
+class ExecutorSettingsTest {
+
+    private static final int CPU_THREADS = 6;
+    private static final int LLM_THREADS = 12;
+    private static final int QUEUE_CAPACITY = 50;
+
+    @Test
+    @DisplayName("Should keep provided values")
+    void shouldCreateWithProvidedValues() {
+        ExecutorSettings settings = new ExecutorSettings(CPU_THREADS,
+                LLM_THREADS, 1, 2, QUEUE_CAPACITY, 1);
+
+        assertEquals(CPU_THREADS, settings.cpuParseThreads());
+        assertEquals(LLM_THREADS, settings.llmIoThreads());
+        assertEquals(1, settings.fileWriteThreads());
+        assertEquals(2, settings.diagramThreads());
+        assertEquals(QUEUE_CAPACITY, settings.queueCapacity());
+        assertEquals(1, settings.shutdownTimeoutSeconds());
+    }
+
+    @Test
+    @DisplayName("Should apply defaults for null and non-positive values")
+    void shouldApplyDefaults() {
+        ExecutorSettings settings = new ExecutorSettings(0, -1, null, null,
+                null, null);
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        assertEquals(processors, settings.cpuParseThreads());
+        assertEquals(ApplicationConstants.DEFAULT_WORKER_THREAD_COUNT,
+                settings.llmIoThreads());
+        assertEquals(ApplicationConstants.DEFAULT_FILE_WRITE_THREAD_COUNT,
+                settings.fileWriteThreads());
+        assertEquals(Math.max(1, processors / 2), settings.diagramThreads());
+        assertEquals(ApplicationConstants.DEFAULT_EXECUTOR_QUEUE_CAPACITY,
+                settings.queueCapacity());
+        assertEquals(ApplicationConstants.DEFAULT_TIMEOUT_SECONDS,
+                settings.shutdownTimeoutSeconds());
+        assertEquals(settings, ExecutorSettings.defaults());
+    }
+
+    @Test
+    @DisplayName("Should bind executor_settings from JSON configuration")
+    void shouldBindFromJson() throws Exception {
+        String json = "{\"llm_models\":[{\"name\":\"m\"}],"
+                + "\"output_settings\":{\"output_directory\":\"docs\"},"
+                + "\"executor_settings\":{\"llm_io_threads\":12,"
+                + "\"queue_capacity\":50}}";
+
+        DocumentorConfig config = new ObjectMapper().readValue(json,
+                DocumentorConfig.class);
+
+        assertEquals(LLM_THREADS, config.executorSettings().llmIoThreads());
+        assertEquals(QUEUE_CAPACITY, config.executorSettings().queueCapacity());
+        assertEquals(ExecutorSettings.defaults(), new DocumentorConfig(
+                config.llmModels(), config.outputSettings(), null)
+                .executorSettings());
+    }
+}
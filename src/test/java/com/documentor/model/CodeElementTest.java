@@ -292,4 +292,17 @@ class CodeElementTest {
         assertFalse(context.contains("Documentation:"));
         assertFalse(context.contains("Annotations:"));
     }
+
+    @Test
+    void testDocumentNameKeepsPackage() {
+        CodeElement first = new CodeElement(CodeElementType.CLASS, "Util",
+            "com.a.Util", "/a/Util.java", 1, "class Util", "", List.of(),
+            List.of());
+        CodeElement second = new CodeElement(CodeElementType.CLASS, "Util",
+            "com.b.Util<T>", "/b/Util.java", 1, "class Util", "", List.of(),
+            List.of());
+
+        assertEquals("com.a.Util", first.getDocumentName());
+        assertEquals("com.b.Util_T_", second.getDocumentName());
+    }
 }
@@ -358,4 +358,19 @@ class ProjectAnalysisTest {
         assertEquals(0, stats.fieldCount());
         assertEquals(0, stats.fileCount());
     }
+
+    @Test
+    void testCombineOrdersPartsByPath() {
+        CodeElement first = new CodeElement(CodeElementType.CLASS, "A", "A",
+            "/p/A.java", 1, "class A", "", List.of(), List.of());
+        CodeElement second = new CodeElement(CodeElementType.CLASS, "B", "B",
+            "/p/B.java", 1, "class B", "", List.of(), List.of());
+
+        ProjectAnalysis combined = ProjectAnalysis.combine("/p", List.of(
+            new ProjectAnalysis("/p/B.java", List.of(second), 0L),
+            new ProjectAnalysis("/p/A.java", List.of(first), 0L)));
+
+        assertEquals("/p", combined.projectPath());
+        assertEquals(List.of(first, second), combined.codeElements());
+    }
 }
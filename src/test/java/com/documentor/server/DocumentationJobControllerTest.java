@@ -0,0 +1,78 @@
+package com.documentor.server;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Documentation Job Controller Tests")
+class DocumentationJobControllerTest {
+
+    private static final int STARTED_AND_FINISHED_EVENTS = 3;
+
+    @Mock
+    private DocumentationJobService jobService;
+
+    private WebTestClient client;
+    private final DocumentationJob job = new DocumentationJob("job-1",
+            DocumentationJob.Type.ANALYZE, Path.of("/p"), Path.of("/p/docs"),
+            null, false);
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToController(
+                new DocumentationJobController(jobService)).build();
+    }
+
+    @Test
+    @DisplayName("Should accept jobs and reject invalid ones")
+    void shouldSubmitJobs() {
+        when(jobService.submit(any())).thenReturn(job)
+                .thenThrow(new IllegalArgumentException("projectPath is "
+                        + "required"));
+
+        client.post().uri("/api/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"projectPath\":\"/p\",\"type\":\"analyze\"}")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("job-1")
+                .jsonPath("$.state").isEqualTo("QUEUED");
+        client.post().uri("/api/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Should stream the events of a finished job")
+    void shouldStreamEvents() {
+        job.start();
+        job.succeed("done");
+        when(jobService.find("job-1")).thenReturn(Optional.of(job));
+        when(jobService.find("nope")).thenReturn(Optional.empty());
+
+        client.get().uri("/api/jobs/job-1/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(JobEvent.class)
+                .hasSize(STARTED_AND_FINISHED_EVENTS);
+        client.get().uri("/api/jobs/nope")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,179 @@
+package com.documentor.server;
+
+import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.config.model.OutputSettings;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.CodeAnalysisService;
+import com.documentor.service.DocumentationServiceEnhanced;
+import com.documentor.service.documentation.GenerationOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Documentation Job Service Tests")
+class DocumentationJobServiceTest {
+
+    private static final int LLM_THREADS = 4;
+    private static final int OPTIONS_ARGUMENT = 3;
+
+    @Mock
+    private CodeAnalysisService codeAnalysisService;
+    @Mock
+    private DocumentationServiceEnhanced documentationService;
+    @Mock
+    private DocumentorConfig config;
+    @Mock
+    private OutputSettings outputSettings;
+    @Mock
+    private ExecutorRegistry executorRegistry;
+
+    @TempDir
+    private Path project;
+
+    private DocumentationJobService service;
+    private final ProjectAnalysis analysis =
+            new ProjectAnalysis("/p", List.of(), 0L);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(config.outputSettings()).thenReturn(outputSettings);
+        lenient().when(outputSettings.outputPath()).thenReturn("docs");
+        when(executorRegistry.threads(ExecutorRegistry.Pool.LLM_IO))
+                .thenReturn(LLM_THREADS);
+        service = new DocumentationJobService(codeAnalysisService,
+                documentationService, config, executorRegistry,
+                new JobServerProperties(null, null,
+                        List.of(project.toString())));
+    }
+
+    @Test
+    @DisplayName("Should run a generation job and report its progress")
+    void shouldRunGenerationJob() {
+        when(codeAnalysisService.analyzeProject(project, null))
+                .thenReturn(CompletableFuture.completedFuture(analysis));
+        when(documentationService.generateDocumentation(eq(analysis),
+                eq(project.resolve("docs")), eq(false),
+                any(GenerationOptions.class))).thenAnswer(invocation -> {
+                    GenerationOptions options = invocation.getArgument(
+                            OPTIONS_ARGUMENT);
+                    options.getDocumentListener()
+                            .accept("elements/class-A.md");
+                    return CompletableFuture.completedFuture("docs");
+                });
+
+        DocumentationJob job = service.submit(new JobRequest(
+                project.toString(), null, null, null, null));
+
+        assertEquals(DocumentationJob.State.SUCCEEDED, job.getState());
+        assertEquals(1, job.status().documentsWritten());
+        assertEquals(List.of("queued", "started", "analyzed", "generating",
+                "document", "succeeded"), job.events()
+                .map(JobEvent::type).collectList().block());
+    }
+
+    @Test
+    @DisplayName("Should run jobs for the same output directory one at a "
+            + "time")
+    void shouldSerializeJobsPerOutputDirectory() {
+        CompletableFuture<ProjectAnalysis> first = new CompletableFuture<>();
+        when(codeAnalysisService.analyzeProject(project, null))
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.completedFuture(analysis));
+        JobRequest request = new JobRequest(project.toString(), "analyze",
+                null, null, null);
+
+        DocumentationJob running = service.submit(request);
+        DocumentationJob waiting = service.submit(request);
+        assertEquals(DocumentationJob.State.RUNNING, running.getState());
+        assertEquals(DocumentationJob.State.QUEUED, waiting.getState());
+
+        first.complete(analysis);
+        assertEquals(DocumentationJob.State.SUCCEEDED, running.getState());
+        assertEquals(DocumentationJob.State.SUCCEEDED, waiting.getState());
+        assertEquals(List.of(running, waiting), service.list());
+    }
+
+    @Test
+    @DisplayName("Should record failures")
+    void shouldRecordFailure() {
+        when(codeAnalysisService.analyzeProject(project, null))
+                .thenReturn(CompletableFuture.completedFuture(analysis));
+        when(documentationService.generateDocumentation(any(), any(),
+                anyBoolean(), any())).thenReturn(CompletableFuture
+                        .failedFuture(new IllegalStateException("no model")));
+
+        DocumentationJob job = service.submit(new JobRequest(
+                project.toString(), "generate", null, "out", true));
+
+        assertEquals(DocumentationJob.State.FAILED, job.getState());
+        assertEquals("no model", job.status().error());
+        assertEquals(project.resolve("out"), job.getOutputPath());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid requests")
+    void shouldRejectInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> service.submit(
+                new JobRequest(null, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(
+                new JobRequest(project.resolve("missing").toString(), null,
+                        null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(
+                new JobRequest(project.toString(), "deploy", null, null,
+                        null)));
+    }
+
+    @Test
+    @DisplayName("Should reject output directories outside the project")
+    void shouldRejectOutputOutsideProject() throws IOException {
+        for (String output : List.of("../elsewhere", "/tmp/docs",
+                "docs/../../elsewhere")) {
+            assertThrows(IllegalArgumentException.class, () -> service.submit(
+                    new JobRequest(project.toString(), "analyze", null,
+                            output, null)), output);
+        }
+        Path outside = Files.createTempDirectory("outside");
+        try {
+            Files.createSymbolicLink(project.resolve("link"), outside);
+            assertThrows(IllegalArgumentException.class, () -> service.submit(
+                    new JobRequest(project.toString(), "analyze", null,
+                            "link/docs", null)));
+        } finally {
+            Files.deleteIfExists(project.resolve("link"));
+            Files.delete(outside);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only accept projects below an allowed root")
+    void shouldRejectProjectOutsideAllowedRoots() throws IOException {
+        Path other = Files.createTempDirectory("other-project");
+        try {
+            assertThrows(IllegalArgumentException.class, () -> service.submit(
+                    new JobRequest(other.toString(), "analyze", null, null,
+                            null)));
+        } finally {
+            Files.delete(other);
+        }
+    }
+}
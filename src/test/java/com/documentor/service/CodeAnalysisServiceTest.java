@@ -1,6 +1,7 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.AnalysisSettings;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
@@ -33,6 +34,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class CodeAnalysisServiceTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     // Test constants for magic number violations
     private static final int DEFAULT_MAX_THREADS = 4;
 
@@ -61,7 +65,7 @@ class CodeAnalysisServiceTest {
             .thenReturn(DEFAULT_MAX_THREADS);
         codeAnalysisService =
             new CodeAnalysisService(javaCodeAnalyzer, pythonCodeAnalyzer,
-            config);
+            config, EXECUTORS);
     }
 
     @Test
@@ -110,6 +114,35 @@ class CodeAnalysisServiceTest {
         assertTrue(analysis.codeElements().contains(methodElement));
     }
 
+    @Test
+    void testAnalyzeProjectStreamingEmitsOneResultPerFile() throws Exception {
+        Path javaFile = tempDir.resolve("Test.java");
+        Files.writeString(javaFile, "public class Test {}");
+        Path emptyFile = tempDir.resolve("Empty.java");
+        Files.writeString(emptyFile, "");
+        Files.writeString(tempDir.resolve("notes.txt"), "ignored");
+
+        CodeElement classElement = new CodeElement(
+            CodeElementType.CLASS, "Test", "Test", javaFile.toString(), 1,
+            "public class Test", "", List.of(), List.of()
+        );
+        when(javaCodeAnalyzer.analyzeFile(eq(javaFile), any()))
+            .thenReturn(List.of(classElement));
+        when(javaCodeAnalyzer.analyzeFile(eq(emptyFile), any()))
+            .thenReturn(List.of());
+
+        List<ProjectAnalysis> files = codeAnalysisService
+            .analyzeProjectStreaming(tempDir, null)
+            .collectList()
+            .block();
+
+        // Files without elements are not emitted
+        assertNotNull(files);
+        assertEquals(1, files.size());
+        assertEquals(javaFile.toString(), files.get(0).projectPath());
+        assertEquals(List.of(classElement), files.get(0).codeElements());
+    }
+
     @Test
     void testAnalyzeProjectWithPythonFiles() throws Exception {
         // Create Python file
@@ -1,5 +1,6 @@
 package com.documentor.service;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
@@ -39,6 +40,9 @@ import static org.mockito.Mockito.lenient;
 @ExtendWith(MockitoExtension.class)
 class DiagramServicesCoverageTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     @Mock
     private DiagramElementFilter mockElementFilter;
 
@@ -63,9 +67,11 @@ class DiagramServicesCoverageTest {
     @BeforeEach
     void setUp() {
         mermaidDiagramService = new MermaidDiagramService(
-            mockElementFilter, mockPathManager, mockGeneratorFactory);
+            mockElementFilter, mockPathManager, mockGeneratorFactory,
+            EXECUTORS);
         plantUMLDiagramService = new PlantUMLDiagramService(
-            mockElementFilter, mockPathManager, mockGeneratorFactory);
+            mockElementFilter, mockPathManager, mockGeneratorFactory,
+            EXECUTORS);
 
         // Setup common mocks with lenient behavior
         lenient().when(mockGeneratorFactory.getClassDiagramGenerator())
@@ -108,7 +114,7 @@ class DiagramServicesCoverageTest {
 
         // Make the class diagram generator throw an exception
         when(mockMermaidClassDiagramGenerator
-            .generateClassDiagram(any(), any(), any(), any()))
+            .generateClassDiagram(any(), any(), any(), any(), any()))
             .thenThrow(new RuntimeException("Diagram generation failed"));
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
@@ -150,7 +156,7 @@ class DiagramServicesCoverageTest {
 
         // Make the class diagram generator throw an exception
         lenient().when(mockPlantUMLClassDiagramGenerator
-            .generateClassDiagram(any(), any(), any(), any()))
+            .generateClassDiagram(any(), any(), any(), any(), any()))
             .thenThrow(new RuntimeException("Diagram generation failed"));
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
@@ -177,7 +183,7 @@ class DiagramServicesCoverageTest {
             .thenReturn(elementsByClass);
 
         lenient().when(mockMermaidClassDiagramGenerator
-        .generateClassDiagram(any(), any(), any(), any()))
+        .generateClassDiagram(any(), any(), any(), any(), any()))
             .thenReturn("generated-diagram.mmd");
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
@@ -203,7 +209,7 @@ class DiagramServicesCoverageTest {
             .thenReturn(elementsByClass);
 
         lenient().when(mockPlantUMLClassDiagramGenerator
-            .generateClassDiagram(any(), any(), any(), any()))
+            .generateClassDiagram(any(), any(), any(), any(), any()))
             .thenReturn("generated-diagram.puml");
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
@@ -0,0 +1,372 @@
+package com.documentor.service;
+
+import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.config.model.AnalysisSettings;
+import com.documentor.config.model.LlmModelConfig;
+import com.documentor.config.model.OutputSettings;
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.diagram.DiagramBatchRenderer;
+import com.documentor.service.documentation.DocumentationManifest;
+import com.documentor.service.documentation.ElementDocumentationGeneratorEnhanced;
+import com.documentor.service.documentation.GenerationOptions;
+import com.documentor.service.documentation.MainDocumentationGenerator;
+import com.documentor.service.documentation.RunMetadata;
+import com.documentor.service.documentation.UnitTestDocumentationGeneratorEnhanced;
+import com.documentor.service.io.AtomicFileWriter;
+import com.documentor.service.io.CollisionPolicy;
+import com.documentor.service.io.OutputArchive;
+import com.documentor.service.search.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DocumentationServiceEnhancedTest {
+
+    private static final int MAX_DEPTH = 5;
+    private static final int MAX_TOKENS = 500;
+    private static final int TIMEOUT_SECONDS = 10;
+    private static final String DOCUMENTATION = "Generated documentation";
+    private static final String EXAMPLES = "Generated examples";
+    private static final ExecutorRegistry EXECUTORS =
+        new ExecutorRegistry(null);
+
+    @TempDir
+    private Path tempDir;
+
+    private Path outputDir;
+    private AtomicFileWriter sharedWriter;
+    private MainDocumentationGenerator mainGenerator;
+    private ElementDocumentationGeneratorEnhanced elementGenerator;
+    private UnitTestDocumentationGeneratorEnhanced testGenerator;
+    private LlmServiceEnhanced llmService;
+    private DiagramBatchRenderer renderer;
+    private DocumentationServiceEnhanced service;
+
+    @BeforeEach
+    void setUp() {
+        outputDir = tempDir.resolve("docs");
+        sharedWriter = new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+        mainGenerator = mock(MainDocumentationGenerator.class);
+        elementGenerator = mock(ElementDocumentationGeneratorEnhanced.class);
+        testGenerator = mock(UnitTestDocumentationGeneratorEnhanced.class);
+        llmService = mock(LlmServiceEnhanced.class);
+        renderer = mock(DiagramBatchRenderer.class);
+        when(mainGenerator.writeMainDocumentation(any(), any()))
+            .thenAnswer(invocation -> {
+                sharedWriter.writeFile(invocation.getArgument(1), "readme");
+                return CompletableFuture.completedFuture(null);
+            });
+        when(testGenerator.generateUnitTestDocumentation(any(), any(),
+            any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(llmService.generateDocumentation(any())).thenReturn(
+            CompletableFuture.completedFuture(DOCUMENTATION));
+        when(llmService.generateUsageExamples(any())).thenReturn(
+            CompletableFuture.completedFuture(EXAMPLES));
+        when(renderer.renderAsync(any(), any(), any())).thenReturn(
+            CompletableFuture.completedFuture(Map.of()));
+
+        service = service(elementGenerator,
+            new DocumentationServiceEnhanced.Diagrams(null, null, null),
+            false);
+    }
+
+    @Test
+    @DisplayName("Should archive a run without diverting other writes")
+    void shouldArchiveWithoutDivertingOtherWrites() throws IOException {
+        Path zip = tempDir.resolve("docs.zip");
+        when(elementGenerator.generateGroupedDocumentation(any(), any(),
+            any())).thenAnswer(invocation -> {
+                Path output = invocation.getArgument(1);
+                GenerationOptions options = invocation.getArgument(2);
+                options.getFileWriter().writeFile(
+                    output.resolve("elements/class-A.md"), "class A");
+                // Another run writing to the same directory meanwhile
+                sharedWriter.writeFile(output.resolve("other.md"), "other");
+                return CompletableFuture.completedFuture(null);
+            });
+
+        String archived = service.generateDocumentationArchive(analysis(),
+            zip).join();
+
+        assertEquals(zip.toAbsolutePath().normalize().toString(), archived);
+        Map<String, String> entries = readZip(zip);
+        assertEquals("class A", entries.get("elements/class-A.md"));
+        assertEquals("readme", entries.get("README.md"));
+        assertTrue(entries.containsKey(RunMetadata.FILE_NAME));
+        assertTrue(entries.containsKey(OutputArchive.INDEX_ENTRY));
+        assertFalse(entries.containsKey("other.md"));
+        assertEquals("other", Files.readString(outputDir.resolve("other.md")));
+        assertFalse(Files.exists(outputDir.resolve("elements/class-A.md")));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of("docs", "docs.zip"), files
+                .map(path -> path.getFileName().toString()).sorted()
+                .toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should archive the diagrams written before rendering failed")
+    void shouldArchivePartialDiagrams() throws IOException {
+        Path zip = tempDir.resolve("docs.zip");
+        when(elementGenerator.generateGroupedDocumentation(any(), any(),
+            any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(renderer.renderAsync(any(), any(), any()))
+            .thenAnswer(invocation -> {
+                List<DiagramBatchRenderer.Target> targets =
+                    invocation.getArgument(1);
+                Path diagrams = Path.of(targets.get(0).outputPath())
+                    .resolve("diagrams");
+                Files.createDirectories(diagrams);
+                Files.writeString(diagrams.resolve("A.mmd"), "classDiagram");
+                return CompletableFuture.failedFuture(
+                    new IllegalStateException("PlantUML crashed"));
+            });
+        DocumentationServiceEnhanced archiving = service(elementGenerator,
+            new DocumentationServiceEnhanced.Diagrams(null, null, renderer),
+            true);
+
+        archiving.generateDocumentationArchive(analysis(), zip).join();
+
+        Map<String, String> entries = readZip(zip);
+        assertEquals("classDiagram", entries.get("diagrams/A.mmd"));
+        assertEquals("readme", entries.get("README.md"));
+        assertTrue(entries.containsKey(RunMetadata.FILE_NAME));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of("docs.zip"), files
+                .map(path -> path.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip project-wide outputs when nothing changed")
+    void shouldSkipUnchangedRun() throws IOException {
+        DocumentationServiceEnhanced full = service(realGenerator(),
+            new DocumentationServiceEnhanced.Diagrams(null, null, renderer),
+            true);
+
+        String output = full.generateDocumentation(analysis()).join();
+
+        assertEquals(outputDir.toString(), output);
+        assertTrue(Files.readString(outputDir.resolve(
+            "elements/class-com.example.A.md")).contains(DOCUMENTATION));
+        assertTrue(Files.exists(outputDir.resolve(
+            DocumentationManifest.FILE_NAME)));
+        assertTrue(Files.exists(outputDir.resolve(SearchIndex.FILE_NAME)));
+        assertTrue(Files.readString(outputDir.resolve(RunMetadata.FILE_NAME))
+            .contains("\"full\""));
+
+        clearInvocations(llmService);
+        full.generateDocumentation(analysis()).join();
+
+        verifyNoInteractions(llmService);
+        verify(mainGenerator, times(1)).writeMainDocumentation(any(), any());
+        verify(testGenerator, times(1)).generateUnitTestDocumentation(any(),
+            any(), any());
+        verify(renderer, times(1)).renderAsync(any(),
+            argThat(targets -> targets.size() == 2), isNull());
+    }
+
+    @Test
+    @DisplayName("Should resume from shard journals without new requests")
+    void shouldGenerateFromShardJournals() throws IOException {
+        DocumentationServiceEnhanced sharded = service(realGenerator(),
+            new DocumentationServiceEnhanced.Diagrams(null, null, null),
+            false);
+
+        Path journal = sharded.generateJournal(analysis(),
+            tempDir.resolve("work")).join();
+        clearInvocations(llmService);
+        String output = sharded.generateDocumentationFromJournals(analysis(),
+            List.of(journal)).join();
+
+        assertTrue(Files.exists(journal));
+        assertEquals(outputDir.toString(), output);
+        verify(llmService, never()).generateDocumentation(any());
+        verify(llmService, never()).generateUsageExamples(any());
+        assertTrue(Files.readString(outputDir.resolve(
+            "elements/class-com.example.A.md")).contains(DOCUMENTATION));
+    }
+
+    @Test
+    @DisplayName("Should document changed files and drop deleted directories")
+    void shouldDocumentChangedFiles() throws IOException {
+        DocumentationServiceEnhanced changes = service(realGenerator(),
+            new DocumentationServiceEnhanced.Diagrams(null, null, renderer),
+            true);
+        CodeElement first = element("A", "/src/a/A.java", "docs");
+        CodeElement second = element("B", "/src/b/B.java", "docs");
+        changes.generateDocumentation(new ProjectAnalysis("project",
+            List.of(first, second), 0L)).join();
+
+        // A was edited and the directory of B was deleted
+        ProjectAnalysis changed = new ProjectAnalysis("project",
+            List.of(element("A", "/src/a/A.java", "edited")), 0L);
+        changes.generateChangedDocumentation(changed,
+            Set.of("/src/a/A.java", "/src/b")).join();
+
+        assertTrue(Files.exists(outputDir.resolve(
+            "elements/class-com.example.A.md")));
+        assertFalse(Files.exists(outputDir.resolve(
+            "elements/class-com.example.B.md")));
+        verify(renderer).renderAsync(eq(changed), any(), eq(Set.of(
+            "/src/a/A.java", "/src/b", "/src/b/B.java")));
+        assertTrue(Files.readString(outputDir.resolve(RunMetadata.FILE_NAME))
+            .contains("\"changed\""));
+    }
+
+    @Test
+    @DisplayName("Should document files as they are streamed")
+    void shouldGenerateStreamingDocumentation() {
+        DocumentationServiceEnhanced streaming = service(realGenerator(),
+            new DocumentationServiceEnhanced.Diagrams(null, null, null),
+            false);
+        CodeElement first = element("A", "/src/A.java", "docs");
+        CodeElement second = element("B", "/src/B.java", "docs");
+
+        DocumentationServiceEnhanced.StreamedDocumentation documented =
+            streaming.generateStreamingDocumentation("project", Flux.just(
+                new ProjectAnalysis("/src/A.java", List.of(first), 0L),
+                new ProjectAnalysis("/src/B.java", List.of(second), 0L)))
+                .join();
+
+        assertEquals(outputDir.toString(), documented.outputPath());
+        assertEquals(List.of(first, second),
+            documented.analysis().codeElements());
+        assertTrue(Files.exists(outputDir.resolve(
+            "elements/class-com.example.B.md")));
+    }
+
+    @Test
+    @DisplayName("Should keep going when the README and diagrams fail")
+    void shouldSurviveFailingOutputs() throws IOException {
+        MermaidDiagramService mermaid = mock(MermaidDiagramService.class);
+        PlantUMLDiagramService plantUml = mock(PlantUMLDiagramService.class);
+        when(mermaid.generateClassDiagrams(any(), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of("A.mmd")));
+        when(plantUml.generateClassDiagrams(any(), anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(
+                new IllegalStateException("no dot")));
+        doReturn(CompletableFuture.failedFuture(
+            new IllegalStateException("model down"))).when(mainGenerator)
+            .writeMainDocumentation(any(), any());
+        when(testGenerator.generateUnitTestDocumentation(any(), any(),
+            any())).thenReturn(CompletableFuture.failedFuture(
+                new IllegalStateException("no tests")));
+        when(elementGenerator.generateGroupedDocumentation(any(), any(),
+            any())).thenReturn(CompletableFuture.failedFuture(
+                new IllegalStateException("no elements")));
+        DocumentationServiceEnhanced fallback = service(elementGenerator,
+            new DocumentationServiceEnhanced.Diagrams(mermaid, plantUml,
+                null), true);
+
+        fallback.generateDocumentation(analysis()).join();
+
+        assertTrue(Files.readString(outputDir.resolve("README.md"))
+            .contains("model down"));
+        verify(mermaid).generateClassDiagrams(any(),
+            eq(outputDir.toString()), any());
+        verify(plantUml).generateClassDiagrams(any(),
+            eq(outputDir.toString()), any());
+    }
+
+    @Test
+    @DisplayName("Should fail when the output directory cannot be created")
+    void shouldFailWithoutOutputDirectory() throws IOException {
+        Files.writeString(outputDir, "not a directory");
+
+        CompletionException failure = assertThrows(CompletionException.class,
+            () -> service.generateDocumentation(analysis()).join());
+
+        assertEquals("Failed to generate documentation",
+            failure.getCause().getMessage());
+    }
+
+    private DocumentationServiceEnhanced service(
+            final ElementDocumentationGeneratorEnhanced elements,
+            final DocumentationServiceEnhanced.Diagrams diagrams,
+            final boolean withDiagrams) {
+        OutputSettings outputSettings = new OutputSettings(
+            outputDir.toString(), "markdown", withDiagrams, withDiagrams,
+            false, null, null, null, null);
+        AnalysisSettings analysisSettings = new AnalysisSettings(
+            true, MAX_DEPTH, List.of("**/*.java"), List.of());
+        LlmModelConfig model = new LlmModelConfig("m", "ollama",
+            "http://x", null, MAX_TOKENS, TIMEOUT_SECONDS);
+        DocumentorConfig config = new DocumentorConfig(List.of(model),
+            outputSettings, analysisSettings);
+        return new DocumentationServiceEnhanced(
+            new DocumentationServiceEnhanced.Generators(mainGenerator,
+                elements, testGenerator),
+            diagrams, config, mock(LlmServiceFixEnhanced.class),
+            Runnable::run, sharedWriter, null);
+    }
+
+    private ElementDocumentationGeneratorEnhanced realGenerator() {
+        return new ElementDocumentationGeneratorEnhanced(llmService, null,
+            EXECUTORS, null, null);
+    }
+
+    private static CodeElement element(final String name, final String file,
+                                       final String documentation) {
+        return new CodeElement(CodeElementType.CLASS, name,
+            "com.example." + name, file, 1, "class " + name, documentation,
+            List.of(), List.of());
+    }
+
+    private static ProjectAnalysis analysis() {
+        return new ProjectAnalysis("project",
+            List.of(element("A", "src/A.java", "")), 0L);
+    }
+
+    private static Map<String, String> readZip(final Path zip)
+            throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(zip);
+             ZipInputStream zipIn = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipIn.readAllBytes(),
+                    StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.model.CodeElement;
 import com.documentor.service.llm.LlmApiClient;
@@ -36,6 +38,9 @@ import com.documentor.service.llm.LlmResponseHandler;
 @ExtendWith(MockitoExtension.class)
 class LlmServiceBranchCoverageTest {
 
+    private static final Executor LLM_EXECUTOR = new ExecutorRegistry(null)
+            .executor(ExecutorRegistry.Pool.LLM_IO);
+
     @Mock
     private DocumentorConfig mockConfig;
 
@@ -59,7 +64,7 @@ class LlmServiceBranchCoverageTest {
     @BeforeEach
     void setUp() {
         llmService = new LlmService(mockConfig, mockRequestBuilder,
-                mockResponseHandler, mockApiClient);
+                mockResponseHandler, mockApiClient, LLM_EXECUTOR);
     }
 
     /**
@@ -72,7 +77,7 @@ class LlmServiceBranchCoverageTest {
         LlmService.clearThreadLocalConfig();
         LlmService serviceWithNullConfig =
                 new LlmService(null, mockRequestBuilder,
-                mockResponseHandler, mockApiClient);
+                mockResponseHandler, mockApiClient, LLM_EXECUTOR);
 
         // Act
         CompletableFuture<String> result = serviceWithNullConfig
@@ -184,7 +189,7 @@ class LlmServiceBranchCoverageTest {
         LlmService.clearThreadLocalConfig();
         LlmService serviceWithNullConfig =
                 new LlmService(null, mockRequestBuilder,
-                mockResponseHandler, mockApiClient);
+                mockResponseHandler, mockApiClient, LLM_EXECUTOR);
 
         // Act
         CompletableFuture<String> result =
@@ -275,7 +280,7 @@ class LlmServiceBranchCoverageTest {
         LlmService.clearThreadLocalConfig();
         LlmService serviceWithNullConfig =
                 new LlmService(null, mockRequestBuilder,
-                mockResponseHandler, mockApiClient);
+                mockResponseHandler, mockApiClient, LLM_EXECUTOR);
 
         // Act
         CompletableFuture<String> result =
@@ -1,6 +1,7 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +32,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class LlmServiceBranchTest {
 
+    private static final Executor LLM_EXECUTOR = new ExecutorRegistry(null)
+            .executor(ExecutorRegistry.Pool.LLM_IO);
+
     @Mock
     private DocumentorConfig config;
 
@@ -54,7 +59,8 @@ class LlmServiceBranchTest {
             config,
             requestBuilder,
             responseHandler,
-            apiClient
+            apiClient,
+            LLM_EXECUTOR
         );
         testElement = new CodeElement(
             CodeElementType.CLASS,
@@ -1,6 +1,7 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.service.llm.LlmApiClient;
 import com.documentor.service.llm.LlmRequestBuilder;
 import com.documentor.service.llm.LlmResponseHandler;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.Executor;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -22,6 +25,9 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 @ExtendWith(MockitoExtension.class)
 class LlmServiceEnhancedCoverageTest {
 
+    private static final Executor LLM_EXECUTOR = new ExecutorRegistry(null)
+            .executor(ExecutorRegistry.Pool.LLM_IO);
+
     @Mock
     private DocumentorConfig mockConfig;
 
@@ -39,7 +45,8 @@ class LlmServiceEnhancedCoverageTest {
     @BeforeEach
     void setUp() {
         llmServiceEnhanced = new LlmServiceEnhanced(
-            mockConfig, mockRequestBuilder, mockResponseHandler, mockApiClient);
+            mockConfig, mockRequestBuilder, mockResponseHandler, mockApiClient,
+            LLM_EXECUTOR);
     }
 
     @Test
@@ -1,8 +1,8 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.ThreadLocalContextHolder;
-import com.documentor.config.ThreadLocalPropagatingExecutorEnhanced;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.config.model.OutputSettings;
 import com.documentor.config.model.AnalysisSettings;
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -33,7 +34,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 
 /**
@@ -41,8 +41,12 @@ import static org.mockito.ArgumentMatchers.anyString;
  */
 @ExtendWith(MockitoExtension.class)
 class LlmServiceEnhancedTest {
+
         private static final int TEST_TIMEOUT_MILLIS = 1000;
         private static final int TEST_MAX_TOKENS = 30;
+        private static final Executor LLM_EXECUTOR =
+                new ExecutorRegistry(null)
+                        .executor(ExecutorRegistry.Pool.LLM_IO);
 
     @Mock
     private LlmRequestBuilder requestBuilder;
@@ -86,7 +90,7 @@ class LlmServiceEnhancedTest {
         );
 
         llmService = new LlmServiceEnhanced(config, requestBuilder,
-                responseHandler, apiClient);
+                responseHandler, apiClient, LLM_EXECUTOR);
     }
 
     @Test
@@ -99,25 +103,7 @@ class LlmServiceEnhancedTest {
     void testConstructorWithNullConfig() {
         // Test constructor handles null config
         assertDoesNotThrow(() -> new LlmServiceEnhanced(null, requestBuilder,
-                responseHandler, apiClient));
-    }
-
-    @Test
-    void testConstructorWithExecutorCreationFailure() {
-        try (MockedStatic<ThreadLocalPropagatingExecutorEnhanced> mockedStatic =
-             mockStatic(ThreadLocalPropagatingExecutorEnhanced.class)) {
-
-            // Arrange
-            mockedStatic.when(() ->
-                    ThreadLocalPropagatingExecutorEnhanced.createExecutor(
-                            anyInt(), anyString()))
-                    .thenThrow(new RuntimeException(
-                        "Executor creation failed"));
-
-            // Act & Assert - Should handle failure gracefully
-            assertDoesNotThrow(() -> new LlmServiceEnhanced(config,
-                    requestBuilder, responseHandler, apiClient));
-        }
+                responseHandler, apiClient, LLM_EXECUTOR));
     }
 
     @Test
@@ -154,7 +140,7 @@ class LlmServiceEnhancedTest {
             InterruptedException {
         // Arrange
         LlmServiceEnhanced serviceWithNullConfig = new LlmServiceEnhanced(null,
-                requestBuilder, responseHandler, apiClient);
+                requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
                 try (MockedStatic<ThreadLocalContextHolder> mockedStatic =
                                 mockStatic(ThreadLocalContextHolder.class)) {
@@ -185,7 +171,7 @@ class LlmServiceEnhancedTest {
             new AnalysisSettings(null, null, null, null)
         );
         LlmServiceEnhanced serviceWithEmptyModels = new LlmServiceEnhanced(
-                emptyModelsConfig, requestBuilder, responseHandler, apiClient);
+                emptyModelsConfig, requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
         // Act
         CompletableFuture<String> result =
@@ -355,7 +341,7 @@ class LlmServiceEnhancedTest {
             throws ExecutionException, InterruptedException {
         // Arrange - Create service with null config
         LlmServiceEnhanced nullConfigService = new LlmServiceEnhanced(null,
-                requestBuilder, responseHandler, apiClient);
+                requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
         try (MockedStatic<ThreadLocalContextHolder> mockedStatic =
                 mockStatic(ThreadLocalContextHolder.class)) {
@@ -382,7 +368,7 @@ class LlmServiceEnhancedTest {
         DocumentorConfig emptyConfig = new DocumentorConfig(
                 List.of(), null, null);
         LlmServiceEnhanced emptyConfigService = new LlmServiceEnhanced(
-                emptyConfig, requestBuilder, responseHandler, apiClient);
+                emptyConfig, requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
         // Act
         CompletableFuture<String> result =
@@ -425,7 +411,7 @@ class LlmServiceEnhancedTest {
             throws ExecutionException, InterruptedException {
         // Arrange - Create service with null config
         LlmServiceEnhanced nullConfigService = new LlmServiceEnhanced(null,
-                requestBuilder, responseHandler, apiClient);
+                requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
         try (MockedStatic<ThreadLocalContextHolder> mockedStatic =
                 mockStatic(ThreadLocalContextHolder.class)) {
@@ -452,7 +438,7 @@ class LlmServiceEnhancedTest {
         DocumentorConfig emptyConfig = new DocumentorConfig(
                 List.of(), null, null);
         LlmServiceEnhanced emptyConfigService = new LlmServiceEnhanced(
-                emptyConfig, requestBuilder, responseHandler, apiClient);
+                emptyConfig, requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
         // Act
         CompletableFuture<String> result =
@@ -492,7 +478,7 @@ class LlmServiceEnhancedTest {
     void testGetExecutorWithNullThreadLocalExecutor() {
         // Arrange - Create service with null executor
         LlmServiceEnhanced serviceWithNullExecutor = new LlmServiceEnhanced(
-                config, requestBuilder, responseHandler, apiClient);
+                config, requestBuilder, responseHandler, apiClient, LLM_EXECUTOR);
 
         // Use reflection to set threadLocalExecutor to null
         try {
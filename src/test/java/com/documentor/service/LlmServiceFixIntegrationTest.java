@@ -2,6 +2,7 @@ package com.documentor.service;
 
 import com.documentor.DocumentorApplication;
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.AnalysisSettings;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.config.model.OutputSettings;
@@ -21,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -44,6 +46,9 @@ import org.springframework.test.context.ActiveProfiles;
 @Import(TestConfig.class)
 public final class LlmServiceFixIntegrationTest {
 
+    private static final Executor LLM_EXECUTOR = new ExecutorRegistry(null)
+            .executor(ExecutorRegistry.Pool.LLM_IO);
+
     @Mock
     private LlmRequestBuilder mockRequestBuilder;
 
@@ -100,7 +105,7 @@ public final class LlmServiceFixIntegrationTest {
         // Initialize the services
         llmService =
                 new LlmService(testConfig, mockRequestBuilder,
-                mockResponseHandler, mockApiClient);
+                mockResponseHandler, mockApiClient, LLM_EXECUTOR);
 
         // Set up mock responses
         when(mockRequestBuilder.createDocumentationPrompt(any(
@@ -1,6 +1,7 @@
 package com.documentor.service;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.config.model.AnalysisSettings;
 import com.documentor.config.model.OutputSettings;
@@ -22,6 +23,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -37,6 +39,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @ExtendWith(MockitoExtension.class)
 class LlmServiceIntegrationTest {
 
+    private static final Executor LLM_EXECUTOR = new ExecutorRegistry(null)
+            .executor(ExecutorRegistry.Pool.LLM_IO);
+
     // Test constants for magic number violations
     private static final int DEFAULT_MAX_TOKENS = 1000;
     private static final int DEFAULT_TIMEOUT_SECONDS = 30;
@@ -106,7 +111,7 @@ class LlmServiceIntegrationTest {
             new LlmApiClient(mockWebClient, modelTypeDetector);
 
         return new LlmService(serviceConfig, requestBuilder,
-            responseHandler, apiClient);
+            responseHandler, apiClient, LLM_EXECUTOR);
     }
 
     @Test
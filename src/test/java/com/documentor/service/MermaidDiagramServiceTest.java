@@ -1,5 +1,6 @@
 package com.documentor.service;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
@@ -23,6 +24,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ExtendWith(MockitoExtension.class)
 class MermaidDiagramServiceTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     // Test constants for magic number violations
     private static final int ELEMENT_COUNT_SMALL = 3;
     private static final int ELEMENT_COUNT_MEDIUM = 4;
@@ -49,7 +53,8 @@ class MermaidDiagramServiceTest {
         mermaidDiagramService = new MermaidDiagramService(
             diagramElementFilter,
             diagramPathManager,
-            generatorFactory
+            generatorFactory,
+            EXECUTORS
         );
     }
 
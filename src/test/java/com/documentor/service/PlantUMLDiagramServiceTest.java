@@ -1,5 +1,6 @@
 package com.documentor.service;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
@@ -24,6 +25,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ExtendWith(MockitoExtension.class)
 class PlantUMLDiagramServiceTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     // Test constants for magic number violations
     private static final String TEST_CLASS_NAME = "TestClass";
     private static final String TEST_PROJECT_PATH = "/test/project";
@@ -59,7 +63,8 @@ class PlantUMLDiagramServiceTest {
         plantUMLDiagramService = new PlantUMLDiagramService(
             diagramElementFilter,
             diagramPathManager,
-            generatorFactory
+            generatorFactory,
+            EXECUTORS
         );
     }
 
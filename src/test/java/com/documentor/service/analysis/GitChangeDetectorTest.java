@@ -0,0 +1,105 @@
+package com.documentor.service.analysis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Git Change Detector Tests")
+class GitChangeDetectorTest {
+
+    @TempDir
+    private Path repo;
+
+    private final GitChangeDetector detector = new GitChangeDetector();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(git("init", "-q"), "git is not available");
+        Path src = Files.createDirectories(repo.resolve("app/src"));
+        Files.writeString(src.resolve("Kept.java"), "class Kept {}");
+        Files.writeString(src.resolve("Edited.java"), "class Edited {}");
+        Files.writeString(src.resolve("Deleted.java"), "class Deleted {}");
+        Files.writeString(src.resolve("Moved.java"),
+                "class Moved { int a; int b; int c; }");
+        Files.writeString(repo.resolve("Outside.java"), "class Outside {}");
+        git("add", "-A");
+        git("commit", "-q", "-m", "base");
+    }
+
+    @Test
+    @DisplayName("Should list changed, renamed, deleted and untracked files")
+    void shouldListChangesSinceRevision() throws Exception {
+        Path src = repo.resolve("app/src");
+        Files.writeString(src.resolve("Edited.java"), "class Edited { }");
+        Files.delete(src.resolve("Deleted.java"));
+        git("mv", "app/src/Moved.java", "app/src/Renamed.java");
+        Files.writeString(src.resolve("New.java"), "class New {}");
+        Files.writeString(repo.resolve("Outside.java"), "class Changed {}");
+
+        GitChangeDetector.ChangeSet changes =
+                detector.changedSince(repo.resolve("app"), "HEAD");
+
+        assertEquals(Set.of(Path.of("src/Edited.java"),
+                Path.of("src/Renamed.java"), Path.of("src/New.java")),
+                changes.changed());
+        assertEquals(Set.of(Path.of("src/Deleted.java"),
+                Path.of("src/Moved.java")), changes.deleted());
+    }
+
+    @Test
+    @DisplayName("Should ignore later commits of the compared branch")
+    void shouldCompareFromMergeBase() throws Exception {
+        git("checkout", "-q", "-b", "other");
+        Files.writeString(repo.resolve("app/src/Kept.java"),
+                "class Kept { int later; }");
+        git("commit", "-q", "-a", "-m", "later on other");
+        git("checkout", "-q", "-");
+        Files.writeString(repo.resolve("app/src/Edited.java"),
+                "class Edited { }");
+        git("commit", "-q", "-a", "-m", "local");
+
+        GitChangeDetector.ChangeSet changes =
+                detector.changedSince(repo.resolve("app"), "other");
+
+        assertEquals(Set.of(Path.of("src/Edited.java")), changes.changed());
+        assertEquals(Set.of(), changes.deleted());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown revisions and option-like input")
+    void shouldRejectInvalidRevisions() {
+        assertThrows(IOException.class, () ->
+                detector.changedSince(repo, "no-such-revision"));
+        assertThrows(IllegalArgumentException.class, () ->
+                detector.changedSince(repo, "--output=/tmp/x"));
+    }
+
+    private boolean git(final String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of("git",
+                "-c", "user.name=Test", "-c", "user.email=test@example.com",
+                "-c", "commit.gpgsign=false"));
+        command.addAll(List.of(args));
+        try {
+            Process process = new ProcessBuilder(command)
+                    .directory(repo.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
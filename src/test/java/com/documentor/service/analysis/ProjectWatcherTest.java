@@ -0,0 +1,110 @@
+package com.documentor.service.analysis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Project Watcher Tests")
+class ProjectWatcherTest {
+
+    private static final Duration QUIET = Duration.ofMillis(200);
+    private static final Duration MAX_DELAY = Duration.ofSeconds(2);
+    private static final Duration WAIT = Duration.ofSeconds(10);
+    private static final Duration SHORT_WAIT = Duration.ofMillis(300);
+    private static final long BETWEEN_SAVES_MILLIS = 50L;
+
+    @TempDir
+    private Path root;
+
+    @TempDir
+    private Path outside;
+
+    @Test
+    @DisplayName("Should coalesce quick successive changes into one batch")
+    void shouldCoalesceChanges() throws Exception {
+        Path src = Files.createDirectories(root.resolve("src"));
+        try (ProjectWatcher watcher = newWatcher()) {
+            Files.writeString(src.resolve("A.java"), "class A {}");
+            Thread.sleep(BETWEEN_SAVES_MILLIS);
+            Files.writeString(src.resolve("B.java"), "class B {}");
+            Files.writeString(src.resolve("notes.txt"), "ignored");
+
+            ProjectWatcher.Batch batch = watcher.nextBatch(WAIT);
+
+            assertNotNull(batch);
+            assertEquals(Set.of(Path.of("src/A.java"), Path.of("src/B.java")),
+                    batch.paths());
+            assertTrue(batch.firstEventNanos() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report deletions and files in new directories")
+    void shouldReportDeletionsAndNewDirectories() throws Exception {
+        Path existing = Files.writeString(root.resolve("Old.java"),
+                "class Old {}");
+        try (ProjectWatcher watcher = newWatcher()) {
+            Files.delete(existing);
+            Path created = Files.createDirectories(root.resolve("pkg/sub"));
+            Files.writeString(created.resolve("New.java"), "class New {}");
+
+            Set<Path> seen = new HashSet<>();
+            while (seen.size() < 2) {
+                ProjectWatcher.Batch batch = watcher.nextBatch(WAIT);
+                assertNotNull(batch);
+                seen.addAll(batch.paths());
+            }
+
+            assertEquals(Set.of(Path.of("Old.java"),
+                    Path.of("pkg/sub/New.java")), seen);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a directory moved out of the tree")
+    void shouldReportRemovedDirectories() throws Exception {
+        Path pkg = Files.createDirectories(root.resolve("pkg/sub"));
+        Files.writeString(pkg.resolve("Gone.java"), "class Gone {}");
+        try (ProjectWatcher watcher = newWatcher()) {
+            Files.move(root.resolve("pkg"), outside.resolve("pkg"));
+
+            ProjectWatcher.Batch batch = watcher.nextBatch(WAIT);
+
+            assertNotNull(batch);
+            assertEquals(Set.of(Path.of("pkg")), batch.paths());
+            // The moved tree is no longer watched
+            Files.writeString(outside.resolve("pkg/sub/Late.java"),
+                    "class Late {}");
+            assertNull(watcher.nextBatch(SHORT_WAIT));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore excluded directories and time out quietly")
+    void shouldIgnoreExcludedDirectories() throws Exception {
+        Path ignored = Files.createDirectories(root.resolve("ignored"));
+        try (ProjectWatcher watcher = newWatcher()) {
+            Files.writeString(ignored.resolve("C.java"), "class C {}");
+
+            assertNull(watcher.nextBatch(SHORT_WAIT));
+        }
+    }
+
+    private ProjectWatcher newWatcher() throws Exception {
+        return new ProjectWatcher(root,
+                path -> path.toString().endsWith(".java"),
+                dir -> !dir.getFileName().toString().equals("ignored"),
+                QUIET, MAX_DELAY);
+    }
+}
@@ -0,0 +1,135 @@
+package com.documentor.service.diagram;
+
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.config.model.ExecutorSettings;
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.diagram.DiagramBatchRenderer.Format;
+import com.documentor.service.diagram.DiagramBatchRenderer.Target;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Diagram Batch Renderer Tests")
+class DiagramBatchRendererTest {
+
+    private static final int CLASS_COUNT = 40;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should render every format in class order")
+    void shouldRenderAllFormatsInClassOrder() throws Exception {
+        ProjectAnalysis analysis = analysis();
+        DiagramBatchRenderer renderer = renderer(EXECUTORS);
+
+        Map<Format, List<String>> generated = renderer.render(analysis,
+                List.of(new Target(Format.MERMAID,
+                                tempDir.resolve("mmd").toString(), null),
+                        new Target(Format.PLANTUML,
+                                tempDir.resolve("puml").toString(), null)));
+
+        List<String> mermaid = generated.get(Format.MERMAID);
+        assertEquals(CLASS_COUNT, mermaid.size());
+        assertEquals(CLASS_COUNT, generated.get(Format.PLANTUML).size());
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            assertTrue(mermaid.get(i).endsWith("Type" + i + "_diagram.mmd"),
+                    mermaid.get(i));
+        }
+        assertTrue(Files.readString(Path.of(mermaid.get(1)))
+                .contains("Type1 --> Type0 : uses"));
+    }
+
+    @Test
+    @DisplayName("Should finish when called from its only pool thread")
+    void shouldNotDeadlockOnASingleThreadPool() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(
+                new ExecutorSettings(1, 1, 1, 1, QUEUE_CAPACITY, 1));
+        try {
+            Map<Format, List<String>> generated = renderer(registry)
+                    .renderAsync(analysis(), List.of(new Target(
+                            Format.MERMAID, tempDir.toString(), null)))
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            assertEquals(CLASS_COUNT, generated.get(Format.MERMAID).size());
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the package diagrams when only some files "
+            + "changed")
+    void shouldKeepPackageDiagramsOfPartialRuns() throws Exception {
+        ProjectAnalysis analysis = analysis();
+        DiagramBatchRenderer renderer = renderer(EXECUTORS);
+        List<Target> targets = List.of(new Target(Format.MERMAID,
+                tempDir.toString(), null));
+        renderer.render(analysis, targets);
+        Path packages = tempDir.resolve(PackageDiagramGenerator.DIRECTORY);
+        Map<Path, String> pages = new HashMap<>();
+        try (Stream<Path> files = Files.list(packages)) {
+            for (Path page : files.toList()) {
+                pages.put(page, Files.readString(page));
+            }
+        }
+
+        CodeElement changed = analysis.codeElements().get(0);
+        Map<Format, List<String>> generated = renderer.render(
+                new ProjectAnalysis("/src", List.of(changed), 0L), targets,
+                Set.of(changed.filePath()));
+
+        assertEquals(1, generated.get(Format.MERMAID).size());
+        assertFalse(pages.isEmpty());
+        for (Map.Entry<Path, String> page : pages.entrySet()) {
+            assertEquals(page.getValue(), Files.readString(page.getKey()),
+                    page.getKey().toString());
+        }
+    }
+
+    private static DiagramBatchRenderer renderer(
+            final ExecutorRegistry registry) {
+        DiagramPathManager pathManager = new DiagramPathManager();
+        return new DiagramBatchRenderer(new DiagramElementFilter(),
+                pathManager, new DiagramGeneratorFactory(
+                        new MermaidClassDiagramGenerator(pathManager),
+                        new PlantUMLClassDiagramGenerator(pathManager)),
+                registry, null, null);
+    }
+
+    private static ProjectAnalysis analysis() {
+        List<CodeElement> elements = new ArrayList<>();
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            String name = "Type" + i;
+            String file = "/src/app/" + name + ".java";
+            elements.add(new CodeElement(CodeElementType.CLASS, name,
+                    "app." + name, file, 1, "public class " + name, "",
+                    List.of(), List.of()));
+            elements.add(new CodeElement(CodeElementType.METHOD, "previous",
+                    "app." + name + ".previous", file, 2,
+                    "public Type" + Math.max(0, i - 1) + " previous()", "",
+                    List.of(), List.of()));
+        }
+        return new ProjectAnalysis("/src", elements, 0L);
+    }
+}
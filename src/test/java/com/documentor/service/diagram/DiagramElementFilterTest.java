@@ -5,10 +5,14 @@ import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -161,6 +165,29 @@ class DiagramElementFilterTest {
         assertEquals("PublicClass", eligibleClasses.get(0).name());
     }
 
+    @Test
+    @DisplayName("Should only save type graphs of the whole project")
+    void dependencyGraphOfChangedFiles(@TempDir final Path tempDir) {
+        CodeElement first = createClass("First", "/path/First.java");
+        CodeElement second = createClass("Second", "/path/Second.java");
+        Set<String> changed = Set.of(second.filePath());
+        ProjectAnalysis partial = new ProjectAnalysis("/path",
+            List.of(second), System.currentTimeMillis());
+
+        // No graph to update: the subset is graphed but not saved
+        filter.dependencyGraph(partial, tempDir, changed);
+        assertFalse(Files.exists(
+            tempDir.resolve(TypeDependencyGraph.FILE_NAME)));
+
+        filter.dependencyGraph(new ProjectAnalysis("/path",
+            List.of(first, second), System.currentTimeMillis()), tempDir);
+        TypeDependencyGraph updated = new DiagramElementFilter()
+            .dependencyGraph(partial, tempDir, changed);
+
+        assertEquals(2, updated.size());
+        assertEquals(2, TypeDependencyGraph.load(tempDir).size());
+    }
+
     private CodeElement createClass(final String name, final String path) {
         return new CodeElement(
             CodeElementType.CLASS,
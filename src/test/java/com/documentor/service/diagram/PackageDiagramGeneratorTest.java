@@ -0,0 +1,125 @@
+package com.documentor.service.diagram;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.service.diagram.DiagramBatchRenderer.Format;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Package Diagram Generator Tests")
+class PackageDiagramGeneratorTest {
+
+    private static final int PACKAGE_COUNT = 12;
+    private static final int NODE_BUDGET = 4;
+    private static final int EDGE_BUDGET = 10;
+    private static final int LAST_BY_NAME = 9;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should collapse package cycles and aggregate modules")
+    void shouldCollapseCycles() throws IOException {
+        List<CodeElement> classes = List.of(
+                javaClass("core", "app.a", "A", "public class A { B b; }"),
+                javaClass("core", "app.b", "B", "public class B { A a; }"),
+                javaClass("web", "app.c", "C", "public class C { A a; B b; }"));
+
+        List<String> files = generator(PackageDiagramGenerator
+                .DEFAULT_NODE_BUDGET).generate(classes,
+                        TypeDependencyGraph.build(classes), Format.MERMAID,
+                        tempDir, "/project");
+
+        assertEquals(2, files.size());
+        String packages = Files.readString(Path.of(files.get(0)));
+        assertTrue(packages.contains("n0[\"cycle: app.a, app.b (2)\"]"),
+                packages);
+        assertTrue(packages.contains("n1 -->|2| n0"), packages);
+        String modules = Files.readString(Path.of(files.get(1)));
+        assertTrue(modules.contains("n0[\"core (2)\"]"), modules);
+        assertTrue(modules.contains("n1 -->|2| n0"), modules);
+    }
+
+    @Test
+    @DisplayName("Should split large graphs into pages within the budget")
+    void shouldPageWithinTheNodeBudget() throws IOException {
+        List<CodeElement> classes = chain();
+
+        List<String> files = generator(NODE_BUDGET).generate(classes,
+                TypeDependencyGraph.build(classes), Format.PLANTUML, tempDir,
+                "/project");
+
+        assertTrue(files.size() > 1, files.toString());
+        for (String file : files) {
+            String page = Files.readString(Path.of(file));
+            long nodes = page.lines()
+                    .filter(line -> line.startsWith("rectangle "))
+                    .count();
+            assertTrue(nodes <= NODE_BUDGET, page);
+        }
+        assertTrue(Files.readString(Path.of(files.get(1)))
+                .contains(" - page 1"));
+    }
+
+    @Test
+    @DisplayName("Should only rewrite pages whose packages changed")
+    void shouldSkipUnchangedPages() throws IOException {
+        List<CodeElement> classes = chain();
+        PackageDiagramGenerator generator = generator(NODE_BUDGET);
+        List<String> files = generator.generate(classes,
+                TypeDependencyGraph.build(classes), Format.MERMAID, tempDir,
+                "/project");
+        for (String file : files) {
+            Files.writeString(Path.of(file), "kept");
+        }
+
+        List<CodeElement> changed = new ArrayList<>(classes);
+        // app.p9 sorts last, so only the last page shows it
+        changed.set(LAST_BY_NAME, javaClass("core", "app.p9", "T9",
+                "public class T9 { T8 previous; int count; }"));
+        List<String> again = generator.generate(changed,
+                TypeDependencyGraph.build(changed), Format.MERMAID, tempDir,
+                "/project");
+
+        assertEquals(files, again);
+        assertEquals("kept", Files.readString(Path.of(again.get(0))));
+        assertFalse(Files.readString(Path.of(again.get(again.size() - 1)))
+                .equals("kept"));
+    }
+
+    private PackageDiagramGenerator generator(final int nodeBudget) {
+        return new PackageDiagramGenerator(true, nodeBudget, EDGE_BUDGET,
+                null);
+    }
+
+    private static List<CodeElement> chain() {
+        List<CodeElement> classes = new ArrayList<>();
+        for (int i = 0; i < PACKAGE_COUNT; i++) {
+            String fields = i > 0 ? "T" + (i - 1) + " previous;" : "";
+            classes.add(javaClass("core", "app.p" + i, "T" + i,
+                    "public class T" + i + " { " + fields + " }"));
+        }
+        return classes;
+    }
+
+    private static CodeElement javaClass(final String module,
+            final String packageName, final String name,
+            final String declaration) {
+        return new CodeElement(CodeElementType.CLASS, name,
+                packageName + "." + name, "/project/" + module
+                        + "/src/main/java/" + packageName.replace('.', '/')
+                        + "/" + name + ".java", 1, declaration, "",
+                List.of(), List.of());
+    }
+}
@@ -1,5 +1,6 @@
 package com.documentor.service.diagram;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
@@ -24,6 +25,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class PlantUMLDiagramServiceFastTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     @Mock
     private DiagramElementFilter mockElementFilter;
 
@@ -43,7 +47,8 @@ class PlantUMLDiagramServiceFastTest {
         plantUMLDiagramService = new PlantUMLDiagramService(
             mockElementFilter,
             mockPathManager,
-            mockGeneratorFactory
+            mockGeneratorFactory,
+            EXECUTORS
         );
     }
 
@@ -93,7 +98,7 @@ class PlantUMLDiagramServiceFastTest {
             .thenReturn(tempDir);
         when(mockGeneratorFactory.getPlantUMLClassDiagramGenerator())
             .thenReturn(mockGenerator);
-        when(mockGenerator.generateClassDiagram(any(), any(), any(), any()))
+        when(mockGenerator.generateClassDiagram(any(), any(), any(), any(), any()))
             .thenReturn(tempDir.resolve("diagram.puml").toString());
 
         // When
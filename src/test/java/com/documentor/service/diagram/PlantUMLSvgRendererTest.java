@@ -0,0 +1,109 @@
+package com.documentor.service.diagram;
+
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.config.model.ExecutorSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PlantUML SVG Renderer Tests")
+class PlantUMLSvgRendererTest {
+
+    private static final int SOURCE_COUNT = 8;
+    private static final int RENDERERS = 2;
+    private static final int THREADS = 4;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final long RENDER_MILLIS = 20;
+
+    @TempDir
+    private Path tempDir;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger renders = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should only render sources that changed")
+    void shouldSkipUnchangedSources() throws IOException {
+        List<String> sources = sources();
+        PlantUMLSvgRenderer renderer = new PlantUMLSvgRenderer(true,
+                RENDERERS, this::fakeRenderer, null);
+
+        List<String> svgFiles = renderer.render(sources);
+        Files.writeString(Path.of(sources.get(0)), "@startuml\nB\n@enduml\n");
+        renderer.render(sources);
+
+        assertEquals(SOURCE_COUNT, svgFiles.size());
+        assertEquals(SOURCE_COUNT + 1, renders.get());
+        String svg = Files.readString(Path.of(svgFiles.get(0)));
+        assertTrue(svg.startsWith("<svg>@startuml\nB"), svg);
+        assertTrue(svg.contains(PlantUMLSvgRenderer.HASH_MARKER), svg);
+    }
+
+    @Test
+    @DisplayName("Should never run more renderers than the pool holds")
+    void shouldBoundConcurrentRenderers() throws IOException {
+        ExecutorRegistry registry = new ExecutorRegistry(new ExecutorSettings(
+                1, 1, 1, THREADS, QUEUE_CAPACITY, 1));
+        try {
+            new PlantUMLSvgRenderer(true, RENDERERS, this::fakeRenderer,
+                    registry).render(sources());
+        } finally {
+            registry.shutdown();
+        }
+
+        assertEquals(SOURCE_COUNT, renders.get());
+        assertTrue(created.get() <= RENDERERS, "created " + created.get());
+        assertTrue(maxActive.get() <= RENDERERS,
+                "concurrent " + maxActive.get());
+    }
+
+    @Test
+    @DisplayName("Should skip rendering when PlantUML cannot be loaded")
+    void shouldSkipWithoutPlantUml() throws IOException {
+        PlantUMLSvgRenderer renderer = new PlantUMLSvgRenderer(true,
+                RENDERERS, tempDir.resolve("missing.jar").toString(), null);
+
+        assertEquals(List.of(), renderer.render(sources()));
+        assertEquals(List.of(), new PlantUMLSvgRenderer().render(sources()));
+    }
+
+    private PlantUMLSvgRenderer.Renderer fakeRenderer() {
+        created.incrementAndGet();
+        return source -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(RENDER_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            renders.incrementAndGet();
+            return "<svg>" + source + "</svg>";
+        };
+    }
+
+    private List<String> sources() throws IOException {
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < SOURCE_COUNT; i++) {
+            Path source = tempDir.resolve("Type" + i + ".plantuml");
+            if (!Files.exists(source)) {
+                Files.writeString(source, "@startuml\nType" + i + "\n@enduml\n");
+            }
+            sources.add(source.toString());
+        }
+        return sources;
+    }
+}
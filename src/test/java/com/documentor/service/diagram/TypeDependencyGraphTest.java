@@ -0,0 +1,121 @@
+package com.documentor.service.diagram;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.service.diagram.TypeDependencyGraph.Dependency;
+import com.documentor.service.diagram.TypeDependencyGraph.DependencyKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Type Dependency Graph Tests")
+class TypeDependencyGraphTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final CodeElement base = javaClass("Base",
+            "public abstract class Base { }");
+    private final CodeElement named = javaClass("Named",
+            "public interface Named { String name(); }");
+    private final CodeElement user = javaClass("User",
+            "public class User { }");
+    private final CodeElement map = javaClass("Map",
+            "public class Map { }");
+    private final CodeElement order = javaClass("Order",
+            "public class Order extends Base implements Named {"
+            + " private Map secret;"
+            + " java.util.HashMap<String, User> users;"
+            + " public Order copy(Order other) { return other; }"
+            + " public Base parent() { return null; }"
+            + " }");
+
+    @Test
+    @DisplayName("Should read supertypes, fields and method types from the "
+            + "declaration")
+    void shouldReadDependenciesFromTheAst() {
+        TypeDependencyGraph graph = TypeDependencyGraph.build(
+                List.of(base, named, user, map, order));
+
+        assertEquals(List.of(
+                new Dependency(base, DependencyKind.EXTENDS),
+                new Dependency(named, DependencyKind.IMPLEMENTS),
+                new Dependency(user, DependencyKind.FIELD)),
+                graph.dependencies(order));
+        assertEquals(List.of(), graph.dependencies(user));
+    }
+
+    @Test
+    @DisplayName("Should fall back to method signatures without a "
+            + "declaration")
+    void shouldFallBackToMethodSignatures() {
+        CodeElement service = new CodeElement(CodeElementType.CLASS,
+                "Service", "app.Service", "/src/app/service.py", 1,
+                "class Service", "", List.of(), List.of());
+        CodeElement method = new CodeElement(CodeElementType.METHOD,
+                "load", "app.Service.load", "/src/app/service.py", 2,
+                "def load(self, user: User) -> UserMap", "", List.of(),
+                List.of());
+
+        TypeDependencyGraph graph = TypeDependencyGraph.build(
+                List.of(service, method, user, map));
+
+        assertEquals(List.of(new Dependency(user, DependencyKind.USES)),
+                graph.dependencies(service));
+    }
+
+    @Test
+    @DisplayName("Should reuse the nodes of unchanged classes across runs")
+    void shouldReuseSavedNodes() throws IOException {
+        TypeDependencyGraph.build(List.of(base, named, user, order))
+                .save(tempDir);
+        CodeElement changedUser = javaClass("User",
+                "public class User extends Base { }");
+
+        TypeDependencyGraph graph = TypeDependencyGraph.build(
+                List.of(base, named, changedUser, order),
+                TypeDependencyGraph.load(tempDir));
+
+        assertEquals(2 + 1, graph.reusedCount());
+        assertEquals(List.of(new Dependency(base, DependencyKind.EXTENDS)),
+                graph.dependencies(changedUser));
+        assertNull(TypeDependencyGraph.load(tempDir.resolve("missing")));
+    }
+
+    @Test
+    @DisplayName("Should keep the classes of unchanged files when updating")
+    void shouldUpdateOnlyTheClassesOfChangedFiles() throws IOException {
+        TypeDependencyGraph.build(List.of(base, named, user, order))
+                .save(tempDir);
+        CodeElement changedOrder = javaClass("Order",
+                "public class Order extends Base { User owner; }");
+
+        TypeDependencyGraph graph = TypeDependencyGraph.update(
+                List.of(changedOrder), TypeDependencyGraph.load(tempDir),
+                Set.of(changedOrder.filePath(), named.filePath()));
+
+        List<Dependency> dependencies = graph.dependencies(changedOrder);
+        assertEquals(List.of("Base", "User"), dependencies.stream()
+                .map(dependency -> dependency.target().name()).toList());
+        assertEquals(List.of(DependencyKind.EXTENDS, DependencyKind.FIELD),
+                dependencies.stream().map(Dependency::kind).toList());
+        // Named was deleted: only Base, User and Order are left
+        assertEquals(2 + 1, graph.size());
+        assertEquals(2, graph.reusedCount());
+    }
+
+    private static CodeElement javaClass(final String name,
+                                         final String declaration) {
+        return new CodeElement(CodeElementType.CLASS, name, "app." + name,
+                "/src/app/" + name + ".java", 1, declaration, "", List.of(),
+                List.of());
+    }
+}
@@ -0,0 +1,58 @@
+package com.documentor.service.diagram;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Type Name Index Tests")
+class TypeNameIndexTest {
+
+    @Test
+    @DisplayName("Should match whole identifiers only, in order of "
+            + "appearance")
+    void shouldMatchWholeIdentifiers() {
+        CodeElement map = createClass("Map", "com.example.Map");
+        CodeElement user = createClass("User", "com.example.User");
+        CodeElement order = createClass("Order", "com.example.Order");
+        CodeElement method = new CodeElement(CodeElementType.METHOD, "find",
+                "com.example.Repo.find", "/src/Repo.java", 1,
+                "public User find(HashMap<String, Order> filter)", "",
+                List.of(), List.of());
+        TypeNameIndex index = TypeNameIndex.of(
+                List.of(map, user, order, method));
+
+        assertEquals(List.of(user, order), List.copyOf(index.referencedTypes(
+                "public User find(HashMap<String, Order> filter)")));
+        assertEquals(List.of(map), List.copyOf(index.referencedTypes(
+                "java.util.Map<Orders, UserId> copy(Map m)")));
+        assertEquals(2 + 1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should return every class sharing a simple name and "
+            + "handle empty input")
+    void shouldReturnClassesSharingAName() {
+        CodeElement first = createClass("Node", "com.a.Node");
+        CodeElement second = createClass("Node", "com.b.Node");
+        TypeNameIndex index = TypeNameIndex.of(List.of(first, second));
+
+        assertEquals(List.of(first, second),
+                List.copyOf(index.referencedTypes("Node next()")));
+        assertTrue(index.referencedTypes(null).isEmpty());
+        assertTrue(TypeNameIndex.of(List.of())
+                .referencedTypes("Node next()").isEmpty());
+    }
+
+    private static CodeElement createClass(final String name,
+                                           final String qualifiedName) {
+        return new CodeElement(CodeElementType.CLASS, name, qualifiedName,
+                "/src/" + name + ".java", 1, "public class " + name, "",
+                List.of(), List.of());
+    }
+}
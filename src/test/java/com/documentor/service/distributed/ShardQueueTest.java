@@ -0,0 +1,192 @@
+package com.documentor.service.distributed;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.documentation.RunJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Shard Queue Tests")
+class ShardQueueTest {
+
+    private static final int SHARDS = 4;
+    private static final int CLASSES = 12;
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @TempDir
+    private Path tempDir;
+
+    private static ProjectAnalysis analysis(final int classes) {
+        List<CodeElement> elements = new ArrayList<>();
+        for (int i = 0; i < classes; i++) {
+            String name = "com.example.Type" + i;
+            String file = "/src/Type" + i + ".java";
+            elements.add(new CodeElement(CodeElementType.CLASS, "Type" + i,
+                    name, file, 1, "class Type" + i, "", List.of(),
+                    List.of()));
+            elements.add(new CodeElement(CodeElementType.METHOD, "run",
+                    name + ".run", file, 2, "void run()", "", List.of(),
+                    List.of()));
+            elements.add(new CodeElement(CodeElementType.FIELD, "count",
+                    name + ".count", file, 2 + 1, "int count", "", List.of(),
+                    List.of()));
+        }
+        return new ProjectAnalysis("/project", elements, 0L);
+    }
+
+    @Test
+    @DisplayName("Should keep a class and its members in one stable shard")
+    void shouldShardByClass() throws IOException {
+        ProjectAnalysis analysis = analysis(CLASSES);
+        ShardQueue queue = ShardQueue.create(tempDir, analysis, SHARDS);
+
+        int total = 0;
+        Set<String> seen = new HashSet<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            for (CodeElement element
+                    : queue.loadShard(shard).codeElements()) {
+                assertEquals(shard, ShardQueue.shardOf(element, SHARDS));
+                seen.add(element.qualifiedName());
+                total++;
+            }
+        }
+        assertEquals(analysis.codeElements().size(), total);
+        assertEquals(total, seen.size());
+
+        CodeElement type = analysis.codeElements().get(0);
+        CodeElement method = analysis.codeElements().get(1);
+        assertEquals(ShardQueue.shardOf(type, SHARDS),
+                ShardQueue.shardOf(method, SHARDS));
+    }
+
+    @Test
+    @DisplayName("Should reuse a matching queue and replace a different one")
+    void shouldReuseMatchingQueue() throws IOException {
+        ShardQueue queue = ShardQueue.create(tempDir, analysis(CLASSES),
+                SHARDS);
+        ShardQueue.Lease lease = queue.claim("w1", LEASE).orElseThrow();
+        queue.complete(lease, journal("w1"));
+
+        assertEquals(1, ShardQueue.create(tempDir, analysis(CLASSES), SHARDS)
+                .completedCount());
+        assertEquals(0, ShardQueue.create(tempDir, analysis(CLASSES + 1),
+                SHARDS).completedCount());
+        assertEquals(SHARDS, ShardQueue.open(tempDir).shardCount());
+    }
+
+    @Test
+    @DisplayName("Should refuse to open a directory without a plan")
+    void shouldRequirePlan() {
+        assertThrows(NoSuchFileException.class,
+                () -> ShardQueue.open(tempDir));
+    }
+
+    @Test
+    @DisplayName("Should lease every shard to one worker at a time")
+    void shouldLeaseExclusively() throws IOException {
+        ShardQueue queue = ShardQueue.create(tempDir, analysis(CLASSES),
+                SHARDS);
+        Set<Integer> claimed = new HashSet<>();
+        for (int i = 0; i < SHARDS; i++) {
+            Optional<ShardQueue.Lease> lease = queue.claim("w" + i, LEASE);
+            assertTrue(lease.isPresent());
+            assertTrue(claimed.add(lease.get().shard()));
+            assertTrue(lease.get().renew());
+            assertEquals("w" + i, Files.readString(tempDir.resolve("leases")
+                    .resolve(String.format("shard-%04d.lease",
+                            lease.get().shard()))));
+        }
+        assertTrue(queue.claim("late", LEASE).isEmpty());
+        try (var leases = Files.list(tempDir.resolve("leases"))) {
+            assertTrue(leases.allMatch(file -> file.toString()
+                    .endsWith(".lease")), "temp files left behind");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reassign a shard whose holder stopped renewing")
+    void shouldTakeOverExpiredLease() throws IOException {
+        ShardQueue queue = ShardQueue.create(tempDir, analysis(CLASSES), 1);
+        ShardQueue.Lease stale = queue.claim("dead", LEASE).orElseThrow();
+        Files.setLastModifiedTime(
+                tempDir.resolve("leases").resolve("shard-0000.lease"),
+                FileTime.from(Instant.now().minus(LEASE.multipliedBy(2))));
+
+        ShardQueue.Lease fresh = queue.claim("alive", LEASE).orElseThrow();
+        assertEquals(stale.shard(), fresh.shard());
+        assertFalse(stale.renew());
+        stale.release();
+        assertTrue(fresh.renew());
+    }
+
+    @Test
+    @DisplayName("Should give a new holder its own work directory seeded "
+            + "from the previous one")
+    void shouldSeparateWorkDirectoriesOfHolders() throws IOException {
+        ShardQueue queue = ShardQueue.create(tempDir, analysis(CLASSES), 1);
+        ShardQueue.Lease stale = queue.claim("dead", LEASE).orElseThrow();
+        Path staleWork = queue.workDirectory(stale);
+        Files.writeString(staleWork.resolve(RunJournal.FILE_NAME), "old\n");
+        Files.setLastModifiedTime(
+                tempDir.resolve("leases").resolve("shard-0000.lease"),
+                FileTime.from(Instant.now().minus(LEASE.multipliedBy(2))));
+
+        ShardQueue.Lease fresh = queue.claim("alive", LEASE).orElseThrow();
+        Path freshWork = queue.workDirectory(fresh);
+        Files.writeString(freshWork.resolve(RunJournal.FILE_NAME), "new\n",
+                StandardOpenOption.APPEND);
+
+        assertNotEquals(staleWork, freshWork);
+        assertEquals("old\nnew\n", Files.readString(
+                freshWork.resolve(RunJournal.FILE_NAME)));
+        assertEquals("old\n", Files.readString(
+                staleWork.resolve(RunJournal.FILE_NAME)));
+        assertEquals(freshWork, queue.workDirectory(fresh));
+    }
+
+    @Test
+    @DisplayName("Should publish finished journals in shard order")
+    void shouldCompleteShards() throws IOException {
+        ShardQueue queue = ShardQueue.create(tempDir, analysis(CLASSES),
+                SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            ShardQueue.Lease lease = queue.claim("w", LEASE).orElseThrow();
+            queue.complete(lease, journal("shard" + lease.shard()));
+        }
+
+        assertTrue(queue.isComplete());
+        assertTrue(queue.claim("w", LEASE).isEmpty());
+        List<Path> journals = queue.completedJournals();
+        assertEquals(SHARDS, journals.size());
+        for (int i = 0; i < SHARDS; i++) {
+            assertEquals("shard" + i, Files.readString(journals.get(i)));
+        }
+    }
+
+    private Path journal(final String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "journal",
+                ".jsonl"), content);
+    }
+}
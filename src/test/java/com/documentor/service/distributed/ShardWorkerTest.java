@@ -0,0 +1,183 @@
+package com.documentor.service.distributed;
+
+import com.documentor.config.ExecutorRegistry;
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import com.documentor.model.ProjectAnalysis;
+import com.documentor.service.LlmServiceEnhanced;
+import com.documentor.service.documentation.ElementDocumentationGeneratorEnhanced;
+import com.documentor.service.documentation.GenerationOptions;
+import com.documentor.service.documentation.RunJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Shard Worker Tests")
+class ShardWorkerTest {
+
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
+    private static final int SHARDS = 3;
+    private static final int WORKERS = 3;
+    private static final int CLASSES = 9;
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final Duration POLL = Duration.ofMillis(10);
+
+    @TempDir
+    private Path tempDir;
+
+    private static ProjectAnalysis analysis() {
+        List<CodeElement> elements = new ArrayList<>();
+        for (int i = 0; i < CLASSES; i++) {
+            String name = "com.example.Type" + i;
+            String file = "/src/Type" + i + ".java";
+            elements.add(new CodeElement(CodeElementType.CLASS, "Type" + i,
+                    name, file, 1, "class Type" + i, "", List.of(),
+                    List.of()));
+            elements.add(new CodeElement(CodeElementType.METHOD, "run",
+                    name + ".run", file, 2, "void run()", "", List.of(),
+                    List.of()));
+        }
+        return new ProjectAnalysis("/project", elements, 0L);
+    }
+
+    @Test
+    @DisplayName("Should finish every shard exactly once across workers")
+    void shouldShareShardsBetweenWorkers() throws Exception {
+        ShardQueue queue = ShardQueue.create(tempDir.resolve("queue"),
+                analysis(), SHARDS);
+        AtomicInteger processed = new AtomicInteger();
+        ShardWorker.ShardProcessor processor = (shard, work) -> {
+            processed.incrementAndGet();
+            Files.createDirectories(work);
+            return Files.writeString(work.resolve("journal.jsonl"),
+                    String.valueOf(shard.codeElements().size()));
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < WORKERS; i++) {
+                ShardWorker worker = new ShardWorker(
+                        ShardQueue.open(tempDir.resolve("queue")),
+                        "worker-" + i, LEASE, processor);
+                results.add(pool.submit(() -> worker.run(POLL)));
+            }
+            int finished = 0;
+            for (Future<Integer> result : results) {
+                finished += result.get();
+            }
+            assertEquals(SHARDS, finished);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(SHARDS, processed.get());
+        assertTrue(queue.isComplete());
+    }
+
+    @Test
+    @DisplayName("Should give a failed shard back to the queue")
+    void shouldReleaseFailedShard() throws IOException {
+        ShardQueue queue = ShardQueue.create(tempDir, analysis(), 1);
+        ShardWorker failing = new ShardWorker(queue, "failing", LEASE,
+                (shard, work) -> {
+                    throw new IllegalStateException("model unavailable");
+                });
+
+        assertThrows(IOException.class, () -> failing.run(POLL));
+        assertTrue(queue.claim("next", LEASE).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should merge shard journals into byte-identical output")
+    void shouldMergeIntoIdenticalOutput() throws Exception {
+        LlmServiceEnhanced llmService = mock(LlmServiceEnhanced.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(llmService.generateDocumentation(any())).thenAnswer(call -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("Docs of "
+                    + call.<CodeElement>getArgument(0).qualifiedName());
+        });
+        when(llmService.generateUsageExamples(any())).thenAnswer(call ->
+                CompletableFuture.completedFuture("Example of "
+                        + call.<CodeElement>getArgument(0).qualifiedName()));
+        ElementDocumentationGeneratorEnhanced generator =
+                new ElementDocumentationGeneratorEnhanced(llmService, null, EXECUTORS, null, null);
+
+        Path single = tempDir.resolve("single");
+        generator.generateGroupedDocumentation(analysis(), single).join();
+
+        ShardQueue queue = ShardQueue.create(tempDir.resolve("queue"),
+                analysis(), SHARDS);
+        new ShardWorker(queue, "worker", LEASE, (shard, work) -> {
+            try (RunJournal journal = RunJournal.open(work, true)) {
+                generator.generateGroupedDocumentation(shard, work,
+                        GenerationOptions.builder().journal(journal).build())
+                        .join();
+                return journal.getFile();
+            }
+        }).run(POLL);
+        int shardedCalls = calls.get();
+
+        Path merged = tempDir.resolve("merged");
+        try (RunJournal journal = RunJournal.open(merged, false)) {
+            for (Path shardJournal : queue.completedJournals()) {
+                journal.importFrom(shardJournal);
+            }
+        }
+        try (RunJournal journal = RunJournal.open(merged, true)) {
+            generator.generateGroupedDocumentation(analysis(), merged,
+                    GenerationOptions.builder().journal(journal).build())
+                    .join();
+        }
+
+        // Everything was replayed from the shard journals
+        assertEquals(shardedCalls, calls.get());
+        Map<String, byte[]> expected = documents(single);
+        Map<String, byte[]> actual = documents(merged);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((name, bytes) ->
+                assertArrayEquals(bytes, actual.get(name), name));
+    }
+
+    private static Map<String, byte[]> documents(final Path directory)
+            throws IOException {
+        Map<String, byte[]> documents = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString()
+                            .equals(RunJournal.FILE_NAME))
+                    .toList()) {
+                documents.put(directory.relativize(file).toString(),
+                        Files.readAllBytes(file));
+            }
+        }
+        return documents;
+    }
+}
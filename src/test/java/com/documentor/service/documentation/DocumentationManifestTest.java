@@ -0,0 +1,193 @@
+package com.documentor.service.documentation;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Documentation Manifest Tests")
+class DocumentationManifestTest {
+
+    private static final String SETTINGS = "settings";
+    private static final String FOO_DOC = "elements/class-Foo.md";
+    private static final String BAR_DOC = "elements/class-Bar.md";
+    private static final int SHIFTED_LINE = 40;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should rewrite everything without a previous manifest")
+    void shouldRewriteWithoutPreviousManifest() {
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+
+        assertFalse(manifest.isIncremental());
+        assertTrue(manifest.needsRewrite(FOO_DOC, List.of(element("Foo", 1,
+                "docs"))));
+        assertTrue(manifest.hasChanges());
+    }
+
+    @Test
+    @DisplayName("Should skip unchanged documents and rewrite changed ones")
+    void shouldSkipUnchangedDocuments() throws IOException {
+        writeFirstRun();
+
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        assertTrue(manifest.isIncremental());
+        // Moving an element to another line does not change it
+        assertFalse(manifest.needsRewrite(FOO_DOC, List.of(element("Foo",
+                SHIFTED_LINE, "docs"))));
+        assertTrue(manifest.needsRewrite(BAR_DOC, List.of(element("Bar", 1,
+                "new docs"))));
+        assertEquals(1, manifest.rewrittenCount());
+        assertEquals(1, manifest.reusedCount());
+        assertTrue(manifest.hasChanges());
+    }
+
+    @Test
+    @DisplayName("Should delete documents of removed elements")
+    void shouldDeleteRemovedDocuments() throws IOException {
+        writeFirstRun();
+
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        manifest.needsRewrite(FOO_DOC, List.of(element("Foo", 1, "docs")));
+        manifest.expect(Set.of(FOO_DOC));
+        assertEquals(Set.of(BAR_DOC), manifest.removedDocuments());
+        assertTrue(manifest.hasChanges());
+        manifest.finish();
+
+        assertFalse(Files.exists(tempDir.resolve(BAR_DOC)));
+        assertTrue(Files.exists(tempDir.resolve(FOO_DOC)));
+    }
+
+    @Test
+    @DisplayName("Should keep documents the run did not reach")
+    void shouldKeepDocumentsNotReached() throws IOException {
+        writeFirstRun();
+
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        // Bar still exists in the analysis but was never visited
+        manifest.needsRewrite(FOO_DOC, List.of(element("Foo", 1, "docs")));
+        assertEquals(Set.of(), manifest.removedDocuments());
+        manifest.expect(Set.of(FOO_DOC, BAR_DOC));
+        assertEquals(Set.of(), manifest.removedDocuments());
+        manifest.finish();
+
+        assertTrue(Files.exists(tempDir.resolve(BAR_DOC)));
+    }
+
+    @Test
+    @DisplayName("Should retry documents that were not written completely")
+    void shouldRetryIncompleteDocuments() throws IOException {
+        List<CodeElement> foo = List.of(element("Foo", 1, "docs"));
+        DocumentationManifest first =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        first.needsRewrite(FOO_DOC, foo);
+        writeDocument(FOO_DOC);
+        // Not recorded as complete, e.g. cut short by the deadline
+        first.finish();
+
+        assertTrue(DocumentationManifest.load(tempDir, SETTINGS)
+                .needsRewrite(FOO_DOC, foo));
+    }
+
+    @Test
+    @DisplayName("Should rewrite everything when the settings change")
+    void shouldRewriteWhenSettingsChange() throws IOException {
+        writeFirstRun();
+
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, "other settings");
+        assertTrue(manifest.needsRewrite(FOO_DOC, List.of(element("Foo", 1,
+                "docs"))));
+        manifest.expect(Set.of(FOO_DOC));
+        assertEquals(Set.of(BAR_DOC), manifest.removedDocuments());
+    }
+
+    @Test
+    @DisplayName("Should keep documents of files outside the analyzed scope")
+    void shouldRetainDocumentsOutsideScope() throws IOException {
+        writeFirstRun();
+
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        // Only Bar.java was analyzed, and it was deleted
+        manifest.retainOutside(Set.of("/src/Bar.java"));
+        manifest.expect(Set.of());
+        assertEquals(Set.of(BAR_DOC), manifest.removedDocuments());
+        manifest.finish();
+
+        DocumentationManifest next =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        assertFalse(next.needsRewrite(FOO_DOC, List.of(element("Foo", 1,
+                "docs"))));
+    }
+
+    @Test
+    @DisplayName("Should expand a deleted directory to its previous sources")
+    void shouldExpandDirectories() throws IOException {
+        writeFirstRun();
+
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+
+        assertEquals(Set.of("/src", "/src/Foo.java", "/src/Bar.java"),
+                manifest.expandDirectories(Set.of("/src")));
+        assertEquals(Set.of("/sr", "/src/Foo.java"),
+                manifest.expandDirectories(Set.of("/sr", "/src/Foo.java")));
+    }
+
+    @Test
+    @DisplayName("Should fingerprint documentation but not line numbers")
+    void shouldFingerprintContent() {
+        assertEquals(DocumentationManifest.fingerprint(element("Foo", 1,
+                "docs")), DocumentationManifest.fingerprint(element("Foo",
+                SHIFTED_LINE, "docs")));
+        assertNotEquals(DocumentationManifest.fingerprint(element("Foo", 1,
+                "docs")), DocumentationManifest.fingerprint(element("Foo", 1,
+                "other docs")));
+    }
+
+    private void writeFirstRun() throws IOException {
+        DocumentationManifest manifest =
+                DocumentationManifest.load(tempDir, SETTINGS);
+        List<CodeElement> foo = List.of(element("Foo", 1, "docs"));
+        List<CodeElement> bar = List.of(element("Bar", 1, "docs"));
+        manifest.needsRewrite(FOO_DOC, foo);
+        manifest.needsRewrite(BAR_DOC, bar);
+        writeDocument(FOO_DOC);
+        writeDocument(BAR_DOC);
+        manifest.recordComplete(FOO_DOC, foo);
+        manifest.recordComplete(BAR_DOC, bar);
+        manifest.finish();
+    }
+
+    private void writeDocument(final String document) throws IOException {
+        Path path = tempDir.resolve(document);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "# " + document);
+    }
+
+    private static CodeElement element(final String name, final int line,
+                                       final String documentation) {
+        return new CodeElement(CodeElementType.CLASS, name,
+                "com.example." + name, "/src/" + name + ".java", line,
+                "public class " + name, documentation, List.of(), List.of());
+    }
+}
@@ -1,5 +1,6 @@
 package com.documentor.service.documentation;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
@@ -29,6 +30,10 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ElementDocumentationGeneratorEnhancedBranchCoverageTest {
+
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     private static final int LINE_NUMBER_5 = 5;
     private static final int LINE_NUMBER_10 = 10;
     private static final int LINE_NUMBER_3 = 3;
@@ -52,7 +57,7 @@ class ElementDocumentationGeneratorEnhancedBranchCoverageTest {
     @BeforeEach
     void setUp() {
         generator = new ElementDocumentationGeneratorEnhanced(
-            llmService, llmServiceFix);
+            llmService, llmServiceFix, EXECUTORS, null, null);
     }
 
     // =========== formatCodeBlock Branch Coverage Tests ===========
@@ -59,13 +59,13 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        generator = new ElementDocumentationGenerator(llmService);
+        generator = new ElementDocumentationGenerator(llmService, null);
     }
 
     @Test
     void testGenerateElementDocumentationWithNullLlmService() {
         ElementDocumentationGenerator generatorWithNullLlm =
-                new ElementDocumentationGenerator(null);
+                new ElementDocumentationGenerator(null, null);
 
         CodeElement element = createTestClassElement();
 
@@ -81,7 +81,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
     @Test
     void testGenerateGroupedDocumentationWithNullLlmService() {
         ElementDocumentationGenerator generatorWithNullLlm =
-                new ElementDocumentationGenerator(null);
+                new ElementDocumentationGenerator(null, null);
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
 
@@ -109,7 +109,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -132,7 +132,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -156,7 +156,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -180,7 +180,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -282,7 +282,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -330,7 +330,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -520,7 +520,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -567,7 +567,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -607,7 +607,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -714,7 +714,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -764,7 +764,7 @@ class ElementDocumentationGeneratorEnhancedCoverageTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -1,6 +1,8 @@
 package com.documentor.service.documentation;
 
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.ThreadLocalContextHolder;
+import com.documentor.config.model.ExecutorSettings;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
@@ -12,19 +14,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 // Removed duplicate imports for assertEquals, assertNotNull, assertTrue
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -32,6 +40,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 /**
  * Comprehensive tests for ElementDocumentationGeneratorEnhanced to improve
@@ -39,11 +49,19 @@ import static org.mockito.Mockito.atLeastOnce;
  */
 @ExtendWith(MockitoExtension.class)
 class ElementDocumentationGeneratorEnhancedTest {
+
         private static final int LINE_NUMBER_1 = 1;
         private static final int LINE_NUMBER_5 = 5;
         private static final int LINE_NUMBER_3 = 3;
     // Magic number constants for checkstyle compliance
     private static final int LINE_NUMBER_10 = 10;
+    private static final int LLM_IO_THREADS = 2;
+    private static final long CALL_DELAY_MILLIS = 20L;
+    private static final long DEADLINE_MILLIS = 300L;
+    private static final long CLIENT_TIMEOUT_MILLIS = 2 * DEADLINE_MILLIS;
+    private static final String LATE_DOCUMENTATION = "Late documentation";
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
 
     @Mock
     private LlmServiceEnhanced llmService;
@@ -64,7 +82,7 @@ class ElementDocumentationGeneratorEnhancedTest {
     void setUp() {
         ThreadLocalContextHolder.clearConfig();
         generator = new ElementDocumentationGeneratorEnhanced(
-            llmService, llmServiceFix
+            llmService, llmServiceFix, EXECUTORS, null, null
         );
     }
 
@@ -72,24 +90,24 @@ class ElementDocumentationGeneratorEnhancedTest {
     void testConstructorWithNullServices() {
         // Test with null llmService
         ElementDocumentationGeneratorEnhanced generatorWithNullLlm =
-            new ElementDocumentationGeneratorEnhanced(null, llmServiceFix);
+            new ElementDocumentationGeneratorEnhanced(null, llmServiceFix, EXECUTORS, null, null);
         assertNotNull(generatorWithNullLlm);
 
         // Test with null llmServiceFix
         ElementDocumentationGeneratorEnhanced generatorWithNullFix =
-            new ElementDocumentationGeneratorEnhanced(llmService, null);
+            new ElementDocumentationGeneratorEnhanced(llmService, null, EXECUTORS, null, null);
         assertNotNull(generatorWithNullFix);
 
         // Test with both null
         ElementDocumentationGeneratorEnhanced generatorWithBothNull =
-            new ElementDocumentationGeneratorEnhanced(null, null);
+            new ElementDocumentationGeneratorEnhanced(null, null, EXECUTORS, null, null);
         assertNotNull(generatorWithBothNull);
     }
 
     @Test
     void testGenerateElementDocumentationWithNullLlmService() {
         ElementDocumentationGeneratorEnhanced generatorWithNullLlm =
-            new ElementDocumentationGeneratorEnhanced(null, llmServiceFix);
+            new ElementDocumentationGeneratorEnhanced(null, llmServiceFix, EXECUTORS, null, null);
 
         CodeElement element = createTestClassElement();
 
@@ -103,7 +121,7 @@ class ElementDocumentationGeneratorEnhancedTest {
     @Test
     void testGenerateGroupedDocumentationWithNullLlmService() {
         ElementDocumentationGeneratorEnhanced generatorWithNullLlm =
-            new ElementDocumentationGeneratorEnhanced(null, llmServiceFix);
+            new ElementDocumentationGeneratorEnhanced(null, llmServiceFix, EXECUTORS, null, null);
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
 
@@ -206,7 +224,7 @@ class ElementDocumentationGeneratorEnhancedTest {
     @Test
     void testGenerateElementDocumentationWithNullLlmServiceFix() {
         ElementDocumentationGeneratorEnhanced generatorWithNullFix =
-            new ElementDocumentationGeneratorEnhanced(llmService, null);
+            new ElementDocumentationGeneratorEnhanced(llmService, null, EXECUTORS, null, null);
 
         when(llmService.generateDocumentation(any()))
             .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
@@ -252,7 +270,7 @@ class ElementDocumentationGeneratorEnhancedTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -260,6 +278,287 @@ class ElementDocumentationGeneratorEnhancedTest {
         assertTrue(content.contains(TEST_DOCUMENTATION));
     }
 
+    @Test
+    void testDeadlineKeepsFinishedMembersAndMarksStragglers()
+            throws Exception {
+        CodeElement classElement = createTestClassElement();
+        CodeElement methodElement = createTestMethodElement();
+        when(llmService.generateDocumentation(classElement))
+            .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
+        // The method documentation only ends at the client's own timeout
+        when(llmService.generateDocumentation(methodElement))
+            .thenReturn(new CompletableFuture<String>().completeOnTimeout(
+                LATE_DOCUMENTATION, CLIENT_TIMEOUT_MILLIS,
+                TimeUnit.MILLISECONDS));
+        when(llmService.generateUsageExamples(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_EXAMPLES));
+
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path",
+            Arrays.asList(classElement, methodElement),
+            System.currentTimeMillis());
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder()
+                .deadline(Duration.ofMillis(DEADLINE_MILLIS))
+                .build()).join();
+
+        String content = Files.readString(tempDir.resolve("elements")
+            .resolve("class-com.example.TestClass.md"));
+        assertTrue(content.contains(TEST_DOCUMENTATION));
+        assertTrue(content.contains(TEST_EXAMPLES));
+        assertTrue(content.contains("Not generated before the documentation "
+            + "deadline"));
+    }
+
+    @Test
+    void testClassesReachedAfterDeadlineAreWrittenWithPlaceholders()
+            throws Exception {
+        CodeElement first = new CodeElement(CodeElementType.CLASS,
+            "FirstClass", "com.example.FirstClass", "/test/FirstClass.java",
+            LINE_NUMBER_1, "public class FirstClass {}", "",
+            Collections.emptyList(), Collections.emptyList());
+        CodeElement second = new CodeElement(CodeElementType.CLASS,
+            "SecondClass", "com.example.SecondClass",
+            "/test/SecondClass.java", LINE_NUMBER_1,
+            "public class SecondClass {}", "",
+            Collections.emptyList(), Collections.emptyList());
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path",
+            List.of(first, second), System.currentTimeMillis());
+
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder().deadline(Duration.ZERO).build())
+            .join();
+
+        // No class is dropped: each is written without calling the model
+        for (String name : List.of("FirstClass", "SecondClass")) {
+            String content = Files.readString(tempDir.resolve("elements")
+                .resolve("class-com.example." + name + ".md"));
+            assertTrue(content.contains("Not generated before the "
+                + "documentation deadline"), content);
+        }
+        verify(llmService, times(0)).generateDocumentation(any());
+    }
+
+    @Test
+    void testCallTimeoutOnlyAffectsTheSlowMember() throws Exception {
+        CodeElement classElement = createTestClassElement();
+        CodeElement methodElement = createTestMethodElement();
+        when(llmService.generateDocumentation(classElement))
+            .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
+        // The method documentation only ends at the client's own timeout
+        when(llmService.generateDocumentation(methodElement))
+            .thenReturn(new CompletableFuture<String>().completeOnTimeout(
+                LATE_DOCUMENTATION, CLIENT_TIMEOUT_MILLIS,
+                TimeUnit.MILLISECONDS));
+        when(llmService.generateUsageExamples(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_EXAMPLES));
+
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path",
+            Arrays.asList(classElement, methodElement),
+            System.currentTimeMillis());
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder()
+                .callTimeout(Duration.ofMillis(DEADLINE_MILLIS))
+                .build()).join();
+
+        String content = Files.readString(tempDir.resolve("elements")
+            .resolve("class-com.example.TestClass.md"));
+        assertTrue(content.contains(TEST_DOCUMENTATION));
+        assertTrue(content.contains("Timeout or error generating "
+            + "documentation"));
+        assertFalse(content.contains(LATE_DOCUMENTATION));
+    }
+
+    @Test
+    void testJournalReplaysResultsOnResume() throws Exception {
+        CodeElement classElement = createTestClassElement();
+        when(llmService.generateDocumentation(classElement))
+            .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
+        when(llmService.generateUsageExamples(classElement))
+            .thenReturn(CompletableFuture.completedFuture(TEST_EXAMPLES));
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path",
+            List.of(classElement), System.currentTimeMillis());
+
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            generator.generateGroupedDocumentation(analysis, tempDir,
+                GenerationOptions.builder().journal(journal).build()).join();
+        }
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            generator.generateGroupedDocumentation(analysis, tempDir,
+                GenerationOptions.builder().journal(journal).build()).join();
+            assertEquals(2, journal.replayedCount());
+            assertEquals(0, journal.recordedCount());
+        }
+
+        // The resumed run is answered from the journal
+        verify(llmService, times(1)).generateDocumentation(classElement);
+        verify(llmService, times(1)).generateUsageExamples(classElement);
+        assertTrue(Files.readString(tempDir.resolve("elements")
+            .resolve("class-com.example.TestClass.md")).contains(TEST_DOCUMENTATION));
+    }
+
+    @Test
+    void testManifestSkipsUnchangedClasses() throws Exception {
+        CodeElement classElement = createTestClassElement();
+        when(llmService.generateDocumentation(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
+        when(llmService.generateUsageExamples(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_EXAMPLES));
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path",
+            List.of(classElement), System.currentTimeMillis());
+
+        DocumentationManifest first = DocumentationManifest.load(tempDir,
+            "settings");
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder().manifest(first).build()).join();
+        first.finish();
+
+        DocumentationManifest second = DocumentationManifest.load(tempDir,
+            "settings");
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder().manifest(second).build()).join();
+        assertEquals(0, second.rewrittenCount());
+        assertEquals(1, second.reusedCount());
+        assertFalse(second.hasChanges());
+        verify(llmService, times(1)).generateDocumentation(classElement);
+
+        // A changed Javadoc rewrites the class
+        CodeElement changed = new CodeElement(CodeElementType.CLASS,
+            "TestClass", "com.example.TestClass", "/test/TestClass.java",
+            LINE_NUMBER_10, "public class TestClass {}", "Changed docs",
+            Collections.emptyList(), Collections.emptyList());
+        DocumentationManifest third = DocumentationManifest.load(tempDir,
+            "settings");
+        generator.generateGroupedDocumentation(new ProjectAnalysis(
+            "/test/path", List.of(changed), System.currentTimeMillis()),
+            tempDir, GenerationOptions.builder().manifest(third).build())
+            .join();
+        assertEquals(1, third.rewrittenCount());
+        verify(llmService, times(1)).generateDocumentation(changed);
+    }
+
+    @Test
+    void testSameNamedClassesOfOtherPackagesGetOwnDocuments()
+            throws Exception {
+        when(llmService.generateDocumentation(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
+        when(llmService.generateUsageExamples(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_EXAMPLES));
+        CodeElement first = new CodeElement(CodeElementType.CLASS, "Util",
+            "com.a.Util", "/a/Util.java", LINE_NUMBER_1, "public class Util",
+            "docs", Collections.emptyList(), Collections.emptyList());
+        CodeElement second = new CodeElement(CodeElementType.CLASS, "Util",
+            "com.b.Util", "/b/Util.java", LINE_NUMBER_1, "public class Util",
+            "docs", Collections.emptyList(), Collections.emptyList());
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path",
+            List.of(first, second), System.currentTimeMillis());
+
+        DocumentationManifest previous = DocumentationManifest.load(tempDir,
+            "settings");
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder().manifest(previous).build()).join();
+        previous.expect(generator.documentsOf(analysis.codeElements()));
+        previous.finish();
+
+        assertEquals(Set.of("elements/class-com.a.Util.md",
+            "elements/class-com.b.Util.md"), previous.documents());
+        // Unchanged classes are not rewritten by the next run
+        DocumentationManifest next = DocumentationManifest.load(tempDir,
+            "settings");
+        generator.generateGroupedDocumentation(analysis, tempDir,
+            GenerationOptions.builder().manifest(next).build()).join();
+        assertEquals(0, next.rewrittenCount());
+        assertEquals(2, next.reusedCount());
+    }
+
+    @Test
+    void testDeadlineWithPreviousManifestKeepsValidDocuments()
+            throws Exception {
+        when(llmService.generateDocumentation(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
+        when(llmService.generateUsageExamples(any()))
+            .thenReturn(CompletableFuture.completedFuture(TEST_EXAMPLES));
+        CodeElement first = classElement("FirstClass", "docs");
+        CodeElement second = classElement("SecondClass", "docs");
+        CodeElement third = classElement("ThirdClass", "docs");
+        Path elements = tempDir.resolve("elements");
+
+        DocumentationManifest previous = DocumentationManifest.load(tempDir,
+            "settings");
+        ProjectAnalysis firstRun = new ProjectAnalysis("/test/path",
+            List.of(first, second, third), System.currentTimeMillis());
+        generator.generateGroupedDocumentation(firstRun, tempDir,
+            GenerationOptions.builder().manifest(previous).build()).join();
+        previous.expect(generator.documentsOf(firstRun.codeElements()));
+        previous.finish();
+
+        // SecondClass changed, ThirdClass was deleted, and the deadline
+        // passes before any LLM call of this run
+        CodeElement changed = classElement("SecondClass", "changed docs");
+        ProjectAnalysis nextRun = new ProjectAnalysis("/test/path",
+            List.of(first, changed), System.currentTimeMillis());
+        DocumentationManifest manifest = DocumentationManifest.load(tempDir,
+            "settings");
+        generator.generateGroupedDocumentation(nextRun, tempDir,
+            GenerationOptions.builder().manifest(manifest)
+                .deadline(Duration.ZERO).build()).join();
+        manifest.expect(generator.documentsOf(nextRun.codeElements()));
+
+        assertEquals(Set.of("elements/class-com.example.ThirdClass.md"),
+            manifest.removedDocuments());
+        manifest.finish();
+        assertTrue(Files.readString(elements.resolve("class-com.example.FirstClass.md"))
+            .contains(TEST_DOCUMENTATION));
+        assertTrue(Files.readString(elements.resolve("class-com.example.SecondClass.md"))
+            .contains("Not generated before the documentation deadline"));
+        assertFalse(Files.exists(elements.resolve("class-com.example.ThirdClass.md")));
+
+        // The placeholder document is retried, the valid one is not
+        DocumentationManifest retry = DocumentationManifest.load(tempDir,
+            "settings");
+        assertFalse(retry.needsRewrite("elements/class-com.example.FirstClass.md",
+            List.of(first)));
+        assertTrue(retry.needsRewrite("elements/class-com.example.SecondClass.md",
+            List.of(changed)));
+    }
+
+    @Test
+    void testLlmCallsAreBoundedByLlmIoThreads() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(new ExecutorSettings(
+            null, LLM_IO_THREADS, 1, null, null, null));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Answer<CompletableFuture<String>> slowCall = invocation ->
+            CompletableFuture.supplyAsync(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(),
+                    Math::max);
+                try {
+                    Thread.sleep(CALL_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return TEST_DOCUMENTATION;
+            });
+        when(llmService.generateDocumentation(any())).thenAnswer(slowCall);
+        when(llmService.generateUsageExamples(any())).thenAnswer(slowCall);
+
+        List<CodeElement> elements = Arrays.asList(createTestClassElement(),
+            createTestMethodElement(), createTestFieldElement());
+        ProjectAnalysis analysis = new ProjectAnalysis("/test/path", elements,
+            System.currentTimeMillis());
+        try {
+            new ElementDocumentationGeneratorEnhanced(llmService, null,
+                registry, null, null).generateGroupedDocumentation(analysis, tempDir)
+                .join();
+        } finally {
+            registry.shutdown();
+        }
+
+        assertTrue(maxInFlight.get() <= LLM_IO_THREADS);
+        assertTrue(Files.exists(tempDir.resolve("elements")
+            .resolve("class-com.example.TestClass.md")));
+    }
+
     @Test
     void testGenerateGroupedDocumentationWithStandaloneElements()
             throws Exception {
@@ -325,7 +624,7 @@ class ElementDocumentationGeneratorEnhancedTest {
         Path elementsDir = tempDir.resolve("elements");
         assertTrue(Files.exists(elementsDir));
 
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -357,7 +656,7 @@ class ElementDocumentationGeneratorEnhancedTest {
     }
 
     @Test
-    void testCleanupThreadLocalConfig() throws Exception {
+    void testThreadLocalConfigIsLeftToTheCaller() throws Exception {
         when(llmService.generateDocumentation(any()))
             .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
         when(llmService.generateUsageExamples(any()))
@@ -371,14 +670,15 @@ class ElementDocumentationGeneratorEnhancedTest {
             .generateElementDocumentation(element, tempDir);
         result.join();
 
-        // Verify cleanup was called
-        verify(llmServiceFix, atLeastOnce()).cleanupThreadLocalConfig();
+        // The caller set the config and clears it in its own finally
+        verify(llmServiceFix, atLeastOnce()).isThreadLocalConfigAvailable();
+        verify(llmServiceFix, never()).cleanupThreadLocalConfig();
     }
 
     @Test
     void testCleanupThreadLocalConfigWithNullLlmServiceFix() throws Exception {
         ElementDocumentationGeneratorEnhanced generatorWithNullFix =
-            new ElementDocumentationGeneratorEnhanced(llmService, null);
+            new ElementDocumentationGeneratorEnhanced(llmService, null, EXECUTORS, null, null);
 
         when(llmService.generateDocumentation(any()))
             .thenReturn(CompletableFuture.completedFuture(TEST_DOCUMENTATION));
@@ -480,8 +780,8 @@ class ElementDocumentationGeneratorEnhancedTest {
         assertEquals(2, fileCount, "Should create two files for two classes");
 
         // Verify specific files exist
-        assertTrue(Files.exists(elementsDir.resolve("class-FirstClass.md")));
-        assertTrue(Files.exists(elementsDir.resolve("class-SecondClass.md")));
+        assertTrue(Files.exists(elementsDir.resolve("class-com.example.FirstClass.md")));
+        assertTrue(Files.exists(elementsDir.resolve("class-com.example.SecondClass.md")));
     }
 
     @Test
@@ -505,7 +805,7 @@ class ElementDocumentationGeneratorEnhancedTest {
         result.join();
 
         Path elementsDir = tempDir.resolve("elements");
-        Path pythonFile = elementsDir.resolve("class-PythonClass.md");
+        Path pythonFile = elementsDir.resolve("class-com.example.PythonClass.md");
         assertTrue(Files.exists(pythonFile));
 
         String content = Files.readString(pythonFile);
@@ -536,7 +836,7 @@ class ElementDocumentationGeneratorEnhancedTest {
         result.join();
 
         Path elementsDir = tempDir.resolve("elements");
-        Path unknownFile = elementsDir.resolve("class-UnknownClass.md");
+        Path unknownFile = elementsDir.resolve("class-com.example.UnknownClass.md");
         assertTrue(Files.exists(unknownFile));
 
         String content = Files.readString(unknownFile);
@@ -559,7 +859,7 @@ class ElementDocumentationGeneratorEnhancedTest {
         result.join();
 
         Path elementsDir = tempDir.resolve("elements");
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile));
 
         String content = Files.readString(classFile);
@@ -617,6 +917,14 @@ class ElementDocumentationGeneratorEnhancedTest {
         );
     }
 
+    private CodeElement classElement(final String name,
+                                     final String documentation) {
+        return new CodeElement(CodeElementType.CLASS, name,
+            "com.example." + name, "/test/" + name + ".java", LINE_NUMBER_1,
+            "public class " + name + " {}", documentation,
+            Collections.emptyList(), Collections.emptyList());
+    }
+
     private CodeElement createTestMethodElement() {
         return new CodeElement(
             CodeElementType.METHOD,
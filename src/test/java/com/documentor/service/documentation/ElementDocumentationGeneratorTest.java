@@ -46,7 +46,7 @@ class ElementDocumentationGeneratorTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        generator = new ElementDocumentationGenerator(llmService);
+        generator = new ElementDocumentationGenerator(llmService, null);
     }
 
     @Test
@@ -78,7 +78,7 @@ class ElementDocumentationGeneratorTest {
             "Elements directory should exist");
 
         // Verify the class file was created
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile),
             "Class documentation file should exist");
 
@@ -177,7 +177,7 @@ class ElementDocumentationGeneratorTest {
         );
 
         // Read the file content
-        Path classFilePath = elementsDir.resolve("class-TestClass.md");
+        Path classFilePath = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFilePath),
             "Class documentation file should exist");
 
@@ -283,7 +283,7 @@ class ElementDocumentationGeneratorTest {
             "Should generate exactly two files for the two classes");
 
         // Verify first class file
-        Path class1FilePath = elementsDir.resolve("class-FirstClass.md");
+        Path class1FilePath = elementsDir.resolve("class-com.example.FirstClass.md");
         assertTrue(Files.exists(class1FilePath),
             "FirstClass documentation file should exist");
         String content1 = Files.readString(class1FilePath);
@@ -299,7 +299,7 @@ class ElementDocumentationGeneratorTest {
             "Should not contain second method name");
 
         // Verify second class file
-        Path class2FilePath = elementsDir.resolve("class-SecondClass.md");
+        Path class2FilePath = elementsDir.resolve("class-com.example.SecondClass.md");
         assertTrue(Files.exists(class2FilePath),
             "SecondClass documentation file should exist");
         String content2 = Files.readString(class2FilePath);
@@ -366,8 +366,8 @@ class ElementDocumentationGeneratorTest {
         // Use the grouped approach directly
         generator.generateGroupedDocumentation(analysis, tempDir).join();
 
-        // Verify the file was created (should be class-TestClass.md)
-        Path classFile = elementsDir.resolve("class-TestClass.md");
+        // Verify the file was created (should be class-com.example.TestClass.md)
+        Path classFile = elementsDir.resolve("class-com.example.TestClass.md");
         assertTrue(Files.exists(classFile),
             "Class documentation file should exist");
 
@@ -0,0 +1,75 @@
+package com.documentor.service.documentation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Fair Share Limiter Tests")
+class FairShareLimiterTest {
+
+    private final List<String> started = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should hand free slots to waiting shares in turn")
+    void shouldGrantRoundRobin() {
+        FairShareLimiter limiter = new FairShareLimiter(1);
+        FairShareLimiter.Share big = limiter.newShare("big");
+        FairShareLimiter.Share small = limiter.newShare("small");
+
+        Sinks.One<String> a1 = call(big, "a1");
+        Sinks.One<String> a2 = call(big, "a2");
+        call(big, "a3");
+        Sinks.One<String> b1 = call(small, "b1");
+        assertEquals(List.of("a1"), started);
+
+        a1.tryEmitValue("done");
+        assertEquals(List.of("a1", "b1"), started);
+        b1.tryEmitValue("done");
+        a2.tryEmitValue("done");
+        assertEquals(List.of("a1", "b1", "a2", "a3"), started);
+    }
+
+    @Test
+    @DisplayName("Should free slots of failed and cancelled calls")
+    void shouldReleaseOnErrorAndCancel() {
+        FairShareLimiter limiter = new FairShareLimiter(2);
+        FairShareLimiter.Share share = limiter.newShare("job");
+
+        Sinks.One<String> failing = call(share, "failing");
+        Disposable running = share.withPermit(Mono.never()).subscribe();
+        Disposable waiting = share.withPermit(Mono.never()).subscribe();
+        assertEquals(0, limiter.available());
+
+        failing.tryEmitError(new IllegalStateException("boom"));
+        // The failed call's slot went to the waiting call
+        assertEquals(0, limiter.available());
+        running.dispose();
+        waiting.dispose();
+        assertEquals(2, limiter.available());
+    }
+
+    @Test
+    @DisplayName("Should reject a limiter without permits")
+    void shouldRejectZeroPermits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FairShareLimiter(0));
+    }
+
+    private Sinks.One<String> call(final FairShareLimiter.Share share,
+                                   final String name) {
+        Sinks.One<String> result = Sinks.one();
+        share.withPermit(Mono.defer(() -> {
+            started.add(name);
+            return result.asMono();
+        })).subscribe(value -> { }, error -> { });
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package com.documentor.service.documentation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("LLM Pipeline Support Tests")
+class LlmPipelineSupportTest {
+
+    private static final long TIMEOUT_MILLIS = 50;
+    private static final long WAIT_MILLIS = 5 * TIMEOUT_MILLIS;
+
+    @Test
+    @DisplayName("Should hold the permit of a timed-out call until it ends")
+    void shouldHoldTimedOutCallsUntilTheyEnd() throws InterruptedException {
+        FairShareLimiter limiter = new FairShareLimiter(1);
+        CompletableFuture<String> call = new CompletableFuture<>();
+        AtomicReference<String> result = new AtomicReference<>();
+
+        limiter.newShare("run").withPermit(LlmPipelineSupport.callLlm(
+                () -> call, Duration.ofMillis(TIMEOUT_MILLIS),
+                ex -> ex instanceof TimeoutException ? "timed out" : "error"))
+                .subscribe(result::set);
+        Thread.sleep(WAIT_MILLIS);
+
+        assertNull(result.get());
+        assertEquals(0, limiter.available());
+        call.complete("late");
+        assertEquals("timed out", result.get());
+        assertEquals(1, limiter.available());
+    }
+
+    @Test
+    @DisplayName("Should turn failures and empty results into text")
+    void shouldNeverFail() {
+        assertEquals("error", LlmPipelineSupport.callLlm(
+                () -> CompletableFuture.failedFuture(
+                        new IllegalStateException("boom")),
+                Duration.ofMillis(TIMEOUT_MILLIS), ex -> "error").block());
+        assertEquals("", LlmPipelineSupport.callLlm(
+                () -> CompletableFuture.completedFuture(null),
+                Duration.ofMillis(TIMEOUT_MILLIS), ex -> "error").block());
+    }
+}
@@ -1,6 +1,7 @@
 package com.documentor.service.documentation;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.AnalysisSettings;
 import com.documentor.config.model.LlmModelConfig;
 import com.documentor.config.model.OutputSettings;
@@ -9,11 +10,17 @@ import com.documentor.model.CodeElementType;
 import com.documentor.model.ProjectAnalysis;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockitoAnnotations;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -21,6 +28,9 @@ import static org.mockito.Mockito.when;
 
 class MainDocumentationGeneratorTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     // Test constants for magic number violations
     private static final int MAX_DEPTH = 3;
     private static final int MAX_TOKENS = 500;
@@ -40,7 +50,8 @@ class MainDocumentationGeneratorTest {
             "http://x", null, MAX_TOKENS, TIMEOUT_SECONDS);
         config = new DocumentorConfig(List.of(model), outputSettings,
             analysisSettings);
-        generator = new MainDocumentationGenerator(config);
+        generator = new MainDocumentationGenerator(config, EXECUTORS, null,
+                MainDocumentationGenerator.DEFAULT_SHARD_THRESHOLD, null);
     }
 
     @Test
@@ -84,7 +95,8 @@ class MainDocumentationGeneratorTest {
             mockOutputSettings, analysisSettings);
 
         MainDocumentationGenerator generatorWithMock =
-            new MainDocumentationGenerator(mockConfig);
+            new MainDocumentationGenerator(mockConfig, EXECUTORS, null,
+                MainDocumentationGenerator.DEFAULT_SHARD_THRESHOLD, null);
 
         CodeElement e1 = new CodeElement(CodeElementType.CLASS, "TestClass",
                 "com.example.TestClass",
@@ -118,4 +130,94 @@ class MainDocumentationGeneratorTest {
         assertTrue(doc.contains("Usage Examples"));
         assertTrue(doc.contains("TestClass"));
     }
+
+    @Test
+    void testWriteMainDocumentationStreamsSameContent(
+            @TempDir final Path tempDir) throws IOException {
+        CodeElement e1 = new CodeElement(CodeElementType.CLASS,
+             "Größe", "com.example.Größe",
+                "/src/Size.java", LINE_NUMBER_ONE,
+                "public class Größe{}", "",
+                List.of(), List.of());
+        ProjectAnalysis analysis = new ProjectAnalysis(
+            "/project/path", List.of(e1), System.currentTimeMillis());
+        Path readme = tempDir.resolve("README.md");
+
+        generator.writeMainDocumentation(analysis, readme).join();
+
+        String expected = generator.generateMainDocumentation(analysis)
+            .join();
+        assertEquals(expected, Files.readString(readme,
+            StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteMainDocumentationShardsLargeProjects(
+            @TempDir final Path tempDir) throws IOException {
+        CodeElement service = new CodeElement(CodeElementType.CLASS,
+             "Service", "com.example.Service",
+                "/project/path/src/a/Service.java", LINE_NUMBER_ONE,
+                "public class Service{}", "", List.of(), List.of());
+        CodeElement run = new CodeElement(CodeElementType.METHOD,
+             "run", "com.example.Service.run",
+                "/project/path/src/a/Service.java", LINE_NUMBER_ONE,
+                "public void run()", "", List.of(), List.of());
+        CodeElement util = new CodeElement(CodeElementType.CLASS,
+             "Util", "com.example.b.Util",
+                "/project/path/src/b/Util.java", LINE_NUMBER_ONE,
+                "public class Util{}", "", List.of(), List.of());
+        ProjectAnalysis analysis = new ProjectAnalysis("/project/path",
+            List.of(service, run, util), System.currentTimeMillis());
+        MainDocumentationGenerator sharded =
+            new MainDocumentationGenerator(config, EXECUTORS, null, 1, null);
+        Path indexDirectory = tempDir.resolve(
+            MainDocumentationGenerator.INDEX_DIRECTORY);
+        Files.createDirectories(indexDirectory);
+        Files.writeString(indexDirectory.resolve("src.old.md"), "stale");
+
+        sharded.writeMainDocumentation(analysis,
+            tempDir.resolve("README.md")).join();
+
+        String readme = Files.readString(tempDir.resolve("README.md"));
+        assertTrue(readme.contains("[src/a](api-index/src.a.md) | 1 | 1 | 1"));
+        assertTrue(readme.contains("[src/b](api-index/src.b.md)"));
+        assertFalse(readme.contains("public void run()"));
+        String page = Files.readString(indexDirectory.resolve("src.a.md"));
+        assertTrue(page.contains("## Service.java"));
+        assertTrue(page.contains("- **run** - `public void run()`"));
+        assertFalse(Files.exists(indexDirectory.resolve("src.old.md")));
+
+        // Back below the threshold the index pages are removed
+        generator.writeMainDocumentation(analysis,
+            tempDir.resolve("README.md")).join();
+        assertFalse(Files.exists(indexDirectory.resolve("src.a.md")));
+    }
+
+    @Test
+    void testQuickLinksRankClassesByReferencesAndMembers() {
+        CodeElement order = new CodeElement(CodeElementType.CLASS,
+             "Order", "com.example.Order", "/src/Order.java",
+                LINE_NUMBER_ONE, "public class Order{}", "",
+                List.of(), List.of());
+        CodeElement audit = new CodeElement(CodeElementType.CLASS,
+             "Audit", "com.example.Audit", "/src/Audit.java",
+                LINE_NUMBER_ONE, "public class Audit{}", "",
+                List.of(), List.of());
+        CodeElement place = new CodeElement(CodeElementType.METHOD,
+             "place", "com.example.Shop.place", "/src/Shop.java",
+                LINE_NUMBER_ONE, "public Order place(Order order)", "",
+                List.of(), List.of());
+        CodeElement log = new CodeElement(CodeElementType.METHOD,
+             "log", "com.example.Audit.log", "/src/Audit.java",
+                LINE_NUMBER_ONE, "public void log()", "",
+                List.of(), List.of());
+        ProjectAnalysis analysis = new ProjectAnalysis("/project/path",
+            List.of(audit, order, place, log), System.currentTimeMillis());
+
+        assertEquals(List.of(order, audit),
+            MainDocumentationGenerator.mostImportantClasses(analysis,
+                MAX_DEPTH));
+        assertEquals(List.of(order),
+            MainDocumentationGenerator.mostImportantClasses(analysis, 1));
+    }
 }
@@ -0,0 +1,169 @@
+package com.documentor.service.documentation;
+
+import com.documentor.model.CodeElement;
+import com.documentor.model.CodeElementType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Run Journal Tests")
+class RunJournalTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private static final CodeElement ELEMENT = new CodeElement(
+            CodeElementType.METHOD, "run", "Task.run", "/src/Task.java", 1,
+            "void run()", "", List.of(), List.of());
+
+    @Test
+    @DisplayName("Should replay recorded results when resuming")
+    void shouldReplayOnResume() throws IOException {
+        String key = RunJournal.key("documentation", ELEMENT, "abc");
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            journal.record(key, "line one\nline \"two\"");
+            assertEquals(1, journal.recordedCount());
+        }
+
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            assertEquals(1, journal.replayedCount());
+            assertEquals("line one\nline \"two\"", journal.lookup(key));
+            assertNull(journal.lookup(
+                    RunJournal.key("documentation", ELEMENT, "other")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should start a new journal when not resuming")
+    void shouldTruncateWithoutResume() throws IOException {
+        String key = RunJournal.key("usage", ELEMENT, null);
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            journal.record(key, "example");
+        }
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            assertEquals(0, journal.replayedCount());
+        }
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            assertNull(journal.lookup(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Should sync a full batch and ignore a torn last line")
+    void shouldSyncBatchesAndSkipTornLine() throws IOException {
+        Path file = tempDir.resolve(RunJournal.FILE_NAME);
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            for (int i = 0; i < RunJournal.SYNC_BATCH_SIZE; i++) {
+                journal.record("key-" + i, "content-" + i);
+            }
+            // A full batch is on disk before close
+            assertEquals(RunJournal.SYNC_BATCH_SIZE,
+                    Files.readAllLines(file).size());
+        }
+        Files.writeString(file, "{\"key\":\"torn", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            assertEquals(RunJournal.SYNC_BATCH_SIZE, journal.replayedCount());
+            assertEquals("content-0", journal.lookup("key-0"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should cut off a torn last line before appending")
+    void shouldAppendAfterTornLine() throws IOException {
+        Path file = tempDir.resolve(RunJournal.FILE_NAME);
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            journal.record("first", "one");
+        }
+        Files.writeString(file, "{\"key\":\"torn", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            journal.record("second", "two");
+        }
+
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            assertEquals(2, journal.replayedCount());
+            assertEquals("one", journal.lookup("first"));
+            assertEquals("two", journal.lookup("second"));
+        }
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("Should include kind, element and prompt hash in keys")
+    void shouldBuildDistinctKeys() {
+        String documentation = RunJournal.key("documentation", ELEMENT, "h");
+        assertTrue(documentation.contains(
+                DocumentationManifest.elementKey(ELEMENT)));
+        assertNotEquals(documentation,
+                RunJournal.key("usage", ELEMENT, "h"));
+        assertNotEquals(documentation,
+                RunJournal.key("documentation", ELEMENT, "h2"));
+    }
+
+    @Test
+    @DisplayName("Should import the entries of another journal")
+    void shouldImportAnotherJournal() throws IOException {
+        Path other = tempDir.resolve("other");
+        try (RunJournal journal = RunJournal.open(other, false)) {
+            journal.record("a", "first");
+            journal.record("b", "second");
+            journal.record("a", "latest");
+        }
+
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            assertEquals(2, journal.importFrom(
+                    other.resolve(RunJournal.FILE_NAME)));
+        }
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            assertEquals("latest", journal.lookup("a"));
+            assertEquals("second", journal.lookup("b"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should compact to the newest result of live elements")
+    void shouldCompactToLiveElements() throws IOException {
+        CodeElement removed = new CodeElement(CodeElementType.METHOD, "stop",
+                "Task.stop", "/src/Task.java", 2, "void stop()", "",
+                List.of(), List.of());
+        String stale = RunJournal.key("documentation", ELEMENT, "old");
+        String fresh = RunJournal.key("documentation", ELEMENT, "new");
+        String usage = RunJournal.key("usage", ELEMENT, "new");
+        try (RunJournal journal = RunJournal.open(tempDir, false)) {
+            journal.record(stale, "old docs");
+            journal.record(RunJournal.key("documentation", removed, "x"),
+                    "gone");
+        }
+
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            journal.record(fresh, "new docs");
+            journal.record(usage, "example");
+            assertEquals(2, journal.compact(
+                    Set.of(DocumentationManifest.elementKey(ELEMENT))));
+            journal.record("ignored", "after close");
+        }
+
+        try (RunJournal journal = RunJournal.open(tempDir, true)) {
+            assertEquals(2, journal.replayedCount());
+            assertEquals("new docs", journal.lookup(fresh));
+            assertEquals("example", journal.lookup(usage));
+            assertNull(journal.lookup(stale));
+        }
+    }
+}
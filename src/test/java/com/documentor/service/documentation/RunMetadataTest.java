@@ -0,0 +1,53 @@
+package com.documentor.service.documentation;
+
+import com.documentor.model.ProjectAnalysis;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Run Metadata Tests")
+class RunMetadataTest {
+
+    private static final int ELEMENTS = 10;
+    private static final int CLASSES = 2;
+    private static final int METHODS = 6;
+    private static final int REWRITTEN = 3;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should save the run next to the documents")
+    void shouldSaveRun() throws IOException {
+        Instant finished = Instant.parse("2025-01-02T03:04:05Z");
+        RunMetadata run = new RunMetadata(finished, "/src/project", "full",
+                new ProjectAnalysis.AnalysisStats(ELEMENTS, CLASSES, METHODS,
+                        2, 1),
+                REWRITTEN, 1, true);
+
+        Path file = run.save(tempDir.resolve("docs"));
+
+        assertEquals(tempDir.resolve("docs").resolve(RunMetadata.FILE_NAME),
+                file);
+        assertFalse(Files.exists(file.resolveSibling(
+                RunMetadata.FILE_NAME + ".tmp")));
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+        assertEquals("2025-01-02T03:04:05Z", root.path("generatedAt").asText());
+        assertEquals("full", root.path("mode").asText());
+        assertEquals(ELEMENTS, root.path("stats").path("totalElements")
+                .asInt());
+        assertEquals(REWRITTEN, root.path("documentsRewritten").asInt());
+        assertTrue(root.path("projectOutputsRebuilt").asBoolean());
+    }
+}
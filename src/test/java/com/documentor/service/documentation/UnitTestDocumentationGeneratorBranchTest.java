@@ -78,7 +78,7 @@ class UnitTestDocumentationGeneratorBranchTest {
         lenient().when(outputSettings.targetCoverage())
             .thenReturn(TARGET_COVERAGE_085);
         generator = new UnitTestDocumentationGenerator(llmService, config,
-            llmServiceFix);
+            llmServiceFix, null);
     }
 
     @Test
@@ -310,7 +310,7 @@ class UnitTestDocumentationGeneratorBranchTest {
     void testGenerateUnitTestDocumentationWithNullLlmService() {
         // Test behavior with null LLM service
         UnitTestDocumentationGenerator generatorWithNullLlm =
-            new UnitTestDocumentationGenerator(null, config, llmServiceFix);
+            new UnitTestDocumentationGenerator(null, config, llmServiceFix, null);
 
         CodeElement methodElement = new CodeElement(
             CodeElementType.METHOD,
@@ -389,8 +389,7 @@ class UnitTestDocumentationGeneratorBranchTest {
             new UnitTestDocumentationGenerator(
                 llmService,
                 config,
-                llmServiceFix
-            );
+                llmServiceFix, null);
 
         // Delete existing file first
         Files.deleteIfExists(testsFile);
@@ -1,6 +1,7 @@
 package com.documentor.service.documentation;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.OutputSettings;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
@@ -33,6 +34,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class UnitTestDocumentationGeneratorEnhancedCoverageTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     @Mock
     private LlmServiceEnhanced llmService;
 
@@ -70,7 +74,7 @@ class UnitTestDocumentationGeneratorEnhancedCoverageTest {
                 );
 
         generator = new UnitTestDocumentationGeneratorEnhanced(
-            llmService, config, llmServiceFix);
+            llmService, config, llmServiceFix, EXECUTORS, null, null, null);
     }
 
     @Test
@@ -78,7 +82,7 @@ class UnitTestDocumentationGeneratorEnhancedCoverageTest {
         UnitTestDocumentationGeneratorEnhanced
             generatorWithNullConfig =
             new UnitTestDocumentationGeneratorEnhanced(
-                llmService, null, llmServiceFix);
+                llmService, null, llmServiceFix, EXECUTORS, null, null, null);
 
         ProjectAnalysis analysis = createTestProjectAnalysis();
 
@@ -426,7 +430,7 @@ class UnitTestDocumentationGeneratorEnhancedCoverageTest {
 
         UnitTestDocumentationGeneratorEnhanced generatorWithFaultyConfig =
             new UnitTestDocumentationGeneratorEnhanced(
-                llmService, faultyConfig, llmServiceFix);
+                llmService, faultyConfig, llmServiceFix, EXECUTORS, null, null, null);
 
         when(llmServiceFix.isThreadLocalConfigAvailable())
             .thenReturn(true);
@@ -1,6 +1,7 @@
 package com.documentor.service.documentation;
 
 import com.documentor.config.DocumentorConfig;
+import com.documentor.config.ExecutorRegistry;
 import com.documentor.config.model.OutputSettings;
 import com.documentor.model.CodeElement;
 import com.documentor.model.CodeElementType;
@@ -15,6 +16,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -25,6 +27,9 @@ import static org.mockito.Mockito.when;
 
 class UnitTestDocumentationGeneratorEnhancedTest {
 
+    private static final ExecutorRegistry EXECUTORS =
+            new ExecutorRegistry(null);
+
     // Test constants for magic number violations
     private static final double TARGET_COVERAGE_HIGH = 0.85;
     private static final double TARGET_COVERAGE_MEDIUM = 0.50;
@@ -65,7 +70,7 @@ class UnitTestDocumentationGeneratorEnhancedTest {
             LlmServiceFixEnhanced.class);
         UnitTestDocumentationGeneratorEnhanced generator =
             new UnitTestDocumentationGeneratorEnhanced(llm, config,
-                llmServiceFix);
+                llmServiceFix, EXECUTORS, null, null, null);
 
         ProjectAnalysis analysis = new ProjectAnalysis(
             "/tmp/project", List.of(element),
@@ -102,7 +107,8 @@ class UnitTestDocumentationGeneratorEnhancedTest {
         LlmServiceFixEnhanced llmServiceFix = mock(
             LlmServiceFixEnhanced.class);
         UnitTestDocumentationGeneratorEnhanced generator =
-        new UnitTestDocumentationGeneratorEnhanced(llm, config, llmServiceFix);
+        new UnitTestDocumentationGeneratorEnhanced(llm, config, llmServiceFix,
+            EXECUTORS, null, null, null);
 
         ProjectAnalysis analysis = new ProjectAnalysis(
             "/tmp/project", List.of(), System.currentTimeMillis());
@@ -169,7 +175,7 @@ class UnitTestDocumentationGeneratorEnhancedTest {
             LlmServiceFixEnhanced.class);
         UnitTestDocumentationGeneratorEnhanced generator =
             new UnitTestDocumentationGeneratorEnhanced(llm, config,
-            llmServiceFix);
+            llmServiceFix, EXECUTORS, null, null, null);
 
         ProjectAnalysis analysis = new ProjectAnalysis("/tmp/project",
                 List.of(fieldElement, methodElement),
@@ -197,7 +203,7 @@ class UnitTestDocumentationGeneratorEnhancedTest {
         // Create generator with null config
         UnitTestDocumentationGeneratorEnhanced generator =
             new UnitTestDocumentationGeneratorEnhanced(
-            llm, null, llmServiceFix);
+            llm, null, llmServiceFix, EXECUTORS, null, null, null);
 
         CodeElement element = new CodeElement(
             CodeElementType.CLASS,
@@ -264,7 +270,7 @@ class UnitTestDocumentationGeneratorEnhancedTest {
             LlmServiceFixEnhanced.class);
         UnitTestDocumentationGeneratorEnhanced generator =
             new UnitTestDocumentationGeneratorEnhanced(llm, config,
-            llmServiceFix);
+            llmServiceFix, EXECUTORS, null, null, null);
 
         ProjectAnalysis analysis = new ProjectAnalysis(
             "/tmp/project", List.of(element),
@@ -280,4 +286,55 @@ class UnitTestDocumentationGeneratorEnhancedTest {
 
         // This test passes if we get here without an exception
     }
+
+    @Test
+    void perClassLayoutWritesClassFilesAndMergesInElementOrder(
+        @TempDir final Path tempDir) throws Exception {
+        LlmServiceEnhanced llm = mock(LlmServiceEnhanced.class);
+        DocumentorConfig config = mock(DocumentorConfig.class);
+        OutputSettings outputSettings = mock(OutputSettings.class);
+        when(config.outputSettings()).thenReturn(outputSettings);
+        when(outputSettings.targetCoverage()).thenReturn(TARGET_COVERAGE_HIGH);
+
+        List<String> empty = List.of();
+        CodeElement first = new CodeElement(CodeElementType.CLASS, "First",
+            "com.example.First", "src/First.java", LINE_NUMBER_FIVE,
+            "public class First {}", "", empty, empty);
+        CodeElement run = new CodeElement(CodeElementType.METHOD, "run",
+            "com.example.First.run", "src/First.java", LINE_NUMBER_TEN,
+            "public void run()", "", empty, empty);
+        CodeElement second = new CodeElement(CodeElementType.CLASS, "Second",
+            "com.example.Second", "src/Second.java", LINE_NUMBER_FIFTEEN,
+            "public class Second {}", "", empty, empty);
+        when(llm.generateUnitTests(first)).thenReturn(
+            CompletableFuture.completedFuture("// first"));
+        when(llm.generateUnitTests(run)).thenReturn(
+            CompletableFuture.completedFuture("// run"));
+        when(llm.generateUnitTests(second)).thenReturn(
+            CompletableFuture.completedFuture("// second"));
+
+        Path testsDir = tempDir.resolve("tests");
+        Files.createDirectories(testsDir);
+        Files.writeString(testsDir.resolve("class-com.example.Gone.md"),
+            "stale");
+        UnitTestDocumentationGeneratorEnhanced generator =
+            new UnitTestDocumentationGeneratorEnhanced(llm, config,
+                mock(LlmServiceFixEnhanced.class), EXECUTORS, null, null,
+                UnitTestLayout.PER_CLASS_MERGED);
+
+        generator.generateUnitTestDocumentation(new ProjectAnalysis(
+            "/tmp/project", List.of(first, run, second),
+            System.currentTimeMillis()), tempDir).join();
+
+        assertEquals("# Unit Tests: com.example.First\n\n// first\n\n"
+            + "// run\n\n", Files.readString(
+                testsDir.resolve("class-com.example.First.md")));
+        assertTrue(Files.exists(testsDir.resolve("class-com.example.Second.md")));
+        assertFalse(Files.exists(testsDir.resolve("class-com.example.Gone.md")));
+        String merged = Files.readString(testsDir.resolve("unit-tests.md"));
+        assertTrue(merged.startsWith("# Generated Unit Tests"));
+        assertTrue(merged.contains("Target Coverage: 85%"));
+        assertTrue(merged.indexOf("## com.example.First\n\n// first")
+            < merged.indexOf("## com.example.Second\n\n// second"));
+    }
 }
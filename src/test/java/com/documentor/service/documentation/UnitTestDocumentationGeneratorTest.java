@@ -63,7 +63,7 @@ class UnitTestDocumentationGeneratorTest {
         // Add mock for LlmServiceFix
         LlmServiceFix llmServiceFix = mock(LlmServiceFix.class);
         UnitTestDocumentationGenerator generator =
-            new UnitTestDocumentationGenerator(llm, config, llmServiceFix);
+            new UnitTestDocumentationGenerator(llm, config, llmServiceFix, null);
 
         ProjectAnalysis analysis = new ProjectAnalysis(
             "/tmp/project", List.of(element),
@@ -101,7 +101,7 @@ class UnitTestDocumentationGeneratorTest {
         // Add mock for LlmServiceFix
         LlmServiceFix llmServiceFix = mock(LlmServiceFix.class);
         UnitTestDocumentationGenerator generator =
-            new UnitTestDocumentationGenerator(llm, config, llmServiceFix);
+            new UnitTestDocumentationGenerator(llm, config, llmServiceFix, null);
 
     ProjectAnalysis analysis = new ProjectAnalysis(
             "/tmp/project", List.of(), System.currentTimeMillis());
@@ -165,7 +165,7 @@ class UnitTestDocumentationGeneratorTest {
         // Add mock for LlmServiceFix
         LlmServiceFix llmServiceFix = mock(LlmServiceFix.class);
         UnitTestDocumentationGenerator generator =
-            new UnitTestDocumentationGenerator(llm, config, llmServiceFix);
+            new UnitTestDocumentationGenerator(llm, config, llmServiceFix, null);
 
         ProjectAnalysis analysis = new ProjectAnalysis(
             "/tmp/project",
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -524,4 +525,166 @@ class AtomicFileWriterTest {
             // lastWrittenPath should still be null or previous value
         }
     }
+
+    @Nested
+    @DisplayName("Streaming and Batches")
+    class StreamingAndBatches {
+        @Test
+        @DisplayName("should stream content into the target")
+        void testStreamedContent() throws IOException {
+            Path filePath = tempDir.resolve("docs/streamed.md");
+
+            assertTrue(writer.writeFile(filePath,
+                    out -> out.heading(1, "Title").paragraph("Body")));
+
+            assertEquals("# Title\n\nBody\n\n", Files.readString(filePath));
+        }
+
+        @Test
+        @DisplayName("should discard a pending file that is not committed")
+        void testDiscardUncommittedFile() throws IOException {
+            Path filePath = tempDir.resolve("pending.md");
+
+            try (AtomicFileWriter.PendingFile file = writer.open(filePath)) {
+                file.writer().append("partial");
+            }
+
+            assertFalse(Files.exists(filePath));
+            assertEquals(0, countFiles());
+        }
+
+        @Test
+        @DisplayName("should publish a batch together")
+        void testCommitBatch() throws IOException {
+            AtomicFileWriter syncWriter =
+                new AtomicFileWriter(CollisionPolicy.OVERWRITE, true);
+            AtomicFileWriter.Batch batch = syncWriter.newBatch()
+                    .add(tempDir.resolve("a/one.md"), "one")
+                    .add(tempDir.resolve("b/two.md"), out -> out.append("two"));
+            assertFalse(Files.exists(tempDir.resolve("a/one.md")));
+
+            List<Path> written = batch.commit();
+
+            assertEquals(List.of(tempDir.resolve("a/one.md"),
+                    tempDir.resolve("b/two.md")), written);
+            assertEquals("two", Files.readString(tempDir.resolve("b/two.md")));
+            assertEquals(0, batch.size());
+        }
+
+        @Test
+        @DisplayName("should leave nothing behind when a batch is aborted")
+        void testAbortBatch() throws IOException {
+            AtomicFileWriter.Batch batch = writer.newBatch()
+                    .add(tempDir.resolve("one.md"), "one");
+
+            batch.abort();
+
+            assertEquals(0, countFiles());
+        }
+
+        @Test
+        @DisplayName("should continue after the highest suffix in use")
+        void testSuffixAfterHighestExisting() throws IOException {
+            AtomicFileWriter suffixWriter =
+                new AtomicFileWriter(CollisionPolicy.SUFFIX);
+            Path filePath = tempDir.resolve("report.md");
+            Files.writeString(filePath, "original");
+            Files.writeString(tempDir.resolve("report_7.md"), "seven");
+            Files.writeString(tempDir.resolve("report_x.md"), "other");
+
+            suffixWriter.writeFile(filePath, "eight");
+            suffixWriter.writeFile(filePath, "nine");
+
+            assertEquals("eight",
+                    Files.readString(tempDir.resolve("report_8.md")));
+            assertEquals("nine",
+                    Files.readString(tempDir.resolve("report_9.md")));
+        }
+
+        @Test
+        @DisplayName("should recreate a cached directory removed later")
+        void testRecreateRemovedDirectory() throws IOException {
+            Path filePath = tempDir.resolve("gone/file.md");
+            writer.writeFile(filePath, "first");
+            Files.delete(filePath);
+            Files.delete(filePath.getParent());
+
+            assertTrue(writer.writeFile(filePath, "second"));
+            assertEquals("second", Files.readString(filePath));
+        }
+
+        private long countFiles() throws IOException {
+            try (var files = Files.walk(tempDir)) {
+                return files.filter(Files::isRegularFile).count();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Unchanged Content")
+    class UnchangedContent {
+
+        private static final long OLD_MILLIS = 1_000_000_000_000L;
+
+        private AtomicFileWriter skipWriter;
+
+        @BeforeEach
+        void setUp() {
+            skipWriter = new AtomicFileWriter(CollisionPolicy.OVERWRITE,
+                false, true);
+        }
+
+        @Test
+        @DisplayName("should leave a file with the same content untouched")
+        void testSkipUnchangedString() throws IOException {
+            Path filePath = tempDir.resolve("same.md");
+            Files.writeString(filePath, "content");
+            FileTime old = FileTime.fromMillis(OLD_MILLIS);
+            Files.setLastModifiedTime(filePath, old);
+
+            assertTrue(skipWriter.writeFile(filePath, "content"));
+
+            assertEquals(old, Files.getLastModifiedTime(filePath));
+            assertEquals(1, skipWriter.getUnchangedCount());
+            assertEquals(filePath, skipWriter.getLastWrittenPath());
+            assertEquals(1, countFiles());
+        }
+
+        @Test
+        @DisplayName("should compare streamed and batched content")
+        void testSkipUnchangedStreamed() throws IOException {
+            Path first = tempDir.resolve("first.md");
+            Path second = tempDir.resolve("second.md");
+            Files.writeString(first, "# Title\n\n");
+            Files.writeString(second, "old");
+
+            skipWriter.writeFile(first, out -> out.heading(1, "Title"));
+            skipWriter.newBatch()
+                .add(first, "# Title\n\n")
+                .add(second, "new")
+                .commit();
+
+            assertEquals(2, skipWriter.getUnchangedCount());
+            assertEquals("new", Files.readString(second));
+            assertEquals(2, countFiles());
+        }
+
+        @Test
+        @DisplayName("should replace a file whose content changed")
+        void testReplaceChangedContent() throws IOException {
+            Path filePath = tempDir.resolve("changed.md");
+            Files.writeString(filePath, "content");
+
+            skipWriter.writeFile(filePath, "CONTENT");
+
+            assertEquals("CONTENT", Files.readString(filePath));
+            assertEquals(0, skipWriter.getUnchangedCount());
+        }
+
+        private long countFiles() throws IOException {
+            try (var files = Files.walk(tempDir)) {
+                return files.filter(Files::isRegularFile).count();
+            }
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package com.documentor.service.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import com.documentor.util.ContentHash;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("MarkdownWriter Tests")
+class MarkdownWriterTest {
+    @TempDir
+    private Path tempDir;
+
+    private static final int HEADING_LEVEL = 3;
+
+    @Test
+    @DisplayName("Should write Markdown blocks as UTF-8")
+    void shouldWriteBlocks() throws IOException {
+        Path file = tempDir.resolve("nested").resolve("doc.md");
+        try (MarkdownWriter out = MarkdownWriter.open(file)) {
+            out.heading(HEADING_LEVEL, "📄 Überblick")
+                    .paragraph("Text")
+                    .codeBlock("java", "int x;")
+                    .rule()
+                    .append("Count: ").append(2L).newLine();
+        }
+
+        String expected = "### 📄 Überblick\n\nText\n\n```java\nint x;\n```\n\n"
+                + "---\n\nCount: 2\n";
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("Should keep surrogate pairs split across buffer batches")
+    void shouldEncodeAcrossBatches() throws IOException {
+        StringBuilder text = new StringBuilder();
+        // Odd padding puts a surrogate pair on every batch boundary
+        text.append("x".repeat(MarkdownWriter.CHAR_BUFFER_SIZE - 1));
+        while (text.length() < MarkdownWriter.BYTE_BUFFER_SIZE * 2) {
+            text.append("😀é");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MarkdownWriter out = new MarkdownWriter(
+                Channels.newChannel(bytes))) {
+            out.append(text);
+            out.flush();
+            assertEquals(bytes.size(), out.bytesWritten());
+        }
+
+        assertArrayEquals(text.toString().getBytes(StandardCharsets.UTF_8),
+                bytes.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Should replace malformed text instead of failing")
+    void shouldReplaceLoneSurrogate() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MarkdownWriter out = new MarkdownWriter(
+                Channels.newChannel(bytes))) {
+            out.append("a\uD83Db");
+        }
+
+        assertEquals("a?b", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should give a nested writer its own buffers")
+    void shouldSupportNestedWriters() throws IOException {
+        ByteArrayOutputStream outer = new ByteArrayOutputStream();
+        ByteArrayOutputStream inner = new ByteArrayOutputStream();
+        try (MarkdownWriter first = new MarkdownWriter(
+                Channels.newChannel(outer))) {
+            first.append("outer ");
+            try (MarkdownWriter second = new MarkdownWriter(
+                    Channels.newChannel(inner))) {
+                second.append("inner");
+            }
+            first.append("done");
+        }
+        try (MarkdownWriter reused = new MarkdownWriter(
+                Channels.newChannel(inner))) {
+            reused.append(" again");
+        }
+
+        assertEquals("outer done", outer.toString(StandardCharsets.UTF_8));
+        assertEquals("inner again", inner.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should digest exactly the bytes written")
+    void shouldDigestWrittenBytes() throws IOException {
+        Path file = tempDir.resolve("digest.md");
+        MessageDigest digest = ContentHash.newSha256();
+        try (MarkdownWriter out = MarkdownWriter.open(file, digest)) {
+            out.heading(1, "Größe").paragraph("x".repeat(
+                    MarkdownWriter.BYTE_BUFFER_SIZE));
+        }
+
+        assertArrayEquals(ContentHash.newSha256().digest(
+                Files.readAllBytes(file)), digest.digest());
+    }
+}
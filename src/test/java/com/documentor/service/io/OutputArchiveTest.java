@@ -0,0 +1,173 @@
+package com.documentor.service.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("OutputArchive Tests")
+class OutputArchiveTest {
+    @TempDir
+    private Path tempDir;
+
+    private static final int TAR_BLOCK = 512;
+    private static final int NAME_LENGTH = 100;
+    private static final int SIZE_OFFSET = 124;
+    private static final int SIZE_LENGTH = 11;
+    private static final int TYPE_OFFSET = 156;
+    private static final int PREFIX_OFFSET = 345;
+    private static final int PREFIX_LENGTH = 155;
+    private static final int OCTAL = 8;
+    private static final int LONG_NAME_LENGTH = 120;
+    private static final int ARCHIVED_FILES = 3;
+
+    @Test
+    @DisplayName("Should route writes below the root into a zip file")
+    void shouldWriteZipThroughWriter() throws IOException {
+        Path output = tempDir.resolve("docs");
+        Path zip = tempDir.resolve("docs.zip");
+        AtomicFileWriter writer =
+            new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+
+        try (OutputArchive archive = OutputArchive.create(zip, output)) {
+            writer.attach(archive);
+            writer.writeFile(output.resolve("README.md"), "# Readme");
+            writer.writeFile(output.resolve("elements/class-A.md"),
+                out -> out.heading(1, "A"));
+            writer.newBatch()
+                .add(output.resolve("tests/unit-tests.md"), "tests")
+                .commit();
+            assertFalse(writer.writeFile(output.resolve("README.md"),
+                "again"));
+            writer.writeFile(tempDir.resolve("outside.md"), "disk");
+            writer.detach(archive);
+        }
+
+        Map<String, String> entries = readZip(zip);
+        assertEquals("# Readme", entries.get("README.md"));
+        assertEquals("# A\n\n", entries.get("elements/class-A.md"));
+        assertEquals("tests", entries.get("tests/unit-tests.md"));
+        assertFalse(Files.exists(output));
+        assertTrue(Files.exists(tempDir.resolve("outside.md")));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+
+        JsonNode index = new ObjectMapper().readTree(
+            entries.get(OutputArchive.INDEX_ENTRY));
+        assertEquals("zip", index.path("format").asText());
+        assertEquals(ARCHIVED_FILES, index.path("entries").size());
+        assertEquals("README.md",
+            index.path("entries").get(0).path("name").asText());
+    }
+
+    @Test
+    @DisplayName("Should number repeated entries with the suffix policy")
+    void shouldSuffixRepeatedEntries() throws IOException {
+        Path content = Files.writeString(tempDir.resolve("content"), "x");
+        Path zip = tempDir.resolve("out.zip");
+        try (OutputArchive archive = OutputArchive.create(zip, tempDir)) {
+            assertEquals("a/b.md", archive.append("a/b.md", content,
+                CollisionPolicy.SUFFIX));
+            assertEquals("a/b_1.md", archive.append("a/b.md", content,
+                CollisionPolicy.SUFFIX));
+            assertNull(archive.append("a/b.md", content,
+                CollisionPolicy.OVERWRITE));
+            assertEquals(2, archive.size());
+        }
+        assertTrue(readZip(zip).containsKey("a/b_1.md"));
+    }
+
+    @Test
+    @DisplayName("Should write a tar stream with long names")
+    void shouldWriteTar() throws IOException {
+        Path output = tempDir.resolve("docs");
+        Path tar = tempDir.resolve("docs.tar");
+        String longName = "elements/" + "n".repeat(LONG_NAME_LENGTH) + ".md";
+        String deepName = "d".repeat(NAME_LENGTH) + "/file.md";
+        AtomicFileWriter writer =
+            new AtomicFileWriter(CollisionPolicy.OVERWRITE);
+
+        try (OutputArchive archive = OutputArchive.create(tar, output)) {
+            writer.attach(archive);
+            writer.writeFile(output.resolve("README.md"), "readme");
+            writer.writeFile(output.resolve(longName), "long");
+            writer.writeFile(output.resolve(deepName), "deep");
+            writer.detach(archive);
+        }
+
+        Map<String, String> entries = readTar(Files.readAllBytes(tar));
+        assertEquals("readme", entries.get("README.md"));
+        assertEquals("long", entries.get(longName));
+        assertEquals("deep", entries.get(deepName));
+        assertTrue(entries.containsKey(OutputArchive.INDEX_ENTRY));
+        assertEquals(0, Files.size(tar) % TAR_BLOCK);
+    }
+
+    private static Map<String, String> readZip(final Path zip)
+            throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(zip);
+             ZipInputStream zipIn = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipIn.readAllBytes(),
+                    StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads ustar entries, applying pax path records.
+     */
+    private static Map<String, String> readTar(final byte[] tar) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        String paxPath = null;
+        int offset = 0;
+        while (offset + TAR_BLOCK <= tar.length && tar[offset] != 0) {
+            String name = field(tar, offset, NAME_LENGTH);
+            String prefix = field(tar, offset + PREFIX_OFFSET, PREFIX_LENGTH);
+            int size = Integer.parseInt(field(tar, offset + SIZE_OFFSET,
+                SIZE_LENGTH), OCTAL);
+            byte type = tar[offset + TYPE_OFFSET];
+            String data = new String(tar, offset + TAR_BLOCK, size,
+                StandardCharsets.UTF_8);
+            if (type == 'x') {
+                paxPath = data.substring(data.indexOf("path=") + "path=".length(),
+                    data.length() - 1);
+            } else {
+                String path = paxPath != null ? paxPath
+                    : prefix.isEmpty() ? name : prefix + "/" + name;
+                entries.put(path, data);
+                paxPath = null;
+            }
+            offset += TAR_BLOCK + (size + TAR_BLOCK - 1) / TAR_BLOCK * TAR_BLOCK;
+        }
+        return entries;
+    }
+
+    private static String field(final byte[] tar, final int offset,
+                                final int length) {
+        int end = offset;
+        while (end < offset + length && tar[end] != 0) {
+            end++;
+        }
+        return new String(tar, offset, end - offset, StandardCharsets.UTF_8);
+    }
+}
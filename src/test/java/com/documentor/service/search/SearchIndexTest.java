@@ -0,0 +1,106 @@
+package com.documentor.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Search Index Tests")
+class SearchIndexTest {
+
+    private static final String USER_SERVICE = "elements/class-UserService.md";
+    private static final String ORDER_SERVICE =
+            "elements/class-OrderService.md";
+    private static final String PARSER = "elements/class-Parser.md";
+    private static final int LIMIT = 10;
+
+    @TempDir
+    private Path output;
+
+    @Test
+    @DisplayName("Should split identifiers into their parts")
+    void shouldTokenizeIdentifiers() {
+        assertEquals(List.of("generatedocumentation", "generate",
+                "documentation", "parse_json", "parse", "json"),
+                SearchIndex.tokens("generateDocumentation(parse_JSON) a"));
+        assertEquals(List.of("httpclient", "http", "client"),
+                SearchIndex.tokens("HTTPClient"));
+    }
+
+    @Test
+    @DisplayName("Should rank documents and match prefixes from the mapped file")
+    void shouldSearchSavedIndex() throws IOException {
+        SearchIndex index = SearchIndex.load(output);
+        index.update(USER_SERVICE, "# 📄 UserService\n\n"
+                + "`public User findUser(String id)`\n\nLooks up a user. "
+                + "The user service caches every user.");
+        index.update(ORDER_SERVICE, "# 📄 OrderService\n\n"
+                + "`public Order findOrder(long id)`\n\nFinds the order "
+                + "of a user.");
+        index.update(PARSER, "# 📄 Parser\n\nParses source files.");
+        index.save();
+
+        SearchIndexReader reader = SearchIndexReader.open(
+                output.resolve(SearchIndex.FILE_NAME));
+        List<SearchIndexReader.Hit> hits = reader.search("user", LIMIT);
+
+        assertEquals(2, hits.size());
+        assertEquals(USER_SERVICE, hits.get(0).document());
+        assertEquals("UserService", hits.get(0).title());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals(ORDER_SERVICE,
+                reader.search("findOrder", LIMIT).get(0).document());
+        assertEquals(List.of(PARSER), documents(reader.search("pars*", LIMIT)));
+        assertEquals(1, reader.search("user", 1).size());
+        assertTrue(reader.search("missing", LIMIT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reload, drop removed documents and index missing ones")
+    void shouldUpdateIncrementally() throws IOException {
+        SearchIndex index = SearchIndex.load(output);
+        index.update(USER_SERVICE, "# UserService\n\nfirst version");
+        index.update(ORDER_SERVICE, "# OrderService\n\norders");
+        index.save();
+        Files.createDirectories(output.resolve("elements"));
+        Files.writeString(output.resolve(PARSER), "# Parser\n\ntokens");
+
+        SearchIndex reloaded = SearchIndex.load(output);
+        assertEquals(2, reloaded.size());
+        reloaded.update(USER_SERVICE, "# UserService\n\nsecond version");
+        assertEquals(1, reloaded.sync(Set.of(USER_SERVICE, PARSER)));
+        reloaded.save();
+
+        assertFalse(reloaded.contains(ORDER_SERVICE));
+        SearchIndexReader reader = SearchIndexReader.open(
+                output.resolve(SearchIndex.FILE_NAME));
+        assertEquals(2, reader.documentCount());
+        assertTrue(reader.search("first", LIMIT).isEmpty());
+        assertEquals(List.of(USER_SERVICE), documents(
+                reader.search("second", LIMIT)));
+        assertEquals(List.of(PARSER), documents(reader.search("tokens", LIMIT)));
+        assertTrue(reader.search("orders", LIMIT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should start empty from an unreadable index file")
+    void shouldIgnoreCorruptIndex() throws IOException {
+        Files.writeString(output.resolve(SearchIndex.FILE_NAME), "garbage!");
+
+        assertEquals(0, SearchIndex.load(output).size());
+    }
+
+    private static List<String> documents(
+            final List<SearchIndexReader.Hit> hits) {
+        return hits.stream().map(SearchIndexReader.Hit::document).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.documentor.service.site;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("HTML Site Generator Tests")
+class HtmlSiteGeneratorTest {
+
+    private static final int PAGE_COUNT = 3;
+
+    @TempDir
+    private Path docs;
+
+    private HtmlSiteGenerator generator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        generator = new HtmlSiteGenerator();
+        Files.writeString(docs.resolve("README.md"),
+                "# Project\n\nSee [Foo](elements/class-Foo.md#methods) "
+                + "and [site](https://example.com/a.md).\n");
+        Files.createDirectories(docs.resolve("elements"));
+        Files.writeString(docs.resolve("elements/class-Foo.md"),
+                "# Foo\n\n| Name | Type |\n| --- | --- |\n| a | int |\n\n"
+                + "[Back](../README.md)\n");
+        Files.writeString(docs.resolve("elements/class-Bar.md"), "# Bar\n");
+        Files.writeString(docs.resolve(".documentor-hidden.md"), "# Hidden\n");
+    }
+
+    @Test
+    @DisplayName("Should render every page with rewritten links and navigation")
+    void shouldRenderSite() throws IOException {
+        HtmlSiteGenerator.SiteResult result = generator.renderSite(docs);
+
+        Path site = docs.resolve(HtmlSiteGenerator.SITE_DIRECTORY);
+        assertEquals(PAGE_COUNT, result.rendered());
+        assertEquals(site.resolve("index.html"), result.index());
+        assertTrue(Files.readString(result.index()).contains("README.html"));
+        assertFalse(Files.exists(site.resolve(".documentor-hidden.html")));
+
+        String readme = Files.readString(site.resolve("README.html"));
+        assertTrue(readme.contains(
+                "href=\"elements/class-Foo.html#methods\""));
+        assertTrue(readme.contains("href=\"https://example.com/a.md\""));
+        assertTrue(readme.contains("<span>elements</span>"));
+
+        String foo = Files.readString(site.resolve("elements/class-Foo.html"));
+        assertTrue(foo.contains("<table>"));
+        assertTrue(foo.contains("href=\"../README.html\""));
+        assertTrue(foo.contains("href=\"../style.css\""));
+        assertTrue(foo.contains("href=\"../elements/class-Bar.html\""));
+        assertTrue(Files.exists(site.resolve(HtmlSiteGenerator.MANIFEST_FILE)));
+    }
+
+    @Test
+    @DisplayName("Should only re-render pages whose Markdown changed")
+    void shouldRenderIncrementally() throws IOException {
+        generator.renderSite(docs);
+        assertEquals(0, generator.renderSite(docs).rendered());
+
+        Files.writeString(docs.resolve("elements/class-Bar.md"), "# Bar 2\n");
+        HtmlSiteGenerator.SiteResult result = generator.renderSite(docs);
+
+        assertEquals(1, result.rendered());
+        assertEquals(PAGE_COUNT - 1, result.unchanged());
+        assertTrue(Files.readString(docs.resolve("site/elements/class-Bar.html"))
+                .contains("Bar 2"));
+    }
+
+    @Test
+    @DisplayName("Should re-render all pages and delete removed ones when "
+            + "the page list changes")
+    void shouldFollowPageListChanges() throws IOException {
+        generator.renderSite(docs);
+        Files.delete(docs.resolve("elements/class-Bar.md"));
+
+        HtmlSiteGenerator.SiteResult result = generator.renderSite(docs);
+
+        assertEquals(PAGE_COUNT - 1, result.rendered());
+        assertEquals(1, result.removed());
+        assertFalse(Files.exists(docs.resolve("site/elements/class-Bar.html")));
+        assertFalse(Files.readString(docs.resolve("site/README.html"))
+                .contains("class-Bar"));
+    }
+
+    @Test
+    @DisplayName("Should leave other links untouched")
+    void shouldRewriteOnlyMarkdownLinks() {
+        assertEquals("a/b.html#x", HtmlSiteGenerator.rewriteLink("a/b.md#x"));
+        assertEquals("#anchor", HtmlSiteGenerator.rewriteLink("#anchor"));
+        assertEquals("image.png", HtmlSiteGenerator.rewriteLink("image.png"));
+        assertEquals("mailto:a.md", HtmlSiteGenerator.rewriteLink("mailto:a.md"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.documentor.service.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Markdown Template Tests")
+class MarkdownTemplateTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should fill slots in declaration order and keep enabled "
+            + "sections")
+    void shouldRenderSlotsAndSections() throws IOException {
+        MarkdownTemplate template = MarkdownTemplate.compile("t",
+                "{{#icons}}* {{/icons}}{{b}} and {{a}}{{#other}} x{{/other}}!",
+                List.of("a", "b"), Set.of("icons"));
+
+        assertEquals("* 2 and 1!", template.renderToString("1", "2"));
+        assertEquals("* 2 and !", template.render(new StringBuilder(),
+                null, "2").toString());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown placeholders, unbalanced sections "
+            + "and wrong value counts")
+    void shouldRejectInvalidTemplates() {
+        List<String> slots = List.of("a");
+        assertThrows(IllegalArgumentException.class, () ->
+                MarkdownTemplate.compile("t", "{{b}}", slots, Set.of()));
+        assertThrows(IllegalArgumentException.class, () ->
+                MarkdownTemplate.compile("t", "{{#x}}a", slots, Set.of()));
+        assertThrows(IllegalArgumentException.class, () ->
+                MarkdownTemplate.compile("t", "a{{/x}}", slots, Set.of()));
+        assertThrows(IllegalArgumentException.class, () ->
+                MarkdownTemplate.compile("t", "{{a", slots, Set.of()));
+        MarkdownTemplate template = MarkdownTemplate.compile("t", "{{a}}",
+                slots, Set.of());
+        assertThrows(IllegalArgumentException.class,
+                () -> template.renderToString("1", "2"));
+    }
+
+    @Test
+    @DisplayName("Should compile defaults with and without icons and apply "
+            + "valid overrides")
+    void shouldLoadOverrides() throws IOException {
+        Files.writeString(tempDir.resolve("readme-api-element.md"),
+                "* `{{signature}}` ({{name}})\n");
+        Files.writeString(tempDir.resolve("readme-quick-link.md"),
+                "{{unknown}}");
+
+        OutputTemplates templates = new OutputTemplates(tempDir.toString());
+
+        assertEquals("* `void a()` (a)\n", templates.get(
+                OutputTemplate.README_API_ELEMENT, true)
+                .renderToString("a", "void a()"));
+        assertEquals("- [A](elements/class-A.md)\n", templates.get(
+                OutputTemplate.README_QUICK_LINK, true)
+                .renderToString("A", "A"));
+        assertEquals("# 🧪 Generated Unit Tests", firstLine(
+                OutputTemplates.defaults().get(
+                        OutputTemplate.UNIT_TESTS_HEADER, true)));
+        assertEquals("# Generated Unit Tests", firstLine(
+                OutputTemplates.defaults().get(
+                        OutputTemplate.UNIT_TESTS_HEADER, false)));
+        assertEquals("class-header.md", OutputTemplate.CLASS_HEADER.fileName());
+    }
+
+    private static String firstLine(final MarkdownTemplate template) {
+        return template.renderToString().lines().findFirst().orElse("");
+    }
+}
@@ -0,0 +1,26 @@
+package com.documentor.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests for ContentHash
+ */
+class ContentHashTest {
+
+    @Test
+    @DisplayName("Should produce the SHA-256 hex digest")
+    void shouldHashText() {
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362"
+                + "938b9824", ContentHash.sha256Hex("hello"));
+        assertEquals(ContentHash.sha256Hex("héllo"), ContentHash.sha256Hex(
+                "héllo".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(ContentHash.sha256Hex("a"),
+                ContentHash.sha256Hex("b"));
+    }
+}